@@ -36,6 +36,7 @@ import com.android.inputmethod.keyboard.internal.KeySpecParser;
 import com.android.inputmethod.keyboard.internal.KeyStyle;
 import com.android.inputmethod.keyboard.internal.KeyVisualAttributes;
 import com.android.inputmethod.keyboard.internal.KeyboardIconsSet;
+import com.android.inputmethod.keyboard.internal.KeyboardLayoutTable;
 import com.android.inputmethod.keyboard.internal.KeyboardParams;
 import com.android.inputmethod.keyboard.internal.KeyboardRow;
 import com.android.inputmethod.keyboard.internal.MoreKeySpec;
@@ -46,6 +47,9 @@ import com.android.inputmethod.latin.StringUtils;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.Locale;
 
@@ -371,6 +375,91 @@ public class Key implements Comparable<Key> {
         }
     }
 
+    /**
+     * Create a key from its compiled form, written by {@link #writeTo}.
+     */
+    protected Key(final DataInput in) throws IOException {
+        mCode = in.readInt();
+        mLabel = KeyboardLayoutTable.readString(in);
+        mHintLabel = KeyboardLayoutTable.readString(in);
+        mLabelFlags = in.readInt();
+        mIconId = in.readInt();
+        mX = in.readInt();
+        mY = in.readInt();
+        mWidth = in.readInt();
+        mHeight = in.readInt();
+        mHitBox.set(in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        final int moreKeysCount = in.readInt();
+        if (moreKeysCount > 0) {
+            mMoreKeys = new MoreKeySpec[moreKeysCount];
+            for (int i = 0; i < moreKeysCount; ++i) {
+                mMoreKeys[i] = MoreKeySpec.readFrom(in);
+            }
+        } else {
+            mMoreKeys = null;
+        }
+        mMoreKeysColumnAndFlags = in.readInt();
+        mBackgroundType = in.readInt();
+        mActionFlags = in.readInt();
+        mKeyVisualAttributes = KeyVisualAttributes.read(in);
+        if (in.readBoolean()) {
+            mOptionalAttributes = new OptionalAttributes(KeyboardLayoutTable.readString(in),
+                    in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        } else {
+            mOptionalAttributes = null;
+        }
+        mHashCode = computeHashCode(this);
+    }
+
+    private static final int COMPILED_KEY = 0;
+    private static final int COMPILED_SPACER = 1;
+
+    public static Key readFrom(final DataInput in) throws IOException {
+        return (in.readByte() == COMPILED_SPACER) ? new Spacer(in) : new Key(in);
+    }
+
+    /**
+     * Writes the compiled form of this key, which {@link #readFrom} creates an equal key from.
+     */
+    public void writeTo(final DataOutput out) throws IOException {
+        out.writeByte(isSpacer() ? COMPILED_SPACER : COMPILED_KEY);
+        out.writeInt(mCode);
+        KeyboardLayoutTable.writeString(out, mLabel);
+        KeyboardLayoutTable.writeString(out, mHintLabel);
+        out.writeInt(mLabelFlags);
+        out.writeInt(mIconId);
+        out.writeInt(mX);
+        out.writeInt(mY);
+        out.writeInt(mWidth);
+        out.writeInt(mHeight);
+        out.writeInt(mHitBox.left);
+        out.writeInt(mHitBox.top);
+        out.writeInt(mHitBox.right);
+        out.writeInt(mHitBox.bottom);
+        if (mMoreKeys == null) {
+            out.writeInt(0);
+        } else {
+            out.writeInt(mMoreKeys.length);
+            for (final MoreKeySpec moreKey : mMoreKeys) {
+                moreKey.writeTo(out);
+            }
+        }
+        out.writeInt(mMoreKeysColumnAndFlags);
+        out.writeInt(mBackgroundType);
+        out.writeInt(mActionFlags);
+        KeyVisualAttributes.write(out, mKeyVisualAttributes);
+        final OptionalAttributes attrs = mOptionalAttributes;
+        out.writeBoolean(attrs != null);
+        if (attrs != null) {
+            KeyboardLayoutTable.writeString(out, attrs.mOutputText);
+            out.writeInt(attrs.mAltCode);
+            out.writeInt(attrs.mDisabledIconId);
+            out.writeInt(attrs.mPreviewIconId);
+            out.writeInt(attrs.mVisualInsetsLeft);
+            out.writeInt(attrs.mVisualInsetsRight);
+        }
+    }
+
     private static boolean needsToUpperCase(final int labelFlags, final int keyboardElementId) {
         if ((labelFlags & LABEL_FLAGS_PRESERVE_CASE) != 0) return false;
         switch (keyboardElementId) {
@@ -831,6 +920,10 @@ public class Key implements Comparable<Key> {
             super(res, params, row, parser);
         }
 
+        Spacer(final DataInput in) throws IOException {
+            super(in);
+        }
+
         /**
          * This constructor is being used only for divider in more keys keyboard.
          */
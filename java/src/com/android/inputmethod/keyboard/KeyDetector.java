@@ -96,9 +96,23 @@ public class KeyDetector {
         final int touchX = getTouchX(x);
         final int touchY = getTouchY(y);
 
+        final ProximityInfo proximityInfo = mKeyboard.getProximityInfo();
+        final int cellIndex = proximityInfo.getCellIndex(touchX, touchY);
+        if (cellIndex < 0) {
+            // The hit boxes of the edge keys extend beyond the keyboard.
+            return detectHitKey(mKeyboard.getNearestKeys(touchX, touchY), touchX, touchY);
+        }
+        final Key hitKey = proximityInfo.getHitKey(cellIndex);
+        if (hitKey != null) {
+            return hitKey;
+        }
+        return detectHitKey(proximityInfo.getHitCandidateKeys(cellIndex), touchX, touchY);
+    }
+
+    private static Key detectHitKey(final Key[] keys, final int touchX, final int touchY) {
         int minDistance = Integer.MAX_VALUE;
         Key primaryKey = null;
-        for (final Key key: mKeyboard.getNearestKeys(touchX, touchY)) {
+        for (final Key key: keys) {
             // An edge key always has its enlarged hitbox to respond to an event that occurred in
             // the empty area around the key. (@see Key#markAsLeftEdge(KeyboardParams)} etc.)
             if (!key.isOnKey(touchX, touchY)) {
@@ -0,0 +1,143 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.keyboard;
+
+import com.android.inputmethod.annotations.UsedForTesting;
+import com.android.inputmethod.latin.CollectionUtils;
+
+import java.lang.ref.SoftReference;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A cache of the keyboards built from keyboard layout sets.
+ *
+ * The most recently used keyboards are strongly held, up to a budget of their estimated size in
+ * bytes, so that switching between them never parses their XML again. Keyboards pushed out of
+ * the budget are only softly held, so that the GC may clear them under memory pressure.
+ * All methods are thread-safe.
+ */
+final class KeyboardCache {
+    // Rough size of a key with its labels, icons and more keys.
+    private static final int ESTIMATED_KEY_SIZE = 400;
+
+    private static final class Entry {
+        public final Keyboard mKeyboard;
+        public final int mSize;
+
+        public Entry(final Keyboard keyboard, final int size) {
+            mKeyboard = keyboard;
+            mSize = size;
+        }
+    }
+
+    // Iterates from the least recently used keyboard.
+    private final LinkedHashMap<KeyboardId, Entry> mRecentKeyboards =
+            new LinkedHashMap<KeyboardId, Entry>(16, 0.75f, true /* accessOrder */);
+    private final HashMap<KeyboardId, SoftReference<Keyboard>> mEvictedKeyboards =
+            CollectionUtils.newHashMap();
+    private int mBudget;
+    private int mSize = 0;
+
+    public KeyboardCache(final int budget) {
+        mBudget = budget;
+    }
+
+    public static int estimateSize(final Keyboard keyboard) {
+        return keyboard.mKeys.length * ESTIMATED_KEY_SIZE
+                + keyboard.getProximityInfo().getEstimatedMemorySize();
+    }
+
+    public synchronized Keyboard get(final KeyboardId id) {
+        final Entry entry = mRecentKeyboards.get(id);
+        if (entry != null) {
+            return entry.mKeyboard;
+        }
+        final SoftReference<Keyboard> ref = mEvictedKeyboards.remove(id);
+        final Keyboard keyboard = (ref == null) ? null : ref.get();
+        if (keyboard != null) {
+            putInternal(id, keyboard);
+        }
+        return keyboard;
+    }
+
+    public synchronized boolean contains(final KeyboardId id) {
+        if (mRecentKeyboards.containsKey(id)) {
+            return true;
+        }
+        final SoftReference<Keyboard> ref = mEvictedKeyboards.get(id);
+        return ref != null && ref.get() != null;
+    }
+
+    public synchronized void put(final KeyboardId id, final Keyboard keyboard) {
+        mEvictedKeyboards.remove(id);
+        final Entry oldEntry = mRecentKeyboards.remove(id);
+        if (oldEntry != null) {
+            mSize -= oldEntry.mSize;
+        }
+        putInternal(id, keyboard);
+    }
+
+    private void putInternal(final KeyboardId id, final Keyboard keyboard) {
+        final Entry entry = new Entry(keyboard, estimateSize(keyboard));
+        mRecentKeyboards.put(id, entry);
+        mSize += entry.mSize;
+        trimToBudget(mBudget);
+    }
+
+    // Moves the least recently used keyboards to the softly held ones until the strongly held
+    // ones fit in the budget. The most recently used keyboard is always kept.
+    private void trimToBudget(final int budget) {
+        final Iterator<Map.Entry<KeyboardId, Entry>> it = mRecentKeyboards.entrySet().iterator();
+        while (mSize > budget && mRecentKeyboards.size() > 1 && it.hasNext()) {
+            final Map.Entry<KeyboardId, Entry> eldest = it.next();
+            it.remove();
+            mSize -= eldest.getValue().mSize;
+            mEvictedKeyboards.put(eldest.getKey(),
+                    new SoftReference<Keyboard>(eldest.getValue().mKeyboard));
+        }
+    }
+
+    public synchronized void setBudget(final int budget) {
+        mBudget = budget;
+        trimToBudget(budget);
+    }
+
+    /**
+     * Stops holding all keyboards but the most recently used one strongly.
+     */
+    public synchronized void trim() {
+        trimToBudget(0);
+    }
+
+    public synchronized void clear() {
+        mRecentKeyboards.clear();
+        mEvictedKeyboards.clear();
+        mSize = 0;
+    }
+
+    public synchronized int size() {
+        return mRecentKeyboards.size() + mEvictedKeyboards.size();
+    }
+
+    @UsedForTesting
+    synchronized int getStronglyHeldSize() {
+        return mSize;
+    }
+}
@@ -36,8 +36,10 @@ import android.util.Xml;
 import android.view.inputmethod.EditorInfo;
 import android.view.inputmethod.InputMethodSubtype;
 
+import com.android.inputmethod.annotations.UsedForTesting;
 import com.android.inputmethod.compat.EditorInfoCompatUtils;
 import com.android.inputmethod.keyboard.internal.KeyboardBuilder;
+import com.android.inputmethod.keyboard.internal.KeyboardLayoutTable;
 import com.android.inputmethod.keyboard.internal.KeyboardParams;
 import com.android.inputmethod.keyboard.internal.KeysCache;
 import com.android.inputmethod.latin.AdditionalSubtype;
@@ -54,9 +56,13 @@ import com.android.inputmethod.latin.XmlParseUtils;
 import org.xmlpull.v1.XmlPullParser;
 import org.xmlpull.v1.XmlPullParserException;
 
+import java.io.File;
 import java.io.IOException;
-import java.lang.ref.SoftReference;
 import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * This class represents a set of keyboard layouts. Each of them represents a different keyboard
@@ -79,9 +85,29 @@ public final class KeyboardLayoutSet {
     private final Context mContext;
     private final Params mParams;
 
-    private static final HashMap<KeyboardId, SoftReference<Keyboard>> sKeyboardCache =
+    private static final int DEFAULT_KEYBOARD_CACHE_BUDGET = 1024 * 1024; // bytes
+
+    private static final KeyboardCache sKeyboardCache =
+            new KeyboardCache(DEFAULT_KEYBOARD_CACHE_BUDGET);
+    // Keyboards may be built on the UI thread and by the {@link KeyboardPrebuilder} at the same
+    // time. Each keyboard is built by a single thread at a time: a thread which needs a keyboard
+    // another one is building waits for it, instead of building it again, while keyboards with
+    // other ids are built meanwhile. The lock only guards the map of the keyboards being built,
+    // and the cache updates.
+    private static final Object sBuildLock = new Object();
+    private static final HashMap<KeyboardId, FutureTask<Keyboard>> sKeyboardsInFlight =
             CollectionUtils.newHashMap();
     private static final KeysCache sKeysCache = new KeysCache();
+    // Incremented when the cache is cleared, so that the keyboards of layout sets created before
+    // are not cached anymore.
+    private static volatile int sCacheGeneration = 0;
+
+    // The keys of the keyboards built from XML are compiled into tables in this directory of the
+    // cache directory, from which they are loaded the next time the process builds them.
+    private static final String LAYOUT_TABLE_DIRECTORY = "keyboard_layouts";
+    private static final int MAX_LAYOUT_TABLE_FILES = 64;
+    private static volatile boolean sLayoutTablesEnabled = true;
+    private static final AtomicInteger sLayoutTableLoadCount = new AtomicInteger();
 
     @SuppressWarnings("serial")
     public static final class KeyboardLayoutSetException extends RuntimeException {
@@ -117,17 +143,87 @@ public final class KeyboardLayoutSet {
                 CollectionUtils.newSparseArray();
     }
 
+    private final int mCacheGeneration;
+
     public static void clearKeyboardCache() {
-        sKeyboardCache.clear();
-        sKeysCache.clear();
+        synchronized (sBuildLock) {
+            ++sCacheGeneration;
+            sKeyboardCache.clear();
+            // The keyboards being built are not cached, nor waited for by new layout sets.
+            sKeyboardsInFlight.clear();
+            sKeysCache.clear();
+        }
+    }
+
+    /**
+     * Stops holding the cached keyboards strongly, except the most recently used one, so that
+     * the GC may clear them.
+     */
+    public static void trimKeyboardCache() {
+        sKeyboardCache.trim();
+    }
+
+    /**
+     * Sets how many bytes of recently used keyboards are strongly held by the cache.
+     */
+    public static void setKeyboardCacheBudget(final int budget) {
+        sKeyboardCache.setBudget(budget);
     }
 
     KeyboardLayoutSet(final Context context, final Params params) {
         mContext = context;
         mParams = params;
+        mCacheGeneration = sCacheGeneration;
+    }
+
+    private boolean isStale() {
+        return mCacheGeneration != sCacheGeneration;
     }
 
     public Keyboard getKeyboard(final int baseKeyboardLayoutSetElementId) {
+        final int keyboardLayoutSetElementId = getKeyboardLayoutSetElementId(
+                baseKeyboardLayoutSetElementId);
+        ElementParams elementParams = mParams.mKeyboardLayoutSetElementIdToParamsMap.get(
+                keyboardLayoutSetElementId);
+        if (elementParams == null) {
+            elementParams = mParams.mKeyboardLayoutSetElementIdToParamsMap.get(
+                    KeyboardId.ELEMENT_ALPHABET);
+        }
+        // Note: The keyboard for each shift state, and mode are represented as an elementName
+        // attribute in a keyboard_layout_set XML file.  Also each keyboard layout XML resource is
+        // specified as an elementKeyboard attribute in the file.
+        // The KeyboardId is an internal key for a Keyboard object.
+        final KeyboardId id = new KeyboardId(keyboardLayoutSetElementId, mParams);
+        try {
+            return getKeyboard(elementParams, id);
+        } catch (RuntimeException e) {
+            throw new KeyboardLayoutSetException(e, id);
+        }
+    }
+
+    /**
+     * Builds and caches the keyboard of this layout set for the given element, unless it is
+     * already cached or the layout set has no such element. Failures are only logged: the
+     * UI thread reports them if it ever needs this keyboard.
+     */
+    void prebuildKeyboard(final int baseKeyboardLayoutSetElementId) {
+        final int keyboardLayoutSetElementId = getKeyboardLayoutSetElementId(
+                baseKeyboardLayoutSetElementId);
+        if (isStale() || mParams.mKeyboardLayoutSetElementIdToParamsMap.get(
+                keyboardLayoutSetElementId) == null) {
+            return;
+        }
+        if (sKeyboardCache.contains(new KeyboardId(keyboardLayoutSetElementId, mParams))) {
+            return;
+        }
+        try {
+            getKeyboard(baseKeyboardLayoutSetElementId);
+        } catch (KeyboardLayoutSetException e) {
+            Log.w(TAG, "prebuilding keyboard failed: " + e.mKeyboardId, e.getCause());
+        }
+    }
+
+    private int getKeyboardLayoutSetElementId(final int baseKeyboardLayoutSetElementId) {
         final int keyboardLayoutSetElementId;
         switch (mParams.mMode) {
         case KeyboardId.MODE_PHONE:
@@ -147,53 +243,159 @@ public final class KeyboardLayoutSet {
             keyboardLayoutSetElementId = baseKeyboardLayoutSetElementId;
             break;
         }
+        return keyboardLayoutSetElementId;
+    }
 
-        ElementParams elementParams = mParams.mKeyboardLayoutSetElementIdToParamsMap.get(
-                keyboardLayoutSetElementId);
-        if (elementParams == null) {
-            elementParams = mParams.mKeyboardLayoutSetElementIdToParamsMap.get(
-                    KeyboardId.ELEMENT_ALPHABET);
+    private Keyboard getKeyboard(final ElementParams elementParams, final KeyboardId id) {
+        final Keyboard cachedKeyboard = sKeyboardCache.get(id);
+        if (cachedKeyboard != null) {
+            if (DEBUG_CACHE) {
+                Log.d(TAG, "keyboard cache size=" + sKeyboardCache.size() + ": HIT  id=" + id);
+            }
+            return cachedKeyboard;
         }
-        // Note: The keyboard for each shift state, and mode are represented as an elementName
-        // attribute in a keyboard_layout_set XML file.  Also each keyboard layout XML resource is
-        // specified as an elementKeyboard attribute in the file.
-        // The KeyboardId is an internal key for a Keyboard object.
-        final KeyboardId id = new KeyboardId(keyboardLayoutSetElementId, mParams);
+        final FutureTask<Keyboard> task;
+        final boolean isBuilder;
+        synchronized (sBuildLock) {
+            // The keyboard may have been built since, or be being built by another thread.
+            final Keyboard keyboard = sKeyboardCache.get(id);
+            if (keyboard != null) {
+                if (DEBUG_CACHE) {
+                    Log.d(TAG, "keyboard cache size=" + sKeyboardCache.size() + ": PREBUILT  id="
+                            + id);
+                }
+                return keyboard;
+            }
+            final FutureTask<Keyboard> inFlightTask = sKeyboardsInFlight.get(id);
+            isBuilder = (inFlightTask == null);
+            if (isBuilder) {
+                task = new FutureTask<Keyboard>(new Callable<Keyboard>() {
+                    @Override
+                    public Keyboard call() {
+                        return buildKeyboard(elementParams, id);
+                    }
+                });
+                sKeyboardsInFlight.put(id, task);
+            } else {
+                task = inFlightTask;
+            }
+        }
+        if (isBuilder) {
+            task.run();
+        }
+        return getBuiltKeyboard(task);
+    }
+
+    private Keyboard buildKeyboard(final ElementParams elementParams, final KeyboardId id) {
+        Keyboard keyboard = null;
         try {
-            return getKeyboard(elementParams, id);
-        } catch (RuntimeException e) {
-            throw new KeyboardLayoutSetException(e, id);
+            keyboard = loadKeyboard(elementParams, id);
+        } finally {
+            removeKeyboardInFlight(id, keyboard);
+        }
+        if (DEBUG_CACHE) {
+            Log.d(TAG, "keyboard cache size=" + sKeyboardCache.size() + ": LOAD id=" + id);
         }
+        return keyboard;
     }
 
-    private Keyboard getKeyboard(final ElementParams elementParams, final KeyboardId id) {
-        final SoftReference<Keyboard> ref = sKeyboardCache.get(id);
-        Keyboard keyboard = (ref == null) ? null : ref.get();
-        if (keyboard == null) {
-            final KeyboardBuilder<KeyboardParams> builder =
-                    new KeyboardBuilder<KeyboardParams>(mContext, new KeyboardParams());
-            if (id.isAlphabetKeyboard()) {
-                builder.setAutoGenerate(sKeysCache);
+    // Caches the keyboard if it was built, and lets the next thread which needs it find it in
+    // the cache, or build it again if building it failed.
+    private void removeKeyboardInFlight(final KeyboardId id, final Keyboard keyboard) {
+        synchronized (sBuildLock) {
+            if (keyboard != null && !isStale()) {
+                sKeyboardCache.put(id, keyboard);
             }
-            final int keyboardXmlId = elementParams.mKeyboardXmlId;
-            builder.load(keyboardXmlId, id);
-            if (mParams.mDisableTouchPositionCorrectionDataForTest) {
-                builder.disableTouchPositionCorrectionDataForTest();
+            // The cache may have been cleared meanwhile, and the keyboard rebuilt by another
+            // thread.
+            if (!isStale()) {
+                sKeyboardsInFlight.remove(id);
             }
-            builder.setProximityCharsCorrectionEnabled(
-                    elementParams.mProximityCharsCorrectionEnabled);
-            keyboard = builder.build();
-            sKeyboardCache.put(id, new SoftReference<Keyboard>(keyboard));
+        }
+    }
 
-            if (DEBUG_CACHE) {
-                Log.d(TAG, "keyboard cache size=" + sKeyboardCache.size() + ": "
-                        + ((ref == null) ? "LOAD" : "GCed") + " id=" + id);
+    private static Keyboard getBuiltKeyboard(final FutureTask<Keyboard> task) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return task.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException e) {
+                    final Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException)cause;
+                    if (cause instanceof Error) throw (Error)cause;
+                    throw new RuntimeException(cause);
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
             }
-        } else if (DEBUG_CACHE) {
-            Log.d(TAG, "keyboard cache size=" + sKeyboardCache.size() + ": HIT  id=" + id);
         }
+    }
 
-        return keyboard;
+    private Keyboard loadKeyboard(final ElementParams elementParams, final KeyboardId id) {
+        final int keyboardXmlId = elementParams.mKeyboardXmlId;
+        // Keyboards for a custom action label are specific to an application.
+        final String layoutKey = (sLayoutTablesEnabled && id.mCustomActionLabel == null)
+                ? getLayoutKey(keyboardXmlId, id) : null;
+        final File tableFile = (layoutKey == null) ? null : KeyboardLayoutTable.getTableFile(
+                new File(mContext.getCacheDir(), LAYOUT_TABLE_DIRECTORY), layoutKey);
+        final byte[] table = (tableFile == null) ? null
+                : KeyboardLayoutTable.readTableFile(tableFile);
+        KeyboardBuilder<KeyboardParams> builder = newKeyboardBuilder(id);
+        if (table != null && builder.loadCompiled(keyboardXmlId, id, table, layoutKey)) {
+            sLayoutTableLoadCount.incrementAndGet();
+        } else {
+            if (table != null) {
+                builder = newKeyboardBuilder(id);
+            }
+            builder.load(keyboardXmlId, id);
+            if (tableFile != null) {
+                KeyboardLayoutTable.writeTableFile(tableFile, builder.compile(layoutKey),
+                        MAX_LAYOUT_TABLE_FILES);
+            }
+        }
+        if (mParams.mDisableTouchPositionCorrectionDataForTest) {
+            builder.disableTouchPositionCorrectionDataForTest();
+        }
+        builder.setProximityCharsCorrectionEnabled(
+                elementParams.mProximityCharsCorrectionEnabled);
+        return builder.build();
+    }
+
+    private KeyboardBuilder<KeyboardParams> newKeyboardBuilder(final KeyboardId id) {
+        final KeyboardBuilder<KeyboardParams> builder =
+                new KeyboardBuilder<KeyboardParams>(mContext, new KeyboardParams());
+        if (id.isAlphabetKeyboard()) {
+            builder.setAutoGenerate(sKeysCache);
+        }
+        return builder;
+    }
+
+    // What the keys of a keyboard depend on, besides the attributes of the keyboard element.
+    // The timestamp of the package changes when its layouts may have.
+    private String getLayoutKey(final int keyboardXmlId, final KeyboardId id) {
+        final Resources res = mContext.getResources();
+        final Configuration conf = res.getConfiguration();
+        return new File(mContext.getApplicationInfo().sourceDir).lastModified()
+                + " " + res.getResourceName(keyboardXmlId)
+                + " " + id + " " + id.mSubtype.getExtraValue()
+                + " " + conf.locale + " " + conf.screenLayout + " " + conf.smallestScreenWidthDp
+                + " " + conf.screenWidthDp + "x" + conf.screenHeightDp
+                + " " + res.getDisplayMetrics().densityDpi;
+    }
+
+    @UsedForTesting
+    static void setLayoutTablesEnabled(final boolean enabled) {
+        sLayoutTablesEnabled = enabled;
+    }
+
+    @UsedForTesting
+    static int getLayoutTableLoadCount() {
+        return sLayoutTableLoadCount.get();
     }
 
     public static final class Builder {
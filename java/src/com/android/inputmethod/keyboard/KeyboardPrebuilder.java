@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.keyboard;
+
+import android.os.Process;
+import android.util.Log;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds, on a background thread, the keyboards a user is likely to switch to next, so that
+ * switching to them does not parse their XML on the UI thread.
+ *
+ * These are the shifted and symbols keyboards of the current layout set, then the alphabet
+ * keyboards of the other enabled subtypes. Only the latest request is worked on: a new one
+ * abandons the keyboards of the previous one which are not built yet.
+ */
+public final class KeyboardPrebuilder {
+    private static final String TAG = KeyboardPrebuilder.class.getSimpleName();
+
+    // The keyboards of the current layout set a user is likely to switch to, most likely first.
+    private static final int[] PREBUILT_ELEMENT_IDS = {
+        KeyboardId.ELEMENT_ALPHABET,
+        KeyboardId.ELEMENT_ALPHABET_AUTOMATIC_SHIFTED,
+        KeyboardId.ELEMENT_SYMBOLS,
+        KeyboardId.ELEMENT_ALPHABET_MANUAL_SHIFTED,
+        KeyboardId.ELEMENT_SYMBOLS_SHIFTED,
+        KeyboardId.ELEMENT_ALPHABET_SHIFT_LOCKED,
+    };
+
+    private final AtomicInteger mGeneration = new AtomicInteger();
+    private final ExecutorService mExecutor = Executors.newSingleThreadExecutor(
+            new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, TAG) {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            super.run();
+                        }
+                    };
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
+    /**
+     * Starts prebuilding the keyboards of the given layout set, then the alphabet keyboards of
+     * the layout sets of the given builders.
+     */
+    public void prebuild(final KeyboardLayoutSet layoutSet,
+            final List<KeyboardLayoutSet.Builder> otherLayoutSetBuilders) {
+        final int generation = mGeneration.incrementAndGet();
+        mExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                for (final int elementId : PREBUILT_ELEMENT_IDS) {
+                    if (generation != mGeneration.get()) return;
+                    layoutSet.prebuildKeyboard(elementId);
+                }
+                for (final KeyboardLayoutSet.Builder builder : otherLayoutSetBuilders) {
+                    if (generation != mGeneration.get()) return;
+                    try {
+                        builder.build().prebuildKeyboard(KeyboardId.ELEMENT_ALPHABET);
+                    } catch (RuntimeException e) {
+                        Log.w(TAG, "prebuilding keyboard layout set failed", e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Abandons the keyboards which are not built yet.
+     */
+    public void cancel() {
+        mGeneration.incrementAndGet();
+    }
+}
@@ -26,12 +26,14 @@ import android.view.ContextThemeWrapper;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.inputmethod.EditorInfo;
+import android.view.inputmethod.InputMethodSubtype;
 
 import com.android.inputmethod.accessibility.AccessibleKeyboardViewProxy;
 import com.android.inputmethod.keyboard.KeyboardLayoutSet.KeyboardLayoutSetException;
 import com.android.inputmethod.keyboard.PointerTracker.TimerProxy;
 import com.android.inputmethod.keyboard.internal.KeyboardState;
 import com.android.inputmethod.latin.AudioAndHapticFeedbackManager;
+import com.android.inputmethod.latin.CollectionUtils;
 import com.android.inputmethod.latin.InputView;
 import com.android.inputmethod.latin.LatinIME;
 import com.android.inputmethod.latin.LatinImeLogger;
@@ -42,11 +44,16 @@ import com.android.inputmethod.latin.SettingsValues;
 import com.android.inputmethod.latin.SubtypeSwitcher;
 import com.android.inputmethod.latin.WordComposer;
 
+import java.util.ArrayList;
+
 public final class KeyboardSwitcher implements KeyboardState.SwitchActions {
     private static final String TAG = KeyboardSwitcher.class.getSimpleName();
 
     public static final String PREF_KEYBOARD_LAYOUT = "pref_keyboard_layout_20110916";
 
+    // The number of other enabled subtypes whose alphabet keyboard is prebuilt.
+    private static final int MAX_PREBUILT_OTHER_SUBTYPES = 3;
+
     static final class KeyboardTheme {
         public final int mThemeId;
         public final int mStyleId;
@@ -81,6 +88,7 @@ public final class KeyboardSwitcher implements KeyboardState.SwitchActions {
     private KeyboardState mState;
 
     private KeyboardLayoutSet mKeyboardLayoutSet;
+    private final KeyboardPrebuilder mKeyboardPrebuilder = new KeyboardPrebuilder();
 
     /** mIsAutoCorrectionActive indicates that auto corrected word will be input instead of
      * what user actually typed. */
@@ -110,6 +118,8 @@ public final class KeyboardSwitcher implements KeyboardState.SwitchActions {
         mPrefs = prefs;
         mSubtypeSwitcher = SubtypeSwitcher.getInstance();
         mState = new KeyboardState(this);
+        KeyboardLayoutSet.setKeyboardCacheBudget(
+                mResources.getInteger(R.integer.config_keyboard_cache_budget_kb) * 1024);
         setContextThemeWrapper(latinIme, getKeyboardTheme(latinIme, prefs));
     }
 
@@ -138,25 +148,43 @@ public final class KeyboardSwitcher implements KeyboardState.SwitchActions {
     }
 
     public void loadKeyboard(final EditorInfo editorInfo, final SettingsValues settingsValues) {
+        final InputMethodSubtype currentSubtype = mSubtypeSwitcher.getCurrentSubtype();
+        mKeyboardPrebuilder.cancel();
+        mKeyboardLayoutSet = newKeyboardLayoutSetBuilder(editorInfo, settingsValues,
+                currentSubtype).build();
+        try {
+            mState.onLoadKeyboard();
+            mFeedbackManager.onSettingsChanged(settingsValues);
+        } catch (KeyboardLayoutSetException e) {
+            Log.w(TAG, "loading keyboard failed: " + e.mKeyboardId, e.getCause());
+            LatinImeLogger.logOnException(e.mKeyboardId.toString(), e.getCause());
+            return;
+        }
+
+        // Build the keyboards the user may switch to next in the background.
+        final ArrayList<KeyboardLayoutSet.Builder> otherBuilders = CollectionUtils.newArrayList();
+        for (final InputMethodSubtype subtype : RichInputMethodManager.getInstance()
+                .getMyEnabledInputMethodSubtypeList(true /* allowsImplicitlySelectedSubtypes */)) {
+            if (otherBuilders.size() >= MAX_PREBUILT_OTHER_SUBTYPES) break;
+            if (subtype.equals(currentSubtype)) continue;
+            otherBuilders.add(newKeyboardLayoutSetBuilder(editorInfo, settingsValues, subtype));
+        }
+        mKeyboardPrebuilder.prebuild(mKeyboardLayoutSet, otherBuilders);
+    }
+
+    private KeyboardLayoutSet.Builder newKeyboardLayoutSetBuilder(final EditorInfo editorInfo,
+            final SettingsValues settingsValues, final InputMethodSubtype subtype) {
         final KeyboardLayoutSet.Builder builder = new KeyboardLayoutSet.Builder(
                 mThemeContext, editorInfo);
         final Resources res = mThemeContext.getResources();
         final DisplayMetrics dm = res.getDisplayMetrics();
         builder.setScreenGeometry(dm.widthPixels, dm.heightPixels);
-        builder.setSubtype(mSubtypeSwitcher.getCurrentSubtype());
+        builder.setSubtype(subtype);
         builder.setOptions(
                 settingsValues.isVoiceKeyEnabled(editorInfo),
                 settingsValues.isVoiceKeyOnMain(),
                 settingsValues.isLanguageSwitchKeyEnabled());
-        mKeyboardLayoutSet = builder.build();
-        try {
-            mState.onLoadKeyboard();
-            mFeedbackManager.onSettingsChanged(settingsValues);
-        } catch (KeyboardLayoutSetException e) {
-            Log.w(TAG, "loading keyboard failed: " + e.mKeyboardId, e.getCause());
-            LatinImeLogger.logOnException(e.mKeyboardId.toString(), e.getCause());
-            return;
-        }
+        return builder;
     }
 
     public void onRingerModeChanged() {
@@ -49,6 +49,12 @@ public class ProximityInfo {
     private final int mMostCommonKeyHeight;
     private final Key[] mKeys;
     private final Key[][] mGridNeighbors;
+    // For each cell of the grid, the keys among its neighbors whose hit box overlaps the cell.
+    // These are the only keys which can be hit by a touch in the cell.
+    private final Key[][] mGridHitCandidates;
+    // For each cell of the grid, the key whose hit box covers the cell, if it is the only one
+    // which can be hit in the cell. Otherwise null.
+    private final Key[] mGridHitKeys;
     private final String mLocaleStr;
 
     ProximityInfo(final String localeStr, final int gridWidth, final int gridHeight,
@@ -71,11 +77,14 @@ public class ProximityInfo {
         mMostCommonKeyWidth = mostCommonKeyWidth;
         mKeys = keys;
         mGridNeighbors = new Key[mGridSize][];
+        mGridHitCandidates = new Key[mGridSize][];
+        mGridHitKeys = new Key[mGridSize];
         if (minWidth == 0 || height == 0) {
             // No proximity required. Keyboard might be more keys keyboard.
             return;
         }
         computeNearestNeighbors();
+        computeHitCandidates();
         mNativeProximityInfo = createNativeProximityInfo(touchPositionCorrection);
     }
 
@@ -243,23 +252,68 @@ public class ProximityInfo {
         final Key[] keys = mKeys;
         final int thresholdBase = (int) (defaultWidth * SEARCH_DISTANCE);
         final int threshold = thresholdBase * thresholdBase;
-        // Round-up so we don't have any pixels outside the grid
-        final Key[] neighborKeys = new Key[keys.length];
-        final int gridWidth = mGridWidth * mCellWidth;
-        final int gridHeight = mGridHeight * mCellHeight;
-        for (int x = 0; x < gridWidth; x += mCellWidth) {
-            for (int y = 0; y < gridHeight; y += mCellHeight) {
-                final int centerX = x + mCellWidth / 2;
-                final int centerY = y + mCellHeight / 2;
-                int count = 0;
-                for (final Key key : keys) {
-                    if (key.isSpacer()) continue;
-                    if (key.squaredDistanceToEdge(centerX, centerY) < threshold) {
-                        neighborKeys[count++] = key;
+        // A key is only a neighbor of the cells whose center is closer than thresholdBase to it,
+        // so each key only visits the cells around it: first to count the neighbors of each
+        // cell, then to fill them in, in the order of the keys.
+        final int[] neighborCounts = new int[mGridSize];
+        for (int pass = 0; pass < 2; ++pass) {
+            for (final Key key : keys) {
+                if (key.isSpacer()) continue;
+                final int minCellX = Math.max(0,
+                        (key.mX - thresholdBase - mCellWidth / 2) / mCellWidth);
+                final int maxCellX = Math.min(mGridWidth - 1,
+                        (key.mX + key.mWidth + thresholdBase - mCellWidth / 2) / mCellWidth + 1);
+                final int minCellY = Math.max(0,
+                        (key.mY - thresholdBase - mCellHeight / 2) / mCellHeight);
+                final int maxCellY = Math.min(mGridHeight - 1,
+                        (key.mY + key.mHeight + thresholdBase - mCellHeight / 2) / mCellHeight
+                        + 1);
+                for (int cellY = minCellY; cellY <= maxCellY; ++cellY) {
+                    final int centerY = cellY * mCellHeight + mCellHeight / 2;
+                    for (int cellX = minCellX; cellX <= maxCellX; ++cellX) {
+                        final int centerX = cellX * mCellWidth + mCellWidth / 2;
+                        if (key.squaredDistanceToEdge(centerX, centerY) >= threshold) continue;
+                        final int index = cellY * mGridWidth + cellX;
+                        if (pass == 0) {
+                            ++neighborCounts[index];
+                        } else {
+                            final Key[] neighborKeys = mGridNeighbors[index];
+                            neighborKeys[neighborKeys.length - neighborCounts[index]--] = key;
+                        }
                     }
                 }
-                mGridNeighbors[(y / mCellHeight) * mGridWidth + (x / mCellWidth)] =
-                        Arrays.copyOfRange(neighborKeys, 0, count);
+            }
+            if (pass == 0) {
+                for (int index = 0; index < mGridSize; ++index) {
+                    mGridNeighbors[index] = neighborCounts[index] == 0
+                            ? EMPTY_KEY_ARRAY : new Key[neighborCounts[index]];
+                }
+            }
+        }
+    }
+
+    private void computeHitCandidates() {
+        final Key[] candidateKeys = new Key[mKeys.length];
+        for (int index = 0; index < mGridSize; ++index) {
+            final int left = (index % mGridWidth) * mCellWidth;
+            final int top = (index / mGridWidth) * mCellHeight;
+            final int right = Math.min(left + mCellWidth, mKeyboardMinWidth);
+            final int bottom = Math.min(top + mCellHeight, mKeyboardHeight);
+            int count = 0;
+            for (final Key key : mGridNeighbors[index]) {
+                final Rect hitBox = key.mHitBox;
+                if (hitBox.left < right && left < hitBox.right
+                        && hitBox.top < bottom && top < hitBox.bottom) {
+                    candidateKeys[count++] = key;
+                }
+            }
+            mGridHitCandidates[index] = Arrays.copyOfRange(candidateKeys, 0, count);
+            if (count == 1) {
+                final Rect hitBox = candidateKeys[0].mHitBox;
+                if (hitBox.left <= left && right <= hitBox.right
+                        && hitBox.top <= top && bottom <= hitBox.bottom) {
+                    mGridHitKeys[index] = candidateKeys[0];
+                }
             }
         }
     }
@@ -290,6 +344,38 @@ public class ProximityInfo {
         }
     }
 
+    /**
+     * Returns the index of the cell of the grid containing the given point, or -1 if the point is
+     * not on the keyboard.
+     */
+    public int getCellIndex(final int x, final int y) {
+        if (mGridNeighbors[0] == null) {
+            return -1;
+        }
+        if (x >= 0 && x < mKeyboardMinWidth && y >= 0 && y < mKeyboardHeight) {
+            final int index = (y / mCellHeight) * mGridWidth + (x / mCellWidth);
+            if (index < mGridSize) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the key which is hit by any touch in the given cell, or null if the key depends on
+     * where in the cell the touch is.
+     */
+    public Key getHitKey(final int cellIndex) {
+        return mGridHitKeys[cellIndex];
+    }
+
+    /**
+     * Returns the keys which may be hit by a touch in the given cell.
+     */
+    public Key[] getHitCandidateKeys(final int cellIndex) {
+        return mGridHitCandidates[cellIndex];
+    }
+
     public Key[] getNearestKeys(final int x, final int y) {
         if (mGridNeighbors == null) {
             return EMPTY_KEY_ARRAY;
@@ -302,4 +388,22 @@ public class ProximityInfo {
         }
         return EMPTY_KEY_ARRAY;
     }
+
+    /**
+     * Returns a rough estimate of the memory used by the grids, including the proximity chars
+     * held by the native code.
+     */
+    int getEstimatedMemorySize() {
+        // An array takes a 16 byte header and 4 bytes per element.
+        int size = 16 + 4 * mGridSize * 3 + 4 * mGridSize * MAX_PROXIMITY_CHARS_SIZE;
+        for (int i = 0; i < mGridSize; ++i) {
+            if (mGridNeighbors[i] != null) {
+                size += 16 + 4 * mGridNeighbors[i].length;
+            }
+            if (mGridHitCandidates[i] != null) {
+                size += 16 + 4 * mGridHitCandidates[i].length;
+            }
+        }
+        return size;
+    }
 }
@@ -23,6 +23,10 @@ import android.util.SparseIntArray;
 import com.android.inputmethod.latin.R;
 import com.android.inputmethod.latin.ResourceUtils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
 public final class KeyVisualAttributes {
     public final Typeface mTypeface;
 
@@ -68,6 +72,8 @@ public final class KeyVisualAttributes {
     private static final SparseIntArray sVisualAttributeIds = new SparseIntArray();
     private static final int ATTR_DEFINED = 1;
     private static final int ATTR_NOT_FOUND = 0;
+    // The typeface style written for attributes without a typeface.
+    private static final int NO_TYPEFACE = -1;
     static {
         for (final int attrId : VISUAL_ATTRIBUTE_IDS) {
             sVisualAttributeIds.put(attrId, ATTR_DEFINED);
@@ -127,4 +133,60 @@ public final class KeyVisualAttributes {
                 R.styleable.Keyboard_Key_keyShiftedLetterHintActivatedColor, 0);
         mPreviewTextColor = keyAttr.getColor(R.styleable.Keyboard_Key_keyPreviewTextColor, 0);
     }
+
+    private KeyVisualAttributes(final DataInput in) throws IOException {
+        final int typefaceStyle = in.readInt();
+        mTypeface = (typefaceStyle == NO_TYPEFACE) ? null
+                : Typeface.defaultFromStyle(typefaceStyle);
+        mLetterRatio = in.readFloat();
+        mLetterSize = in.readInt();
+        mLabelRatio = in.readFloat();
+        mLabelSize = in.readInt();
+        mLargeLetterRatio = in.readFloat();
+        mLargeLabelRatio = in.readFloat();
+        mHintLetterRatio = in.readFloat();
+        mShiftedLetterHintRatio = in.readFloat();
+        mHintLabelRatio = in.readFloat();
+        mPreviewTextRatio = in.readFloat();
+        mTextColor = in.readInt();
+        mTextInactivatedColor = in.readInt();
+        mTextShadowColor = in.readInt();
+        mHintLetterColor = in.readInt();
+        mHintLabelColor = in.readInt();
+        mShiftedLetterHintInactivatedColor = in.readInt();
+        mShiftedLetterHintActivatedColor = in.readInt();
+        mPreviewTextColor = in.readInt();
+    }
+
+    /**
+     * Reads attributes written by {@link #write}, which may be null.
+     */
+    public static KeyVisualAttributes read(final DataInput in) throws IOException {
+        return in.readBoolean() ? new KeyVisualAttributes(in) : null;
+    }
+
+    public static void write(final DataOutput out, final KeyVisualAttributes attrs)
+            throws IOException {
+        out.writeBoolean(attrs != null);
+        if (attrs == null) return;
+        out.writeInt(attrs.mTypeface == null ? NO_TYPEFACE : attrs.mTypeface.getStyle());
+        out.writeFloat(attrs.mLetterRatio);
+        out.writeInt(attrs.mLetterSize);
+        out.writeFloat(attrs.mLabelRatio);
+        out.writeInt(attrs.mLabelSize);
+        out.writeFloat(attrs.mLargeLetterRatio);
+        out.writeFloat(attrs.mLargeLabelRatio);
+        out.writeFloat(attrs.mHintLetterRatio);
+        out.writeFloat(attrs.mShiftedLetterHintRatio);
+        out.writeFloat(attrs.mHintLabelRatio);
+        out.writeFloat(attrs.mPreviewTextRatio);
+        out.writeInt(attrs.mTextColor);
+        out.writeInt(attrs.mTextInactivatedColor);
+        out.writeInt(attrs.mTextShadowColor);
+        out.writeInt(attrs.mHintLetterColor);
+        out.writeInt(attrs.mHintLabelColor);
+        out.writeInt(attrs.mShiftedLetterHintInactivatedColor);
+        out.writeInt(attrs.mShiftedLetterHintActivatedColor);
+        out.writeInt(attrs.mPreviewTextColor);
+    }
 }
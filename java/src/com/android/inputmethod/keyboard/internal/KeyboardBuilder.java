@@ -174,6 +174,47 @@ public class KeyboardBuilder<KP extends KeyboardParams> {
         return this;
     }
 
+    /**
+     * Loads the keys of the keyboard from a table compiled by {@link #compile} for the same
+     * layout, instead of parsing them. Only the attributes of the keyboard are read from the XML.
+     * @return whether the table matches the layout. If not, this builder must not be used.
+     */
+    public boolean loadCompiled(final int xmlId, final KeyboardId id, final byte[] table,
+            final String layoutKey) {
+        mParams.mId = id;
+        final XmlResourceParser parser = mResources.getXml(xmlId);
+        try {
+            while (parser.getEventType() != XmlPullParser.END_DOCUMENT) {
+                final int event = parser.next();
+                if (event == XmlPullParser.START_TAG) {
+                    final String tag = parser.getName();
+                    if (TAG_KEYBOARD.equals(tag)) {
+                        parseKeyboardAttributes(parser);
+                        return KeyboardLayoutTable.load(table, layoutKey, mParams);
+                    } else {
+                        throw new XmlParseUtils.IllegalStartTag(parser, tag, TAG_KEYBOARD);
+                    }
+                }
+            }
+            return false;
+        } catch (XmlPullParserException e) {
+            Log.w(BUILDER_TAG, "keyboard XML parse error", e);
+            throw new IllegalArgumentException(e.getMessage(), e);
+        } catch (IOException e) {
+            Log.w(BUILDER_TAG, "keyboard XML parse error", e);
+            throw new RuntimeException(e.getMessage(), e);
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Compiles the loaded keys into a table for {@link #loadCompiled}.
+     */
+    public byte[] compile(final String layoutKey) {
+        return KeyboardLayoutTable.compile(mParams, layoutKey);
+    }
+
     @UsedForTesting
     public void disableTouchPositionCorrectionDataForTest() {
         mParams.mTouchPositionCorrection.setEnabled(false);
@@ -216,6 +257,7 @@ public class KeyboardBuilder<KP extends KeyboardParams> {
                 final String tag = parser.getName();
                 if (TAG_KEYBOARD.equals(tag)) {
                     parseKeyboardAttributes(parser);
+                    loadKeyTexts();
                     startKeyboard();
                     parseKeyboardContent(parser, false);
                     break;
@@ -274,20 +316,6 @@ public class KeyboardBuilder<KP extends KeyboardParams> {
 
             params.mThemeId = keyboardAttr.getInt(R.styleable.Keyboard_themeId, 0);
             params.mIconsSet.loadIcons(keyboardAttr);
-            final String language = params.mId.mLocale.getLanguage();
-            params.mCodesSet.setLanguage(language);
-            params.mTextsSet.setLanguage(language);
-            final RunInLocale<Void> job = new RunInLocale<Void>() {
-                @Override
-                protected Void job(Resources res) {
-                    params.mTextsSet.loadStringResources(mContext);
-                    return null;
-                }
-            };
-            // Null means the current system locale.
-            final Locale locale = SubtypeLocale.isNoLanguage(params.mId.mSubtype)
-                    ? null : params.mId.mLocale;
-            job.runInLocale(mResources, locale);
 
             final int resourceId = keyboardAttr.getResourceId(
                     R.styleable.Keyboard_touchPositionCorrectionData, 0);
@@ -301,6 +329,25 @@ public class KeyboardBuilder<KP extends KeyboardParams> {
         }
     }
 
+    // The codes and texts are only needed to parse the keys.
+    private void loadKeyTexts() {
+        final KeyboardParams params = mParams;
+        final String language = params.mId.mLocale.getLanguage();
+        params.mCodesSet.setLanguage(language);
+        params.mTextsSet.setLanguage(language, mResources);
+        final RunInLocale<Void> job = new RunInLocale<Void>() {
+            @Override
+            protected Void job(Resources res) {
+                params.mTextsSet.loadStringResources(mContext);
+                return null;
+            }
+        };
+        // Null means the current system locale.
+        final Locale locale = SubtypeLocale.isNoLanguage(params.mId.mSubtype)
+                ? null : params.mId.mLocale;
+        job.runInLocale(mResources, locale);
+    }
+
     private void parseKeyboardContent(final XmlPullParser parser, final boolean skip)
             throws XmlPullParserException, IOException {
         while (parser.getEventType() != XmlPullParser.END_DOCUMENT) {
@@ -0,0 +1,222 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.keyboard.internal;
+
+import android.util.Log;
+
+import com.android.inputmethod.keyboard.Key;
+import com.android.inputmethod.latin.CollectionUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * A compiled keyboard layout: the keys of a keyboard, as evaluated from its XML layout.
+ *
+ * Loading a keyboard from its table skips the evaluation of includes, switches and key styles,
+ * and the parsing of the key specs. Only the attributes of the keyboard element itself are
+ * still read from the XML: the table records the geometry they gave, and is only used if they
+ * give the same again.
+ *
+ * The table is also keyed by a string that the caller builds from anything else the layout
+ * depends on, like the keyboard id and the resources configuration.
+ */
+public final class KeyboardLayoutTable {
+    private static final String TAG = KeyboardLayoutTable.class.getSimpleName();
+
+    private static final int MAGIC_NUMBER = 0x6b6c7431; // "klt1"
+    // Must be incremented when the format of keys changes.
+    private static final int FORMAT_VERSION = 1;
+    private static final String TABLE_FILE_EXTENSION = ".table";
+
+    private KeyboardLayoutTable() {
+        // This utility class is not publicly instantiable.
+    }
+
+    public static void writeString(final DataOutput out, final String s) throws IOException {
+        out.writeBoolean(s != null);
+        if (s != null) {
+            out.writeUTF(s);
+        }
+    }
+
+    public static String readString(final DataInput in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeGeometry(final DataOutput out, final KeyboardParams params)
+            throws IOException {
+        out.writeInt(params.mThemeId);
+        out.writeInt(params.mOccupiedWidth);
+        out.writeInt(params.mOccupiedHeight);
+        out.writeInt(params.mTopPadding);
+        out.writeInt(params.mBottomPadding);
+        out.writeInt(params.mLeftPadding);
+        out.writeInt(params.mRightPadding);
+        out.writeInt(params.mDefaultKeyWidth);
+        out.writeInt(params.mDefaultRowHeight);
+        out.writeInt(params.mHorizontalGap);
+        out.writeInt(params.mVerticalGap);
+        out.writeInt(params.mMaxMoreKeysKeyboardColumn);
+    }
+
+    /**
+     * Compiles the keys of the given keyboard parameters, once all keys are added.
+     */
+    public static byte[] compile(final KeyboardParams params, final String layoutKey) {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(MAGIC_NUMBER);
+            out.writeInt(FORMAT_VERSION);
+            out.writeUTF(layoutKey);
+            writeGeometry(out, params);
+            out.writeInt(params.mKeys.size());
+            for (final Key key : params.mKeys) {
+                key.writeTo(out);
+            }
+            out.close();
+        } catch (IOException e) {
+            // Can't happen when writing to memory.
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Adds the keys of the table to the given keyboard parameters, whose keyboard attributes
+     * must already be read.
+     * @return whether the table was compiled for the same layout. If not, no key is added.
+     */
+    public static boolean load(final byte[] table, final String layoutKey,
+            final KeyboardParams params) {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(table));
+        try {
+            if (in.readInt() != MAGIC_NUMBER || in.readInt() != FORMAT_VERSION
+                    || !layoutKey.equals(in.readUTF())) {
+                return false;
+            }
+            final ByteArrayOutputStream geometry = new ByteArrayOutputStream();
+            writeGeometry(new DataOutputStream(geometry), params);
+            final byte[] expectedGeometry = geometry.toByteArray();
+            final byte[] tableGeometry = new byte[expectedGeometry.length];
+            in.readFully(tableGeometry);
+            if (!Arrays.equals(expectedGeometry, tableGeometry)) {
+                return false;
+            }
+            final int keyCount = in.readInt();
+            final ArrayList<Key> keys = CollectionUtils.newArrayList(keyCount);
+            for (int i = 0; i < keyCount; ++i) {
+                keys.add(Key.readFrom(in));
+            }
+            for (final Key key : keys) {
+                params.onAddKey(key);
+            }
+            return true;
+        } catch (IOException e) {
+            Log.w(TAG, "Broken keyboard layout table", e);
+            return false;
+        }
+    }
+
+    public static File getTableFile(final File directory, final String layoutKey) {
+        return new File(directory, Integer.toHexString(layoutKey.hashCode())
+                + TABLE_FILE_EXTENSION);
+    }
+
+    /**
+     * Returns the content of the table file, or null if there is none.
+     */
+    public static byte[] readTableFile(final File file) {
+        FileInputStream in = null;
+        try {
+            in = new FileInputStream(file);
+            final byte[] table = new byte[(int)file.length()];
+            new DataInputStream(in).readFully(table);
+            return table;
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (IOException e) {
+            Log.w(TAG, "IO exception while reading keyboard layout table " + file, e);
+            return null;
+        } finally {
+            if (null != in) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes the table file, and deletes the least recently written tables beyond the given
+     * number of files in its directory.
+     */
+    public static void writeTableFile(final File file, final byte[] table, final int maxFiles) {
+        final File directory = file.getParentFile();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            Log.w(TAG, "Can't create directory for keyboard layout tables: " + directory);
+            return;
+        }
+        final File tempFile = new File(directory, file.getName() + ".temp");
+        FileOutputStream out = null;
+        try {
+            out = new FileOutputStream(tempFile);
+            out.write(table);
+            out.close();
+            out = null;
+            tempFile.renameTo(file);
+        } catch (IOException e) {
+            Log.w(TAG, "IO exception while writing keyboard layout table " + file, e);
+        } finally {
+            if (null != out) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+        final File[] files = directory.listFiles();
+        if (files == null || files.length <= maxFiles) return;
+        Arrays.sort(files, new Comparator<File>() {
+            @Override
+            public int compare(final File lhs, final File rhs) {
+                final long lhsModified = lhs.lastModified();
+                final long rhsModified = rhs.lastModified();
+                return lhsModified < rhsModified ? -1 : (lhsModified > rhsModified ? 1 : 0);
+            }
+        });
+        for (int i = 0; i < files.length - maxFiles; ++i) {
+            files[i].delete();
+        }
+    }
+}
@@ -21,14 +21,15 @@ import com.android.inputmethod.latin.CollectionUtils;
 
 import java.util.HashMap;
 
+// Keyboards may be built on several threads at once, sharing this cache.
 public final class KeysCache {
     private final HashMap<Key, Key> mMap = CollectionUtils.newHashMap();
 
-    public void clear() {
+    public synchronized void clear() {
         mMap.clear();
     }
 
-    public Key get(final Key key) {
+    public synchronized Key get(final Key key) {
         final Key existingKey = mMap.get(key);
         if (existingKey != null) {
             // Reuse the existing element that equals to "key" without adding "key" to the map.
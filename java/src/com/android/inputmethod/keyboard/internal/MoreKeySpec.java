@@ -21,6 +21,9 @@ import android.text.TextUtils;
 import com.android.inputmethod.latin.Constants;
 import com.android.inputmethod.latin.StringUtils;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Locale;
 
 public final class MoreKeySpec {
@@ -48,6 +51,24 @@ public final class MoreKeySpec {
         mIconId = KeySpecParser.getIconId(moreKeySpec);
     }
 
+    private MoreKeySpec(final DataInput in) throws IOException {
+        mCode = in.readInt();
+        mLabel = KeyboardLayoutTable.readString(in);
+        mOutputText = KeyboardLayoutTable.readString(in);
+        mIconId = in.readInt();
+    }
+
+    public static MoreKeySpec readFrom(final DataInput in) throws IOException {
+        return new MoreKeySpec(in);
+    }
+
+    public void writeTo(final DataOutput out) throws IOException {
+        out.writeInt(mCode);
+        KeyboardLayoutTable.writeString(out, mLabel);
+        KeyboardLayoutTable.writeString(out, mOutputText);
+        out.writeInt(mIconId);
+    }
+
     @Override
     public int hashCode() {
         int hashCode = 1;
@@ -17,13 +17,15 @@
 package com.android.inputmethod.latin;
 
 import android.text.TextUtils;
-import android.util.SparseArray;
+import android.util.Log;
 
 import com.android.inputmethod.keyboard.ProximityInfo;
 import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Locale;
 
 /**
@@ -31,41 +33,102 @@ import java.util.Locale;
  */
 public final class BinaryDictionary extends Dictionary {
     private static final String TAG = BinaryDictionary.class.getSimpleName();
+    private static final boolean DEBUG = false;
 
     // Must be equal to MAX_WORD_LENGTH in native/jni/src/defines.h
-    private static final int MAX_WORD_LENGTH = Constants.Dictionary.MAX_WORD_LENGTH;
+    static final int MAX_WORD_LENGTH = Constants.Dictionary.MAX_WORD_LENGTH;
     // Must be equal to MAX_RESULTS in native/jni/src/defines.h
-    private static final int MAX_RESULTS = 18;
+    static final int MAX_RESULTS = 18;
 
     private long mNativeDict;
     private final Locale mLocale;
-    private final int[] mInputCodePoints = new int[MAX_WORD_LENGTH];
-    private final int[] mOutputCodePoints = new int[MAX_WORD_LENGTH * MAX_RESULTS];
-    private final int[] mSpaceIndices = new int[MAX_RESULTS];
-    private final int[] mOutputScores = new int[MAX_RESULTS];
-    private final int[] mOutputTypes = new int[MAX_RESULTS];
 
     private final boolean mUseFullEditDistance;
 
-    private final SparseArray<DicTraverseSession> mDicTraverseSessions =
-            CollectionUtils.newSparseArray();
+    // The most traversal sessions kept open at once, unless set otherwise with
+    // setMaxSessionCount. Each one holds its native search caches, which take about
+    // getNativeMemorySize() bytes, so the least recently used idle session is closed to open
+    // another one. Typing and gesture input use one session each.
+    private static final int DEFAULT_MAX_TRAVERSE_SESSIONS = 2;
 
-    // TODO: There should be a way to remove used DicTraverseSession objects from
-    // {@code mDicTraverseSessions}.
-    private DicTraverseSession getTraverseSession(final int traverseSessionId) {
-        synchronized(mDicTraverseSessions) {
+    // The open sessions by id, the least recently used first. Guarded by itself.
+    private final LinkedHashMap<Integer, DicTraverseSession> mDicTraverseSessions =
+            new LinkedHashMap<Integer, DicTraverseSession>(DEFAULT_MAX_TRAVERSE_SESSIONS + 1,
+                    0.75f /* loadFactor */, true /* accessOrder */);
+    // Guarded by mDicTraverseSessions.
+    private int mMaxTraverseSessions = DEFAULT_MAX_TRAVERSE_SESSIONS;
+    // Whether close() has been called, after which no session is checked out. Guarded by
+    // mDicTraverseSessions.
+    private boolean mClosed;
+
+    /**
+     * Checks out the session with this id, opening it if needed. It must be returned with
+     * {@link #returnTraverseSession} once the query is done.
+     * @return the session, or null if the dictionary is closed.
+     */
+    private DicTraverseSession checkOutTraverseSession(final int traverseSessionId) {
+        synchronized (mDicTraverseSessions) {
+            if (mClosed || mNativeDict == 0) return null;
             DicTraverseSession traverseSession = mDicTraverseSessions.get(traverseSessionId);
             if (traverseSession == null) {
-                traverseSession = mDicTraverseSessions.get(traverseSessionId);
-                if (traverseSession == null) {
-                    traverseSession = new DicTraverseSession(mLocale, mNativeDict);
-                    mDicTraverseSessions.put(traverseSessionId, traverseSession);
+                closeIdleTraverseSessions(mMaxTraverseSessions - 1);
+                traverseSession = new DicTraverseSession(mLocale, mNativeDict);
+                mDicTraverseSessions.put(traverseSessionId, traverseSession);
+                if (DEBUG) {
+                    Log.d(TAG, "Opened traverse session " + traverseSessionId + " for "
+                            + mDictType + ": " + mDicTraverseSessions.size() + " open, "
+                            + traverseSession.getNativeMemorySize() + " bytes each");
                 }
             }
+            ++traverseSession.mCheckOutCount;
             return traverseSession;
         }
     }
 
+    private void returnTraverseSession(final DicTraverseSession traverseSession) {
+        synchronized (mDicTraverseSessions) {
+            --traverseSession.mCheckOutCount;
+            if (mClosed) {
+                // close() waits for all the sessions to be returned.
+                mDicTraverseSessions.notifyAll();
+                return;
+            }
+            // All the sessions may have been in use when this one was opened.
+            closeIdleTraverseSessions(mMaxTraverseSessions);
+        }
+    }
+
+    @Override
+    public void setMaxSessionCount(final int maxSessionCount) {
+        synchronized (mDicTraverseSessions) {
+            mMaxTraverseSessions = Math.max(1, maxSessionCount);
+            closeIdleTraverseSessions(mMaxTraverseSessions);
+        }
+    }
+
+    @Override
+    public void closeSession(final int sessionId) {
+        synchronized (mDicTraverseSessions) {
+            final DicTraverseSession traverseSession = mDicTraverseSessions.get(sessionId);
+            // A session still checked out is closed when it is the least recently used.
+            if (null == traverseSession || traverseSession.mCheckOutCount > 0) return;
+            mDicTraverseSessions.remove(sessionId);
+            traverseSession.close();
+        }
+    }
+
+    // Closes the least recently used sessions which are not checked out, until at most maxCount
+    // sessions are open. Must be called while holding the lock on mDicTraverseSessions.
+    private void closeIdleTraverseSessions(final int maxCount) {
+        final Iterator<DicTraverseSession> iterator = mDicTraverseSessions.values().iterator();
+        while (mDicTraverseSessions.size() > maxCount && iterator.hasNext()) {
+            final DicTraverseSession traverseSession = iterator.next();
+            if (traverseSession.mCheckOutCount > 0) continue;
+            iterator.remove();
+            traverseSession.close();
+        }
+    }
+
     /**
      * Constructor for the binary dictionary. This is supposed to be called from the
      * dictionary factory.
@@ -119,17 +182,37 @@ public final class BinaryDictionary extends Dictionary {
             final boolean blockOffensiveWords, final int sessionId) {
         if (!isValidDictionary()) return null;
 
-        Arrays.fill(mInputCodePoints, Constants.NOT_A_CODE);
+        // The query and its results go through the buffers of the session, so that other
+        // sessions can query this dictionary at the same time.
+        final DicTraverseSession session = checkOutTraverseSession(sessionId);
+        if (null == session) return null;
+        try {
+            synchronized (session) {
+                return getSuggestionsLocked(composer, prevWord, proximityInfo,
+                        blockOffensiveWords, session);
+            }
+        } finally {
+            returnTraverseSession(session);
+        }
+    }
+
+    private ArrayList<SuggestedWordInfo> getSuggestionsLocked(final WordComposer composer,
+            final String prevWord, final ProximityInfo proximityInfo,
+            final boolean blockOffensiveWords, final DicTraverseSession session) {
+        final int[] inputCodePoints = session.mInputCodePoints;
+        final int[] outputCodePoints = session.mOutputCodePoints;
+        final int[] outputScores = session.mOutputScores;
+        final int[] outputTypes = session.mOutputTypes;
+        Arrays.fill(inputCodePoints, Constants.NOT_A_CODE);
         // TODO: toLowerCase in the native code
-        final int[] prevWordCodePointArray = (null == prevWord)
-                ? null : StringUtils.toCodePointArray(prevWord);
+        final int[] prevWordCodePointArray = session.getPrevWordCodePoints(prevWord);
         final int composerSize = composer.size();
 
         final boolean isGesture = composer.isBatchMode();
         if (composerSize <= 1 || !isGesture) {
             if (composerSize > MAX_WORD_LENGTH - 1) return null;
             for (int i = 0; i < composerSize; i++) {
-                mInputCodePoints[i] = composer.getCodeAt(i);
+                inputCodePoints[i] = composer.getCodeAt(i);
             }
         }
 
@@ -137,33 +220,32 @@ public final class BinaryDictionary extends Dictionary {
         final int inputSize = isGesture ? ips.getPointerSize() : composerSize;
         // proximityInfo and/or prevWordForBigrams may not be null.
         final int count = getSuggestionsNative(mNativeDict, proximityInfo.getNativeProximityInfo(),
-                getTraverseSession(sessionId).getSession(), ips.getXCoordinates(),
-                ips.getYCoordinates(), ips.getTimes(), ips.getPointerIds(), mInputCodePoints,
-                inputSize, 0 /* commitPoint */, isGesture, prevWordCodePointArray,
-                mUseFullEditDistance, mOutputCodePoints, mOutputScores, mSpaceIndices,
-                mOutputTypes);
-        final ArrayList<SuggestedWordInfo> suggestions = CollectionUtils.newArrayList();
+                session.getSession(), ips.getXCoordinates(), ips.getYCoordinates(),
+                ips.getTimes(), ips.getPointerIds(), inputCodePoints, inputSize,
+                0 /* commitPoint */, isGesture, prevWordCodePointArray, mUseFullEditDistance,
+                outputCodePoints, outputScores, session.mSpaceIndices, outputTypes);
+        final ArrayList<SuggestedWordInfo> suggestions = CollectionUtils.newArrayList(count);
         for (int j = 0; j < count; ++j) {
+            final int flags = outputTypes[j] & SuggestedWordInfo.KIND_MASK_FLAGS;
+            if (blockOffensiveWords
+                    && 0 != (flags & SuggestedWordInfo.KIND_FLAG_POSSIBLY_OFFENSIVE)
+                    && 0 == (flags & SuggestedWordInfo.KIND_FLAG_EXACT_MATCH)) {
+                // If we block potentially offensive words, and if the word is possibly
+                // offensive, then we don't output it unless it's also an exact match.
+                continue;
+            }
             final int start = j * MAX_WORD_LENGTH;
             int len = 0;
-            while (len < MAX_WORD_LENGTH && mOutputCodePoints[start + len] != 0) {
+            while (len < MAX_WORD_LENGTH && outputCodePoints[start + len] != 0) {
                 ++len;
             }
             if (len > 0) {
-                final int flags = mOutputTypes[j] & SuggestedWordInfo.KIND_MASK_FLAGS;
-                if (blockOffensiveWords
-                        && 0 != (flags & SuggestedWordInfo.KIND_FLAG_POSSIBLY_OFFENSIVE)
-                        && 0 == (flags & SuggestedWordInfo.KIND_FLAG_EXACT_MATCH)) {
-                    // If we block potentially offensive words, and if the word is possibly
-                    // offensive, then we don't output it unless it's also an exact match.
-                    continue;
-                }
-                final int kind = mOutputTypes[j] & SuggestedWordInfo.KIND_MASK_KIND;
+                final int kind = outputTypes[j] & SuggestedWordInfo.KIND_MASK_KIND;
                 final int score = SuggestedWordInfo.KIND_WHITELIST == kind
-                        ? SuggestedWordInfo.MAX_SCORE : mOutputScores[j];
+                        ? SuggestedWordInfo.MAX_SCORE : outputScores[j];
                 // TODO: check that all users of the `kind' parameter are ready to accept
-                // flags too and pass mOutputTypes[j] instead of kind
-                suggestions.add(new SuggestedWordInfo(new String(mOutputCodePoints, start, len),
+                // flags too and pass outputTypes[j] instead of kind
+                suggestions.add(new SuggestedWordInfo(new String(outputCodePoints, start, len),
                         score, kind, mDictType));
             }
         }
@@ -212,15 +294,34 @@ public final class BinaryDictionary extends Dictionary {
     @Override
     public void close() {
         synchronized (mDicTraverseSessions) {
-            final int sessionsSize = mDicTraverseSessions.size();
-            for (int index = 0; index < sessionsSize; ++index) {
-                final DicTraverseSession traverseSession = mDicTraverseSessions.valueAt(index);
-                if (traverseSession != null) {
-                    traverseSession.close();
+            mClosed = true;
+            // Wait for the queries using the sessions to finish.
+            boolean interrupted = false;
+            while (hasCheckedOutTraverseSessions()) {
+                try {
+                    mDicTraverseSessions.wait();
+                } catch (InterruptedException e) {
+                    // The native dictionary can't be freed under a running query.
+                    interrupted = true;
                 }
             }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            for (final DicTraverseSession traverseSession : mDicTraverseSessions.values()) {
+                traverseSession.close();
+            }
+            mDicTraverseSessions.clear();
+            closeInternal();
+        }
+    }
+
+    // Must be called while holding the lock on mDicTraverseSessions.
+    private boolean hasCheckedOutTraverseSessions() {
+        for (final DicTraverseSession traverseSession : mDicTraverseSessions.values()) {
+            if (traverseSession.mCheckOutCount > 0) return true;
         }
-        closeInternal();
+        return false;
     }
 
     private synchronized void closeInternal() {
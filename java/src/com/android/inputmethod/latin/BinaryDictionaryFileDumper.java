@@ -37,6 +37,7 @@ import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Arrays;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -54,12 +55,16 @@ public final class BinaryDictionaryFileDumper {
     /**
      * The size of the temporary buffer to copy files.
      */
-    private static final int FILE_READ_BUFFER_SIZE = 8192;
+    private static final int FILE_READ_BUFFER_SIZE = 65536;
     // TODO: make the following data common with the native code
     private static final byte[] MAGIC_NUMBER_VERSION_1 =
             new byte[] { (byte)0x78, (byte)0xB1, (byte)0x00, (byte)0x00 };
     private static final byte[] MAGIC_NUMBER_VERSION_2 =
             new byte[] { (byte)0x9B, (byte)0xC1, (byte)0x3A, (byte)0xFE };
+    // The magic number of a gzip stream, as per RFC 1952.
+    private static final byte[] MAGIC_NUMBER_GZIP = new byte[] { (byte)0x1F, (byte)0x8B };
+    // A word list may be compressed twice, inside and outside of its cryption.
+    private static final int MAX_COMPRESSION_LAYERS = 2;
 
     private static final String DICTIONARY_PROJECTION[] = { "id" };
 
@@ -212,15 +217,6 @@ public final class BinaryDictionaryFileDumper {
      */
     private static void cacheWordList(final String wordlistId, final String locale,
             final ContentProviderClient providerClient, final Context context) {
-        final int COMPRESSED_CRYPTED_COMPRESSED = 0;
-        final int CRYPTED_COMPRESSED = 1;
-        final int COMPRESSED_CRYPTED = 2;
-        final int COMPRESSED_ONLY = 3;
-        final int CRYPTED_ONLY = 4;
-        final int NONE = 5;
-        final int MODE_MIN = COMPRESSED_CRYPTED_COMPRESSED;
-        final int MODE_MAX = NONE;
-
         final String clientId = context.getString(R.string.dictionary_pack_client_id);
         final Uri.Builder wordListUriBuilder;
         try {
@@ -240,99 +236,61 @@ public final class BinaryDictionaryFileDumper {
             return;
         }
 
-        for (int mode = MODE_MIN; mode <= MODE_MAX; ++mode) {
-            final InputStream originalSourceStream;
-            InputStream inputStream = null;
-            InputStream uncompressedStream = null;
-            InputStream decryptedStream = null;
-            BufferedInputStream bufferedInputStream = null;
-            File outputFile = null;
-            BufferedOutputStream bufferedOutputStream = null;
-            AssetFileDescriptor afd = null;
-            final Uri wordListUri = wordListUriBuilder.build();
-            try {
-                // Open input.
-                afd = openAssetFileDescriptor(providerClient, wordListUri);
-                // If we can't open it at all, don't even try a number of times.
-                if (null == afd) return;
-                originalSourceStream = afd.createInputStream();
-                // Open output.
-                outputFile = new File(tempFileName);
-                // Just to be sure, delete the file. This may fail silently, and return false: this
-                // is the right thing to do, as we just want to continue anyway.
+        final Uri wordListUri = wordListUriBuilder.build();
+        // Open input.
+        final AssetFileDescriptor afd = openAssetFileDescriptor(providerClient, wordListUri);
+        // If we can't open it at all, don't even try.
+        if (null == afd) return;
+        InputStream inputStream = null;
+        File outputFile = null;
+        FileOutputStream outputStream = null;
+        try {
+            // Undo the compression and cryption layers the word list comes in, as they are read.
+            inputStream = getDecodedStream(afd.createInputStream());
+            // Open output.
+            outputFile = new File(tempFileName);
+            // Just to be sure, delete the file. This may fail silently, and return false: this
+            // is the right thing to do, as we just want to continue anyway.
+            outputFile.delete();
+            outputStream = new FileOutputStream(outputFile);
+            copyFileTo(inputStream, outputStream);
+            outputStream.close();
+            final File finalFile = new File(finalFileName);
+            finalFile.delete();
+            if (!outputFile.renameTo(finalFile)) {
+                throw new IOException("Can't move the file to its final name");
+            }
+            wordListUriBuilder.appendQueryParameter(QUERY_PARAMETER_DELETE_RESULT,
+                    QUERY_PARAMETER_SUCCESS);
+            if (0 >= providerClient.delete(wordListUriBuilder.build(), null, null)) {
+                Log.e(TAG, "Could not have the dictionary pack delete a word list");
+            }
+            BinaryDictionaryGetter.removeFilesWithIdExcept(context, wordlistId, finalFile);
+            // Success! Close files (through the finally{} clause) and return.
+            return;
+        } catch (Exception e) {
+            if (DEBUG) {
+                Log.i(TAG, "Can't decode the word list", e);
+            }
+            if (null != outputFile) {
+                // This may or may not fail. The file may not have been created if the
+                // exception was thrown before it could be. Hence, both failure and
+                // success are expected outcomes, so we don't check the return value.
                 outputFile.delete();
-                // Get the appropriate decryption method for this try
-                switch (mode) {
-                    case COMPRESSED_CRYPTED_COMPRESSED:
-                        uncompressedStream =
-                                FileTransforms.getUncompressedStream(originalSourceStream);
-                        decryptedStream = FileTransforms.getDecryptedStream(uncompressedStream);
-                        inputStream = FileTransforms.getUncompressedStream(decryptedStream);
-                        break;
-                    case CRYPTED_COMPRESSED:
-                        decryptedStream = FileTransforms.getDecryptedStream(originalSourceStream);
-                        inputStream = FileTransforms.getUncompressedStream(decryptedStream);
-                        break;
-                    case COMPRESSED_CRYPTED:
-                        uncompressedStream =
-                                FileTransforms.getUncompressedStream(originalSourceStream);
-                        inputStream = FileTransforms.getDecryptedStream(uncompressedStream);
-                        break;
-                    case COMPRESSED_ONLY:
-                        inputStream = FileTransforms.getUncompressedStream(originalSourceStream);
-                        break;
-                    case CRYPTED_ONLY:
-                        inputStream = FileTransforms.getDecryptedStream(originalSourceStream);
-                        break;
-                    case NONE:
-                        inputStream = originalSourceStream;
-                        break;
-                }
-                bufferedInputStream = new BufferedInputStream(inputStream);
-                bufferedOutputStream = new BufferedOutputStream(new FileOutputStream(outputFile));
-                checkMagicAndCopyFileTo(bufferedInputStream, bufferedOutputStream);
-                bufferedOutputStream.flush();
-                bufferedOutputStream.close();
-                final File finalFile = new File(finalFileName);
-                finalFile.delete();
-                if (!outputFile.renameTo(finalFile)) {
-                    throw new IOException("Can't move the file to its final name");
-                }
-                wordListUriBuilder.appendQueryParameter(QUERY_PARAMETER_DELETE_RESULT,
-                        QUERY_PARAMETER_SUCCESS);
-                if (0 >= providerClient.delete(wordListUriBuilder.build(), null, null)) {
-                    Log.e(TAG, "Could not have the dictionary pack delete a word list");
-                }
-                BinaryDictionaryGetter.removeFilesWithIdExcept(context, wordlistId, finalFile);
-                // Success! Close files (through the finally{} clause) and return.
-                return;
+            }
+        } finally {
+            // Ignore exceptions while closing files.
+            try {
+                afd.close();
+                // This closes all the layers of the stream.
+                if (null != inputStream) inputStream.close();
+            } catch (Exception e) {
+                Log.e(TAG, "Exception while closing a file descriptor", e);
+            }
+            try {
+                if (null != outputStream) outputStream.close();
             } catch (Exception e) {
-                if (DEBUG) {
-                    Log.i(TAG, "Can't open word list in mode " + mode, e);
-                }
-                if (null != outputFile) {
-                    // This may or may not fail. The file may not have been created if the
-                    // exception was thrown before it could be. Hence, both failure and
-                    // success are expected outcomes, so we don't check the return value.
-                    outputFile.delete();
-                }
-                // Try the next method.
-            } finally {
-                // Ignore exceptions while closing files.
-                try {
-                    if (null != afd) afd.close();
-                    if (null != inputStream) inputStream.close();
-                    if (null != uncompressedStream) uncompressedStream.close();
-                    if (null != decryptedStream) decryptedStream.close();
-                    if (null != bufferedInputStream) bufferedInputStream.close();
-                } catch (Exception e) {
-                    Log.e(TAG, "Exception while closing a file descriptor", e);
-                }
-                try {
-                    if (null != bufferedOutputStream) bufferedOutputStream.close();
-                } catch (Exception e) {
-                    Log.e(TAG, "Exception while closing a file", e);
-                }
+                Log.e(TAG, "Exception while closing a file", e);
             }
         }
 
@@ -380,6 +338,61 @@ public final class BinaryDictionaryFileDumper {
         }
     }
 
+    /**
+     * Returns the word list in a stream, undoing the compression and cryption layers it comes in.
+     *
+     * Each layer is recognized by its first bytes, which are peeked at and left in the stream:
+     * the dictionary magic numbers end the word list layers, and the gzip one starts a compressed
+     * layer. Crypted layers have no magic number of their own, so any other start is taken to be
+     * one. This reads the stream once, whatever its layers are.
+     *
+     * @param input the stream the word list comes in.
+     * @return the word list, starting with its magic number.
+     * @throws IOException if the stream is not a word list in up to three layers.
+     */
+    /* package */ static BufferedInputStream getDecodedStream(final InputStream input)
+            throws IOException {
+        BufferedInputStream stream = new BufferedInputStream(input);
+        int compressionLayers = 0;
+        boolean isDecrypted = false;
+        while (!startsWith(stream, MAGIC_NUMBER_VERSION_2)
+                && !startsWith(stream, MAGIC_NUMBER_VERSION_1)) {
+            final InputStream decodedStream;
+            if (compressionLayers < MAX_COMPRESSION_LAYERS
+                    && startsWith(stream, MAGIC_NUMBER_GZIP)) {
+                ++compressionLayers;
+                decodedStream = FileTransforms.getUncompressedStream(stream);
+            } else if (!isDecrypted) {
+                isDecrypted = true;
+                decodedStream = FileTransforms.getDecryptedStream(stream);
+            } else {
+                throw new IOException("Wrong magic number for downloaded file");
+            }
+            stream = new BufferedInputStream(decodedStream);
+        }
+        return stream;
+    }
+
+    private static boolean startsWith(final BufferedInputStream stream, final byte[] magicNumber)
+            throws IOException {
+        stream.mark(magicNumber.length);
+        try {
+            for (final byte b : magicNumber) {
+                if (stream.read() != (b & 0xFF)) return false;
+            }
+            return true;
+        } finally {
+            stream.reset();
+        }
+    }
+
+    private static void copyFileTo(final InputStream input, final OutputStream output)
+            throws IOException {
+        final byte[] buffer = new byte[FILE_READ_BUFFER_SIZE];
+        for (int readBytes = input.read(buffer); readBytes >= 0; readBytes = input.read(buffer))
+            output.write(buffer, 0, readBytes);
+    }
+
     /**
      * Copies the data in an input stream to a target file if the magic number matches.
      *
@@ -407,9 +420,7 @@ public final class BinaryDictionaryFileDumper {
         output.write(magicNumberBuffer);
 
         // Actually copy the file
-        final byte[] buffer = new byte[FILE_READ_BUFFER_SIZE];
-        for (int readBytes = input.read(buffer); readBytes >= 0; readBytes = input.read(buffer))
-            output.write(buffer, 0, readBytes);
+        copyFileTo(input, output);
         input.close();
     }
 
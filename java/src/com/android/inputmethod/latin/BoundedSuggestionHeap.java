@@ -0,0 +1,151 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Keeps the best suggestions out of those added to it, up to a fixed capacity.
+ *
+ * The suggestions are kept in an array used as a binary heap with the worst suggestion at the
+ * root, so adding a suggestion costs O(log(capacity)) comparisons and allocates nothing. A word
+ * is kept only once: adding a word which is already there keeps the better of the two.
+ */
+public final class BoundedSuggestionHeap {
+    // Sorts the best suggestions first.
+    private final Comparator<SuggestedWordInfo> mComparator;
+    private final SuggestedWordInfo[] mHeap;
+    // The hash codes of the words in mHeap, to find duplicates quickly.
+    private final int[] mHashCodes;
+    private int mSize = 0;
+
+    public BoundedSuggestionHeap(final Comparator<SuggestedWordInfo> comparator,
+            final int capacity) {
+        mComparator = comparator;
+        mHeap = new SuggestedWordInfo[capacity];
+        mHashCodes = new int[capacity];
+    }
+
+    public int size() {
+        return mSize;
+    }
+
+    public boolean isEmpty() {
+        return 0 == mSize;
+    }
+
+    public void clear() {
+        Arrays.fill(mHeap, 0, mSize, null);
+        mSize = 0;
+    }
+
+    public void add(final SuggestedWordInfo info) {
+        final int hashCode = info.mWord.hashCode();
+        for (int i = 0; i < mSize; ++i) {
+            if (hashCode == mHashCodes[i] && info.mWord.equals(mHeap[i].mWord)) {
+                if (mComparator.compare(info, mHeap[i]) < 0) {
+                    // Better than the copy we have: it moves away from the root.
+                    set(i, info, hashCode);
+                    siftDown(i);
+                }
+                return;
+            }
+        }
+        if (mSize < mHeap.length) {
+            set(mSize, info, hashCode);
+            siftUp(mSize++);
+        } else if (mSize > 0 && mComparator.compare(info, mHeap[0]) < 0) {
+            set(0, info, hashCode);
+            siftDown(0);
+        }
+    }
+
+    public void addAll(final ArrayList<SuggestedWordInfo> infos) {
+        if (null == infos) return;
+        final int count = infos.size();
+        for (int i = 0; i < count; ++i) {
+            add(infos.get(i));
+        }
+    }
+
+    /**
+     * Returns the best suggestion, or null if there are none.
+     */
+    public SuggestedWordInfo first() {
+        SuggestedWordInfo best = null;
+        for (int i = 0; i < mSize; ++i) {
+            if (null == best || mComparator.compare(mHeap[i], best) < 0) best = mHeap[i];
+        }
+        return best;
+    }
+
+    /**
+     * Returns the suggestions, best first.
+     */
+    public ArrayList<SuggestedWordInfo> toSortedList() {
+        final SuggestedWordInfo[] sorted = Arrays.copyOf(mHeap, mSize);
+        Arrays.sort(sorted, mComparator);
+        final ArrayList<SuggestedWordInfo> list = CollectionUtils.newArrayList(mSize);
+        for (final SuggestedWordInfo info : sorted) {
+            list.add(info);
+        }
+        return list;
+    }
+
+    private void set(final int index, final SuggestedWordInfo info, final int hashCode) {
+        mHeap[index] = info;
+        mHashCodes[index] = hashCode;
+    }
+
+    private void swap(final int i, final int j) {
+        final SuggestedWordInfo info = mHeap[i];
+        mHeap[i] = mHeap[j];
+        mHeap[j] = info;
+        final int hashCode = mHashCodes[i];
+        mHashCodes[i] = mHashCodes[j];
+        mHashCodes[j] = hashCode;
+    }
+
+    // Moves the suggestion at this index towards the root while it is worse than its parent.
+    private void siftUp(int index) {
+        while (index > 0) {
+            final int parent = (index - 1) / 2;
+            if (mComparator.compare(mHeap[index], mHeap[parent]) <= 0) return;
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    // Moves the suggestion at this index away from the root while it is better than one of its
+    // children.
+    private void siftDown(int index) {
+        while (true) {
+            final int left = index * 2 + 1;
+            if (left >= mSize) return;
+            final int right = left + 1;
+            final int worstChild = (right < mSize
+                    && mComparator.compare(mHeap[right], mHeap[left]) > 0) ? right : left;
+            if (mComparator.compare(mHeap[worstChild], mHeap[index]) <= 0) return;
+            swap(index, worstChild);
+            index = worstChild;
+        }
+    }
+}
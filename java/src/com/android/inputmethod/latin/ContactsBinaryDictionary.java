@@ -23,6 +23,7 @@ import android.content.Context;
 import android.database.ContentObserver;
 import android.database.Cursor;
 import android.net.Uri;
+import android.os.Build;
 import android.os.SystemClock;
 import android.provider.BaseColumns;
 import android.provider.ContactsContract;
@@ -30,13 +31,33 @@ import android.provider.ContactsContract.Contacts;
 import android.text.TextUtils;
 import android.util.Log;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 
 public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
 
+    // The time a contact was last updated. This column exists from API level 18 on; before that,
+    // a change is detected by the hash code of the name instead.
+    private static final String CONTACT_LAST_UPDATED_TIMESTAMP = "contact_last_updated_timestamp";
+    private static final boolean HAS_LAST_UPDATED_TIMESTAMP = Build.VERSION.SDK_INT >= 18;
+
     private static final String[] PROJECTION = {BaseColumns._ID, Contacts.DISPLAY_NAME};
-    private static final String[] PROJECTION_ID_ONLY = {BaseColumns._ID};
+    private static final String[] PROJECTION_VERSION = HAS_LAST_UPDATED_TIMESTAMP
+            ? new String[] {BaseColumns._ID, CONTACT_LAST_UPDATED_TIMESTAMP} : PROJECTION;
 
     private static final String TAG = ContactsBinaryDictionary.class.getSimpleName();
     private static final String NAME = "contacts";
@@ -52,25 +73,68 @@ public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
     /** The maximum number of contacts that this dictionary supports. */
     private static final int MAX_CONTACT_COUNT = 10000;
 
+    // Beyond this many changed contacts, it's faster to read all the names again than to read
+    // the changed ones by id.
+    private static final int MAX_CHANGED_CONTACTS_TO_READ_BY_ID = 100;
+
+    private static final int INDEX_ID = 0;
     private static final int INDEX_NAME = 1;
+    private static final int INDEX_VERSION = 1;
 
-    /** The number of contacts in the most recent dictionary rebuild. */
-    static private int sContactCountAtLastRebuild = 0;
+    private static final String INDEX_FILE_EXTENSION = ".index";
+    private static final int INDEX_MAGIC_NUMBER = 0x63646931; // "cdi1"
 
     /** The locale for this contacts dictionary. Controls name bigram predictions. */
     public final Locale mLocale;
 
     private ContentObserver mObserver;
 
+    /**
+     * Listener notified when the contacts change, after the dictionary is marked for a reload.
+     */
+    public interface OnContactsChangedListener {
+        public void onContactsChanged();
+    }
+
+    private volatile OnContactsChangedListener mOnContactsChangedListener;
+
     /**
      * Whether to use "firstname lastname" in bigram predictions.
      */
     private final boolean mUseFirstLastBigrams;
 
+    private static final class Contact {
+        // The time the contact was last updated, or the hash code of its name.
+        public final long mVersion;
+        // The words of the name, in order. Empty if the name is not used.
+        public final String[] mWords;
+
+        public Contact(final long version, final String[] words) {
+            mVersion = version;
+            mWords = words;
+        }
+    }
+
+    // The contacts in the dictionary, by id. These, and the counts below, are only accessed
+    // while holding the lock on the dictionary file, and are saved to the index file after each
+    // change so that they need not be read again from the contacts provider.
+    private final HashMap<Long, Contact> mContacts = CollectionUtils.newHashMap();
+    // How many contacts have each word in their name, and each pair of consecutive words.
+    private final HashMap<String, Integer> mWordCounts = CollectionUtils.newHashMap();
+    private final HashMap<String, HashMap<String, Integer>> mBigramCounts =
+            CollectionUtils.newHashMap();
+    private final String mIndexFilename;
+    // The modification time of the index file when mContacts was read from or saved to it, or
+    // -1. If another instance changed the file since, it is read again.
+    private long mIndexLastModified = -1;
+    // Whether hasContentChanged() already updated mContacts for the next rebuild.
+    private boolean mHasUpdatedContacts = false;
+
     public ContactsBinaryDictionary(final Context context, final Locale locale) {
         super(context, getFilenameWithLocale(NAME, locale.toString()), Dictionary.TYPE_CONTACTS);
         mLocale = locale;
         mUseFirstLastBigrams = useFirstLastBigramsForLocale(locale);
+        mIndexFilename = NAME + "." + locale.toString() + INDEX_FILE_EXTENSION;
         registerObserver(context);
 
         // Load the current binary dictionary from internal storage. If no binary dictionary exists,
@@ -88,10 +152,18 @@ public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
                     @Override
                     public void onChange(boolean self) {
                         setRequiresReload(true);
+                        final OnContactsChangedListener listener = mOnContactsChangedListener;
+                        if (null != listener) {
+                            listener.onContactsChanged();
+                        }
                     }
                 });
     }
 
+    public void setOnContactsChangedListener(final OnContactsChangedListener listener) {
+        mOnContactsChangedListener = listener;
+    }
+
     public void reopen(final Context context) {
         registerObserver(context);
     }
@@ -107,11 +179,13 @@ public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
 
     @Override
     public void loadDictionaryAsync() {
+        if (!mHasUpdatedContacts) {
+            updateContacts();
+        }
+        mHasUpdatedContacts = false;
         clearFusionDictionary();
         loadDeviceAccountsEmailAddresses();
-        loadDictionaryAsyncForUri(ContactsContract.Profile.CONTENT_URI);
-        // TODO: Switch this URL to the newer ContactsContract too
-        loadDictionaryAsyncForUri(Contacts.CONTENT_URI);
+        addWords();
     }
 
     private void loadDeviceAccountsEmailAddresses() {
@@ -129,67 +203,209 @@ public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
         }
     }
 
-    private void loadDictionaryAsyncForUri(final Uri uri) {
+    private boolean useFirstLastBigramsForLocale(final Locale locale) {
+        // TODO: Add firstname/lastname bigram rules for other languages.
+        if (locale != null && locale.getLanguage().equals(Locale.ENGLISH.getLanguage())) {
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Brings mContacts up to date with the contacts provider, reading the names of only the
+     * contacts which were added or changed since the last time.
+     * @return whether any contact was added, changed or removed.
+     */
+    private boolean updateContacts() {
+        final long startTime = SystemClock.uptimeMillis();
+        readIndexIfChanged();
+        final HashSet<Long> seenIds = CollectionUtils.newHashSet();
+        boolean hasChanged = false;
         try {
-            Cursor cursor = mContext.getContentResolver()
-                    .query(uri, PROJECTION, null, null, null);
-            if (cursor != null) {
-                try {
-                    if (cursor.moveToFirst()) {
-                        sContactCountAtLastRebuild = getContactCount();
-                        addWords(cursor);
-                    }
-                } finally {
-                    cursor.close();
+            hasChanged |= updateContactsForUri(ContactsContract.Profile.CONTENT_URI, seenIds);
+            // TODO: Switch this URL to the newer ContactsContract too
+            hasChanged |= updateContactsForUri(Contacts.CONTENT_URI, seenIds);
+            // The contacts we did not see were removed.
+            final Iterator<Map.Entry<Long, Contact>> iterator = mContacts.entrySet().iterator();
+            while (iterator.hasNext()) {
+                final Map.Entry<Long, Contact> entry = iterator.next();
+                if (!seenIds.contains(entry.getKey())) {
+                    removeWords(entry.getValue().mWords);
+                    iterator.remove();
+                    hasChanged = true;
                 }
             }
         } catch (IllegalStateException e) {
             Log.e(TAG, "Contacts DB is having problems");
         }
+        if (hasChanged) {
+            writeIndex();
+        }
+        if (DEBUG) {
+            Log.d(TAG, "Contacts " + (hasChanged ? "changed" : "unchanged") + ". (runtime = "
+                    + (SystemClock.uptimeMillis() - startTime) + " ms)");
+        }
+        return hasChanged;
     }
 
-    private boolean useFirstLastBigramsForLocale(final Locale locale) {
-        // TODO: Add firstname/lastname bigram rules for other languages.
-        if (locale != null && locale.getLanguage().equals(Locale.ENGLISH.getLanguage())) {
-            return true;
+    /**
+     * Updates the contacts at this uri, adding their ids to seenIds, up to MAX_CONTACT_COUNT
+     * contacts in all.
+     * @return whether any contact was added or changed.
+     */
+    private boolean updateContactsForUri(final Uri uri, final HashSet<Long> seenIds) {
+        final Cursor cursor = mContext.getContentResolver()
+                .query(uri, PROJECTION_VERSION, null, null, BaseColumns._ID);
+        if (null == cursor) return false;
+        // The changed contacts whose name remains to be read, by id, with their new version.
+        final HashMap<Long, Long> changedVersions = CollectionUtils.newHashMap();
+        boolean hasChanged = false;
+        try {
+            if (cursor.moveToFirst()) {
+                while (!cursor.isAfterLast() && seenIds.size() < MAX_CONTACT_COUNT) {
+                    final long id = cursor.getLong(INDEX_ID);
+                    seenIds.add(id);
+                    final Contact contact = mContacts.get(id);
+                    if (HAS_LAST_UPDATED_TIMESTAMP) {
+                        final long version = cursor.getLong(INDEX_VERSION);
+                        if (null == contact || version != contact.mVersion) {
+                            changedVersions.put(id, version);
+                        }
+                    } else {
+                        final String name = cursor.getString(INDEX_NAME);
+                        final long version = getNameVersion(name);
+                        if (null == contact || version != contact.mVersion) {
+                            setContact(id, new Contact(version, getWords(name)));
+                            hasChanged = true;
+                        }
+                    }
+                    cursor.moveToNext();
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+        if (!changedVersions.isEmpty()) {
+            readChangedNames(uri, changedVersions);
+            hasChanged = true;
+        }
+        return hasChanged;
+    }
+
+    // Reads the names of the changed contacts at this uri and updates them. A contact which is
+    // not found any more keeps its old version, so it will be removed next time.
+    private void readChangedNames(final Uri uri, final HashMap<Long, Long> changedVersions) {
+        String selection = null;
+        if (changedVersions.size() <= MAX_CHANGED_CONTACTS_TO_READ_BY_ID) {
+            final StringBuilder request =
+                    new StringBuilder(BaseColumns._ID).append(" in (");
+            boolean isFirst = true;
+            for (final Long id : changedVersions.keySet()) {
+                if (!isFirst) request.append(',');
+                request.append(id.longValue());
+                isFirst = false;
+            }
+            selection = request.append(')').toString();
+        }
+        final Cursor cursor = mContext.getContentResolver()
+                .query(uri, PROJECTION, selection, null, null);
+        if (null == cursor) return;
+        try {
+            if (cursor.moveToFirst()) {
+                while (!cursor.isAfterLast()) {
+                    final long id = cursor.getLong(INDEX_ID);
+                    final Long version = changedVersions.get(id);
+                    if (null != version) {
+                        final String name = cursor.getString(INDEX_NAME);
+                        setContact(id, new Contact(version, getWords(name)));
+                    }
+                    cursor.moveToNext();
+                }
+            }
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // Before the last updated time is available, a contact is only known to have changed when
+    // its name did.
+    private static long getNameVersion(final String name) {
+        return null == name ? 0 : name.hashCode();
+    }
+
+    private void setContact(final long id, final Contact contact) {
+        final Contact oldContact = mContacts.put(id, contact);
+        if (null != oldContact) {
+            removeWords(oldContact.mWords);
+        }
+        if (DEBUG) {
+            Log.d(TAG, "setContact " + id + ", " + TextUtils.join(" ", contact.mWords));
+        }
+        for (int i = 0; i < contact.mWords.length; ++i) {
+            incrementCount(mWordCounts, contact.mWords[i]);
+            if (i > 0 && mUseFirstLastBigrams) {
+                HashMap<String, Integer> bigramCounts = mBigramCounts.get(contact.mWords[i - 1]);
+                if (null == bigramCounts) {
+                    bigramCounts = CollectionUtils.newHashMap();
+                    mBigramCounts.put(contact.mWords[i - 1], bigramCounts);
+                }
+                incrementCount(bigramCounts, contact.mWords[i]);
+            }
         }
-        return false;
     }
 
-    private void addWords(final Cursor cursor) {
-        int count = 0;
-        while (!cursor.isAfterLast() && count < MAX_CONTACT_COUNT) {
-            String name = cursor.getString(INDEX_NAME);
-            if (isValidName(name)) {
-                addName(name);
-                ++count;
+    private void removeWords(final String[] words) {
+        for (int i = 0; i < words.length; ++i) {
+            decrementCount(mWordCounts, words[i]);
+            if (i > 0 && mUseFirstLastBigrams) {
+                final HashMap<String, Integer> bigramCounts = mBigramCounts.get(words[i - 1]);
+                if (null == bigramCounts) continue;
+                decrementCount(bigramCounts, words[i]);
+                if (bigramCounts.isEmpty()) {
+                    mBigramCounts.remove(words[i - 1]);
+                }
             }
-            cursor.moveToNext();
         }
     }
 
-    private int getContactCount() {
-        // TODO: consider switching to a rawQuery("select count(*)...") on the database if
-        // performance is a bottleneck.
-        final Cursor cursor = mContext.getContentResolver().query(
-                Contacts.CONTENT_URI, PROJECTION_ID_ONLY, null, null, null);
-        if (cursor != null) {
-            try {
-                return cursor.getCount();
-            } finally {
-                cursor.close();
+    private static void incrementCount(final HashMap<String, Integer> counts, final String key) {
+        final Integer count = counts.get(key);
+        counts.put(key, null == count ? 1 : count + 1);
+    }
+
+    private static void decrementCount(final HashMap<String, Integer> counts, final String key) {
+        final Integer count = counts.get(key);
+        if (null == count) return;
+        if (count > 1) {
+            counts.put(key, count - 1);
+        } else {
+            counts.remove(key);
+        }
+    }
+
+    /**
+     * Adds the words and bigrams of the names of all the contacts to the dictionary.
+     */
+    private void addWords() {
+        for (final String word : mWordCounts.keySet()) {
+            super.addWord(word, null /* shortcut */, FREQUENCY_FOR_CONTACTS,
+                    false /* isNotAWord */);
+        }
+        for (final Map.Entry<String, HashMap<String, Integer>> entry : mBigramCounts.entrySet()) {
+            for (final String word : entry.getValue().keySet()) {
+                super.setBigram(entry.getKey(), word, FREQUENCY_FOR_CONTACTS_BIGRAM);
             }
         }
-        return 0;
     }
 
     /**
-     * Adds the words in a name (e.g., firstname/lastname) to the binary dictionary along with their
-     * bigrams depending on locale.
+     * Returns the words in a name (e.g., firstname/lastname) to add to the binary dictionary, in
+     * order. Bigrams of consecutive words are also added depending on locale.
      */
-    private void addName(final String name) {
+    private static String[] getWords(final String name) {
+        if (!isValidName(name)) return new String[0];
+        final ArrayList<String> words = CollectionUtils.newArrayList();
         int len = StringUtils.codePointCount(name);
-        String prevWord = null;
         // TODO: Better tokenization for non-Latin writing systems
         for (int i = 0; i < len; i++) {
             if (Character.isLetter(name.codePointAt(i))) {
@@ -200,20 +416,11 @@ public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
                 // capitalization of i.
                 final int wordLen = StringUtils.codePointCount(word);
                 if (wordLen < MAX_WORD_LENGTH && wordLen > 1) {
-                    if (DEBUG) {
-                        Log.d(TAG, "addName " + name + ", " + word + ", " + prevWord);
-                    }
-                    super.addWord(word, null /* shortcut */, FREQUENCY_FOR_CONTACTS,
-                            false /* isNotAWord */);
-                    if (!TextUtils.isEmpty(prevWord)) {
-                        if (mUseFirstLastBigrams) {
-                            super.setBigram(prevWord, word, FREQUENCY_FOR_CONTACTS_BIGRAM);
-                        }
-                    }
-                    prevWord = word;
+                    words.add(word);
                 }
             }
         }
+        return words.toArray(new String[words.size()]);
     }
 
     /**
@@ -235,50 +442,10 @@ public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
 
     @Override
     protected boolean hasContentChanged() {
-        final long startTime = SystemClock.uptimeMillis();
-        final int contactCount = getContactCount();
-        if (contactCount > MAX_CONTACT_COUNT) {
-            // If there are too many contacts then return false. In this rare case it is impossible
-            // to include all of them anyways and the cost of rebuilding the dictionary is too high.
-            // TODO: Sort and check only the MAX_CONTACT_COUNT most recent contacts?
-            return false;
-        }
-        if (contactCount != sContactCountAtLastRebuild) {
-            if (DEBUG) {
-                Log.d(TAG, "Contact count changed: " + sContactCountAtLastRebuild + " to "
-                        + contactCount);
-            }
-            return true;
-        }
-        // Check all contacts since it's not possible to find out which names have changed.
-        // This is needed because it's possible to receive extraneous onChange events even when no
-        // name has changed.
-        Cursor cursor = mContext.getContentResolver().query(
-                Contacts.CONTENT_URI, PROJECTION, null, null, null);
-        if (cursor != null) {
-            try {
-                if (cursor.moveToFirst()) {
-                    while (!cursor.isAfterLast()) {
-                        String name = cursor.getString(INDEX_NAME);
-                        if (isValidName(name) && !isNameInDictionary(name)) {
-                            if (DEBUG) {
-                                Log.d(TAG, "Contact name missing: " + name + " (runtime = "
-                                        + (SystemClock.uptimeMillis() - startTime) + " ms)");
-                            }
-                            return true;
-                        }
-                        cursor.moveToNext();
-                    }
-                }
-            } finally {
-                cursor.close();
-            }
-        }
-        if (DEBUG) {
-            Log.d(TAG, "No contacts changed. (runtime = " + (SystemClock.uptimeMillis() - startTime)
-                    + " ms)");
-        }
-        return false;
+        // This updates the contacts for the rebuild which follows if they changed. Extraneous
+        // onChange events, when no name has changed, are common and don't cause a rebuild.
+        mHasUpdatedContacts = updateContacts();
+        return mHasUpdatedContacts;
     }
 
     private static boolean isValidName(final String name) {
@@ -289,31 +456,85 @@ public class ContactsBinaryDictionary extends ExpandableBinaryDictionary {
     }
 
     /**
-     * Checks if the words in a name are in the current binary dictionary.
+     * Reads the contacts from the index file, unless they were last read from or saved to it
+     * since it changed. If the file can't be read, all contacts are read again from the provider.
      */
-    private boolean isNameInDictionary(final String name) {
-        int len = StringUtils.codePointCount(name);
-        String prevWord = null;
-        for (int i = 0; i < len; i++) {
-            if (Character.isLetter(name.codePointAt(i))) {
-                int end = getWordEndPosition(name, len, i);
-                String word = name.substring(i, end);
-                i = end - 1;
-                final int wordLen = StringUtils.codePointCount(word);
-                if (wordLen < MAX_WORD_LENGTH && wordLen > 1) {
-                    if (!TextUtils.isEmpty(prevWord) && mUseFirstLastBigrams) {
-                        if (!super.isValidBigramLocked(prevWord, word)) {
-                            return false;
-                        }
-                    } else {
-                        if (!super.isValidWordLocked(word)) {
-                            return false;
-                        }
-                    }
-                    prevWord = word;
+    private void readIndexIfChanged() {
+        final File file = new File(mContext.getFilesDir(), mIndexFilename);
+        final long lastModified = file.lastModified();
+        if (lastModified == mIndexLastModified) return;
+        mContacts.clear();
+        mWordCounts.clear();
+        mBigramCounts.clear();
+        mIndexLastModified = lastModified;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (INDEX_MAGIC_NUMBER != in.readInt()) {
+                Log.e(TAG, "Unknown contacts index file: " + mIndexFilename);
+                return;
+            }
+            final int contactCount = in.readInt();
+            for (int i = 0; i < contactCount; ++i) {
+                final long id = in.readLong();
+                final long version = in.readLong();
+                final String[] words = new String[in.readUnsignedByte()];
+                for (int j = 0; j < words.length; ++j) {
+                    words[j] = in.readUTF();
+                }
+                setContact(id, new Contact(version, words));
+            }
+        } catch (FileNotFoundException e) {
+            // No index yet: all contacts are new.
+        } catch (IOException e) {
+            Log.e(TAG, "IO exception while reading the contacts index", e);
+            mContacts.clear();
+            mWordCounts.clear();
+            mBigramCounts.clear();
+        } finally {
+            if (null != in) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    private void writeIndex() {
+        final File file = new File(mContext.getFilesDir(), mIndexFilename);
+        final File tempFile = new File(mContext.getFilesDir(), mIndexFilename + ".temp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)));
+            out.writeInt(INDEX_MAGIC_NUMBER);
+            out.writeInt(mContacts.size());
+            for (final Map.Entry<Long, Contact> entry : mContacts.entrySet()) {
+                final Contact contact = entry.getValue();
+                out.writeLong(entry.getKey());
+                out.writeLong(contact.mVersion);
+                // Names are short: the words of a name beyond the 255th are dropped.
+                final int wordCount = Math.min(contact.mWords.length, 255);
+                out.writeByte(wordCount);
+                for (int i = 0; i < wordCount; ++i) {
+                    out.writeUTF(contact.mWords[i]);
+                }
+            }
+            out.close();
+            out = null;
+            tempFile.renameTo(file);
+        } catch (IOException e) {
+            Log.e(TAG, "IO exception while writing the contacts index", e);
+        } finally {
+            if (null != out) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    // ignore
                 }
             }
         }
-        return true;
+        mIndexLastModified = file.lastModified();
     }
 }
@@ -18,6 +18,13 @@ package com.android.inputmethod.latin;
 
 import java.util.Locale;
 
+/**
+ * A traversal session of a native dictionary, with the buffers to pass a query to it and to get
+ * its results back.
+ *
+ * Each session has its own buffers, so that several sessions can query the same dictionary at
+ * the same time. A session must only be used by one thread at a time.
+ */
 public final class DicTraverseSession {
     static {
         JniUtils.loadNativeLibrary();
@@ -27,8 +34,26 @@ public final class DicTraverseSession {
     private static native void initDicTraverseSessionNative(long nativeDicTraverseSession,
             long dictionary, int[] previousWord, int previousWordLength);
     private static native void releaseDicTraverseSessionNative(long nativeDicTraverseSession);
+    private static native long getDicTraverseSessionMemorySizeNative(
+            long nativeDicTraverseSession);
+
+    private static final int MAX_WORD_LENGTH = BinaryDictionary.MAX_WORD_LENGTH;
+    private static final int MAX_RESULTS = BinaryDictionary.MAX_RESULTS;
 
     private long mNativeDicTraverseSession;
+    // How many queries are using this session. Guarded by the pool of sessions it belongs to.
+    int mCheckOutCount = 0;
+
+    final int[] mInputCodePoints = new int[MAX_WORD_LENGTH];
+    final int[] mOutputCodePoints = new int[MAX_WORD_LENGTH * MAX_RESULTS];
+    final int[] mSpaceIndices = new int[MAX_RESULTS];
+    final int[] mOutputScores = new int[MAX_RESULTS];
+    final int[] mOutputTypes = new int[MAX_RESULTS];
+
+    // The previous word of the last query, and its code points. The previous word usually stays
+    // the same for all the keystrokes of a word.
+    private String mPrevWord;
+    private int[] mPrevWordCodePoints;
 
     public DicTraverseSession(Locale locale, long dictionary) {
         mNativeDicTraverseSession = createNativeDicTraverseSession(
@@ -49,6 +74,27 @@ public final class DicTraverseSession {
                 mNativeDicTraverseSession, dictionary, previousWord, previousWordLength);
     }
 
+    /**
+     * Returns an estimate of the native memory held by this session, in bytes. Most of it is the
+     * search caches, which are kept for the whole life of the session.
+     */
+    public long getNativeMemorySize() {
+        if (mNativeDicTraverseSession == 0) return 0;
+        return getDicTraverseSessionMemorySizeNative(mNativeDicTraverseSession);
+    }
+
+    /**
+     * Returns the code points of the previous word, or null if there is none.
+     */
+    int[] getPrevWordCodePoints(final String prevWord) {
+        if (null == prevWord) return null;
+        if (!prevWord.equals(mPrevWord)) {
+            mPrevWordCodePoints = StringUtils.toCodePointArray(prevWord);
+            mPrevWord = prevWord;
+        }
+        return mPrevWordCodePoints;
+    }
+
     private final long createNativeDicTraverseSession(String locale) {
         return setDicTraverseSessionNative(locale);
     }
@@ -68,6 +68,32 @@ public abstract class Dictionary {
         return getSuggestions(composer, prevWord, proximityInfo, blockOffensiveWords);
     }
 
+    /**
+     * Sets how many sessions, as passed to {@link #getSuggestionsWithSessionId}, are kept open
+     * at once. The default implementation ignores it, like it ignores the sessions.
+     * @param maxSessionCount the number of sessions querying this dictionary concurrently.
+     */
+    public void setMaxSessionCount(final int maxSessionCount) {
+        // empty base implementation
+    }
+
+    /**
+     * Frees what is kept for the session with this id, which is no longer used. The default
+     * implementation keeps nothing.
+     * @param sessionId the id passed to {@link #getSuggestionsWithSessionId}.
+     */
+    public void closeSession(final int sessionId) {
+        // empty base implementation
+    }
+
+    /**
+     * Returns a number which changes when the words of this dictionary change in place, so that
+     * suggestions made before can be told apart. The default implementation never changes.
+     */
+    public int getGeneration() {
+        return 0;
+    }
+
     /**
      * Checks if the given word occurs in the dictionary
      * @param word the word to search for. The search should be case-insensitive.
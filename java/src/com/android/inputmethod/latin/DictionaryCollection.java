@@ -58,22 +58,54 @@ public final class DictionaryCollection extends Dictionary {
     public ArrayList<SuggestedWordInfo> getSuggestions(final WordComposer composer,
             final String prevWord, final ProximityInfo proximityInfo,
             final boolean blockOffensiveWords) {
+        return getSuggestionsWithSessionId(composer, prevWord, proximityInfo, blockOffensiveWords,
+                0 /* sessionId */);
+    }
+
+    @Override
+    public ArrayList<SuggestedWordInfo> getSuggestionsWithSessionId(final WordComposer composer,
+            final String prevWord, final ProximityInfo proximityInfo,
+            final boolean blockOffensiveWords, final int sessionId) {
         final CopyOnWriteArrayList<Dictionary> dictionaries = mDictionaries;
         if (dictionaries.isEmpty()) return null;
         // To avoid creating unnecessary objects, we get the list out of the first
         // dictionary and add the rest to it if not null, hence the get(0)
-        ArrayList<SuggestedWordInfo> suggestions = dictionaries.get(0).getSuggestions(composer,
-                prevWord, proximityInfo, blockOffensiveWords);
+        ArrayList<SuggestedWordInfo> suggestions = dictionaries.get(0).getSuggestionsWithSessionId(
+                composer, prevWord, proximityInfo, blockOffensiveWords, sessionId);
         if (null == suggestions) suggestions = CollectionUtils.newArrayList();
         final int length = dictionaries.size();
         for (int i = 1; i < length; ++ i) {
-            final ArrayList<SuggestedWordInfo> sugg = dictionaries.get(i).getSuggestions(composer,
-                    prevWord, proximityInfo, blockOffensiveWords);
+            final ArrayList<SuggestedWordInfo> sugg = dictionaries.get(i)
+                    .getSuggestionsWithSessionId(composer, prevWord, proximityInfo,
+                            blockOffensiveWords, sessionId);
             if (null != sugg) suggestions.addAll(sugg);
         }
         return suggestions;
     }
 
+    @Override
+    public void setMaxSessionCount(final int maxSessionCount) {
+        for (final Dictionary dict : mDictionaries)
+            dict.setMaxSessionCount(maxSessionCount);
+    }
+
+    @Override
+    public void closeSession(final int sessionId) {
+        for (final Dictionary dict : mDictionaries)
+            dict.closeSession(sessionId);
+    }
+
+    @Override
+    public int getGeneration() {
+        // Changes when a dictionary is added or removed, as well as when one of them changes.
+        int generation = 0;
+        for (final Dictionary dict : mDictionaries) {
+            generation = generation * 31 + System.identityHashCode(dict);
+            generation = generation * 31 + dict.getGeneration();
+        }
+        return generation;
+    }
+
     @Override
     public boolean isValidWord(final String word) {
         for (int i = mDictionaries.size() - 1; i >= 0; --i)
@@ -17,6 +17,7 @@
 package com.android.inputmethod.latin;
 
 import android.content.Context;
+import android.content.pm.PackageManager.NameNotFoundException;
 import android.content.res.AssetFileDescriptor;
 import android.content.res.Resources;
 import android.util.Log;
@@ -143,6 +144,36 @@ public final class DictionaryFactory {
         }
     }
 
+    /**
+     * Returns a value which changes when the main dictionary for this locale changes: when the
+     * word lists from the dictionary pack are updated, or when this package and its built-in
+     * dictionary are.
+     * @param context the context on which to find the dictionaries.
+     * @param locale the locale of the dictionary.
+     * @return a signature of the current main dictionary.
+     */
+    public static int getMainDictionarySignature(final Context context, final Locale locale) {
+        int signature = 0;
+        // The cached word lists are in no particular order, hence the sum.
+        for (final File f : BinaryDictionaryGetter.getCachedWordLists(locale.toString(),
+                context)) {
+            signature += (f.getName().hashCode() * 31 + hashLong(f.length())) * 31
+                    + hashLong(f.lastModified());
+        }
+        try {
+            final long lastUpdateTime = context.getPackageManager().getPackageInfo(
+                    context.getPackageName(), 0 /* flags */).lastUpdateTime;
+            signature = signature * 31 + hashLong(lastUpdateTime);
+        } catch (NameNotFoundException e) {
+            Log.e(TAG, "Could not find our own package", e);
+        }
+        return signature;
+    }
+
+    private static int hashLong(final long value) {
+        return (int)(value ^ (value >>> 32));
+    }
+
     /**
      * Find out whether a dictionary is available for this locale.
      * @param context the context on which to check resources.
@@ -0,0 +1,327 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.util.Log;
+
+import com.android.inputmethod.annotations.UsedForTesting;
+import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Queries several dictionaries concurrently on a small pool of threads, and gathers the results
+ * which arrive before a deadline.
+ *
+ * Results arriving late are dropped, so that a slow dictionary does not hold the suggestion strip
+ * back. A dictionary is never queried by two threads at once: most dictionaries are not
+ * thread-safe, so a dictionary still busy with a late query is skipped until it finishes. Both
+ * cases count as a missed deadline for the dictionary type. A dictionary which is replaced is
+ * retired rather than closed, so that it is closed by the thread running its last query, if any.
+ * The expandable dictionaries are updated by the calling thread, so they are queried on it too.
+ */
+public final class DictionaryScatterGather {
+    private static final String TAG = DictionaryScatterGather.class.getSimpleName();
+    private static final boolean DBG = LatinImeLogger.sDBG;
+    private static final int MAX_THREAD_COUNT = 4;
+
+    public interface Query {
+        public ArrayList<SuggestedWordInfo> run(Dictionary dictionary);
+    }
+
+    /**
+     * Receives the results of {@link #gather} on the calling thread, in the iteration order of
+     * the dictionaries.
+     */
+    public interface OnGatherListener {
+        public void onSuggestions(String dictType, Dictionary dictionary,
+                ArrayList<SuggestedWordInfo> suggestions);
+
+        /**
+         * Called for a dictionary which did not answer in time, or was still busy.
+         */
+        public void onDeadlineMissed(String dictType, Dictionary dictionary);
+    }
+
+    // Whether a dictionary is being queried or retired. Keyed by dictionary instance, which is
+    // only weakly referenced, so that a retired dictionary is never queried again.
+    private final Map<Dictionary, DictionaryState> mStates =
+            Collections.synchronizedMap(new WeakHashMap<Dictionary, DictionaryState>());
+    // Statistics, keyed by dictionary type.
+    private final ConcurrentHashMap<String, AtomicInteger> mQueryCounts =
+            CollectionUtils.newConcurrentHashMap();
+    private final ConcurrentHashMap<String, AtomicInteger> mDeadlineMissCounts =
+            CollectionUtils.newConcurrentHashMap();
+    // Time budgets which differ from the default one, keyed by dictionary type.
+    private final ConcurrentHashMap<String, Long> mBudgetsMillis =
+            CollectionUtils.newConcurrentHashMap();
+    private final ExecutorService mExecutor;
+
+    public DictionaryScatterGather() {
+        this(Math.min(MAX_THREAD_COUNT, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @UsedForTesting
+    DictionaryScatterGather(final int threadCount) {
+        mExecutor = Executors.newFixedThreadPool(Math.max(1, threadCount), new ThreadFactory() {
+            private final AtomicInteger mThreadNumber = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable r) {
+                final Thread thread = new Thread(r, TAG + "-" + mThreadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    // Whether a dictionary is being queried, and whether it is retired. It does not reference
+    // the dictionary, which is the weak key of its state. Synchronized using itself.
+    private static final class DictionaryState {
+        private boolean mIsBusy;
+        private boolean mIsRetired;
+
+        // Returns whether the dictionary can be queried, in which case it is now busy.
+        public synchronized boolean tryAcquire() {
+            if (mIsBusy || mIsRetired) return false;
+            mIsBusy = true;
+            return true;
+        }
+
+        public synchronized boolean isRetired() {
+            return mIsRetired;
+        }
+
+        // Ends a query, and closes the dictionary if it was retired meanwhile.
+        public void release(final Dictionary dictionary) {
+            synchronized (this) {
+                mIsBusy = false;
+                if (!mIsRetired) return;
+            }
+            dictionary.close();
+        }
+
+        // Closes the dictionary now if it is idle, or at the end of its query otherwise.
+        public void retire(final Dictionary dictionary) {
+            synchronized (this) {
+                if (mIsRetired) return;
+                mIsRetired = true;
+                if (mIsBusy) return;
+            }
+            dictionary.close();
+        }
+    }
+
+    // A query of one dictionary. Whoever starts it first, the pool or a gatherer giving up on
+    // it, owns it.
+    private static final class Task implements Callable<ArrayList<SuggestedWordInfo>> {
+        private final Dictionary mDictionary;
+        private final Query mQuery;
+        private final DictionaryState mState;
+        private final AtomicBoolean mIsClaimed = new AtomicBoolean(false);
+
+        public Task(final Dictionary dictionary, final Query query, final DictionaryState state) {
+            mDictionary = dictionary;
+            mQuery = query;
+            mState = state;
+        }
+
+        @Override
+        public ArrayList<SuggestedWordInfo> call() {
+            if (!mIsClaimed.compareAndSet(false, true)) return null;
+            try {
+                // Nobody is waiting for the results of a retired dictionary.
+                return mState.isRetired() ? null : mQuery.run(mDictionary);
+            } finally {
+                mState.release(mDictionary);
+            }
+        }
+
+        // Prevents the task from running if it did not start yet.
+        public void abandon() {
+            if (mIsClaimed.compareAndSet(false, true)) mState.release(mDictionary);
+        }
+    }
+
+    private DictionaryState getState(final Dictionary dictionary) {
+        synchronized (mStates) {
+            DictionaryState state = mStates.get(dictionary);
+            if (null == state) {
+                state = new DictionaryState();
+                mStates.put(dictionary, state);
+            }
+            return state;
+        }
+    }
+
+    // The expandable dictionaries are not thread-safe, and are updated by the calling thread.
+    private static boolean isQueriedOnCallingThread(final Dictionary dictionary) {
+        return dictionary instanceof ExpandableDictionary;
+    }
+
+    private static void increment(final ConcurrentHashMap<String, AtomicInteger> counts,
+            final String dictType) {
+        AtomicInteger count = counts.get(dictType);
+        if (null == count) {
+            final AtomicInteger newCount = new AtomicInteger();
+            count = counts.putIfAbsent(dictType, newCount);
+            if (null == count) count = newCount;
+        }
+        count.incrementAndGet();
+    }
+
+    /**
+     * Sets how long to wait for the dictionaries of the given type, instead of the budget
+     * passed to {@link #gather}.
+     */
+    public void setBudget(final String dictType, final long budgetMillis) {
+        mBudgetsMillis.put(dictType, budgetMillis);
+    }
+
+    /**
+     * Runs the query on all the given dictionaries, and passes the results obtained within the
+     * time budget of each to the listener. Results are passed in the iteration order of the
+     * dictionaries, whatever the order in which they arrive.
+     *
+     * @param dictionaries the dictionaries to query, by type.
+     * @param query the query to run. It runs on other threads, so it must not use anything the
+     * calling thread may change in the meantime.
+     * @param budgetMillis how long to wait for each dictionary, from the call of this method,
+     * unless set otherwise for its type with {@link #setBudget}.
+     * @param listener the listener to pass the results to.
+     */
+    public void gather(final Map<String, Dictionary> dictionaries, final Query query,
+            final long budgetMillis, final OnGatherListener listener) {
+        final long startTime = System.nanoTime();
+        final ArrayList<String> dictTypes = CollectionUtils.newArrayList(dictionaries.size());
+        final ArrayList<Dictionary> dictionariesQueried =
+                CollectionUtils.newArrayList(dictionaries.size());
+        // The tasks and futures are null for the dictionaries which were skipped, and the futures
+        // for those queried on the calling thread.
+        final ArrayList<Task> tasks = CollectionUtils.newArrayList(dictionaries.size());
+        final ArrayList<Future<ArrayList<SuggestedWordInfo>>> futures =
+                CollectionUtils.newArrayList(dictionaries.size());
+        for (final Map.Entry<String, Dictionary> entry : dictionaries.entrySet()) {
+            final String dictType = entry.getKey();
+            final Dictionary dictionary = entry.getValue();
+            increment(mQueryCounts, dictType);
+            dictTypes.add(dictType);
+            dictionariesQueried.add(dictionary);
+            final DictionaryState state = getState(dictionary);
+            if (!state.tryAcquire()) {
+                // Still running a query which missed an earlier deadline, or retired.
+                increment(mDeadlineMissCounts, dictType);
+                if (DBG) Log.d(TAG, dictType + " is still busy, skipping it");
+                tasks.add(null);
+                futures.add(null);
+                continue;
+            }
+            final Task task = new Task(dictionary, query, state);
+            tasks.add(task);
+            futures.add(isQueriedOnCallingThread(dictionary) ? null : mExecutor.submit(task));
+        }
+        for (int i = 0; i < futures.size(); ++i) {
+            if (null == tasks.get(i)) {
+                listener.onDeadlineMissed(dictTypes.get(i), dictionariesQueried.get(i));
+                continue;
+            }
+            if (null == futures.get(i)) {
+                // The other dictionaries are queried meanwhile.
+                final ArrayList<SuggestedWordInfo> suggestions = tasks.get(i).call();
+                if (null != suggestions) {
+                    listener.onSuggestions(dictTypes.get(i), dictionariesQueried.get(i),
+                            suggestions);
+                }
+                continue;
+            }
+            try {
+                final Long budget = mBudgetsMillis.get(dictTypes.get(i));
+                final long deadline = startTime + TimeUnit.MILLISECONDS.toNanos(
+                        null == budget ? budgetMillis : budget);
+                final ArrayList<SuggestedWordInfo> suggestions = futures.get(i).get(
+                        Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (null != suggestions) {
+                    listener.onSuggestions(dictTypes.get(i), dictionariesQueried.get(i),
+                            suggestions);
+                }
+            } catch (TimeoutException e) {
+                tasks.get(i).abandon();
+                increment(mDeadlineMissCounts, dictTypes.get(i));
+                if (DBG) Log.d(TAG, dictTypes.get(i) + " missed its deadline");
+                listener.onDeadlineMissed(dictTypes.get(i), dictionariesQueried.get(i));
+            } catch (ExecutionException e) {
+                Log.e(TAG, "Exception while querying " + dictTypes.get(i), e.getCause());
+            } catch (InterruptedException e) {
+                // Keep what we have, and let the caller know it was interrupted.
+                for (int j = i; j < tasks.size(); ++j) {
+                    if (null != tasks.get(j)) tasks.get(j).abandon();
+                }
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Stops accepting queries. The running ones finish, and close their dictionary if it was
+     * retired meanwhile.
+     */
+    public void shutdown() {
+        mExecutor.shutdown();
+    }
+
+    /**
+     * Closes a dictionary which is no longer queried: right away if it is idle, or by the thread
+     * running its last query when this query finishes.
+     */
+    public void retireDictionary(final Dictionary dictionary) {
+        getState(dictionary).retire(dictionary);
+    }
+
+    @UsedForTesting
+    boolean isBusy(final Dictionary dictionary) {
+        final DictionaryState state = mStates.get(dictionary);
+        if (null == state) return false;
+        synchronized (state) {
+            return state.mIsBusy;
+        }
+    }
+
+    public int getQueryCount(final String dictType) {
+        final AtomicInteger count = mQueryCounts.get(dictType);
+        return null == count ? 0 : count.get();
+    }
+
+    public int getDeadlineMissCount(final String dictType) {
+        final AtomicInteger count = mDeadlineMissCounts.get(dictType);
+        return null == count ? 0 : count.get();
+    }
+}
@@ -34,6 +34,8 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -71,9 +73,13 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
 
     /**
      * The binary dictionary generated dynamically from the fusion dictionary. This is used to
-     * answer unigram and bigram queries.
+     * answer unigram and bigram queries. A new one is published in a single step when the
+     * dictionary is reloaded, and the old one is closed when its last reader is done with it.
      */
-    private BinaryDictionary mBinaryDictionary;
+    private final AtomicReference<DictionarySnapshot> mSnapshot =
+            new AtomicReference<DictionarySnapshot>();
+    // Incremented each time a new binary dictionary is published.
+    private final AtomicInteger mGeneration = new AtomicInteger();
 
     /** The expandable fusion dictionary used to generate the binary dictionary. */
     private FusionDictionary mFusionDictionary;
@@ -88,7 +94,7 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
     /** Controls access to the shared binary dictionary file across multiple instances. */
     private final DictionaryController mSharedDictionaryController;
 
-    /** Controls access to the local binary dictionary for this instance. */
+    /** Tracks whether the local binary dictionary of this instance is out of date. */
     private final DictionaryController mLocalDictionaryController = new DictionaryController();
 
     private static final int BINARY_DICT_VERSION = 1;
@@ -97,7 +103,8 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
 
     /**
      * Abstract method for loading the unigrams and bigrams of a given dictionary in a background
-     * thread.
+     * thread. Implementations may keep what they read, so that next time they only read what
+     * changed in the meantime.
      */
     protected abstract void loadDictionaryAsync();
 
@@ -134,7 +141,6 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
         super(dictType);
         mFilename = filename;
         mContext = context;
-        mBinaryDictionary = null;
         mSharedDictionaryController = getSharedDictionaryController(filename);
         clearFusionDictionary();
     }
@@ -148,15 +154,10 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
      */
     @Override
     public void close() {
-        // Ensure that no other threads are accessing the local binary dictionary.
-        mLocalDictionaryController.lock();
-        try {
-            if (mBinaryDictionary != null) {
-                mBinaryDictionary.close();
-                mBinaryDictionary = null;
-            }
-        } finally {
-            mLocalDictionaryController.unlock();
+        // The binary dictionary is closed once the threads reading it are done.
+        final DictionarySnapshot snapshot = mSnapshot.getAndSet(null);
+        if (snapshot != null) {
+            snapshot.release();
         }
     }
 
@@ -203,17 +204,14 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
             final String prevWord, final ProximityInfo proximityInfo,
             final boolean blockOffensiveWords) {
         asyncReloadDictionaryIfRequired();
-        if (mLocalDictionaryController.tryLock()) {
-            try {
-                if (mBinaryDictionary != null) {
-                    return mBinaryDictionary.getSuggestions(composer, prevWord, proximityInfo,
-                            blockOffensiveWords);
-                }
-            } finally {
-                mLocalDictionaryController.unlock();
-            }
+        final DictionarySnapshot snapshot = acquireSnapshot();
+        if (snapshot == null) return null;
+        try {
+            return snapshot.mBinaryDictionary.getSuggestions(composer, prevWord, proximityInfo,
+                    blockOffensiveWords);
+        } finally {
+            snapshot.release();
         }
-        return null;
     }
 
     @Override
@@ -223,40 +221,40 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
     }
 
     protected boolean isValidWordInner(final String word) {
-        if (mLocalDictionaryController.tryLock()) {
-            try {
-                return isValidWordLocked(word);
-            } finally {
-                mLocalDictionaryController.unlock();
-            }
+        final DictionarySnapshot snapshot = acquireSnapshot();
+        if (snapshot == null) return false;
+        try {
+            return snapshot.mBinaryDictionary.isValidWord(word);
+        } finally {
+            snapshot.release();
         }
-        return false;
-    }
-
-    protected boolean isValidWordLocked(final String word) {
-        if (mBinaryDictionary == null) return false;
-        return mBinaryDictionary.isValidWord(word);
     }
 
     protected boolean isValidBigram(final String word1, final String word2) {
-        if (mBinaryDictionary == null) return false;
-        return mBinaryDictionary.isValidBigram(word1, word2);
+        return isValidBigramInner(word1, word2);
     }
 
     protected boolean isValidBigramInner(final String word1, final String word2) {
-        if (mLocalDictionaryController.tryLock()) {
-            try {
-                return isValidBigramLocked(word1, word2);
-            } finally {
-                mLocalDictionaryController.unlock();
-            }
+        final DictionarySnapshot snapshot = acquireSnapshot();
+        if (snapshot == null) return false;
+        try {
+            return snapshot.mBinaryDictionary.isValidBigram(word1, word2);
+        } finally {
+            snapshot.release();
         }
-        return false;
     }
 
-    protected boolean isValidBigramLocked(final String word1, final String word2) {
-        if (mBinaryDictionary == null) return false;
-        return mBinaryDictionary.isValidBigram(word1, word2);
+    /**
+     * Returns the current binary dictionary, which must be released when done, or null if there
+     * is none. This never blocks: if the dictionary is being replaced, this returns either the old
+     * one or the new one.
+     */
+    private DictionarySnapshot acquireSnapshot() {
+        while (true) {
+            final DictionarySnapshot snapshot = mSnapshot.get();
+            if (snapshot == null || snapshot.acquire()) return snapshot;
+            // The snapshot was replaced and closed since we read it: read the new one.
+        }
     }
 
     /**
@@ -287,19 +285,20 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
         final BinaryDictionary newBinaryDictionary = new BinaryDictionary(filename, 0, length,
                 true /* useFullEditDistance */, null, mDictType);
 
-        if (mBinaryDictionary != null) {
-            // Ensure all threads accessing the current dictionary have finished before swapping in
-            // the new one.
-            final BinaryDictionary oldBinaryDictionary = mBinaryDictionary;
-            mLocalDictionaryController.lock();
-            mBinaryDictionary = newBinaryDictionary;
-            mLocalDictionaryController.unlock();
-            oldBinaryDictionary.close();
-        } else {
-            mBinaryDictionary = newBinaryDictionary;
+        // Readers of the old dictionary keep using it until they are done, and then it's closed.
+        final DictionarySnapshot oldSnapshot =
+                mSnapshot.getAndSet(new DictionarySnapshot(newBinaryDictionary));
+        mGeneration.incrementAndGet();
+        if (oldSnapshot != null) {
+            oldSnapshot.release();
         }
     }
 
+    @Override
+    public int getGeneration() {
+        return mGeneration.get();
+    }
+
     /**
      * Generates and writes a new binary dictionary based on the contents of the fusion dictionary.
      */
@@ -378,7 +377,7 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
      * Returns whether a dictionary reload is required.
      */
     private boolean isReloadRequired() {
-        return mBinaryDictionary == null || mLocalDictionaryController.isOutOfDate();
+        return mSnapshot.get() == null || mLocalDictionaryController.isOutOfDate();
     }
 
     /**
@@ -408,7 +407,7 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
                     mSharedDictionaryController.mLastUpdateRequestTime =
                             mSharedDictionaryController.mLastUpdateTime;
                 }
-            } else if (mBinaryDictionary == null || mLocalDictionaryController.mLastUpdateTime
+            } else if (mSnapshot.get() == null || mLocalDictionaryController.mLastUpdateTime
                     < mSharedDictionaryController.mLastUpdateTime) {
                 // Otherwise, if the local dictionary is older than the shared dictionary, load the
                 // shared dictionary.
@@ -436,6 +435,34 @@ abstract public class ExpandableBinaryDictionary extends Dictionary {
         }
     }
 
+    /**
+     * A binary dictionary along with the number of references to it: one for being the current
+     * dictionary, and one for each thread reading it. It is closed when the count drops to zero,
+     * and can't be acquired again after that.
+     */
+    private static final class DictionarySnapshot {
+        public final BinaryDictionary mBinaryDictionary;
+        private final AtomicInteger mRefCount = new AtomicInteger(1);
+
+        public DictionarySnapshot(final BinaryDictionary binaryDictionary) {
+            mBinaryDictionary = binaryDictionary;
+        }
+
+        public boolean acquire() {
+            while (true) {
+                final int refCount = mRefCount.get();
+                if (refCount <= 0) return false;
+                if (mRefCount.compareAndSet(refCount, refCount + 1)) return true;
+            }
+        }
+
+        public void release() {
+            if (mRefCount.decrementAndGet() == 0) {
+                mBinaryDictionary.close();
+            }
+        }
+    }
+
     /**
      * Lock for controlling access to a given binary dictionary and for tracking whether the
      * dictionary is out of date. Can be shared across multiple dictionary instances that access the
@@ -26,6 +26,7 @@ import com.android.inputmethod.latin.UserHistoryForgettingCurveUtils.ForgettingC
 
 import java.util.ArrayList;
 import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Base class for an in-memory dictionary that can grow dynamically and can
@@ -156,6 +157,9 @@ public class ExpandableDictionary extends Dictionary {
 
     private int[][] mCodes;
 
+    // Incremented each time words or bigrams are added, changed or removed.
+    private final AtomicInteger mGeneration = new AtomicInteger();
+
     public ExpandableDictionary(final Context context, final String dictType) {
         super(dictType);
         mContext = context;
@@ -205,6 +209,7 @@ public class ExpandableDictionary extends Dictionary {
             return;
         }
         addWordRec(mRoots, word, 0, shortcutTarget, frequency, null);
+        mGeneration.incrementAndGet();
     }
 
     private void addWordRec(final NodeArray children, final String word, final int depth,
@@ -344,9 +349,15 @@ public class ExpandableDictionary extends Dictionary {
         if (bigramNode == null) {
             return false;
         }
+        mGeneration.incrementAndGet();
         return bigrams.remove(bigramNode);
     }
 
+    @Override
+    public int getGeneration() {
+        return mGeneration.get();
+    }
+
     /**
      * Returns the word's frequency or -1 if not found
      */
@@ -559,6 +570,7 @@ public class ExpandableDictionary extends Dictionary {
             Log.e(TAG, "Invalid bigram pair: " + word1 + ", " + word1Lower + ", " + word2);
             return frequency;
         }
+        mGeneration.incrementAndGet();
         final Node firstWord = searchWord(mRoots, word1Lower, 0, null);
         final Node secondWord = searchWord(mRoots, word2, 0, null);
         LinkedList<NextWord> bigrams = firstWord.mNGrams;
@@ -696,6 +708,7 @@ public class ExpandableDictionary extends Dictionary {
 
     protected void clearDictionary() {
         mRoots = new NodeArray();
+        mGeneration.incrementAndGet();
     }
 
     private final class LoadDictionaryTask extends Thread {
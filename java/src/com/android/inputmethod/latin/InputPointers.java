@@ -72,7 +72,6 @@ public final class InputPointers {
      * @param startPos the starting index of the pointers in {@code src}.
      * @param length the number of pointers to be appended.
      */
-    @UsedForTesting
     void append(InputPointers src, int startPos, int length) {
         if (length == 0) {
             return;
@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+/**
+ * A histogram of latencies in milliseconds, in buckets whose widths double from one to the next.
+ * All methods are thread-safe.
+ */
+public final class LatencyHistogram {
+    // The exclusive upper bounds of the buckets but the last one, which has none.
+    private static final int[] BUCKET_UPPER_BOUNDS = {
+        1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024,
+    };
+
+    private final String mName;
+    private final int[] mBucketCounts = new int[BUCKET_UPPER_BOUNDS.length + 1];
+    private int mCount;
+    private long mTotalLatency;
+    private long mMaxLatency;
+
+    public LatencyHistogram(final String name) {
+        mName = name;
+    }
+
+    public synchronized void add(final long latency) {
+        int bucket = 0;
+        while (bucket < BUCKET_UPPER_BOUNDS.length && latency >= BUCKET_UPPER_BOUNDS[bucket]) {
+            ++bucket;
+        }
+        ++mBucketCounts[bucket];
+        ++mCount;
+        mTotalLatency += latency;
+        mMaxLatency = Math.max(mMaxLatency, latency);
+    }
+
+    public synchronized int getCount() {
+        return mCount;
+    }
+
+    /**
+     * Returns the upper bound of the bucket holding the given percentile of the latencies, or
+     * {@link Integer#MAX_VALUE} if it is the last bucket, or 0 if there is no latency yet.
+     */
+    public synchronized int getPercentileUpperBound(final int percentile) {
+        if (mCount == 0) {
+            return 0;
+        }
+        // The rank of the percentile, rounded up.
+        final long rank = ((long)mCount * percentile + 99) / 100;
+        int count = 0;
+        for (int bucket = 0; bucket < BUCKET_UPPER_BOUNDS.length; ++bucket) {
+            count += mBucketCounts[bucket];
+            if (count >= rank) {
+                return BUCKET_UPPER_BOUNDS[bucket];
+            }
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    public synchronized void reset() {
+        for (int bucket = 0; bucket < mBucketCounts.length; ++bucket) {
+            mBucketCounts[bucket] = 0;
+        }
+        mCount = 0;
+        mTotalLatency = 0;
+        mMaxLatency = 0;
+    }
+
+    private String percentileToString(final int percentile) {
+        final int upperBound = getPercentileUpperBound(percentile);
+        return " p" + percentile + (upperBound == Integer.MAX_VALUE
+                ? ">=" + BUCKET_UPPER_BOUNDS[BUCKET_UPPER_BOUNDS.length - 1] : "<" + upperBound);
+    }
+
+    @Override
+    public synchronized String toString() {
+        final StringBuilder sb = new StringBuilder(mName);
+        sb.append(": count=").append(mCount);
+        if (mCount == 0) {
+            return sb.toString();
+        }
+        sb.append(" mean=").append(mTotalLatency / mCount).append("ms");
+        sb.append(percentileToString(50)).append(percentileToString(90))
+                .append(percentileToString(99));
+        sb.append(" max=").append(mMaxLatency).append("ms [");
+        for (int bucket = 0; bucket < BUCKET_UPPER_BOUNDS.length; ++bucket) {
+            sb.append('<').append(BUCKET_UPPER_BOUNDS[bucket])
+                    .append(':').append(mBucketCounts[bucket]).append(' ');
+        }
+        sb.append(">=").append(BUCKET_UPPER_BOUNDS[BUCKET_UPPER_BOUNDS.length - 1])
+                .append(':').append(mBucketCounts[BUCKET_UPPER_BOUNDS.length]);
+        return sb.append(']').toString();
+    }
+}
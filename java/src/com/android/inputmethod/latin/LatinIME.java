@@ -72,8 +72,10 @@ import com.android.inputmethod.keyboard.KeyDetector;
 import com.android.inputmethod.keyboard.Keyboard;
 import com.android.inputmethod.keyboard.KeyboardActionListener;
 import com.android.inputmethod.keyboard.KeyboardId;
+import com.android.inputmethod.keyboard.KeyboardLayoutSet;
 import com.android.inputmethod.keyboard.KeyboardSwitcher;
 import com.android.inputmethod.keyboard.MainKeyboardView;
+import com.android.inputmethod.keyboard.internal.GestureStroke;
 import com.android.inputmethod.latin.RichInputConnection.Range;
 import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
 import com.android.inputmethod.latin.Utils.Stats;
@@ -194,6 +196,14 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
 
     private AlertDialog mOptionsDialog;
 
+    // The latencies from the batch input touch events to the gesture floating preview text and
+    // to the suggestion strip showing the suggestions for them, dumped by {@link #dump}.
+    private static final long NOT_A_TOUCH_TIME = -1;
+    private final LatencyHistogram mTouchToPreviewLatency =
+            new LatencyHistogram("touchToGesturePreviewLatency");
+    private final LatencyHistogram mTouchToStripLatency =
+            new LatencyHistogram("touchToSuggestionStripLatency");
+
     private final boolean mIsHardwareAcceleratedDrawingEnabled;
 
     public final UIHandler mHandler = new UIHandler(this);
@@ -205,7 +215,10 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
         private static final int MSG_SHOW_GESTURE_PREVIEW_AND_SUGGESTION_STRIP = 3;
         private static final int MSG_RESUME_SUGGESTIONS = 4;
 
+        // Flags of arg1 of MSG_SHOW_GESTURE_PREVIEW_AND_SUGGESTION_STRIP.
         private static final int ARG1_DISMISS_GESTURE_FLOATING_PREVIEW_TEXT = 1;
+        // Its arg2 holds the low 32 bits of the uptime of the touch the suggestions are for.
+        private static final int ARG1_HAS_TOUCH_TIME = 2;
 
         private int mDelayUpdateSuggestions;
         private int mDelayUpdateShiftState;
@@ -238,8 +251,16 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
                 switcher.updateShiftState();
                 break;
             case MSG_SHOW_GESTURE_PREVIEW_AND_SUGGESTION_STRIP:
+                final long touchTime;
+                if ((msg.arg1 & ARG1_HAS_TOUCH_TIME) != 0) {
+                    // The difference of the low 32 bits is right even when they wrap around.
+                    final long now = SystemClock.uptimeMillis();
+                    touchTime = now - ((int)now - msg.arg2);
+                } else {
+                    touchTime = NOT_A_TOUCH_TIME;
+                }
                 latinIme.showGesturePreviewAndSuggestionStrip((SuggestedWords)msg.obj,
-                        msg.arg1 == ARG1_DISMISS_GESTURE_FLOATING_PREVIEW_TEXT);
+                        (msg.arg1 & ARG1_DISMISS_GESTURE_FLOATING_PREVIEW_TEXT) != 0, touchTime);
                 break;
             case MSG_RESUME_SUGGESTIONS:
                 latinIme.restartSuggestionsOnWordTouchedByCursor();
@@ -273,13 +294,20 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
             removeMessages(MSG_UPDATE_SHIFT_STATE);
         }
 
+        /**
+         * @param touchTime the uptime of the touch the suggestions are for, or
+         * {@link LatinIME#NOT_A_TOUCH_TIME}.
+         */
         public void showGesturePreviewAndSuggestionStrip(final SuggestedWords suggestedWords,
-                final boolean dismissGestureFloatingPreviewText) {
+                final boolean dismissGestureFloatingPreviewText, final long touchTime) {
             removeMessages(MSG_SHOW_GESTURE_PREVIEW_AND_SUGGESTION_STRIP);
-            final int arg1 = dismissGestureFloatingPreviewText
+            int arg1 = dismissGestureFloatingPreviewText
                     ? ARG1_DISMISS_GESTURE_FLOATING_PREVIEW_TEXT : 0;
-            obtainMessage(MSG_SHOW_GESTURE_PREVIEW_AND_SUGGESTION_STRIP, arg1, 0, suggestedWords)
-                    .sendToTarget();
+            if (touchTime != NOT_A_TOUCH_TIME) {
+                arg1 |= ARG1_HAS_TOUCH_TIME;
+            }
+            obtainMessage(MSG_SHOW_GESTURE_PREVIEW_AND_SUGGESTION_STRIP, arg1, (int)touchTime,
+                    suggestedWords).sendToTarget();
         }
 
         public void startDoubleSpacePeriodTimer() {
@@ -596,6 +624,13 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
         super.onDestroy();
     }
 
+    @Override
+    public void onLowMemory() {
+        // The cached keyboards are strongly held; let the GC have those not in use.
+        KeyboardLayoutSet.trimKeyboardCache();
+        super.onLowMemory();
+    }
+
     @Override
     public void onConfigurationChanged(final Configuration conf) {
         // If orientation changed while predicting, commit the change
@@ -765,6 +800,7 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
 
         mConnection.resetCachesUponCursorMove(editorInfo.initialSelStart,
                 false /* shouldFinishComposition */);
+        if (null != mSuggest) mSuggest.resetSuggestionCache();
 
         if (isDifferentTextField) {
             mainKeyboardView.closing();
@@ -1166,6 +1202,7 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
             setSuggestedWords(mSettings.getCurrent().mSuggestPuncList, false);
         }
         mConnection.resetCachesUponCursorMove(newCursorPosition, shouldFinishComposition);
+        if (null != mSuggest) mSuggest.resetSuggestionCache();
     }
 
     private void resetComposingState(final boolean alsoResetLastComposedWord) {
@@ -1597,11 +1634,32 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
         mWordComposer.setCapitalizedModeAtStartComposingTime(getActualCapsMode());
     }
 
-    private static final class BatchInputUpdater implements Handler.Callback {
+    private static final class BatchInputUpdater
+            implements Handler.Callback, Suggest.BatchInputCanceller {
         private final Handler mHandler;
         private LatinIME mLatinIme;
         private final Object mLock = new Object();
         private boolean mInBatchInput; // synchronized using {@link #mLock}.
+        // Incremented when a batch input starts. Synchronized using {@link #mLock}.
+        private int mBatchInputSequence;
+        // The batch input pointers received so far, and the uptime when the last ones were.
+        // Only the pointers added since the previous update are copied from the pointer tracker.
+        // Synchronized using {@link #mLock}.
+        private final InputPointers mPendingPointers =
+                new InputPointers(GestureStroke.DEFAULT_CAPACITY);
+        private long mPendingTouchTime;
+        // Whether an update is posted which has not taken the pending pointers yet.
+        private boolean mIsUpdatePosted; // synchronized using {@link #mLock}.
+
+        // Serializes the recognitions, which share the gesture session of the dictionaries and
+        // the batch input pointers of the word composer. Always taken before {@link #mLock}.
+        private final Object mRecognitionLock = new Object();
+        // The pointers being recognized, copied from the pending ones, and the batch input and
+        // touch they are from. Synchronized using {@link #mRecognitionLock}.
+        private final InputPointers mRecognitionPointers =
+                new InputPointers(GestureStroke.DEFAULT_CAPACITY);
+        private int mRecognitionSequence = -1;
+        private long mRecognitionTouchTime;
 
         private BatchInputUpdater() {
             final HandlerThread handlerThread = new HandlerThread(
@@ -1625,7 +1683,7 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
         public boolean handleMessage(final Message msg) {
             switch (msg.what) {
             case MSG_UPDATE_GESTURE_PREVIEW_AND_SUGGESTION_STRIP:
-                updateBatchInput((InputPointers)msg.obj);
+                updateBatchInput();
                 break;
             }
             return true;
@@ -1635,59 +1693,139 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
         public void onStartBatchInput(final LatinIME latinIme) {
             synchronized (mLock) {
                 mHandler.removeMessages(MSG_UPDATE_GESTURE_PREVIEW_AND_SUGGESTION_STRIP);
+                mIsUpdatePosted = false;
                 mLatinIme = latinIme;
                 mInBatchInput = true;
+                ++mBatchInputSequence;
+                mPendingPointers.reset();
             }
         }
 
-        // Run in the Handler thread.
-        private void updateBatchInput(final InputPointers batchPointers) {
+        // Copies the pointers added to the batch input pointers since the previous call.
+        private void appendPendingPointersLocked(final InputPointers batchPointers) {
+            int pendingSize = mPendingPointers.getPointerSize();
+            final int batchSize = batchPointers.getPointerSize();
+            if (batchSize < pendingSize) {
+                // The pointer tracker started over.
+                mPendingPointers.reset();
+                pendingSize = 0;
+            }
+            mPendingPointers.append(batchPointers, pendingSize, batchSize - pendingSize);
+            mPendingTouchTime = SystemClock.uptimeMillis();
+        }
+
+        // Copies the newest pending pointers to the pointers to recognize. Must be called with
+        // both locks held.
+        private void takePendingPointersLocked() {
+            if (mRecognitionSequence != mBatchInputSequence) {
+                // The pointers to recognize may be held by the word composer of a previous batch
+                // input, so they must be given new arrays instead of being overwritten.
+                mRecognitionPointers.reset();
+                mRecognitionSequence = mBatchInputSequence;
+            }
+            int recognizedSize = mRecognitionPointers.getPointerSize();
+            final int pendingSize = mPendingPointers.getPointerSize();
+            if (pendingSize < recognizedSize) {
+                mRecognitionPointers.reset();
+                recognizedSize = 0;
+            }
+            mRecognitionPointers.append(mPendingPointers, recognizedSize,
+                    pendingSize - recognizedSize);
+            mRecognitionTouchTime = mPendingTouchTime;
+        }
+
+        // Whether the batch input the pointers being recognized are from has ended, has been
+        // canceled, or has been followed by another one.
+        private boolean isRecognitionStaleLocked() {
+            return !mInBatchInput || mRecognitionSequence != mBatchInputSequence;
+        }
+
+        // Called from {@link Suggest} in the Handler thread, between the dictionaries.
+        @Override
+        public boolean isBatchInputCanceled() {
             synchronized (mLock) {
-                if (!mInBatchInput) {
-                    // Batch input has ended or canceled while the message was being delivered.
-                    return;
+                return isRecognitionStaleLocked();
+            }
+        }
+
+        // Run in the Handler thread.
+        private void updateBatchInput() {
+            synchronized (mRecognitionLock) {
+                synchronized (mLock) {
+                    mIsUpdatePosted = false;
+                    if (!mInBatchInput) {
+                        // Batch input has ended or canceled while the message was being delivered.
+                        return;
+                    }
+                    takePendingPointersLocked();
+                }
+                final SuggestedWords suggestedWords = getSuggestedWordsGestureLocked(this);
+                synchronized (mLock) {
+                    if (isRecognitionStaleLocked()) {
+                        // Another batch input, or the end of this one, has its own suggestions.
+                        return;
+                    }
+                    mLatinIme.mHandler.showGesturePreviewAndSuggestionStrip(suggestedWords,
+                            false /* dismissGestureFloatingPreviewText */, mRecognitionTouchTime);
                 }
-                final SuggestedWords suggestedWords = getSuggestedWordsGestureLocked(batchPointers);
-                mLatinIme.mHandler.showGesturePreviewAndSuggestionStrip(
-                        suggestedWords, false /* dismissGestureFloatingPreviewText */);
             }
         }
 
         // Run in the UI thread.
         public void onUpdateBatchInput(final InputPointers batchPointers) {
-            if (mHandler.hasMessages(MSG_UPDATE_GESTURE_PREVIEW_AND_SUGGESTION_STRIP)) {
-                return;
+            synchronized (mLock) {
+                if (!mInBatchInput) {
+                    return;
+                }
+                appendPendingPointersLocked(batchPointers);
+                if (mIsUpdatePosted) {
+                    // The posted update will recognize the newest pointers.
+                    return;
+                }
+                mIsUpdatePosted = true;
             }
-            mHandler.obtainMessage(
-                    MSG_UPDATE_GESTURE_PREVIEW_AND_SUGGESTION_STRIP, batchPointers)
+            mHandler.obtainMessage(MSG_UPDATE_GESTURE_PREVIEW_AND_SUGGESTION_STRIP)
                     .sendToTarget();
         }
 
         public void onCancelBatchInput() {
             synchronized (mLock) {
                 mInBatchInput = false;
-                mLatinIme.mHandler.showGesturePreviewAndSuggestionStrip(
-                        SuggestedWords.EMPTY, true /* dismissGestureFloatingPreviewText */);
+                mHandler.removeMessages(MSG_UPDATE_GESTURE_PREVIEW_AND_SUGGESTION_STRIP);
+                mIsUpdatePosted = false;
+                mLatinIme.mHandler.showGesturePreviewAndSuggestionStrip(SuggestedWords.EMPTY,
+                        true /* dismissGestureFloatingPreviewText */, NOT_A_TOUCH_TIME);
             }
         }
 
         // Run in the UI thread.
         public SuggestedWords onEndBatchInput(final InputPointers batchPointers) {
             synchronized (mLock) {
+                // Makes the update being recognized, if any, stop before its next dictionary.
                 mInBatchInput = false;
-                final SuggestedWords suggestedWords = getSuggestedWordsGestureLocked(batchPointers);
-                mLatinIme.mHandler.showGesturePreviewAndSuggestionStrip(
-                        suggestedWords, true /* dismissGestureFloatingPreviewText */);
+                mHandler.removeMessages(MSG_UPDATE_GESTURE_PREVIEW_AND_SUGGESTION_STRIP);
+                mIsUpdatePosted = false;
+                appendPendingPointersLocked(batchPointers);
+            }
+            synchronized (mRecognitionLock) {
+                synchronized (mLock) {
+                    takePendingPointersLocked();
+                }
+                final SuggestedWords suggestedWords =
+                        getSuggestedWordsGestureLocked(null /* canceller */);
+                mLatinIme.mHandler.showGesturePreviewAndSuggestionStrip(suggestedWords,
+                        true /* dismissGestureFloatingPreviewText */, mRecognitionTouchTime);
                 return suggestedWords;
             }
         }
 
-        // {@link LatinIME#getSuggestedWords(int)} method calls with same session id have to
-        // be synchronized.
-        private SuggestedWords getSuggestedWordsGestureLocked(final InputPointers batchPointers) {
-            mLatinIme.mWordComposer.setBatchInputPointers(batchPointers);
-            final SuggestedWords suggestedWords =
-                    mLatinIme.getSuggestedWordsOrOlderSuggestions(Suggest.SESSION_GESTURE);
+        // {@link LatinIME#getSuggestedWords(int,Suggest.BatchInputCanceller)} method calls with
+        // same session id have to be synchronized, using {@link #mRecognitionLock}.
+        private SuggestedWords getSuggestedWordsGestureLocked(
+                final Suggest.BatchInputCanceller canceller) {
+            mLatinIme.mWordComposer.setBatchInputPointers(mRecognitionPointers);
+            final SuggestedWords suggestedWords = mLatinIme.getSuggestedWordsOrOlderSuggestions(
+                    Suggest.SESSION_GESTURE, canceller);
             final int suggestionCount = suggestedWords.size();
             if (suggestionCount <= 1) {
                 final String mostProbableSuggestion = (suggestionCount == 0) ? null
@@ -1699,12 +1837,17 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
     }
 
     private void showGesturePreviewAndSuggestionStrip(final SuggestedWords suggestedWords,
-            final boolean dismissGestureFloatingPreviewText) {
+            final boolean dismissGestureFloatingPreviewText, final long touchTime) {
         showSuggestionStrip(suggestedWords, null);
+        if (touchTime != NOT_A_TOUCH_TIME) {
+            mTouchToStripLatency.add(SystemClock.uptimeMillis() - touchTime);
+        }
         final MainKeyboardView mainKeyboardView = mKeyboardSwitcher.getMainKeyboardView();
         mainKeyboardView.showGestureFloatingPreviewText(suggestedWords);
         if (dismissGestureFloatingPreviewText) {
             mainKeyboardView.dismissGestureFloatingPreviewText();
+        } else if (touchTime != NOT_A_TOUCH_TIME) {
+            mTouchToPreviewLatency.add(SystemClock.uptimeMillis() - touchTime);
         }
     }
 
@@ -2174,13 +2317,14 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
             return;
         }
 
-        final SuggestedWords suggestedWords =
-                getSuggestedWordsOrOlderSuggestions(Suggest.SESSION_TYPING);
+        final SuggestedWords suggestedWords = getSuggestedWordsOrOlderSuggestions(
+                Suggest.SESSION_TYPING, null /* canceller */);
         final String typedWord = mWordComposer.getTypedWord();
         showSuggestionStrip(suggestedWords, typedWord);
     }
 
-    private SuggestedWords getSuggestedWords(final int sessionId) {
+    private SuggestedWords getSuggestedWords(final int sessionId,
+            final Suggest.BatchInputCanceller canceller) {
         final Keyboard keyboard = mKeyboardSwitcher.getKeyboard();
         if (keyboard == null || mSuggest == null) {
             return SuggestedWords.EMPTY;
@@ -2194,12 +2338,13 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
                 mWordComposer.isComposingWord() ? 2 : 1);
         return mSuggest.getSuggestedWords(mWordComposer, prevWord, keyboard.getProximityInfo(),
                 mSettings.getBlockPotentiallyOffensive(),
-                mSettings.getCurrent().mCorrectionEnabled, sessionId);
+                mSettings.getCurrent().mCorrectionEnabled, sessionId, canceller);
     }
 
-    private SuggestedWords getSuggestedWordsOrOlderSuggestions(final int sessionId) {
+    private SuggestedWords getSuggestedWordsOrOlderSuggestions(final int sessionId,
+            final Suggest.BatchInputCanceller canceller) {
         return maybeRetrieveOlderSuggestions(mWordComposer.getTypedWord(),
-                getSuggestedWords(sessionId));
+                getSuggestedWords(sessionId, canceller));
     }
 
     private SuggestedWords maybeRetrieveOlderSuggestions(final String typedWord,
@@ -2492,7 +2637,7 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
             // We come here if there weren't any suggestion spans on this word. We will try to
             // compute suggestions for it instead.
             final SuggestedWords suggestedWordsIncludingTypedWord =
-                    getSuggestedWords(Suggest.SESSION_TYPING);
+                    getSuggestedWords(Suggest.SESSION_TYPING, null /* canceller */);
             if (suggestedWordsIncludingTypedWord.size() > 1) {
                 // We were able to compute new suggestions for this word.
                 // Remove the typed word, since we don't want to display it in this case.
@@ -2812,5 +2957,7 @@ public class LatinIME extends InputMethodService implements KeyboardActionListen
         p.println("  mVibrateOn=" + settingsValues.mVibrateOn);
         p.println("  mKeyPreviewPopupOn=" + settingsValues.mKeyPreviewPopupOn);
         p.println("  inputAttributes=" + settingsValues.mInputAttributes);
+        p.println("  " + mTouchToPreviewLatency);
+        p.println("  " + mTouchToStripLatency);
     }
 }
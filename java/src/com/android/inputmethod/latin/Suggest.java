@@ -26,8 +26,10 @@ import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
 import java.io.File;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Locale;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -37,8 +39,8 @@ import java.util.concurrent.ConcurrentHashMap;
 public final class Suggest {
     public static final String TAG = Suggest.class.getSimpleName();
 
-    // Session id for
-    // {@link #getSuggestedWords(WordComposer,String,ProximityInfo,boolean,int)}.
+    // Session id for {@link #getSuggestedWords(WordComposer,String,ProximityInfo,boolean,int,
+    // BatchInputCanceller)}.
     public static final int SESSION_TYPING = 0;
     public static final int SESSION_GESTURE = 1;
 
@@ -54,12 +56,32 @@ public final class Suggest {
         public void onUpdateMainDictionaryAvailability(boolean isMainDictionaryAvailable);
     }
 
+    /**
+     * Tells a batch input lookup whether its suggestions are still wanted. The lookup checks
+     * before querying each dictionary, and stops early with no suggestions once they are not.
+     */
+    public interface BatchInputCanceller {
+        public boolean isBatchInputCanceled();
+    }
+
     private static final boolean DBG = LatinImeLogger.sDBG;
 
+    // How long to wait for each dictionary to return suggestions for a keystroke. Suggestions
+    // arriving later are dropped. The main dictionary makes most of the suggestions, so it gets
+    // a little more time, but still short enough that a slow lookup doesn't hold up the strip.
+    private static final long TYPING_SUGGESTIONS_BUDGET_MILLIS = 100;
+    private static final long MAIN_DICTIONARY_TYPING_SUGGESTIONS_BUDGET_MILLIS = 150;
+
     private Dictionary mMainDictionary;
     private ContactsBinaryDictionary mContactsDict;
     private final ConcurrentHashMap<String, Dictionary> mDictionaries =
             CollectionUtils.newConcurrentHashMap();
+    private final DictionaryScatterGather mScatterGather = new DictionaryScatterGather();
+    private final TypingSuggestionCache mSuggestionCache = new TypingSuggestionCache();
+    {
+        mScatterGather.setBudget(Dictionary.TYPE_MAIN,
+                MAIN_DICTIONARY_TYPING_SUGGESTIONS_BUDGET_MILLIS);
+    }
     @UsedForTesting
     private boolean mIsCurrentlyWaitingForMainDictionary = false;
 
@@ -90,14 +112,16 @@ public final class Suggest {
         resetMainDict(context, locale, listener);
     }
 
-    private static void addOrReplaceDictionary(
+    private void addOrReplaceDictionary(
             final ConcurrentHashMap<String, Dictionary> dictionaries,
             final String key, final Dictionary dict) {
         final Dictionary oldDict = (dict == null)
                 ? dictionaries.remove(key)
                 : dictionaries.put(key, dict);
         if (oldDict != null && dict != oldDict) {
-            oldDict.close();
+            // It may still be answering a query which missed its deadline, in which case it is
+            // closed once done.
+            mScatterGather.retireDictionary(oldDict);
         }
     }
 
@@ -172,14 +196,17 @@ public final class Suggest {
         mAutoCorrectionThreshold = threshold;
     }
 
+    /**
+     * @param canceller the canceller of a batch input lookup, or null if it can't be canceled.
+     */
     public SuggestedWords getSuggestedWords(final WordComposer wordComposer,
             final String prevWordForBigram, final ProximityInfo proximityInfo,
             final boolean blockOffensiveWords, final boolean isCorrectionEnabled,
-            final int sessionId) {
+            final int sessionId, final BatchInputCanceller canceller) {
         LatinImeLogger.onStartSuggestion(prevWordForBigram);
         if (wordComposer.isBatchMode()) {
-            return getSuggestedWordsForBatchInput(
-                    wordComposer, prevWordForBigram, proximityInfo, blockOffensiveWords, sessionId);
+            return getSuggestedWordsForBatchInput(wordComposer, prevWordForBigram, proximityInfo,
+                    blockOffensiveWords, sessionId, canceller);
         } else {
             return getSuggestedWordsForTypingInput(wordComposer, prevWordForBigram, proximityInfo,
                     blockOffensiveWords, isCorrectionEnabled);
@@ -191,8 +218,8 @@ public final class Suggest {
             final String prevWordForBigram, final ProximityInfo proximityInfo,
             final boolean blockOffensiveWords, final boolean isCorrectionEnabled) {
         final int trailingSingleQuotesCount = wordComposer.trailingSingleQuotesCount();
-        final BoundedTreeSet suggestionsSet = new BoundedTreeSet(sSuggestedWordInfoComparator,
-                MAX_SUGGESTIONS);
+        final BoundedSuggestionHeap suggestionsSet =
+                new BoundedSuggestionHeap(sSuggestedWordInfoComparator, MAX_SUGGESTIONS);
 
         final String typedWord = wordComposer.getTypedWord();
         final String consideredWord = trailingSingleQuotesCount > 0
@@ -210,11 +237,62 @@ public final class Suggest {
             wordComposerForLookup = wordComposer;
         }
 
-        for (final String key : mDictionaries.keySet()) {
-            final Dictionary dictionary = mDictionaries.get(key);
-            suggestionsSet.addAll(dictionary.getSuggestions(
-                    wordComposerForLookup, prevWordForBigram, proximityInfo, blockOffensiveWords));
+        // The dictionaries are queried on other threads, which may still be running after we
+        // return if they miss the deadline, so they need their own copy of the composer.
+        final WordComposer wordComposerSnapshot = new WordComposer(wordComposerForLookup);
+        // Dictionaries which already answered for this very input are not queried again.
+        final boolean isSameInput = mSuggestionCache.startLookup(wordComposerForLookup,
+                prevWordForBigram, proximityInfo, blockOffensiveWords);
+        final Map<String, Dictionary> dictionariesToQuery;
+        if (isSameInput) {
+            dictionariesToQuery = CollectionUtils.newHashMap();
+            for (final Map.Entry<String, Dictionary> entry : mDictionaries.entrySet()) {
+                final ArrayList<SuggestedWordInfo> cachedSuggestions =
+                        mSuggestionCache.getSuggestions(entry.getKey(), entry.getValue());
+                if (null != cachedSuggestions) {
+                    suggestionsSet.addAll(cachedSuggestions);
+                } else {
+                    dictionariesToQuery.put(entry.getKey(), entry.getValue());
+                }
+            }
+        } else {
+            dictionariesToQuery = mDictionaries;
         }
+        // Read before the dictionaries are queried, so that suggestions made while the words of
+        // a dictionary change are not cached as current.
+        final HashMap<Dictionary, Integer> generations = CollectionUtils.newHashMap();
+        for (final Dictionary dictionary : dictionariesToQuery.values()) {
+            generations.put(dictionary, dictionary.getGeneration());
+        }
+        mScatterGather.gather(dictionariesToQuery,
+                new DictionaryScatterGather.Query() {
+                    @Override
+                    public ArrayList<SuggestedWordInfo> run(final Dictionary dictionary) {
+                        return dictionary.getSuggestions(wordComposerSnapshot, prevWordForBigram,
+                                proximityInfo, blockOffensiveWords);
+                    }
+                }, TYPING_SUGGESTIONS_BUDGET_MILLIS,
+                new DictionaryScatterGather.OnGatherListener() {
+                    @Override
+                    public void onSuggestions(final String dictType, final Dictionary dictionary,
+                            final ArrayList<SuggestedWordInfo> suggestions) {
+                        final Integer generation = generations.get(dictionary);
+                        // Not cached if the dictionary was added while querying.
+                        if (null != generation) {
+                            mSuggestionCache.putSuggestions(dictType, dictionary, generation,
+                                    suggestions);
+                        }
+                        suggestionsSet.addAll(suggestions);
+                    }
+
+                    @Override
+                    public void onDeadlineMissed(final String dictType,
+                            final Dictionary dictionary) {
+                        // Make do with what it suggested for the input before this keystroke.
+                        suggestionsSet.addAll(
+                                mSuggestionCache.getNarrowedSuggestions(dictType, dictionary));
+                    }
+                });
 
         final String whitelistedWord;
         if (suggestionsSet.isEmpty()) {
@@ -254,8 +332,9 @@ public final class Suggest {
                     suggestionsSet.first(), consideredWord, mAutoCorrectionThreshold);
         }
 
-        final ArrayList<SuggestedWordInfo> suggestionsContainer =
-                CollectionUtils.newArrayList(suggestionsSet);
+        // The set holds each word once, so there can only be duplicates if changing the case
+        // made two words the same, or with the typed word.
+        final ArrayList<SuggestedWordInfo> suggestionsContainer = suggestionsSet.toSortedList();
         final int suggestionsCount = suggestionsContainer.size();
         final boolean isFirstCharCapitalized = wordComposer.isFirstCharCapitalized();
         final boolean isAllUpperCase = wordComposer.isAllUpperCase();
@@ -279,7 +358,11 @@ public final class Suggest {
                     SuggestedWordInfo.MAX_SCORE, SuggestedWordInfo.KIND_TYPED,
                     Dictionary.TYPE_USER_TYPED));
         }
-        SuggestedWordInfo.removeDups(suggestionsContainer);
+        if (isFirstCharCapitalized || isAllUpperCase) {
+            SuggestedWordInfo.removeDups(suggestionsContainer);
+        } else if (!TextUtils.isEmpty(typedWord)) {
+            SuggestedWordInfo.removeDupsOfFirst(suggestionsContainer);
+        }
 
         final ArrayList<SuggestedWordInfo> suggestionsList;
         if (DBG && !suggestionsContainer.isEmpty()) {
@@ -302,9 +385,10 @@ public final class Suggest {
     // Retrieves suggestions for the batch input.
     private SuggestedWords getSuggestedWordsForBatchInput(final WordComposer wordComposer,
             final String prevWordForBigram, final ProximityInfo proximityInfo,
-            final boolean blockOffensiveWords, final int sessionId) {
-        final BoundedTreeSet suggestionsSet = new BoundedTreeSet(sSuggestedWordInfoComparator,
-                MAX_SUGGESTIONS);
+            final boolean blockOffensiveWords, final int sessionId,
+            final BatchInputCanceller canceller) {
+        final BoundedSuggestionHeap suggestionsSet =
+                new BoundedSuggestionHeap(sSuggestedWordInfoComparator, MAX_SUGGESTIONS);
 
         // At second character typed, search the unigrams (scores being affected by bigrams)
         for (final String key : mDictionaries.keySet()) {
@@ -314,17 +398,19 @@ public final class Suggest {
             if (key.equals(Dictionary.TYPE_USER_HISTORY)) {
                 continue;
             }
+            if (canceller != null && canceller.isBatchInputCanceled()) {
+                return SuggestedWords.EMPTY;
+            }
             final Dictionary dictionary = mDictionaries.get(key);
             suggestionsSet.addAll(dictionary.getSuggestionsWithSessionId(wordComposer,
                     prevWordForBigram, proximityInfo, blockOffensiveWords, sessionId));
         }
 
-        for (SuggestedWordInfo wordInfo : suggestionsSet) {
+        final ArrayList<SuggestedWordInfo> suggestionsContainer = suggestionsSet.toSortedList();
+        for (SuggestedWordInfo wordInfo : suggestionsContainer) {
             LatinImeLogger.onAddSuggestedWord(wordInfo.mWord, wordInfo.mSourceDict);
         }
 
-        final ArrayList<SuggestedWordInfo> suggestionsContainer =
-                CollectionUtils.newArrayList(suggestionsSet);
         final int suggestionsCount = suggestionsContainer.size();
         final boolean isFirstCharCapitalized = wordComposer.wasShiftedNoLock();
         final boolean isAllUpperCase = wordComposer.isAllUpperCase();
@@ -343,7 +429,11 @@ public final class Suggest {
             final SuggestedWordInfo rejected = suggestionsContainer.remove(0);
             suggestionsContainer.add(1, rejected);
         }
-        SuggestedWordInfo.removeDups(suggestionsContainer);
+        // The set holds each word once, so there can only be duplicates if changing the case
+        // made two words the same.
+        if (isFirstCharCapitalized || isAllUpperCase) {
+            SuggestedWordInfo.removeDups(suggestionsContainer);
+        }
 
         // For some reason some suggestions with MIN_VALUE are making their way here.
         // TODO: Find a more robust way to detect distractors.
@@ -423,11 +513,52 @@ public final class Suggest {
                 wordInfo.mSourceDict);
     }
 
+    /**
+     * Returns how many times the dictionary of the given type did not return suggestions for
+     * typing input in time.
+     */
+    public int getDeadlineMissCount(final String dictType) {
+        return mScatterGather.getDeadlineMissCount(dictType);
+    }
+
+    /**
+     * Returns how many times the dictionary of the given type was asked for suggestions for
+     * typing input.
+     */
+    public int getQueryCount(final String dictType) {
+        return mScatterGather.getQueryCount(dictType);
+    }
+
+    /**
+     * Forgets the suggestions cached for the word being typed. Call this when the cursor moves
+     * away from it.
+     */
+    public void resetSuggestionCache() {
+        mSuggestionCache.clear();
+    }
+
+    /**
+     * Returns how many times the suggestions of a dictionary for typing input were looked up
+     * in the cache.
+     */
+    public int getSuggestionCacheLookupCount() {
+        return mSuggestionCache.getLookupCount();
+    }
+
+    /**
+     * Returns how many of the cache lookups found suggestions, so that the dictionary was not
+     * queried again.
+     */
+    public int getSuggestionCacheHitCount() {
+        return mSuggestionCache.getHitCount();
+    }
+
     public void close() {
+        mScatterGather.shutdown();
         final HashSet<Dictionary> dictionaries = CollectionUtils.newHashSet();
         dictionaries.addAll(mDictionaries.values());
         for (final Dictionary dictionary : dictionaries) {
-            dictionary.close();
+            mScatterGather.retireDictionary(dictionary);
         }
         mMainDictionary = null;
     }
@@ -200,6 +200,24 @@ public final class SuggestedWords {
                 ++i;
             }
         }
+
+        /**
+         * Removes the duplicate of the first candidate, if any, keeping the one with the higher
+         * score as removeDups does. The other candidates must all be different from each other.
+         */
+        public static void removeDupsOfFirst(final ArrayList<SuggestedWordInfo> candidates) {
+            if (candidates.size() <= 1) {
+                return;
+            }
+            final SuggestedWordInfo first = candidates.get(0);
+            for (int i = 1; i < candidates.size(); ++i) {
+                final SuggestedWordInfo cur = candidates.get(i);
+                if (cur.mWord.equals(first.mWord)) {
+                    candidates.remove(cur.mScore < first.mScore ? i : 0);
+                    return;
+                }
+            }
+        }
     }
 
     // SuggestedWords is an immutable object, as much as possible. We must not just remove
@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import com.android.inputmethod.keyboard.ProximityInfo;
+import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Remembers the suggestions each dictionary made for the word being typed.
+ *
+ * The same input is often looked up several times in a row, for example when the suggestion
+ * strip is updated without a keystroke; the cached suggestions are then returned instead of
+ * querying the dictionaries again. When the input extends the one cached, the cached suggestions
+ * which still match the typed prefix stand in for those of a dictionary which misses its
+ * deadline. The dictionaries correct typing errors, so these are not the suggestions the
+ * dictionary would have made, but they are better than none.
+ *
+ * Any other input, and calling {@link #clear}, forget the cached suggestions. Suggestions are
+ * only returned for the same dictionary instance and generation, so replacing a dictionary or
+ * changing its words invalidates its entry. This class is not thread-safe: it is meant to be
+ * used on the thread computing the suggestions.
+ */
+public final class TypingSuggestionCache {
+    private static final int MAX_WORD_LENGTH = Constants.Dictionary.MAX_WORD_LENGTH;
+
+    // The input the cached suggestions were made for.
+    private int mSize = 0;
+    private final int[] mXCoordinates = new int[MAX_WORD_LENGTH];
+    private final int[] mYCoordinates = new int[MAX_WORD_LENGTH];
+    private String mTypedWord = null;
+    private String mPrevWord = null;
+    private ProximityInfo mProximityInfo = null;
+    private boolean mBlockOffensiveWords = false;
+    // Whether the current input is the same as the last one, or extends it.
+    private boolean mIsSameInput = false;
+    private boolean mIsExtendedInput = false;
+
+    private static final class Entry {
+        public final Dictionary mDictionary;
+        public final int mGeneration;
+        public final ArrayList<SuggestedWordInfo> mSuggestions;
+
+        public Entry(final Dictionary dictionary, final int generation,
+                final ArrayList<SuggestedWordInfo> suggestions) {
+            mDictionary = dictionary;
+            mGeneration = generation;
+            mSuggestions = suggestions;
+        }
+
+        public boolean isFor(final Dictionary dictionary) {
+            return dictionary == mDictionary && dictionary.getGeneration() == mGeneration;
+        }
+    }
+
+    // The suggestions for the current input, and for the previous one if the current one
+    // extends it. Keyed by dictionary type.
+    private HashMap<String, Entry> mEntries = CollectionUtils.newHashMap();
+    private HashMap<String, Entry> mPreviousEntries = CollectionUtils.newHashMap();
+
+    private int mLookupCount = 0;
+    private int mHitCount = 0;
+    private int mFallbackCount = 0;
+
+    /**
+     * Starts a lookup of the given input, keeping the cached suggestions only if they still
+     * apply to it.
+     * @return whether the input is the same as the one cached.
+     */
+    public boolean startLookup(final WordComposer composer, final String prevWord,
+            final ProximityInfo proximityInfo, final boolean blockOffensiveWords) {
+        final int size = composer.size();
+        final String typedWord = composer.getTypedWord();
+        final boolean isSameContext = proximityInfo == mProximityInfo
+                && blockOffensiveWords == mBlockOffensiveWords
+                && (null == prevWord ? null == mPrevWord : prevWord.equals(mPrevWord));
+        final boolean startsWithCachedInput = isSameContext && null != mTypedWord
+                && size >= mSize && typedWord.startsWith(mTypedWord)
+                && hasSamePointers(composer, Math.min(mSize, MAX_WORD_LENGTH));
+        mIsSameInput = startsWithCachedInput && size == mSize;
+        mIsExtendedInput = startsWithCachedInput && size > mSize;
+        if (mIsSameInput) return true;
+
+        // Keep the suggestions for the previous input only if they are narrowed down next.
+        final HashMap<String, Entry> entries = mPreviousEntries;
+        mPreviousEntries = mEntries;
+        mEntries = entries;
+        mEntries.clear();
+        if (!mIsExtendedInput) mPreviousEntries.clear();
+
+        final InputPointers pointers = composer.getInputPointers();
+        final int pointerSize = pointers.getPointerSize();
+        final int[] xCoordinates = pointers.getXCoordinates();
+        final int[] yCoordinates = pointers.getYCoordinates();
+        for (int i = 0; i < Math.min(size, MAX_WORD_LENGTH); ++i) {
+            mXCoordinates[i] = getCoordinate(xCoordinates, pointerSize, i);
+            mYCoordinates[i] = getCoordinate(yCoordinates, pointerSize, i);
+        }
+        mSize = size;
+        mTypedWord = typedWord;
+        mPrevWord = prevWord;
+        mProximityInfo = proximityInfo;
+        mBlockOffensiveWords = blockOffensiveWords;
+        return false;
+    }
+
+    private static int getCoordinate(final int[] coordinates, final int pointerSize,
+            final int index) {
+        return index < pointerSize ? coordinates[index] : Constants.NOT_A_COORDINATE;
+    }
+
+    private boolean hasSamePointers(final WordComposer composer, final int length) {
+        final InputPointers pointers = composer.getInputPointers();
+        final int pointerSize = pointers.getPointerSize();
+        final int[] xCoordinates = pointers.getXCoordinates();
+        final int[] yCoordinates = pointers.getYCoordinates();
+        for (int i = 0; i < length; ++i) {
+            if (mXCoordinates[i] != getCoordinate(xCoordinates, pointerSize, i)
+                    || mYCoordinates[i] != getCoordinate(yCoordinates, pointerSize, i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the cached suggestions of this dictionary for the current input, or null.
+     */
+    public ArrayList<SuggestedWordInfo> getSuggestions(final String dictType,
+            final Dictionary dictionary) {
+        ++mLookupCount;
+        if (!mIsSameInput) return null;
+        final Entry entry = mEntries.get(dictType);
+        if (null == entry || !entry.isFor(dictionary)) return null;
+        ++mHitCount;
+        return entry.mSuggestions;
+    }
+
+    /**
+     * Caches the suggestions of this dictionary for the current input.
+     * @param generation the generation of the dictionary before it was queried.
+     */
+    public void putSuggestions(final String dictType, final Dictionary dictionary,
+            final int generation, final ArrayList<SuggestedWordInfo> suggestions) {
+        mEntries.put(dictType, new Entry(dictionary, generation, suggestions));
+    }
+
+    /**
+     * Returns the suggestions this dictionary made for the previous input which still match
+     * the current one, to use when it did not answer for the current input. Returns null if
+     * there are none.
+     */
+    public ArrayList<SuggestedWordInfo> getNarrowedSuggestions(final String dictType,
+            final Dictionary dictionary) {
+        if (!mIsExtendedInput) return null;
+        final Entry entry = mPreviousEntries.get(dictType);
+        if (null == entry || !entry.isFor(dictionary)) return null;
+        final ArrayList<SuggestedWordInfo> narrowedSuggestions = CollectionUtils.newArrayList();
+        final int typedLength = mTypedWord.length();
+        for (final SuggestedWordInfo info : entry.mSuggestions) {
+            if (info.mWord.regionMatches(true /* ignoreCase */, 0, mTypedWord, 0, typedLength)) {
+                narrowedSuggestions.add(info);
+            }
+        }
+        ++mFallbackCount;
+        return narrowedSuggestions;
+    }
+
+    public void clear() {
+        mSize = 0;
+        mTypedWord = null;
+        mPrevWord = null;
+        mProximityInfo = null;
+        mIsSameInput = false;
+        mIsExtendedInput = false;
+        mEntries.clear();
+        mPreviousEntries.clear();
+    }
+
+    /**
+     * Returns how many times the suggestions of a dictionary were looked up.
+     */
+    public int getLookupCount() {
+        return mLookupCount;
+    }
+
+    /**
+     * Returns how many of the lookups were answered from the cache.
+     */
+    public int getHitCount() {
+        return mHitCount;
+    }
+
+    /**
+     * Returns how many times narrowed suggestions stood in for a late dictionary.
+     */
+    public int getFallbackCount() {
+        return mFallbackCount;
+    }
+}
@@ -26,10 +26,13 @@ import android.net.Uri;
 import android.os.Build;
 import android.provider.UserDictionary.Words;
 import android.text.TextUtils;
+import android.util.Pair;
 
 import com.android.inputmethod.compat.UserDictionaryCompatUtils;
 
 import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Locale;
 
 /**
@@ -49,12 +52,14 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
     static {
         if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN) {
             PROJECTION_QUERY = new String[] {
+                Words._ID,
                 Words.WORD,
                 SHORTCUT,
                 Words.FREQUENCY,
             };
         } else {
             PROJECTION_QUERY = new String[] {
+                Words._ID,
                 Words.WORD,
                 Words.FREQUENCY,
             };
@@ -63,10 +68,37 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
 
     private static final String NAME = "userunigram";
 
+    // Beyond this many changed rows, it's faster to read the whole user dictionary again than to
+    // read the rows one by one.
+    private static final int MAX_CHANGED_ROWS_TO_READ_INCREMENTALLY = 20;
+
     private ContentObserver mObserver;
     final private String mLocale;
     final private boolean mAlsoUseMoreRestrictiveLocales;
 
+    private static final class Row {
+        public final String mWord;
+        public final String mShortcut;
+        public final int mFrequency;
+
+        public Row(final String word, final String shortcut, final int frequency) {
+            mWord = word;
+            mShortcut = shortcut;
+            mFrequency = frequency;
+        }
+    }
+
+    // The rows of the user dictionary provider in our locales, by row id, as of the last time
+    // they were read. Only accessed by the thread loading the dictionary.
+    private final HashMap<Long, Row> mRows = CollectionUtils.newHashMap();
+    // Whether mRows holds the whole user dictionary, so that it can be updated row by row.
+    private boolean mHasRows = false;
+    // The ids of the rows which changed since they were read. Guarded by itself.
+    private final HashSet<Long> mChangedRowIds = CollectionUtils.newHashSet();
+    // Whether some change could not be tied to a row, so everything must be read again. Guarded
+    // by mChangedRowIds.
+    private boolean mHasUnknownChanges = false;
+
     public UserBinaryDictionary(final Context context, final String locale) {
         this(context, locale, false);
     }
@@ -99,12 +131,19 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
             // devices. On older versions of the platform, the hook above will be called instead.
             @Override
             public void onChange(final boolean self, final Uri uri) {
+                final long changedRowId = getRowId(uri);
+                synchronized (mChangedRowIds) {
+                    if (-1 == changedRowId) {
+                        mHasUnknownChanges = true;
+                    } else {
+                        mChangedRowIds.add(changedRowId);
+                    }
+                }
                 setRequiresReload(true);
                 // We want to report back to Latin IME in case the user just entered the word.
                 // If the user changed the word in the dialog box, then we want to replace
                 // what was entered in the text field.
                 if (null == uri || !(context instanceof LatinIME)) return;
-                final long changedRowId = ContentUris.parseId(uri);
                 if (-1 == changedRowId) return; // Unknown content... Not sure why we're here
                 final String changedWord = getChangedWordForUri(uri);
                 ((LatinIME)context).onWordAddedToUserDictionary(changedWord);
@@ -115,6 +154,16 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
         loadDictionary();
     }
 
+    // Returns the id of the row the uri points to, or -1 if it does not point to a single row.
+    private static long getRowId(final Uri uri) {
+        if (null == uri) return -1;
+        try {
+            return ContentUris.parseId(uri);
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
     private String getChangedWordForUri(final Uri uri) {
         final Cursor cursor = mContext.getContentResolver().query(uri,
                 PROJECTION_QUERY, null, null, null);
@@ -139,6 +188,26 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
 
     @Override
     public void loadDictionaryAsync() {
+        final Long[] changedRowIds;
+        final boolean hasUnknownChanges;
+        synchronized (mChangedRowIds) {
+            changedRowIds = mChangedRowIds.toArray(new Long[mChangedRowIds.size()]);
+            hasUnknownChanges = mHasUnknownChanges;
+            mChangedRowIds.clear();
+            mHasUnknownChanges = false;
+        }
+        // When only a few words changed since we last read the user dictionary, read just these
+        // instead of the whole user dictionary.
+        if (!mHasRows || hasUnknownChanges
+                || changedRowIds.length > MAX_CHANGED_ROWS_TO_READ_INCREMENTALLY
+                || !readChangedRows(changedRowIds)) {
+            readAllRows();
+        }
+        addWords();
+    }
+
+    // Returns the selection and its arguments to query the words in our locales.
+    private Pair<String, String[]> getLocaleSelection() {
         // Split the locale. For example "en" => ["en"], "de_DE" => ["de", "DE"],
         // "en_US_foo_bar_qux" => ["en", "US", "foo_bar_qux"] because of the limit of 3.
         // This is correct for locale processing.
@@ -186,15 +255,48 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
         } else {
             requestArguments = localeElements;
         }
+        return new Pair<String, String[]>(request.toString(), requestArguments);
+    }
+
+    private void readAllRows() {
+        final Pair<String, String[]> selection = getLocaleSelection();
         final Cursor cursor = mContext.getContentResolver().query(
-                Words.CONTENT_URI, PROJECTION_QUERY, request.toString(), requestArguments, null);
+                Words.CONTENT_URI, PROJECTION_QUERY, selection.first, selection.second, null);
+        mRows.clear();
         try {
-            addWords(cursor);
+            readRows(cursor);
+            mHasRows = null != cursor;
         } finally {
             if (null != cursor) cursor.close();
         }
     }
 
+    // Reads the given rows again. A row which was deleted, or moved to another locale, is
+    // removed. Returns false if the rows could not be read.
+    private boolean readChangedRows(final Long[] rowIds) {
+        if (0 == rowIds.length) return true;
+        final Pair<String, String[]> selection = getLocaleSelection();
+        final StringBuilder request = new StringBuilder("(").append(selection.first)
+                .append(") and ").append(Words._ID).append(" in (");
+        for (int i = 0; i < rowIds.length; ++i) {
+            if (i > 0) request.append(',');
+            request.append(rowIds[i].longValue());
+        }
+        request.append(')');
+        final Cursor cursor = mContext.getContentResolver().query(
+                Words.CONTENT_URI, PROJECTION_QUERY, request.toString(), selection.second, null);
+        if (null == cursor) return false;
+        try {
+            for (final Long rowId : rowIds) {
+                mRows.remove(rowId);
+            }
+            readRows(cursor);
+        } finally {
+            cursor.close();
+        }
+        return true;
+    }
+
     public boolean isEnabled() {
         final ContentResolver cr = mContext.getContentResolver();
         final ContentProviderClient client = cr.acquireContentProviderClient(Words.CONTENT_URI);
@@ -237,11 +339,11 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
         }
     }
 
-    private void addWords(final Cursor cursor) {
+    private void readRows(final Cursor cursor) {
         final boolean hasShortcutColumn = Build.VERSION.SDK_INT >= Build.VERSION_CODES.JELLY_BEAN;
-        clearFusionDictionary();
         if (cursor == null) return;
         if (cursor.moveToFirst()) {
+            final int indexId = cursor.getColumnIndex(Words._ID);
             final int indexWord = cursor.getColumnIndex(Words.WORD);
             final int indexShortcut = hasShortcutColumn ? cursor.getColumnIndex(SHORTCUT) : 0;
             final int indexFrequency = cursor.getColumnIndex(Words.FREQUENCY);
@@ -249,19 +351,26 @@ public class UserBinaryDictionary extends ExpandableBinaryDictionary {
                 final String word = cursor.getString(indexWord);
                 final String shortcut = hasShortcutColumn ? cursor.getString(indexShortcut) : null;
                 final int frequency = cursor.getInt(indexFrequency);
-                final int adjustedFrequency = scaleFrequencyFromDefaultToLatinIme(frequency);
-                // Safeguard against adding really long words.
-                if (word.length() < MAX_WORD_LENGTH) {
-                    super.addWord(word, null, adjustedFrequency, false /* isNotAWord */);
-                }
-                if (null != shortcut && shortcut.length() < MAX_WORD_LENGTH) {
-                    super.addWord(shortcut, word, adjustedFrequency, true /* isNotAWord */);
-                }
+                mRows.put(cursor.getLong(indexId), new Row(word, shortcut, frequency));
                 cursor.moveToNext();
             }
         }
     }
 
+    private void addWords() {
+        clearFusionDictionary();
+        for (final Row row : mRows.values()) {
+            final int adjustedFrequency = scaleFrequencyFromDefaultToLatinIme(row.mFrequency);
+            // Safeguard against adding really long words.
+            if (row.mWord.length() < MAX_WORD_LENGTH) {
+                super.addWord(row.mWord, null, adjustedFrequency, false /* isNotAWord */);
+            }
+            if (null != row.mShortcut && row.mShortcut.length() < MAX_WORD_LENGTH) {
+                super.addWord(row.mShortcut, row.mWord, adjustedFrequency, true /* isNotAWord */);
+            }
+        }
+    }
+
     @Override
     protected boolean hasContentChanged() {
         return true;
@@ -137,14 +137,14 @@ public final class UserHistoryDictIOUtils {
         final FusionDictionary fusionDict = new FusionDictionary(new Node(),
                 new FusionDictionary.DictionaryOptions(new HashMap<String, String>(), false,
                         false));
-        int profTotal = 0;
-        for (final String word1 : bigrams.keySet()) {
-            final HashMap<String, Byte> word1Bigrams = bigrams.getBigrams(word1);
-            for (final String word2 : word1Bigrams.keySet()) {
+        final int[] profTotal = new int[1];
+        bigrams.visitBigrams(new UserHistoryDictionaryBigramList.BigramVisitor() {
+            @Override
+            public void visitBigram(final String word1, final String word2, final byte fcValue) {
                 final int freq = dict.getFrequency(word1, word2);
                 if (freq == -1) {
                     // don't add this bigram.
-                    continue;
+                    return;
                 }
                 if (DEBUG) {
                     if (word1 == null) {
@@ -153,7 +153,7 @@ public final class UserHistoryDictIOUtils {
                         Log.d(TAG, "add bigram: " + word1
                                 + "," + word2 + "," + Integer.toString(freq));
                     }
-                    profTotal++;
+                    profTotal[0]++;
                 }
                 if (word1 == null) { // unigram
                     fusionDict.add(word2, freq, null, false /* isNotAWord */);
@@ -165,9 +165,9 @@ public final class UserHistoryDictIOUtils {
                 }
                 bigrams.updateBigram(word1, word2, (byte)freq);
             }
-        }
+        });
         if (DEBUG) {
-            Log.d(TAG, "add " + profTotal + "words");
+            Log.d(TAG, "add " + profTotal[0] + "words");
         }
         return fusionDict;
     }
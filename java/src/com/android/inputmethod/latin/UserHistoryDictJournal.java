@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.zip.CRC32;
+
+/**
+ * An append-only journal of the changes made to a user history dictionary file since it was
+ * last written.
+ *
+ * Flushing the user history appends one batch of changes to the journal, which costs in
+ * proportion to the number of changes instead of rewriting the whole dictionary. Loading replays
+ * the journal on top of the dictionary file. The journal is discarded when the dictionary file
+ * is written again.
+ *
+ * The journal starts with a header identifying the dictionary file it applies to, by length and
+ * modification time. If the dictionary file was replaced since, for example because the process
+ * died between writing a new dictionary file and deleting the journal, the journal is ignored.
+ * Each batch is prefixed with its length and a checksum, so a batch that was not completely
+ * written is detected and ignored along with anything after it, and the next append overwrites
+ * it.
+ */
+public final class UserHistoryDictJournal {
+    private static final String TAG = UserHistoryDictJournal.class.getSimpleName();
+    private static final int MAGIC_NUMBER = 0x75686A31; // "uhj1"
+    private static final int HEADER_SIZE = 4 + 8 + 8; // magic, base length, base modified time
+    private static final int BATCH_HEADER_SIZE = 4 + 4; // payload length, payload CRC
+    private static final byte RECORD_SET = 1;
+    private static final byte RECORD_REMOVE = 2;
+
+    public interface OnReplayListener {
+        /**
+         * Called for a bigram which was set, or a unigram if word1 is null.
+         * @param writeTime the time at which the frequency was computed.
+         */
+        public void setBigram(String word1, String word2, int frequency, long writeTime);
+
+        /**
+         * Called for a bigram which was removed, or a unigram if word1 is null.
+         */
+        public void removeBigram(String word1, String word2);
+    }
+
+    /**
+     * A set of changes to append to the journal at once.
+     */
+    public static final class Batch {
+        private final ByteArrayOutputStream mBytes = new ByteArrayOutputStream();
+        private final DataOutputStream mOut = new DataOutputStream(mBytes);
+        private int mRecordCount = 0;
+
+        public void setBigram(final String word1, final String word2, final int frequency) {
+            try {
+                mOut.writeByte(RECORD_SET);
+                writeWords(word1, word2);
+                mOut.writeInt(frequency);
+            } catch (IOException e) {
+                // ByteArrayOutputStream does not throw.
+                throw new RuntimeException(e);
+            }
+            ++mRecordCount;
+        }
+
+        public void removeBigram(final String word1, final String word2) {
+            try {
+                mOut.writeByte(RECORD_REMOVE);
+                writeWords(word1, word2);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+            ++mRecordCount;
+        }
+
+        private void writeWords(final String word1, final String word2) throws IOException {
+            mOut.writeBoolean(null != word1);
+            if (null != word1) mOut.writeUTF(word1);
+            mOut.writeUTF(word2);
+        }
+
+        public boolean isEmpty() {
+            return 0 == mRecordCount;
+        }
+
+        // Returns the payload: the write time, the number of records and the records.
+        /* package */ byte[] toPayload(final long writeTime) throws IOException {
+            final ByteArrayOutputStream payload = new ByteArrayOutputStream(mBytes.size() + 12);
+            final DataOutputStream out = new DataOutputStream(payload);
+            out.writeLong(writeTime);
+            out.writeInt(mRecordCount);
+            mOut.flush();
+            mBytes.writeTo(out);
+            out.flush();
+            return payload.toByteArray();
+        }
+    }
+
+    private final File mJournalFile;
+    private final File mBaseFile;
+    // The length of the valid part of the journal. Anything after it is garbage left by an
+    // interrupted append, and is overwritten by the next one.
+    private long mLength = 0;
+
+    public UserHistoryDictJournal(final File journalFile, final File baseFile) {
+        mJournalFile = journalFile;
+        mBaseFile = baseFile;
+    }
+
+    /**
+     * Returns the length of the valid part of the journal, as of the last replay or append.
+     */
+    public long length() {
+        return mLength;
+    }
+
+    /**
+     * Replays the journal, calling the listener for each change in the order they were made.
+     * A journal which does not apply to the current dictionary file is ignored.
+     */
+    public void replay(final OnReplayListener listener) {
+        mLength = 0;
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(mJournalFile)));
+            if (in.readInt() != MAGIC_NUMBER || in.readLong() != mBaseFile.length()
+                    || in.readLong() != mBaseFile.lastModified()) {
+                Log.i(TAG, "Ignoring a journal for another dictionary file");
+                return;
+            }
+            final long fileLength = mJournalFile.length();
+            long length = HEADER_SIZE;
+            while (true) {
+                final byte[] payload = readBatch(in, fileLength - length - BATCH_HEADER_SIZE);
+                if (null == payload) break;
+                replayBatch(payload, listener);
+                length += BATCH_HEADER_SIZE + payload.length;
+            }
+            mLength = length;
+        } catch (FileNotFoundException e) {
+            // This is an expected condition: nothing was journaled since the last write.
+        } catch (IOException e) {
+            Log.e(TAG, "IOException while replaying the journal", e);
+        } finally {
+            if (null != in) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    // do nothing
+                }
+            }
+        }
+    }
+
+    // Returns the payload of the next batch, or null if there is no complete, valid batch.
+    private static byte[] readBatch(final DataInputStream in, final long maxPayloadLength)
+            throws IOException {
+        final byte[] payload;
+        final int crc;
+        try {
+            final int payloadLength = in.readInt();
+            crc = in.readInt();
+            if (payloadLength < 12 || payloadLength > maxPayloadLength) return null;
+            payload = new byte[payloadLength];
+            in.readFully(payload);
+        } catch (EOFException e) {
+            return null;
+        }
+        final CRC32 checksum = new CRC32();
+        checksum.update(payload);
+        if ((int)checksum.getValue() != crc) {
+            Log.w(TAG, "Ignoring a damaged journal batch");
+            return null;
+        }
+        return payload;
+    }
+
+    private static void replayBatch(final byte[] payload, final OnReplayListener listener)
+            throws IOException {
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        final long writeTime = in.readLong();
+        final int recordCount = in.readInt();
+        for (int i = 0; i < recordCount; ++i) {
+            final byte type = in.readByte();
+            final String word1 = in.readBoolean() ? in.readUTF() : null;
+            final String word2 = in.readUTF();
+            if (RECORD_SET == type) {
+                listener.setBigram(word1, word2, in.readInt(), writeTime);
+            } else {
+                listener.removeBigram(word1, word2);
+            }
+        }
+    }
+
+    /**
+     * Appends a batch of changes, and waits for them to reach the storage.
+     * The dictionary file must exist.
+     * @return true if the changes were appended, false if they were not and must be written
+     * some other way.
+     */
+    public boolean append(final Batch batch, final long writeTime) {
+        if (!mBaseFile.exists()) return false;
+        RandomAccessFile file = null;
+        try {
+            final byte[] payload = batch.toPayload(writeTime);
+            final CRC32 checksum = new CRC32();
+            checksum.update(payload);
+            file = new RandomAccessFile(mJournalFile, "rw");
+            file.setLength(mLength);
+            file.seek(mLength);
+            if (0 == mLength) {
+                file.writeInt(MAGIC_NUMBER);
+                file.writeLong(mBaseFile.length());
+                file.writeLong(mBaseFile.lastModified());
+            }
+            file.writeInt(payload.length);
+            file.writeInt((int)checksum.getValue());
+            file.write(payload);
+            file.getFD().sync();
+            mLength = file.getFilePointer();
+            return true;
+        } catch (IOException e) {
+            Log.e(TAG, "IOException while appending to the journal", e);
+            return false;
+        } finally {
+            if (null != file) {
+                try {
+                    file.close();
+                } catch (IOException e) {
+                    // do nothing
+                }
+            }
+        }
+    }
+
+    /**
+     * Discards the journal. Call this once the dictionary file holds all the changes.
+     */
+    public void reset() {
+        mJournalFile.delete();
+        mLength = 0;
+    }
+}
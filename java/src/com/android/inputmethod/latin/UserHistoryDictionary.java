@@ -19,6 +19,7 @@ package com.android.inputmethod.latin;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.os.AsyncTask;
+import android.text.TextUtils;
 import android.util.Log;
 
 import com.android.inputmethod.annotations.UsedForTesting;
@@ -26,6 +27,7 @@ import com.android.inputmethod.keyboard.ProximityInfo;
 import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
 import com.android.inputmethod.latin.UserHistoryDictIOUtils.BigramDictionaryInterface;
 import com.android.inputmethod.latin.UserHistoryDictIOUtils.OnAddWordListener;
+import com.android.inputmethod.latin.UserHistoryDictionaryBigramList.BigramVisitor;
 import com.android.inputmethod.latin.UserHistoryForgettingCurveUtils.ForgettingCurveParams;
 import com.android.inputmethod.latin.makedict.FormatSpec.FormatOptions;
 
@@ -67,12 +69,19 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
      */
     public static final int DELETE_HISTORY_BIGRAMS = 1000;
 
+    /**
+     * Flushes append the changes to a journal instead of rewriting the dictionary file, until
+     * the journal grows larger than both the dictionary file and this size.
+     */
+    private static final long MIN_JOURNAL_LENGTH_TO_COMPACT = 64 * 1024;
+
     /** Locale for which this user history dictionary is storing words */
     private final String mLocale;
 
     private final UserHistoryDictionaryBigramList mBigramList =
             new UserHistoryDictionaryBigramList();
     private final ReentrantLock mBigramListLock = new ReentrantLock();
+    private final UserHistoryDictJournal mJournal;
     private final SharedPreferences mPrefs;
 
     // Should always be false except when we use this class for test
@@ -104,6 +113,9 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
         super(context, Dictionary.TYPE_USER_HISTORY);
         mLocale = locale;
         mPrefs = sp;
+        mJournal = new UserHistoryDictJournal(
+                new File(context.getFilesDir(), NAME + "." + mLocale + ".journal"),
+                new File(context.getFilesDir(), NAME + "." + mLocale + ".dict"));
         if (mLocale != null && mLocale.length() > 1) {
             loadDictionary();
         }
@@ -168,6 +180,17 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
                             word1, word2, new ForgettingCurveParams(isValid));
                 }
                 mBigramList.addBigram(word1, word2);
+                if (mBigramList.getBigramCount() > MAX_HISTORY_BIGRAMS) {
+                    // Drop the evicted bigrams from the suggestions too, or they would only
+                    // disappear when the dictionary is reloaded.
+                    mBigramList.evictOldestBigrams(DELETE_HISTORY_BIGRAMS, new BigramVisitor() {
+                        @Override
+                        public void visitBigram(final String evictedWord1,
+                                final String evictedWord2, final byte fcValue) {
+                            UserHistoryDictionary.super.removeBigram(evictedWord1, evictedWord2);
+                        }
+                    });
+                }
                 return freq;
             } finally {
                 mBigramListLock.unlock();
@@ -220,7 +243,6 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
             }
         }
         final long last = Settings.readLastUserHistoryWriteTime(mPrefs, mLocale);
-        final boolean initializing = last == 0;
         final long now = System.currentTimeMillis();
         profTotal = 0;
         final String fileName = NAME + "." + mLocale + ".dict";
@@ -239,17 +261,7 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
 
             @Override
             public void setBigram(final String word1, final String word2, final int frequency) {
-                if (word1.length() < Constants.Dictionary.MAX_WORD_LENGTH
-                        && word2.length() < Constants.Dictionary.MAX_WORD_LENGTH) {
-                    profTotal++;
-                    if (DBG_SAVE_RESTORE) {
-                        Log.d(TAG, "load bigram: " + word1 + "," + word2 + "," + frequency);
-                    }
-                    dictionary.setBigramAndGetFrequency(
-                            word1, word2, initializing ? new ForgettingCurveParams(true)
-                            : new ForgettingCurveParams(frequency, now, last));
-                }
-                mBigramList.addBigram(word1, word2, (byte)frequency);
+                loadBigram(word1, word2, frequency, now, last);
             }
         };
 
@@ -262,6 +274,31 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
             inStream.read(buffer);
             UserHistoryDictIOUtils.readDictionaryBinary(
                     new UserHistoryDictIOUtils.ByteArrayWrapper(buffer), listener);
+            // Then the changes made since the file was written
+            mJournal.replay(new UserHistoryDictJournal.OnReplayListener() {
+                @Override
+                public void setBigram(final String word1, final String word2,
+                        final int frequency, final long writeTime) {
+                    if (null == word1) {
+                        listener.setUnigram(word2, null, frequency);
+                    } else {
+                        // Replace, rather than reinforce, the bigram read from the file.
+                        if (!TextUtils.isEmpty(word1) && !TextUtils.isEmpty(word2)) {
+                            dictionary.removeBigram(word1, word2);
+                        }
+                        loadBigram(word1, word2, frequency, now, writeTime);
+                    }
+                    mBigramList.updateBigram(word1, word2, (byte)frequency);
+                }
+
+                @Override
+                public void removeBigram(final String word1, final String word2) {
+                    if (!TextUtils.isEmpty(word1) && !TextUtils.isEmpty(word2)) {
+                        dictionary.removeBigram(word1, word2);
+                    }
+                    mBigramList.removeBigram(word1, word2);
+                }
+            });
         } catch (FileNotFoundException e) {
             // This is an expected condition: we don't have a user history dictionary for this
             // language yet. It will be created sometime later.
@@ -281,6 +318,22 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
                         + mLocale + ", " + diff + "ms. load " + profTotal + "entries.");
             }
         }
+        // What we just loaded is what is saved.
+        mBigramList.markChangesSaved();
+    }
+
+    private void loadBigram(final String word1, final String word2, final int frequency,
+            final long now, final long last) {
+        if (word1.length() < Constants.Dictionary.MAX_WORD_LENGTH
+                && word2.length() < Constants.Dictionary.MAX_WORD_LENGTH) {
+            profTotal++;
+            if (DBG_SAVE_RESTORE) {
+                Log.d(TAG, "load bigram: " + word1 + "," + word2 + "," + frequency);
+            }
+            setBigramAndGetFrequency(word1, word2, last == 0 ? new ForgettingCurveParams(true)
+                    : new ForgettingCurveParams(frequency, now, last));
+        }
+        mBigramList.addBigram(word1, word2, (byte)frequency);
     }
 
     /**
@@ -336,15 +389,40 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
             final long now = PROFILE_SAVE_RESTORE ? System.currentTimeMillis() : 0;
             final String fileName = NAME + "." + mLocale + ".dict";
             final File file = new File(mContext.getFilesDir(), fileName);
-            FileOutputStream out = null;
+            final UserHistoryDictJournal journal = mUserHistoryDictionary.mJournal;
+
+            // Only journal the changes, unless replaying the journal would cost more than
+            // reading the whole dictionary.
+            if (!mBigramList.needsFullWrite() && file.exists()
+                    && journal.length() < Math.max(MIN_JOURNAL_LENGTH_TO_COMPACT, file.length())
+                    && appendChangesToJournal(journal)) {
+                mBigramList.markChangesSaved();
+                if (PROFILE_SAVE_RESTORE) {
+                    final long diff = System.currentTimeMillis() - now;
+                    Log.w(TAG, "PROF: Journal User HistoryDictionary: " + mLocale + ", " + diff
+                            + "ms.");
+                }
+                return;
+            }
 
+            // Write to a temporary file and rename it, so that a crash never leaves a partly
+            // written dictionary file.
+            final File tempFile = new File(mContext.getFilesDir(), fileName + ".tmp");
+            FileOutputStream out = null;
             try {
-                out = new FileOutputStream(file);
+                out = new FileOutputStream(tempFile);
                 UserHistoryDictIOUtils.writeDictionaryBinary(out, this, mBigramList, VERSION3);
                 out.flush();
+                out.getFD().sync();
                 out.close();
+                out = null;
+                if (!tempFile.renameTo(file)) {
+                    Log.e(TAG, "Can't rename " + tempFile + " to " + file);
+                    return;
+                }
             } catch (IOException e) {
                 Log.e(TAG, "IO Exception while writing file", e);
+                return;
             } finally {
                 if (out != null) {
                     try {
@@ -354,6 +432,9 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
                     }
                 }
             }
+            // The journal is for the file we just replaced.
+            journal.reset();
+            mBigramList.markChangesSaved();
 
             // Save the timestamp after we finish writing the binary dictionary.
             Settings.writeLastUserHistoryWriteTime(mPrefs, mLocale);
@@ -363,17 +444,43 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
             }
         }
 
+        // Appends the changes since the last write to the journal. Returns whether it succeeded.
+        private boolean appendChangesToJournal(final UserHistoryDictJournal journal) {
+            final UserHistoryDictJournal.Batch batch = new UserHistoryDictJournal.Batch();
+            mBigramList.visitRemovedBigrams(new BigramVisitor() {
+                @Override
+                public void visitBigram(final String word1, final String word2,
+                        final byte fcValue) {
+                    batch.removeBigram(word1, word2);
+                }
+            });
+            mBigramList.visitChangedBigrams(new BigramVisitor() {
+                @Override
+                public void visitBigram(final String word1, final String word2,
+                        final byte fcValue) {
+                    final int freq = getFrequency(word1, word2);
+                    if (freq == -1) {
+                        // Same as not writing it to the dictionary file.
+                        batch.removeBigram(word1, word2);
+                        return;
+                    }
+                    batch.setBigram(word1, word2, freq);
+                    mBigramList.updateBigram(word1, word2, (byte)freq);
+                }
+            });
+            return batch.isEmpty() || journal.append(batch, System.currentTimeMillis());
+        }
+
         @Override
         public int getFrequency(final String word1, final String word2) {
             final int freq;
             if (word1 == null) { // unigram
                 freq = FREQUENCY_FOR_TYPED;
-                final byte prevFc = mBigramList.getBigrams(word1).get(word2);
             } else { // bigram
                 final NextWord nw = mUserHistoryDictionary.getBigramWord(word1, word2);
                 if (nw != null) {
                     final ForgettingCurveParams fcp = nw.getFcParams();
-                    final byte prevFc = mBigramList.getBigrams(word1).get(word2);
+                    final byte prevFc = mBigramList.getForgettingCurveValue(word1, word2);
                     final byte fc = fcp.getFc();
                     final boolean isValid = fcp.isValid();
                     if (prevFc > 0 && prevFc == fc) {
@@ -394,6 +501,11 @@ public final class UserHistoryDictionary extends ExpandableDictionary {
         }
     }
 
+    @UsedForTesting
+    UserHistoryDictionaryBigramList getBigramListForTest() {
+        return mBigramList;
+    }
+
     @UsedForTesting
     void forceAddWordForTest(final String word1, final String word2, final boolean isValid) {
         mBigramListLock.lock();
@@ -20,25 +20,84 @@ import android.util.Log;
 
 import com.android.inputmethod.annotations.UsedForTesting;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
-import java.util.Set;
 
 /**
  * A store of bigrams which will be updated when the user history dictionary is closed
  * All bigrams including stale ones in SQL DB should be stored in this class to avoid adding stale
  * bigrams when we write to the SQL DB.
+ *
+ * This is touched every time the user commits a word, so it does not allocate once the words
+ * it sees are known to it. Words are interned to integer ids, and each bigram is an entry of an
+ * open-addressing table keyed by (word1 id << 32 | word2 id). The first word of a bigram may be
+ * null, which stands for a unigram; it has the id 0.
  */
 @UsedForTesting
 public final class UserHistoryDictionaryBigramList {
     public static final byte FORGETTING_CURVE_INITIAL_VALUE = 0;
     private static final String TAG = UserHistoryDictionaryBigramList.class.getSimpleName();
-    private static final HashMap<String, Byte> EMPTY_BIGRAM_MAP = CollectionUtils.newHashMap();
-    private final HashMap<String, HashMap<String, Byte>> mBigramMap = CollectionUtils.newHashMap();
+    private static final int NULL_WORD_ID = 0;
+    private static final int EMPTY_WORD_SLOT = 0;
+    private static final long EMPTY_KEY = -1;
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Interface to walk all the bigrams of the list.
+     */
+    public interface BigramVisitor {
+        /**
+         * Called once for each bigram. The visitor may update the value of bigrams with
+         * {@link UserHistoryDictionaryBigramList#updateBigram}, but must not add or remove any.
+         * @param word1 the first word, or null for a unigram.
+         * @param word2 the second word.
+         * @param fcValue the forgetting curve value of the bigram.
+         */
+        public void visitBigram(String word1, String word2, byte fcValue);
+    }
+
+    // Words by id. Index NULL_WORD_ID stays null.
+    private String[] mWords;
+    private int mWordCount;
+    // Open-addressing table of word ids, indexed by the hash of the word.
+    private int[] mWordSlots;
+
+    // Open-addressing table of bigrams: keys, forgetting curve values, and the value of
+    // mTouchClock the last time the bigram was added.
+    private long[] mKeys;
+    private byte[] mValues;
+    private int[] mTouchTimes;
+    private int mTouchClock = 0;
     private int mSize = 0;
+    // The number of entries which are bigrams, not unigrams.
+    private int mBigramCount = 0;
+
+    // Changes since the last call to markChangesSaved(): bigrams touched after mSavedTouchClock,
+    // and the removed bigrams. Evictions are not tracked, they require writing everything.
+    private int mSavedTouchClock = 0;
+    private final ArrayList<String> mRemovedWord1s = CollectionUtils.newArrayList();
+    private final ArrayList<String> mRemovedWord2s = CollectionUtils.newArrayList();
+    private boolean mNeedsFullWrite = false;
+
+    public UserHistoryDictionaryBigramList() {
+        mWords = new String[INITIAL_CAPACITY];
+        mWordCount = NULL_WORD_ID + 1;
+        mWordSlots = new int[INITIAL_CAPACITY];
+        mKeys = new long[INITIAL_CAPACITY];
+        Arrays.fill(mKeys, EMPTY_KEY);
+        mValues = new byte[INITIAL_CAPACITY];
+        mTouchTimes = new int[INITIAL_CAPACITY];
+    }
 
     public void evictAll() {
+        mNeedsFullWrite = true;
         mSize = 0;
-        mBigramMap.clear();
+        mBigramCount = 0;
+        Arrays.fill(mKeys, EMPTY_KEY);
+        Arrays.fill(mWords, null);
+        mWordCount = NULL_WORD_ID + 1;
+        Arrays.fill(mWordSlots, EMPTY_WORD_SLOT);
     }
 
     /**
@@ -55,17 +114,19 @@ public final class UserHistoryDictionaryBigramList {
         if (UserHistoryDictionary.DBG_SAVE_RESTORE) {
             Log.d(TAG, "--- add bigram: " + word1 + ", " + word2 + ", " + fcValue);
         }
-        final HashMap<String, Byte> map;
-        if (mBigramMap.containsKey(word1)) {
-            map = mBigramMap.get(word1);
-        } else {
-            map = CollectionUtils.newHashMap();
-            mBigramMap.put(word1, map);
-        }
-        if (!map.containsKey(word2)) {
+        final long key = makeKey(internWord(word1), internWord(word2));
+        int slot = findSlot(key);
+        if (EMPTY_KEY == mKeys[slot]) {
+            if ((mSize + 1) * 2 > mKeys.length) {
+                resizeBigrams(mKeys.length * 2);
+                slot = findSlot(key);
+            }
+            mKeys[slot] = key;
+            mValues[slot] = fcValue;
             ++mSize;
-            map.put(word2, fcValue);
+            if (NULL_WORD_ID != getWord1Id(key)) ++mBigramCount;
         }
+        mTouchTimes[slot] = ++mTouchClock;
     }
 
     /**
@@ -75,16 +136,11 @@ public final class UserHistoryDictionaryBigramList {
         if (UserHistoryDictionary.DBG_SAVE_RESTORE) {
             Log.d(TAG, "--- update bigram: " + word1 + ", " + word2 + ", " + fcValue);
         }
-        final HashMap<String, Byte> map;
-        if (mBigramMap.containsKey(word1)) {
-            map = mBigramMap.get(word1);
-        } else {
+        final int slot = findBigramSlot(word1, word2);
+        if (slot < 0) {
             return;
         }
-        if (!map.containsKey(word2)) {
-            return;
-        }
-        map.put(word2, fcValue);
+        mValues[slot] = fcValue;
     }
 
     public int size() {
@@ -92,31 +148,288 @@ public final class UserHistoryDictionaryBigramList {
     }
 
     public boolean isEmpty() {
-        return mBigramMap.isEmpty();
+        return 0 == mSize;
+    }
+
+    /**
+     * Returns the number of bigrams, which {@link #size()} counts along with the unigrams.
+     */
+    public int getBigramCount() {
+        return mBigramCount;
     }
 
-    public Set<String> keySet() {
-        return mBigramMap.keySet();
+    /**
+     * Returns the forgetting curve value of a bigram, or FORGETTING_CURVE_INITIAL_VALUE if
+     * there is no such bigram.
+     */
+    public byte getForgettingCurveValue(String word1, String word2) {
+        final int slot = findBigramSlot(word1, word2);
+        return slot < 0 ? FORGETTING_CURVE_INITIAL_VALUE : mValues[slot];
+    }
+
+    public void visitBigrams(final BigramVisitor visitor) {
+        for (int slot = 0; slot < mKeys.length; ++slot) {
+            final long key = mKeys[slot];
+            if (EMPTY_KEY == key) continue;
+            visitor.visitBigram(mWords[getWord1Id(key)], mWords[getWord2Id(key)], mValues[slot]);
+        }
     }
 
+    /**
+     * Visits the bigrams added since the last call to {@link #markChangesSaved()}.
+     */
+    public void visitChangedBigrams(final BigramVisitor visitor) {
+        for (int slot = 0; slot < mKeys.length; ++slot) {
+            final long key = mKeys[slot];
+            if (EMPTY_KEY == key || mTouchTimes[slot] <= mSavedTouchClock) continue;
+            visitor.visitBigram(mWords[getWord1Id(key)], mWords[getWord2Id(key)], mValues[slot]);
+        }
+    }
+
+    /**
+     * Visits the bigrams removed since the last call to {@link #markChangesSaved()}, in the
+     * order they were removed. The forgetting curve value passed to the visitor is meaningless.
+     */
+    public void visitRemovedBigrams(final BigramVisitor visitor) {
+        for (int i = 0; i < mRemovedWord1s.size(); ++i) {
+            visitor.visitBigram(mRemovedWord1s.get(i), mRemovedWord2s.get(i),
+                    FORGETTING_CURVE_INITIAL_VALUE);
+        }
+    }
+
+    /**
+     * Returns whether some changes since the last call to {@link #markChangesSaved()} can't be
+     * listed by {@link #visitChangedBigrams} and {@link #visitRemovedBigrams}, so that the whole
+     * list needs to be written.
+     */
+    public boolean needsFullWrite() {
+        return mNeedsFullWrite;
+    }
+
+    /**
+     * Called when the current state of the list has been saved.
+     */
+    public void markChangesSaved() {
+        mSavedTouchClock = mTouchClock;
+        mRemovedWord1s.clear();
+        mRemovedWord2s.clear();
+        mNeedsFullWrite = false;
+    }
+
+    /**
+     * Returns a copy of the bigrams starting with word1, or with its lower case if there are
+     * none. This allocates a new map each time.
+     */
+    @UsedForTesting
     public HashMap<String, Byte> getBigrams(String word1) {
-        if (mBigramMap.containsKey(word1)) return mBigramMap.get(word1);
+        HashMap<String, Byte> bigrams = getBigramsOf(word1);
         // TODO: lower case according to locale
-        final String lowerWord1 = word1.toLowerCase();
-        if (mBigramMap.containsKey(lowerWord1)) return mBigramMap.get(lowerWord1);
-        return EMPTY_BIGRAM_MAP;
+        if (bigrams.isEmpty() && null != word1) bigrams = getBigramsOf(word1.toLowerCase());
+        return bigrams;
+    }
+
+    private HashMap<String, Byte> getBigramsOf(String word1) {
+        final HashMap<String, Byte> bigrams = CollectionUtils.newHashMap();
+        final int word1Id = findWordId(word1);
+        if (word1Id < 0) return bigrams;
+        for (int slot = 0; slot < mKeys.length; ++slot) {
+            final long key = mKeys[slot];
+            if (EMPTY_KEY != key && getWord1Id(key) == word1Id) {
+                bigrams.put(mWords[getWord2Id(key)], mValues[slot]);
+            }
+        }
+        return bigrams;
     }
 
     public boolean removeBigram(String word1, String word2) {
-        final HashMap<String, Byte> set = getBigrams(word1);
-        if (set.isEmpty()) {
+        int slot = findBigramSlot(word1, word2);
+        if (slot < 0 && null != word1) {
+            // Like getBigrams.
+            slot = findBigramSlot(word1.toLowerCase(), word2);
+        }
+        if (slot < 0) {
             return false;
         }
-        if (set.containsKey(word2)) {
-            set.remove(word2);
-            --mSize;
-            return true;
+        final int word1Id = getWord1Id(mKeys[slot]);
+        mRemovedWord1s.add(mWords[word1Id]);
+        mRemovedWord2s.add(mWords[getWord2Id(mKeys[slot])]);
+        removeSlot(slot);
+        --mSize;
+        if (NULL_WORD_ID != word1Id) --mBigramCount;
+        return true;
+    }
+
+    /**
+     * Removes the given number of bigrams, least recently added first. Unigrams are never
+     * removed. Surviving entries are moved to fresh tables in a single pass, which also drops
+     * the words that are no longer used.
+     * @param evictedVisitor called once for each removed bigram, after the tables are rebuilt.
+     */
+    public void evictOldestBigrams(final int count, final BigramVisitor evictedVisitor) {
+        if (count <= 0 || 0 == mBigramCount) return;
+        final int[] touchTimes = new int[mBigramCount];
+        int bigramCount = 0;
+        for (int slot = 0; slot < mKeys.length; ++slot) {
+            final long key = mKeys[slot];
+            if (EMPTY_KEY != key && NULL_WORD_ID != getWord1Id(key)) {
+                touchTimes[bigramCount++] = mTouchTimes[slot];
+            }
+        }
+        if (0 == bigramCount) return;
+        mNeedsFullWrite = true;
+        Arrays.sort(touchTimes, 0, bigramCount);
+        // Touch times are unique, so exactly min(count, bigramCount) bigrams are at or below
+        // this threshold.
+        final int threshold = touchTimes[Math.min(count, bigramCount) - 1];
+
+        final String[] words = mWords;
+        final long[] keys = mKeys;
+        final byte[] values = mValues;
+        final int[] times = mTouchTimes;
+        mWords = new String[words.length];
+        mWordCount = NULL_WORD_ID + 1;
+        mWordSlots = new int[mWordSlots.length];
+        mKeys = new long[keys.length];
+        Arrays.fill(mKeys, EMPTY_KEY);
+        mValues = new byte[values.length];
+        mTouchTimes = new int[times.length];
+        mSize = 0;
+        mBigramCount = 0;
+        for (int i = 0; i < keys.length; ++i) {
+            final long key = keys[i];
+            if (EMPTY_KEY == key) continue;
+            final int word1Id = getWord1Id(key);
+            if (NULL_WORD_ID != word1Id && times[i] <= threshold) continue;
+            final long newKey = makeKey(internWord(words[word1Id]),
+                    internWord(words[getWord2Id(key)]));
+            final int slot = findSlot(newKey);
+            mKeys[slot] = newKey;
+            mValues[slot] = values[i];
+            mTouchTimes[slot] = times[i];
+            ++mSize;
+            if (NULL_WORD_ID != word1Id) ++mBigramCount;
+            keys[i] = EMPTY_KEY;
+        }
+        // Only the evicted bigrams are left in the old tables.
+        for (int i = 0; i < keys.length; ++i) {
+            final long key = keys[i];
+            if (EMPTY_KEY == key) continue;
+            evictedVisitor.visitBigram(words[getWord1Id(key)], words[getWord2Id(key)], values[i]);
+        }
+    }
+
+    private static long makeKey(final int word1Id, final int word2Id) {
+        return ((long)word1Id << 32) | word2Id;
+    }
+
+    private static int getWord1Id(final long key) {
+        return (int)(key >>> 32);
+    }
+
+    private static int getWord2Id(final long key) {
+        return (int)key;
+    }
+
+    private static int hash(final int value) {
+        // Spread the bits, as both word ids and String#hashCode() are poorly distributed in
+        // their low bits.
+        final int h = value * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int hashKey(final long key) {
+        return hash(getWord1Id(key) * 31 + getWord2Id(key));
+    }
+
+    // Returns the slot holding this key, or the empty slot where it should go.
+    private int findSlot(final long key) {
+        final int mask = mKeys.length - 1;
+        int slot = hashKey(key) & mask;
+        while (EMPTY_KEY != mKeys[slot] && key != mKeys[slot]) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Returns the slot holding this bigram, or -1 if there is no such bigram.
+    private int findBigramSlot(final String word1, final String word2) {
+        final int word1Id = findWordId(word1);
+        final int word2Id = findWordId(word2);
+        if (word1Id < 0 || word2Id < 0) return -1;
+        final int slot = findSlot(makeKey(word1Id, word2Id));
+        return EMPTY_KEY == mKeys[slot] ? -1 : slot;
+    }
+
+    // Removes the entry at this slot, moving back the entries of the probe sequence that
+    // follows so that lookups never need to skip deleted slots.
+    private void removeSlot(int slot) {
+        final int mask = mKeys.length - 1;
+        int next = (slot + 1) & mask;
+        while (EMPTY_KEY != mKeys[next]) {
+            final int home = hashKey(mKeys[next]) & mask;
+            // Move the entry back unless its home slot lies cyclically within (slot, next].
+            if (slot <= next ? (slot >= home || home > next) : (slot >= home && home > next)) {
+                mKeys[slot] = mKeys[next];
+                mValues[slot] = mValues[next];
+                mTouchTimes[slot] = mTouchTimes[next];
+                slot = next;
+            }
+            next = (next + 1) & mask;
+        }
+        mKeys[slot] = EMPTY_KEY;
+    }
+
+    private void resizeBigrams(final int capacity) {
+        final long[] keys = mKeys;
+        final byte[] values = mValues;
+        final int[] times = mTouchTimes;
+        mKeys = new long[capacity];
+        Arrays.fill(mKeys, EMPTY_KEY);
+        mValues = new byte[capacity];
+        mTouchTimes = new int[capacity];
+        for (int i = 0; i < keys.length; ++i) {
+            if (EMPTY_KEY == keys[i]) continue;
+            final int slot = findSlot(keys[i]);
+            mKeys[slot] = keys[i];
+            mValues[slot] = values[i];
+            mTouchTimes[slot] = times[i];
+        }
+    }
+
+    // Returns the index in mWordSlots holding this word, or the empty one where it should go.
+    private int findWordSlot(final String word) {
+        final int mask = mWordSlots.length - 1;
+        int slot = hash(word.hashCode()) & mask;
+        while (EMPTY_WORD_SLOT != mWordSlots[slot] && !word.equals(mWords[mWordSlots[slot]])) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    // Returns the id of this word, or -1 if it is not known.
+    private int findWordId(final String word) {
+        if (null == word) return NULL_WORD_ID;
+        final int id = mWordSlots[findWordSlot(word)];
+        return EMPTY_WORD_SLOT == id ? -1 : id;
+    }
+
+    private int internWord(final String word) {
+        if (null == word) return NULL_WORD_ID;
+        int slot = findWordSlot(word);
+        if (EMPTY_WORD_SLOT != mWordSlots[slot]) return mWordSlots[slot];
+        if ((mWordCount + 1) * 2 > mWordSlots.length) {
+            mWordSlots = new int[mWordSlots.length * 2];
+            for (int id = NULL_WORD_ID + 1; id < mWordCount; ++id) {
+                mWordSlots[findWordSlot(mWords[id])] = id;
+            }
+            slot = findWordSlot(word);
+        }
+        if (mWordCount == mWords.length) {
+            mWords = Arrays.copyOf(mWords, mWords.length * 2);
         }
-        return false;
+        final int id = mWordCount++;
+        mWords[id] = word;
+        mWordSlots[slot] = id;
+        return id;
     }
 }
@@ -62,14 +62,28 @@ public final class BinaryDictIOUtils {
         }
     }
 
+    /**
+     * Callback interface for {@link #visitWords}.
+     */
+    public interface WordVisitor {
+        /**
+         * Called once for each word of the dictionary, in depth-first order.
+         *
+         * @param codePoints the code points of the word. This array is reused for the next
+         *   word, so it must not be kept after this method returns.
+         * @param codePointCount the number of code points of the word.
+         * @param info the terminal char group of the word. Its addresses are relative to the
+         *   end of the header.
+         */
+        public void visitWord(final int[] codePoints, final int codePointCount,
+                final CharGroupInfo info);
+    }
+
     /**
      * Tours all node without recursive call.
      */
-    private static void readUnigramsAndBigramsBinaryInner(
-            final FusionDictionaryBufferInterface buffer, final int headerSize,
-            final Map<Integer, String> words, final Map<Integer, Integer> frequencies,
-            final Map<Integer, ArrayList<PendingAttribute>> bigrams,
-            final FormatOptions formatOptions) {
+    private static void visitWordsInner(final FusionDictionaryBufferInterface buffer,
+            final int headerSize, final FormatOptions formatOptions, final WordVisitor visitor) {
         int[] pushedChars = new int[FormatSpec.MAX_WORD_LENGTH + 1];
 
         Stack<Position> stack = new Stack<Position>();
@@ -111,9 +125,7 @@ public final class BinaryDictIOUtils {
                     formatOptions);
             if (!isMovedGroup && !isDeletedGroup
                     && info.mFrequency != FusionDictionary.CharGroup.NOT_A_TERMINAL) {// found word
-                words.put(info.mOriginalAddress, new String(pushedChars, 0, index));
-                frequencies.put(info.mOriginalAddress, info.mFrequency);
-                if (info.mBigrams != null) bigrams.put(info.mOriginalAddress, info.mBigrams);
+                visitor.visitWord(pushedChars, index, info);
             }
 
             if (p.mPosition == p.mNumOfCharGroup) {
@@ -158,8 +170,36 @@ public final class BinaryDictIOUtils {
             UnsupportedFormatException {
         // Read header
         final FileHeader header = BinaryDictInputOutput.readHeader(buffer);
-        readUnigramsAndBigramsBinaryInner(buffer, header.mHeaderSize, words, frequencies, bigrams,
-                header.mFormatOptions);
+        visitWordsInner(buffer, header.mHeaderSize, header.mFormatOptions, new WordVisitor() {
+            @Override
+            public void visitWord(final int[] codePoints, final int codePointCount,
+                    final CharGroupInfo info) {
+                words.put(info.mOriginalAddress, new String(codePoints, 0, codePointCount));
+                frequencies.put(info.mOriginalAddress, info.mFrequency);
+                if (info.mBigrams != null) bigrams.put(info.mOriginalAddress, info.mBigrams);
+            }
+        });
+    }
+
+    /**
+     * Walks all the words of a binary dictionary without building any representation of it.
+     *
+     * Char groups are decoded one at a time as the walk reaches them, so the memory used
+     * does not depend on the size of the dictionary. Combined with a buffer returned by
+     * {@link #openMappedBuffer}, this allows to inspect large dictionaries cheaply.
+     *
+     * @param buffer the buffer to read.
+     * @param visitor the visitor to call for each word.
+     * @return the header of the dictionary.
+     * @throws IOException
+     * @throws UnsupportedFormatException
+     */
+    public static FileHeader visitWords(final FusionDictionaryBufferInterface buffer,
+            final WordVisitor visitor) throws IOException, UnsupportedFormatException {
+        if (buffer.position() != 0) buffer.position(0);
+        final FileHeader header = BinaryDictInputOutput.readHeader(buffer);
+        visitWordsInner(buffer, header.mHeaderSize, header.mFormatOptions, visitor);
+        return header;
     }
 
     /**
@@ -982,30 +1022,59 @@ public final class BinaryDictIOUtils {
         return null;
     }
 
+    /**
+     * Finds, as a string, the word whose terminal char group is at the given position.
+     *
+     * This is meant to resolve the bigram addresses of a CharGroupInfo returned by
+     * {@link #findWordFromBuffer}, which are expressed as positions in the buffer.
+     *
+     * @param buffer the buffer to read from.
+     * @param header the header of the dictionary in the buffer.
+     * @param position the position of the terminal char group in the buffer.
+     * @return the word with its frequency, as a weighted string.
+     */
+    public static WeightedString getWordAtPosition(final FusionDictionaryBufferInterface buffer,
+            final FileHeader header, final int position) {
+        return BinaryDictInputOutput.getWordAtAddress(buffer, header.mHeaderSize,
+                position - header.mHeaderSize, header.mFormatOptions);
+    }
+
+    /**
+     * Maps a part of a file to memory, read-only, to read it as a binary dictionary.
+     *
+     * The contents of the file are not copied to the heap : the returned buffer reads straight
+     * from the mapping. The mapping stays valid after this method returns, until the buffer is
+     * garbage collected.
+     *
+     * @param file The file to map.
+     * @param offset The offset in the file where the dictionary starts.
+     * @param length The length of the dictionary.
+     * @return a read-only buffer over the dictionary.
+     */
+    public static FusionDictionaryBufferInterface openMappedBuffer(final File file,
+            final long offset, final long length) throws FileNotFoundException, IOException {
+        final FileInputStream inStream = new FileInputStream(file);
+        try {
+            return new BinaryDictInputOutput.ByteBufferWrapper(inStream.getChannel().map(
+                    FileChannel.MapMode.READ_ONLY, offset, length));
+        } finally {
+            inStream.close();
+        }
+    }
+
     /**
      * Convenience method to read the header of a binary file.
      *
-     * This is quite resource intensive - don't call when performance is critical.
+     * Only the pages of the file that contain the header are actually read.
      *
      * @param file The file to read.
      * @param offset The offset in the file where to start reading the data.
      * @param length The length of the data file.
      */
-    private static final int HEADER_READING_BUFFER_SIZE = 16384;
     public static FileHeader getDictionaryFileHeader(
             final File file, final long offset, final long length)
             throws FileNotFoundException, IOException, UnsupportedFormatException {
-        final byte[] buffer = new byte[HEADER_READING_BUFFER_SIZE];
-        final FileInputStream inStream = new FileInputStream(file);
-        try {
-            inStream.read(buffer);
-            final BinaryDictInputOutput.ByteBufferWrapper wrapper =
-                    new BinaryDictInputOutput.ByteBufferWrapper(inStream.getChannel().map(
-                            FileChannel.MapMode.READ_ONLY, offset, length));
-            return BinaryDictInputOutput.readHeader(wrapper);
-        } finally {
-            inStream.close();
-        }
+        return BinaryDictInputOutput.readHeader(openMappedBuffer(file, offset, length));
     }
 
     public static FileHeader getDictionaryFileHeaderOrNull(final File file, final long offset,
@@ -35,9 +35,16 @@ import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Reads and writes XML files for a FusionDictionary.
@@ -487,45 +494,160 @@ public final class BinaryDictInputOutput {
         final int treeSize = FusionDictionary.countCharGroups(root);
         MakedictLog.i("Counted nodes : " + treeSize);
         final ArrayList<Node> flatTree = new ArrayList<Node>(treeSize);
-        return flattenTreeInner(flatTree, root);
+        final IdentityHashMap<Node, Integer> parentCounts = new IdentityHashMap<Node, Integer>();
+        countParents(parentCounts, root);
+        return flattenTreeInner(flatTree, root, parentCounts);
     }
 
-    private static ArrayList<Node> flattenTreeInner(final ArrayList<Node> list, final Node node) {
-        // Removing the node is necessary if the tails are merged, because we would then
-        // add the same node several times when we only want it once. A number of places in
-        // the code also depends on any node being only once in the list.
-        // Merging tails can only be done if there are no attributes. Searching for attributes
-        // in LatinIME code depends on a total breadth-first ordering, which merging tails
-        // breaks. If there are no attributes, it should be fine (and reduce the file size)
-        // to merge tails, and removing the node from the list would be necessary. However,
-        // we don't merge tails because breaking the breadth-first ordering would result in
-        // extreme overhead at bigram lookup time (it would make the search function O(n) instead
-        // of the current O(log(n)), where n=number of nodes in the dictionary which is pretty
-        // high).
-        // If no nodes are ever merged, we can't have the same node twice in the list, hence
-        // searching for duplicates in unnecessary. It is also very performance consuming,
-        // since `list' is an ArrayList so it's an O(n) operation that runs on all nodes, making
-        // this simple list.remove operation O(n*n) overall. On Android this overhead is very
-        // high.
-        // For future reference, the code to remove duplicate is a simple : list.remove(node);
+    private static void countParents(final IdentityHashMap<Node, Integer> parentCounts,
+            final Node node) {
+        for (CharGroup group : node.mData) {
+            if (null == group.mChildren) continue;
+            final Integer count = parentCounts.get(group.mChildren);
+            if (null == count) {
+                parentCounts.put(group.mChildren, 1);
+                countParents(parentCounts, group.mChildren);
+            } else {
+                parentCounts.put(group.mChildren, count + 1);
+            }
+        }
+    }
+
+    private static ArrayList<Node> flattenTreeInner(final ArrayList<Node> list, final Node node,
+            final IdentityHashMap<Node, Integer> parentCounts) {
+        // If tails are merged, a node may have several parents. It must appear only once in
+        // the list, and after all its parents, because the children address of a group is an
+        // unsigned offset. A node is therefore only added when the last of its parents is
+        // visited. If no tails are merged every node has exactly one parent, and this is a
+        // plain depth-first walk.
+        // Merging tails breaks the breadth-first ordering bigram lookups rely on (it would make
+        // the search function O(n) instead of the current O(log(n)), where n=number of nodes in
+        // the dictionary which is pretty high), so FusionDictionary only merges tails of
+        // dictionaries without bigrams.
         list.add(node);
         final ArrayList<CharGroup> branches = node.mData;
-        final int nodeSize = branches.size();
         for (CharGroup group : branches) {
-            if (null != group.mChildren) flattenTreeInner(list, group.mChildren);
+            if (null == group.mChildren) continue;
+            final int remainingParents = parentCounts.get(group.mChildren) - 1;
+            parentCounts.put(group.mChildren, remainingParents);
+            if (0 == remainingParents) flattenTreeInner(list, group.mChildren, parentCounts);
         }
         return list;
     }
 
     /**
-     * Finds the absolute address of a word in the dictionary.
+     * Finds out whether some nodes of a flattened tree have several parents.
+     *
+     * @param flatNodes the array of nodes, as returned by flattenTree.
+     * @return true if the nodes are referenced more times than a tree would reference them.
+     */
+    private static boolean hasSharedNodes(final ArrayList<Node> flatNodes) {
+        int childrenReferences = 0;
+        for (Node n : flatNodes) {
+            for (CharGroup group : n.mData) {
+                if (null != group.mChildren) ++childrenReferences;
+            }
+        }
+        // In a tree, every node but the root is referenced exactly once.
+        return childrenReferences != flatNodes.size() - 1;
+    }
+
+    /**
+     * A piece of work applied to each node of a slice of the flattened node array.
+     *
+     * Tasks run concurrently on different slices, so they may only write to the nodes they
+     * are passed and to their own result.
+     */
+    private interface NodeSliceTask<T> {
+        public T run(final List<Node> slice);
+    }
+
+    /**
+     * Runs a task over the whole node array, splitting it in contiguous slices if an executor
+     * is given.
+     *
+     * @param flatNodes the array of nodes.
+     * @param executor the executor to run the slices on, or null to run on the calling thread.
+     * @param sliceCount the number of slices to split the array in.
+     * @param task the task to run.
+     * @return the results of the task for each slice, in array order.
+     */
+    private static <T> ArrayList<T> runOnSlices(final ArrayList<Node> flatNodes,
+            final ExecutorService executor, final int sliceCount, final NodeSliceTask<T> task) {
+        final ArrayList<T> results = new ArrayList<T>();
+        if (null == executor || sliceCount <= 1) {
+            results.add(task.run(flatNodes));
+            return results;
+        }
+        final int sliceSize = (flatNodes.size() + sliceCount - 1) / sliceCount;
+        final ArrayList<Future<T>> futures = new ArrayList<Future<T>>();
+        for (int start = 0; start < flatNodes.size(); start += sliceSize) {
+            final List<Node> slice =
+                    flatNodes.subList(start, Math.min(start + sliceSize, flatNodes.size()));
+            futures.add(executor.submit(new Callable<T>() {
+                @Override
+                public T call() {
+                    return task.run(slice);
+                }
+            }));
+        }
+        try {
+            for (final Future<T> future : futures) {
+                results.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while writing the dictionary", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException)e.getCause();
+            throw new RuntimeException(e.getCause());
+        }
+        return results;
+    }
+
+    /**
+     * Looks up the char groups of all bigram targets in the dictionary.
+     *
+     * Address computation needs the address of each bigram target at each pass, and
+     * searching for it in the tree every time is what dominates the writing time of large
+     * dictionaries. The tree does not change while writing, so the lookups are done once here.
      *
      * @param dict the dictionary in which to search.
-     * @param word the word we are searching for.
-     * @return the word address. If it is not found, an exception is thrown.
+     * @param flatNodes the array of nodes.
+     * @param executor the executor to run the lookups on, or null to run on the calling thread.
+     * @param sliceCount the number of slices to split the work in.
+     * @return a map from each bigram target word to its char group.
      */
-    private static int findAddressOfWord(final FusionDictionary dict, final String word) {
-        return FusionDictionary.findWordInTree(dict.mRoot, word).mCachedAddress;
+    private static HashMap<String, CharGroup> findBigramTargets(final FusionDictionary dict,
+            final ArrayList<Node> flatNodes, final ExecutorService executor,
+            final int sliceCount) {
+        final ArrayList<HashMap<String, CharGroup>> sliceTargets = runOnSlices(flatNodes,
+                executor, sliceCount, new NodeSliceTask<HashMap<String, CharGroup>>() {
+                    @Override
+                    public HashMap<String, CharGroup> run(final List<Node> slice) {
+                        final HashMap<String, CharGroup> targets =
+                                new HashMap<String, CharGroup>();
+                        for (final Node n : slice) {
+                            for (final CharGroup group : n.mData) {
+                                if (null == group.mBigrams) continue;
+                                for (final WeightedString bigram : group.mBigrams) {
+                                    if (targets.containsKey(bigram.mWord)) continue;
+                                    final CharGroup target = FusionDictionary.findWordInTree(
+                                            dict.mRoot, bigram.mWord);
+                                    if (null == target) {
+                                        throw new RuntimeException("Bigram target not found : "
+                                                + bigram.mWord);
+                                    }
+                                    targets.put(bigram.mWord, target);
+                                }
+                            }
+                        }
+                        return targets;
+                    }
+                });
+        final HashMap<String, CharGroup> targets = new HashMap<String, CharGroup>();
+        for (final HashMap<String, CharGroup> t : sliceTargets) targets.putAll(t);
+        return targets;
     }
 
     /**
@@ -539,12 +661,12 @@ public final class BinaryDictInputOutput {
      * respect to their previous value.
      *
      * @param node the node to compute the size of.
-     * @param dict the dictionary in which the word/attributes are to be found.
+     * @param bigramTargets the char groups of the bigram targets, by word.
      * @param formatOptions file format options.
      * @return false if none of the cached addresses inside the node changed, true otherwise.
      */
-    private static boolean computeActualNodeSize(final Node node, final FusionDictionary dict,
-            final FormatOptions formatOptions) {
+    private static boolean computeActualNodeSize(final Node node,
+            final HashMap<String, CharGroup> bigramTargets, final FormatOptions formatOptions) {
         boolean changed = false;
         int size = getGroupCountSize(node);
         for (CharGroup group : node.mData) {
@@ -573,7 +695,7 @@ public final class BinaryDictInputOutput {
                 for (WeightedString bigram : group.mBigrams) {
                     final int offsetBasePoint = groupSize + node.mCachedAddress + size
                             + FormatSpec.GROUP_FLAGS_SIZE;
-                    final int addressOfBigram = findAddressOfWord(dict, bigram.mWord);
+                    final int addressOfBigram = bigramTargets.get(bigram.mWord).mCachedAddress;
                     final int offset = addressOfBigram - offsetBasePoint;
                     groupSize += getByteSize(offset) + FormatSpec.GROUP_FLAGS_SIZE;
                 }
@@ -630,15 +752,28 @@ public final class BinaryDictInputOutput {
      * The order of the node is given by the order of the array. This method makes no effort
      * to find a good order; it only mechanically computes the size this order results in.
      *
-     * @param dict the dictionary
+     * The compression passes always run on the calling thread: each node reads the addresses
+     * its predecessors computed earlier in the same pass, so the result depends on the order
+     * the nodes are processed in.
+     *
      * @param flatNodes the ordered array of nodes
+     * @param bigramTargets the char groups of the bigram targets, by word.
      * @param formatOptions file format options.
+     * @param executor the executor to run node-independent work on, or null.
+     * @param sliceCount the number of slices to split node-independent work in.
      * @return the same array it was passed. The nodes have been updated for address and size.
      */
-    private static ArrayList<Node> computeAddresses(final FusionDictionary dict,
-            final ArrayList<Node> flatNodes, final FormatOptions formatOptions) {
+    private static ArrayList<Node> computeAddresses(final ArrayList<Node> flatNodes,
+            final HashMap<String, CharGroup> bigramTargets, final FormatOptions formatOptions,
+            final ExecutorService executor, final int sliceCount) {
         // First get the worst sizes and offsets
-        for (Node n : flatNodes) setNodeMaximumSize(n, formatOptions);
+        runOnSlices(flatNodes, executor, sliceCount, new NodeSliceTask<Void>() {
+            @Override
+            public Void run(final List<Node> slice) {
+                for (final Node n : slice) setNodeMaximumSize(n, formatOptions);
+                return null;
+            }
+        });
         final int offset = stackNodes(flatNodes, formatOptions);
 
         MakedictLog.i("Compressing the array addresses. Original size : " + offset);
@@ -650,7 +785,7 @@ public final class BinaryDictInputOutput {
             changesDone = false;
             for (Node n : flatNodes) {
                 final int oldNodeSize = n.mCachedSize;
-                final boolean changed = computeActualNodeSize(n, dict, formatOptions);
+                final boolean changed = computeActualNodeSize(n, bigramTargets, formatOptions);
                 final int newNodeSize = n.mCachedSize;
                 if (oldNodeSize < newNodeSize) throw new RuntimeException("Increased size ?!");
                 changesDone |= changed;
@@ -668,6 +803,68 @@ public final class BinaryDictInputOutput {
         return flatNodes;
     }
 
+    /**
+     * Encodes a node and all the nodes below it, in the layout writeDictionaryBinary uses.
+     *
+     * Children addresses are relative to the group that points to them, so an encoded
+     * sub-tree can be copied as is to any position in the file. This lets a dictionary be
+     * written a sub-tree at a time, without keeping the nodes of finished sub-trees in memory.
+     * Bigram offsets and parent addresses point outside of the sub-tree, so this can only be
+     * used for dictionaries without bigrams, in formats that don't support dynamic update.
+     *
+     * @param node the root of the sub-tree to encode.
+     * @param encodedSubtrees sub-trees below node that have already been encoded. Their entries
+     *   are removed from the map as they are copied into the result.
+     * @param formatOptions file format options.
+     * @return the encoded sub-tree.
+     */
+    /* package */ static byte[] encodeSubtree(final Node node,
+            final IdentityHashMap<Node, byte[]> encodedSubtrees,
+            final FormatOptions formatOptions) {
+        final ArrayList<Node> children = new ArrayList<Node>();
+        final ArrayList<byte[]> encodedChildren = new ArrayList<byte[]>();
+        for (CharGroup group : node.mData) {
+            if (null == group.mChildren) continue;
+            byte[] encodedChild = encodedSubtrees.remove(group.mChildren);
+            if (null == encodedChild) {
+                encodedChild = encodeSubtree(group.mChildren, encodedSubtrees, formatOptions);
+            }
+            children.add(group.mChildren);
+            encodedChildren.add(encodedChild);
+        }
+
+        // The node goes at address 0 and is followed by the sub-trees of its children, so this
+        // is the same computation as computeAddresses with everything below the node fixed.
+        final HashMap<String, CharGroup> noBigramTargets = new HashMap<String, CharGroup>();
+        final ArrayList<Node> flatNode = new ArrayList<Node>(1);
+        flatNode.add(node);
+        setNodeMaximumSize(node, formatOptions);
+        int size = stackNodes(flatNode, formatOptions);
+        int passes = 0;
+        boolean changesDone;
+        do {
+            int childAddress = size;
+            for (int i = 0; i < children.size(); ++i) {
+                children.get(i).mCachedAddress = childAddress;
+                childAddress += encodedChildren.get(i).length;
+            }
+            changesDone = computeActualNodeSize(node, noBigramTargets, formatOptions);
+            size = stackNodes(flatNode, formatOptions);
+            ++passes;
+            if (passes > MAX_PASSES) throw new RuntimeException("Too many passes - probably a bug");
+        } while (changesDone);
+
+        int totalSize = size;
+        for (final byte[] encodedChild : encodedChildren) totalSize += encodedChild.length;
+        final byte[] buffer = new byte[totalSize];
+        int index = writePlacedNode(noBigramTargets, buffer, node, formatOptions);
+        for (final byte[] encodedChild : encodedChildren) {
+            System.arraycopy(encodedChild, 0, buffer, index, encodedChild.length);
+            index += encodedChild.length;
+        }
+        return buffer;
+    }
+
     /**
      * Sanity-checking method.
      *
@@ -869,14 +1066,14 @@ public final class BinaryDictInputOutput {
     /**
      * Makes the 2-byte value for options flags.
      */
-    private static final int makeOptionsValue(final FusionDictionary dictionary,
-            final FormatOptions formatOptions) {
-        final DictionaryOptions options = dictionary.mOptions;
-        final boolean hasBigrams = dictionary.hasBigrams();
+    /* package */ static final int makeOptionsValue(final DictionaryOptions options,
+            final FormatOptions formatOptions, final boolean hasBigrams,
+            final boolean hasSharedNodes) {
         return (options.mFrenchLigatureProcessing ? FormatSpec.FRENCH_LIGATURE_PROCESSING_FLAG : 0)
                 + (options.mGermanUmlautProcessing ? FormatSpec.GERMAN_UMLAUT_PROCESSING_FLAG : 0)
                 + (hasBigrams ? FormatSpec.CONTAINS_BIGRAMS_FLAG : 0)
-                + (formatOptions.mSupportsDynamicUpdate ? FormatSpec.SUPPORTS_DYNAMIC_UPDATE : 0);
+                + (formatOptions.mSupportsDynamicUpdate ? FormatSpec.SUPPORTS_DYNAMIC_UPDATE : 0)
+                + (hasSharedNodes ? FormatSpec.HAS_SHARED_NODES_FLAG : 0);
     }
 
     /**
@@ -916,15 +1113,18 @@ public final class BinaryDictInputOutput {
      * This can be an empty map, but the more is inside the faster the lookups will be. It can
      * be carried on as long as nodes do not move.
      *
-     * @param dict the dictionary the node is a part of (for relative offsets).
+     * Nodes only write to their own range of the buffer, so distinct nodes may be written
+     * concurrently.
+     *
+     * @param bigramTargets the char groups of the bigram targets, by word.
      * @param buffer the memory buffer to write to.
      * @param node the node to write.
      * @param formatOptions file format options.
      * @return the address of the END of the node.
      */
     @SuppressWarnings("unused")
-    private static int writePlacedNode(final FusionDictionary dict, byte[] buffer,
-            final Node node, final FormatOptions formatOptions) {
+    private static int writePlacedNode(final HashMap<String, CharGroup> bigramTargets,
+            byte[] buffer, final Node node, final FormatOptions formatOptions) {
         // TODO: Make the code in common with BinaryDictIOUtils#writeCharGroup
         int index = node.mCachedAddress;
 
@@ -1014,8 +1214,7 @@ public final class BinaryDictInputOutput {
                 final Iterator<WeightedString> bigramIterator = group.mBigrams.iterator();
                 while (bigramIterator.hasNext()) {
                     final WeightedString bigram = bigramIterator.next();
-                    final CharGroup target =
-                            FusionDictionary.findWordInTree(dict.mRoot, bigram.mWord);
+                    final CharGroup target = bigramTargets.get(bigram.mWord);
                     final int addressOfBigram = target.mCachedAddress;
                     final int unigramFrequencyForThisWord = target.mFrequency;
                     ++groupAddress;
@@ -1097,26 +1296,8 @@ public final class BinaryDictInputOutput {
         }
     }
 
-    /**
-     * Dumps a FusionDictionary to a file.
-     *
-     * This is the public entry point to write a dictionary to a file.
-     *
-     * @param destination the stream to write the binary data to.
-     * @param dict the dictionary to write.
-     * @param formatOptions file format options.
-     */
-    public static void writeDictionaryBinary(final OutputStream destination,
-            final FusionDictionary dict, final FormatOptions formatOptions)
-            throws IOException, UnsupportedFormatException {
-
-        // Addresses are limited to 3 bytes, but since addresses can be relative to each node, the
-        // structure itself is not limited to 16MB. However, if it is over 16MB deciding the order
-        // of the nodes becomes a quite complicated problem, because though the dictionary itself
-        // does not have a size limit, each node must still be within 16MB of all its children and
-        // parents. As long as this is ensured, the dictionary file may grow to any size.
-
-        final int version = formatOptions.mVersion;
+    /* package */ static void checkWritableVersion(final int version)
+            throws UnsupportedFormatException {
         if (version < FormatSpec.MINIMUM_SUPPORTED_VERSION
                 || version > FormatSpec.MAXIMUM_SUPPORTED_VERSION) {
             throw new UnsupportedFormatException("Requested file format version " + version
@@ -1124,7 +1305,20 @@ public final class BinaryDictInputOutput {
                     + FormatSpec.MINIMUM_SUPPORTED_VERSION + " through "
                     + FormatSpec.MAXIMUM_SUPPORTED_VERSION);
         }
+    }
 
+    /**
+     * Writes the header of a binary dictionary file.
+     *
+     * @param destination the stream to write the header to.
+     * @param dictOptions the dictionary options, written as header attributes.
+     * @param formatOptions file format options.
+     * @param optionsValue the header option flags, as returned by makeOptionsValue.
+     */
+    /* package */ static void writeHeader(final OutputStream destination,
+            final DictionaryOptions dictOptions, final FormatOptions formatOptions,
+            final int optionsValue) throws IOException {
+        final int version = formatOptions.mVersion;
         ByteArrayOutputStream headerBuffer = new ByteArrayOutputStream(256);
 
         // The magic number in big-endian order.
@@ -1145,9 +1339,8 @@ public final class BinaryDictInputOutput {
             headerBuffer.write((byte) (0xFF & version));
         }
         // Options flags
-        final int options = makeOptionsValue(dict, formatOptions);
-        headerBuffer.write((byte) (0xFF & (options >> 8)));
-        headerBuffer.write((byte) (0xFF & options));
+        headerBuffer.write((byte) (0xFF & (optionsValue >> 8)));
+        headerBuffer.write((byte) (0xFF & optionsValue));
         if (version >= FormatSpec.FIRST_VERSION_WITH_HEADER_SIZE) {
             final int headerSizeOffset = headerBuffer.size();
             // Placeholder to be written later with header size.
@@ -1155,8 +1348,8 @@ public final class BinaryDictInputOutput {
                 headerBuffer.write(0);
             }
             // Write out the options.
-            for (final String key : dict.mOptions.mAttributes.keySet()) {
-                final String value = dict.mOptions.mAttributes.get(key);
+            for (final String key : dictOptions.mAttributes.keySet()) {
+                final String value = dictOptions.mAttributes.get(key);
                 CharEncoding.writeString(headerBuffer, key);
                 CharEncoding.writeString(headerBuffer, value);
             }
@@ -1173,13 +1366,78 @@ public final class BinaryDictInputOutput {
         }
 
         headerBuffer.close();
+    }
+
+    /**
+     * Dumps a FusionDictionary to a file.
+     *
+     * This is the public entry point to write a dictionary to a file.
+     *
+     * @param destination the stream to write the binary data to.
+     * @param dict the dictionary to write.
+     * @param formatOptions file format options.
+     */
+    public static void writeDictionaryBinary(final OutputStream destination,
+            final FusionDictionary dict, final FormatOptions formatOptions)
+            throws IOException, UnsupportedFormatException {
+        writeDictionaryBinary(destination, dict, formatOptions, 1);
+    }
+
+    /**
+     * Dumps a FusionDictionary to a file, using several threads.
+     *
+     * Bigram lookups, size estimation and the encoding of the nodes are spread over
+     * threadCount threads. The address compression passes still run serially, so the output
+     * is identical to the one of the single-threaded writer.
+     *
+     * @param destination the stream to write the binary data to.
+     * @param dict the dictionary to write.
+     * @param formatOptions file format options.
+     * @param threadCount the number of threads to use. 1 or less writes on the calling thread.
+     */
+    public static void writeDictionaryBinary(final OutputStream destination,
+            final FusionDictionary dict, final FormatOptions formatOptions,
+            final int threadCount) throws IOException, UnsupportedFormatException {
+        final ExecutorService executor =
+                threadCount > 1 ? Executors.newFixedThreadPool(threadCount) : null;
+        try {
+            writeDictionaryBinary(destination, dict, formatOptions, executor, threadCount);
+        } finally {
+            if (null != executor) executor.shutdown();
+        }
+    }
+
+    private static void writeDictionaryBinary(final OutputStream destination,
+            final FusionDictionary dict, final FormatOptions formatOptions,
+            final ExecutorService executor, final int sliceCount)
+            throws IOException, UnsupportedFormatException {
+
+        // Addresses are limited to 3 bytes, but since addresses can be relative to each node, the
+        // structure itself is not limited to 16MB. However, if it is over 16MB deciding the order
+        // of the nodes becomes a quite complicated problem, because though the dictionary itself
+        // does not have a size limit, each node must still be within 16MB of all its children and
+        // parents. As long as this is ensured, the dictionary file may grow to any size.
+
+        checkWritableVersion(formatOptions.mVersion);
 
         // Leave the choice of the optimal node order to the flattenTree function.
         MakedictLog.i("Flattening the tree...");
         ArrayList<Node> flatNodes = flattenTree(dict.mRoot);
+        final boolean hasSharedNodes = hasSharedNodes(flatNodes);
+        if (hasSharedNodes && formatOptions.mSupportsDynamicUpdate) {
+            throw new UnsupportedFormatException("Dictionaries with merged tails can't be "
+                    + "written in a format that supports dynamic update");
+        }
+
+        writeHeader(destination, dict.mOptions, formatOptions,
+                makeOptionsValue(dict.mOptions, formatOptions, dict.hasBigrams(), hasSharedNodes));
+
+        MakedictLog.i("Resolving bigrams...");
+        final HashMap<String, CharGroup> bigramTargets =
+                findBigramTargets(dict, flatNodes, executor, sliceCount);
 
         MakedictLog.i("Computing addresses...");
-        computeAddresses(dict, flatNodes, formatOptions);
+        computeAddresses(flatNodes, bigramTargets, formatOptions, executor, sliceCount);
         MakedictLog.i("Checking array...");
         if (DBG) checkFlatNodeArray(flatNodes);
 
@@ -1187,13 +1445,20 @@ public final class BinaryDictInputOutput {
         final Node lastNode = flatNodes.get(flatNodes.size() - 1);
         final int bufferSize = lastNode.mCachedAddress + lastNode.mCachedSize;
         final byte[] buffer = new byte[bufferSize];
-        int index = 0;
 
         MakedictLog.i("Writing file...");
-        int dataEndOffset = 0;
-        for (Node n : flatNodes) {
-            dataEndOffset = writePlacedNode(dict, buffer, n, formatOptions);
-        }
+        final ArrayList<Integer> sliceEndOffsets = runOnSlices(flatNodes, executor, sliceCount,
+                new NodeSliceTask<Integer>() {
+                    @Override
+                    public Integer run(final List<Node> slice) {
+                        int endOffset = 0;
+                        for (final Node n : slice) {
+                            endOffset = writePlacedNode(bigramTargets, buffer, n, formatOptions);
+                        }
+                        return endOffset;
+                    }
+                });
+        final int dataEndOffset = sliceEndOffsets.get(sliceEndOffsets.size() - 1);
 
         if (DBG) showStatistics(flatNodes);
 
@@ -1528,7 +1793,10 @@ public final class BinaryDictInputOutput {
                     }
                 }
                 if (hasChildrenAddress(info.mChildrenAddress)) {
-                    Node children = reverseNodeMap.get(info.mChildrenAddress);
+                    // Shared nodes are read once per parent, so that the resulting dictionary
+                    // is a tree again and can be modified safely.
+                    Node children = options.mHasSharedNodes ? null
+                            : reverseNodeMap.get(info.mChildrenAddress);
                     if (null == children) {
                         final int currentPosition = buffer.position();
                         buffer.position(info.mChildrenAddress + headerSize);
@@ -1623,13 +1891,19 @@ public final class BinaryDictInputOutput {
         if (headerSize < 0) {
             throw new UnsupportedFormatException("header size can't be negative.");
         }
+        final boolean supportsDynamicUpdate =
+                0 != (optionsFlags & FormatSpec.SUPPORTS_DYNAMIC_UPDATE);
+        final boolean hasSharedNodes = 0 != (optionsFlags & FormatSpec.HAS_SHARED_NODES_FLAG);
+        if (supportsDynamicUpdate && hasSharedNodes) {
+            throw new UnsupportedFormatException("Dynamic update is not supported with shared "
+                    + "nodes.");
+        }
 
         final FileHeader header = new FileHeader(headerSize,
                 new FusionDictionary.DictionaryOptions(attributes,
                         0 != (optionsFlags & FormatSpec.GERMAN_UMLAUT_PROCESSING_FLAG),
                         0 != (optionsFlags & FormatSpec.FRENCH_LIGATURE_PROCESSING_FLAG)),
-                new FormatOptions(version,
-                        0 != (optionsFlags & FormatSpec.SUPPORTS_DYNAMIC_UPDATE)));
+                new FormatOptions(version, supportsDynamicUpdate, hasSharedNodes));
         return header;
     }
 
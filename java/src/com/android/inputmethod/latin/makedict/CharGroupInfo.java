@@ -49,4 +49,12 @@ public final class CharGroupInfo {
         mShortcutTargets = shortcutTargets;
         mBigrams = bigrams;
     }
+
+    public boolean isNotAWord() {
+        return 0 != (mFlags & FormatSpec.FLAG_IS_NOT_A_WORD);
+    }
+
+    public boolean isBlacklistEntry() {
+        return 0 != (mFlags & FormatSpec.FLAG_IS_BLACKLISTED);
+    }
 }
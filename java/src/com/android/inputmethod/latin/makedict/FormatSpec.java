@@ -164,6 +164,9 @@ public final class FormatSpec {
     static final int SUPPORTS_DYNAMIC_UPDATE = 0x2;
     static final int FRENCH_LIGATURE_PROCESSING_FLAG = 0x4;
     static final int CONTAINS_BIGRAMS_FLAG = 0x8;
+    // Set when some nodes have several parents, that is when tails have been merged. Children
+    // always come after all their parents, but the node array is not a tree walk any more.
+    static final int HAS_SHARED_NODES_FLAG = 0x10;
 
     // TODO: Make this value adaptative to content data, store it in the header, and
     // use it in the reading code.
@@ -236,16 +239,26 @@ public final class FormatSpec {
     public static final class FormatOptions {
         public final int mVersion;
         public final boolean mSupportsDynamicUpdate;
+        // Only meaningful when reading; the writer finds this out from the dictionary itself.
+        public final boolean mHasSharedNodes;
         public FormatOptions(final int version) {
             this(version, false);
         }
         public FormatOptions(final int version, final boolean supportsDynamicUpdate) {
+            this(version, supportsDynamicUpdate, false);
+        }
+        public FormatOptions(final int version, final boolean supportsDynamicUpdate,
+                final boolean hasSharedNodes) {
             mVersion = version;
             if (version < FIRST_VERSION_WITH_DYNAMIC_UPDATE && supportsDynamicUpdate) {
                 throw new RuntimeException("Dynamic updates are only supported with versions "
                         + FIRST_VERSION_WITH_DYNAMIC_UPDATE + " and ulterior.");
             }
+            if (supportsDynamicUpdate && hasSharedNodes) {
+                throw new RuntimeException("Dynamic updates are not supported with shared nodes");
+            }
             mSupportsDynamicUpdate = supportsDynamicUpdate;
+            mHasSharedNodes = hasSharedNodes;
         }
     }
 
@@ -24,6 +24,7 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.LinkedList;
 
@@ -720,95 +721,120 @@ public final class FusionDictionary implements Iterable<Word> {
         return hasBigramsInternal(mRoot);
     }
 
-    // Historically, the tails of the words were going to be merged to save space.
-    // However, that would prevent the code to search for a specific address in log(n)
-    // time so this was abandoned.
-    // The code is still of interest as it does add some compression to any dictionary
-    // that has no need for attributes. Implementations that does not read attributes should be
-    // able to read a dictionary with merged tails.
-    // Also, the following code does support frequencies, as in, it will only merges
-    // tails that share the same frequency. Though it would result in the above loss of
-    // performance while searching by address, it is still technically possible to merge
-    // tails that contain attributes, but this code does not take that into account - it does
-    // not compare attributes and will merge terminals with different attributes regardless.
+    /**
+     * Structural identity of a node, used to find identical tails.
+     *
+     * Two nodes are identical if their groups have the same characters, frequency, flags and
+     * attributes, and the very same children. Tails are merged bottom-up, so by the time a
+     * node is compared its children are already canonical and comparing them by identity is
+     * enough.
+     */
+    private static final class NodeShape {
+        private final Node mNode;
+        private final int mHashCode;
+
+        public NodeShape(final Node node) {
+            mNode = node;
+            int hashCode = node.mData.size();
+            for (final CharGroup group : node.mData) {
+                hashCode = 31 * hashCode + Arrays.hashCode(group.mChars);
+                hashCode = 31 * hashCode + group.mFrequency;
+                hashCode = 31 * hashCode + (group.mIsNotAWord ? 1 : 0);
+                hashCode = 31 * hashCode + (group.mIsBlacklistEntry ? 1 : 0);
+                hashCode = 31 * hashCode
+                        + (null == group.mShortcutTargets ? 0 : group.mShortcutTargets.hashCode());
+                hashCode = 31 * hashCode
+                        + (null == group.mBigrams ? 0 : group.mBigrams.hashCode());
+                hashCode = 31 * hashCode + System.identityHashCode(group.mChildren);
+            }
+            mHashCode = hashCode;
+        }
+
+        @Override
+        public int hashCode() {
+            return mHashCode;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (o == this) return true;
+            if (!(o instanceof NodeShape)) return false;
+            final NodeShape other = (NodeShape)o;
+            if (mHashCode != other.mHashCode) return false;
+            final ArrayList<CharGroup> data = mNode.mData;
+            final ArrayList<CharGroup> otherData = other.mNode.mData;
+            if (data.size() != otherData.size()) return false;
+            for (int i = data.size() - 1; i >= 0; --i) {
+                final CharGroup group = data.get(i);
+                final CharGroup otherGroup = otherData.get(i);
+                if (group.mFrequency != otherGroup.mFrequency
+                        || group.mIsNotAWord != otherGroup.mIsNotAWord
+                        || group.mIsBlacklistEntry != otherGroup.mIsBlacklistEntry
+                        || group.mChildren != otherGroup.mChildren
+                        || !Arrays.equals(group.mChars, otherGroup.mChars)
+                        || !equalsOrBothNull(group.mShortcutTargets, otherGroup.mShortcutTargets)
+                        || !equalsOrBothNull(group.mBigrams, otherGroup.mBigrams)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean equalsOrBothNull(final Object a, final Object b) {
+            return null == a ? null == b : a.equals(b);
+        }
+    }
+
+    /**
+     * Merges identical tails of the dictionary, so that each distinct sub-tree is only
+     * stored once.
+     *
+     * After this, a node may have several parents, and the dictionary must not be modified
+     * any more; it should only be written out. The binary writer flags files with shared
+     * nodes so that readers know about it.
+     *
+     * Tails are not merged if the dictionary has bigrams: a bigram points to the address of
+     * its target, and a shared group would have an address that stands for several words.
+     * Dictionaries that can be updated dynamically can't have shared nodes either, as an
+     * update to a shared node would apply to every word going through it.
+     */
     public void mergeTails() {
-        MakedictLog.i("Do not merge tails");
-        return;
-
-//        MakedictLog.i("Merging nodes. Number of nodes : " + countNodes(root));
-//        MakedictLog.i("Number of groups : " + countCharGroups(root));
-//
-//        final HashMap<String, ArrayList<Node>> repository =
-//                  new HashMap<String, ArrayList<Node>>();
-//        mergeTailsInner(repository, root);
-//
-//        MakedictLog.i("Number of different pseudohashes : " + repository.size());
-//        int size = 0;
-//        for (ArrayList<Node> a : repository.values()) {
-//            size += a.size();
-//        }
-//        MakedictLog.i("Number of nodes after merge : " + (1 + size));
-//        MakedictLog.i("Recursively seen nodes : " + countNodes(root));
+        if (hasBigrams()) {
+            MakedictLog.i("Not merging tails: the dictionary has bigrams");
+            return;
+        }
+        MakedictLog.i("Merging tails. Number of nodes : " + countNodes(mRoot));
+        final HashMap<NodeShape, Node> canonicalNodes = new HashMap<NodeShape, Node>();
+        mergeTailsInner(canonicalNodes, new IdentityHashMap<Node, Node>(), mRoot);
+        MakedictLog.i("Number of nodes after merge : " + canonicalNodes.size());
     }
 
-    // The following methods are used by the deactivated mergeTails()
-//   private static boolean isEqual(Node a, Node b) {
-//       if (null == a && null == b) return true;
-//       if (null == a || null == b) return false;
-//       if (a.data.size() != b.data.size()) return false;
-//       final int size = a.data.size();
-//       for (int i = size - 1; i >= 0; --i) {
-//           CharGroup aGroup = a.data.get(i);
-//           CharGroup bGroup = b.data.get(i);
-//           if (aGroup.frequency != bGroup.frequency) return false;
-//           if (aGroup.alternates == null && bGroup.alternates != null) return false;
-//           if (aGroup.alternates != null && !aGroup.equals(bGroup.alternates)) return false;
-//           if (!Arrays.equals(aGroup.chars, bGroup.chars)) return false;
-//           if (!isEqual(aGroup.children, bGroup.children)) return false;
-//       }
-//       return true;
-//   }
-
-//   static private HashMap<String, ArrayList<Node>> mergeTailsInner(
-//           final HashMap<String, ArrayList<Node>> map, final Node node) {
-//       final ArrayList<CharGroup> branches = node.data;
-//       final int nodeSize = branches.size();
-//       for (int i = 0; i < nodeSize; ++i) {
-//           CharGroup group = branches.get(i);
-//           if (null != group.children) {
-//               String pseudoHash = getPseudoHash(group.children);
-//               ArrayList<Node> similarList = map.get(pseudoHash);
-//               if (null == similarList) {
-//                   similarList = new ArrayList<Node>();
-//                   map.put(pseudoHash, similarList);
-//               }
-//               boolean merged = false;
-//               for (Node similar : similarList) {
-//                   if (isEqual(group.children, similar)) {
-//                       group.children = similar;
-//                       merged = true;
-//                       break;
-//                   }
-//               }
-//               if (!merged) {
-//                   similarList.add(group.children);
-//               }
-//               mergeTailsInner(map, group.children);
-//           }
-//       }
-//       return map;
-//   }
-
-//  private static String getPseudoHash(final Node node) {
-//      StringBuilder s = new StringBuilder();
-//      for (CharGroup g : node.data) {
-//          s.append(g.frequency);
-//          for (int ch : g.chars) {
-//              s.append(Character.toChars(ch));
-//          }
-//      }
-//      return s.toString();
-//  }
+    /**
+     * Replaces the children of each group under a node by their canonical instance.
+     *
+     * @param canonicalNodes the canonical node for each node shape seen so far.
+     * @param mergedNodes the nodes already processed, mapped to their canonical instance.
+     * @param node the node to process.
+     * @return the canonical instance of the node.
+     */
+    private static Node mergeTailsInner(final HashMap<NodeShape, Node> canonicalNodes,
+            final IdentityHashMap<Node, Node> mergedNodes, final Node node) {
+        final Node alreadyMerged = mergedNodes.get(node);
+        if (null != alreadyMerged) return alreadyMerged;
+        for (final CharGroup group : node.mData) {
+            if (null != group.mChildren) {
+                group.mChildren = mergeTailsInner(canonicalNodes, mergedNodes, group.mChildren);
+            }
+        }
+        final NodeShape shape = new NodeShape(node);
+        Node canonicalNode = canonicalNodes.get(shape);
+        if (null == canonicalNode) {
+            canonicalNode = node;
+            canonicalNodes.put(shape, node);
+        }
+        mergedNodes.put(node, canonicalNode);
+        return canonicalNode;
+    }
 
     /**
      * Iterator to walk through a dictionary.
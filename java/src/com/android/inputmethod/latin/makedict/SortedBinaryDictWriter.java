@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin.makedict;
+
+import com.android.inputmethod.annotations.UsedForTesting;
+import com.android.inputmethod.latin.makedict.FormatSpec.FormatOptions;
+import com.android.inputmethod.latin.makedict.FusionDictionary.CharGroup;
+import com.android.inputmethod.latin.makedict.FusionDictionary.DictionaryOptions;
+import com.android.inputmethod.latin.makedict.FusionDictionary.Node;
+import com.android.inputmethod.latin.makedict.FusionDictionary.WeightedString;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+
+/**
+ * Writes a binary dictionary from words added in code point order, without ever holding the
+ * whole dictionary in memory.
+ *
+ * Since words come in order, the groups on the path to the last word added are always the
+ * last groups of their nodes, and no later word can go into any other group. As soon as the
+ * path leaves a group, the sub-tree under it is encoded and its nodes are dropped; only the
+ * encoded bytes are kept, which are many times smaller. Memory use is thus bounded by the
+ * size of the output plus the path to the last word, instead of the size of the whole trie.
+ *
+ * The output is identical to what BinaryDictInputOutput.writeDictionaryBinary writes for the
+ * same words. Dictionaries with bigrams, and formats that support dynamic update, can't be
+ * written this way because they contain addresses pointing outside of sub-trees.
+ */
+@UsedForTesting
+public final class SortedBinaryDictWriter {
+    private final FusionDictionary mDict;
+    private final FormatOptions mFormatOptions;
+    private final IdentityHashMap<Node, byte[]> mEncodedSubtrees =
+            new IdentityHashMap<Node, byte[]>();
+    private int[] mLastWord = null;
+
+    public SortedBinaryDictWriter(final DictionaryOptions options,
+            final FormatOptions formatOptions) throws UnsupportedFormatException {
+        BinaryDictInputOutput.checkWritableVersion(formatOptions.mVersion);
+        if (formatOptions.mSupportsDynamicUpdate) {
+            throw new UnsupportedFormatException("Sorted input can't be written in a format "
+                    + "that supports dynamic update");
+        }
+        mDict = new FusionDictionary(new Node(), options);
+        mFormatOptions = formatOptions;
+    }
+
+    /**
+     * Adds a word. Words must be added in increasing code point order.
+     *
+     * @param word the word to add.
+     * @param frequency the frequency of the word, in the range [0..255].
+     * @param shortcutTargets a list of shortcut targets for this word, or null.
+     * @param isNotAWord true if this should not be considered a word (e.g. shortcut only)
+     */
+    public void add(final String word, final int frequency,
+            final ArrayList<WeightedString> shortcutTargets, final boolean isNotAWord) {
+        final int[] codePoints = FusionDictionary.getCodePoints(word);
+        if (null != mLastWord && compareCodePoints(mLastWord, codePoints) > 0) {
+            throw new RuntimeException("Words are not sorted : " + word + " comes after "
+                    + new String(mLastWord, 0, mLastWord.length));
+        }
+        mLastWord = codePoints;
+        mDict.add(word, frequency, shortcutTargets, isNotAWord);
+        encodeFinishedSubtrees();
+    }
+
+    private static int compareCodePoints(final int[] a, final int[] b) {
+        final int length = Math.min(a.length, b.length);
+        for (int i = 0; i < length; ++i) {
+            if (a[i] != b[i]) return a[i] < b[i] ? -1 : 1;
+        }
+        return a.length - b.length;
+    }
+
+    // Walks the path to the last word. On this path, the group before the last one of each node
+    // is the one the previous path went through, if it did not go through the same group.
+    private void encodeFinishedSubtrees() {
+        Node node = mDict.mRoot;
+        while (null != node && !node.mData.isEmpty()) {
+            final int groupCount = node.mData.size();
+            if (groupCount > 1) {
+                final Node finished = node.mData.get(groupCount - 2).mChildren;
+                if (null != finished && !mEncodedSubtrees.containsKey(finished)) {
+                    mEncodedSubtrees.put(finished, BinaryDictInputOutput.encodeSubtree(
+                            finished, mEncodedSubtrees, mFormatOptions));
+                    // Nothing reads the nodes below any more: only the bytes are kept.
+                    finished.mData = new ArrayList<CharGroup>(0);
+                }
+            }
+            node = node.mData.get(groupCount - 1).mChildren;
+        }
+    }
+
+    /**
+     * Writes the dictionary and closes the stream.
+     *
+     * @param destination the stream to write the binary data to.
+     */
+    public void writeTo(final OutputStream destination) throws IOException {
+        final byte[] body =
+                BinaryDictInputOutput.encodeSubtree(mDict.mRoot, mEncodedSubtrees, mFormatOptions);
+        BinaryDictInputOutput.writeHeader(destination, mDict.mOptions, mFormatOptions,
+                BinaryDictInputOutput.makeOptionsValue(mDict.mOptions, mFormatOptions,
+                        false /* hasBigrams */, false /* hasSharedNodes */));
+        destination.write(body);
+        destination.close();
+    }
+}
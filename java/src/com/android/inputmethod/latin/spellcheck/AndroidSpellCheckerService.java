@@ -18,9 +18,14 @@ package com.android.inputmethod.latin.spellcheck;
 
 import android.content.Intent;
 import android.content.SharedPreferences;
+import android.database.ContentObserver;
+import android.database.Cursor;
 import android.preference.PreferenceManager;
+import android.provider.UserDictionary.Words;
 import android.service.textservice.SpellCheckerService;
 import android.util.Log;
+import android.util.PrintWriterPrinter;
+import android.util.Printer;
 import android.view.textservice.SuggestionsInfo;
 
 import com.android.inputmethod.keyboard.KeyboardLayoutSet;
@@ -37,6 +42,9 @@ import com.android.inputmethod.latin.SynchronouslyLoadedContactsBinaryDictionary
 import com.android.inputmethod.latin.SynchronouslyLoadedUserBinaryDictionary;
 import com.android.inputmethod.latin.UserBinaryDictionary;
 
+import java.io.File;
+import java.io.FileDescriptor;
+import java.io.PrintWriter;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -54,7 +62,16 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
         implements SharedPreferences.OnSharedPreferenceChangeListener {
     private static final String TAG = AndroidSpellCheckerService.class.getSimpleName();
     private static final boolean DBG = false;
-    private static final int POOL_SIZE = 2;
+    // The most dictionaries of a pool. They share the main dictionary and keyboards, so each
+    // one only costs a traverse session.
+    private static final int POOL_SIZE = 4;
+    // Whether the most recently used valid words of each locale are written to a file when the
+    // service is unbound, and read back when it checks the locale again.
+    private static final boolean PERSIST_VALID_WORDS = true;
+    private static final String VALID_WORDS_FILE_PREFIX = "spellcheck_valid_words.";
+    // Past this many words changed at once in the user dictionary, the caches are cleared
+    // rather than searched for the results each word affects.
+    private static final int MAX_WORDS_TO_INVALIDATE = 20;
 
     public static final String PREF_USE_CONTACTS_KEY = "pref_spellcheck_use_contacts";
 
@@ -63,6 +80,18 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
     private Map<String, UserBinaryDictionary> mUserDictionaries =
             CollectionUtils.newSynchronizedTreeMap();
     private ContactsBinaryDictionary mContactsDictionary;
+    // The caches outlive the dictionary pools, so that binding the service again does not
+    // check the same words again.
+    private final Map<String, SuggestionsCache> mSuggestionsCaches =
+            CollectionUtils.newSynchronizedTreeMap();
+    // The words of the user dictionary in all locales, each prefixed with its locale, to find
+    // which ones changed when it is notified to have changed. Null until a cache is created.
+    // Synchronized using mSuggestionsCaches.
+    private HashSet<String> mUserWords;
+    // Separates the locale of a user word from the word in mUserWords. The locale is empty for
+    // the words of all locales.
+    private static final char USER_WORD_LOCALE_DELIMITER = '\uFFFC';
+    private ContentObserver mUserDictionaryObserver;
 
     // The threshold for a suggestion to be considered "recommended".
     private float mRecommendedThreshold;
@@ -115,6 +144,20 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
         final SharedPreferences prefs = PreferenceManager.getDefaultSharedPreferences(this);
         prefs.registerOnSharedPreferenceChangeListener(this);
         onSharedPreferenceChanged(prefs, PREF_USE_CONTACTS_KEY);
+        mUserDictionaryObserver = new ContentObserver(null) {
+            @Override
+            public void onChange(final boolean self) {
+                onUserDictionaryChanged();
+            }
+        };
+        getContentResolver().registerContentObserver(Words.CONTENT_URI, true,
+                mUserDictionaryObserver);
+    }
+
+    @Override
+    public void onDestroy() {
+        getContentResolver().unregisterContentObserver(mUserDictionaryObserver);
+        super.onDestroy();
     }
 
     public static int getScriptFromLocale(final Locale locale) {
@@ -142,21 +185,27 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
     @Override
     public void onSharedPreferenceChanged(final SharedPreferences prefs, final String key) {
         if (!PREF_USE_CONTACTS_KEY.equals(key)) return;
+        final boolean useContactsDictionaryChanged;
         synchronized(mUseContactsLock) {
-            mUseContactsDictionary = prefs.getBoolean(PREF_USE_CONTACTS_KEY, true);
+            final boolean useContactsDictionary = prefs.getBoolean(PREF_USE_CONTACTS_KEY, true);
+            useContactsDictionaryChanged = useContactsDictionary != mUseContactsDictionary;
+            mUseContactsDictionary = useContactsDictionary;
             if (mUseContactsDictionary) {
                 startUsingContactsDictionaryLocked();
             } else {
                 stopUsingContactsDictionaryLocked();
             }
         }
+        if (useContactsDictionaryChanged) {
+            // The names of the contacts are valid words, or no longer are.
+            clearSuggestionsCaches();
+        }
     }
 
     private void startUsingContactsDictionaryLocked() {
         if (null == mContactsDictionary) {
             // TODO: use the right locale for each session
-            mContactsDictionary =
-                    new SynchronouslyLoadedContactsBinaryDictionary(this, Locale.getDefault());
+            mContactsDictionary = createContactsDictionary(Locale.getDefault());
         }
         final Iterator<WeakReference<DictionaryCollection>> iterator =
                 mDictionaryCollectionsList.iterator();
@@ -190,6 +239,22 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
         contactsDict.close();
     }
 
+    private ContactsBinaryDictionary createContactsDictionary(final Locale locale) {
+        final ContactsBinaryDictionary contactsDictionary =
+                new SynchronouslyLoadedContactsBinaryDictionary(this, locale);
+        // The names of the contacts which changed may be valid words, or no longer be. The
+        // dictionary is already marked for a reload when this is called, so the words checked
+        // again are not checked against the old contacts.
+        contactsDictionary.setOnContactsChangedListener(
+                new ContactsBinaryDictionary.OnContactsChangedListener() {
+                    @Override
+                    public void onContactsChanged() {
+                        clearSuggestionsCaches();
+                    }
+                });
+        return contactsDictionary;
+    }
+
     @Override
     public Session createSession() {
         // Should not refer to AndroidSpellCheckerSession directly considering
@@ -366,6 +431,9 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
         new Thread("spellchecker_close_dicts") {
             @Override
             public void run() {
+                if (PERSIST_VALID_WORDS) {
+                    writeValidWords();
+                }
                 for (DictionaryPool pool : oldPools.values()) {
                     pool.close();
                 }
@@ -398,16 +466,166 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
         return pool;
     }
 
-    public DictAndKeyboard createDictAndKeyboard(final Locale locale) {
+    public SuggestionsCache getSuggestionsCache(final String locale) {
+        synchronized (mSuggestionsCaches) {
+            SuggestionsCache cache = mSuggestionsCaches.get(locale);
+            if (null == cache) {
+                if (null == mUserWords) {
+                    mUserWords = readUserWords();
+                }
+                cache = new SuggestionsCache(LocaleUtils.constructLocaleFromString(locale));
+                if (PERSIST_VALID_WORDS) {
+                    cache.readValidWords(getValidWordsFile(locale),
+                            getValidWordsSignature(locale));
+                }
+                mSuggestionsCaches.put(locale, cache);
+            }
+            return cache;
+        }
+    }
+
+    private void clearSuggestionsCaches() {
+        synchronized (mSuggestionsCaches) {
+            for (final SuggestionsCache cache : mSuggestionsCaches.values()) {
+                cache.clearCache();
+            }
+        }
+    }
+
+    // Returns the words of the user dictionary in all locales, each prefixed with its locale,
+    // or null if they can't be read.
+    private HashSet<String> readUserWords() {
+        final Cursor cursor = getContentResolver().query(Words.CONTENT_URI,
+                new String[] { Words.WORD, Words.LOCALE }, null, null, null);
+        if (null == cursor) return null;
+        try {
+            final HashSet<String> userWords = CollectionUtils.newHashSet();
+            final int wordIndex = cursor.getColumnIndex(Words.WORD);
+            final int localeIndex = cursor.getColumnIndex(Words.LOCALE);
+            while (cursor.moveToNext()) {
+                final String word = cursor.getString(wordIndex);
+                if (null != word) {
+                    final String locale = cursor.getString(localeIndex);
+                    userWords.add((null == locale ? "" : locale) + USER_WORD_LOCALE_DELIMITER
+                            + word);
+                }
+            }
+            return userWords;
+        } finally {
+            cursor.close();
+        }
+    }
+
+    // Whether the user dictionary of the spell checker for the given locale has the words of
+    // this user word locale. Like the user dictionary, this includes the words of all locales,
+    // of the more general locales and of the more specific ones.
+    private static boolean isUserWordLocaleUsed(final String userWordLocale,
+            final String locale) {
+        return userWordLocale.isEmpty() || userWordLocale.equals(locale)
+                || locale.startsWith(userWordLocale + "_")
+                || userWordLocale.startsWith(locale + "_");
+    }
+
+    // Only removes the results affected by the words added to or removed from the user
+    // dictionary, which is usually a single one.
+    private void onUserDictionaryChanged() {
+        final HashSet<String> userWords = readUserWords();
+        synchronized (mSuggestionsCaches) {
+            if (mSuggestionsCaches.isEmpty()) {
+                mUserWords = userWords;
+                return;
+            }
+            final HashSet<String> changedWords = CollectionUtils.newHashSet();
+            if (null != userWords && null != mUserWords) {
+                for (final String word : userWords) {
+                    if (!mUserWords.contains(word)) changedWords.add(word);
+                }
+                for (final String word : mUserWords) {
+                    if (!userWords.contains(word)) changedWords.add(word);
+                }
+            }
+            final boolean canInvalidateWords = null != userWords && null != mUserWords
+                    && changedWords.size() <= MAX_WORDS_TO_INVALIDATE;
+            mUserWords = userWords;
+            for (final Map.Entry<String, SuggestionsCache> entry
+                    : mSuggestionsCaches.entrySet()) {
+                final SuggestionsCache cache = entry.getValue();
+                if (!canInvalidateWords) {
+                    cache.clearCache();
+                    continue;
+                }
+                for (final String userWord : changedWords) {
+                    final int delimiterPos = userWord.indexOf(USER_WORD_LOCALE_DELIMITER);
+                    if (isUserWordLocaleUsed(userWord.substring(0, delimiterPos),
+                            entry.getKey())) {
+                        cache.invalidateWord(userWord.substring(delimiterPos + 1));
+                    }
+                }
+            }
+        }
+    }
+
+    private File getValidWordsFile(final String locale) {
+        return new File(getCacheDir(), VALID_WORDS_FILE_PREFIX + locale);
+    }
+
+    // The valid words read back must have been valid in the same dictionaries: this changes
+    // with the main dictionary of the locale, the words of the user dictionary and the use of
+    // the contacts dictionary. Synchronized using mSuggestionsCaches.
+    private int getValidWordsSignature(final String locale) {
+        final int mainDictionarySignature = DictionaryFactory.getMainDictionarySignature(this,
+                LocaleUtils.constructLocaleFromString(locale));
+        final int userWordsHash = null == mUserWords ? 0 : mUserWords.hashCode();
+        synchronized (mUseContactsLock) {
+            return (mainDictionarySignature * 31 + userWordsHash) * 31
+                    + (mUseContactsDictionary ? 1 : 0);
+        }
+    }
+
+    private void writeValidWords() {
+        synchronized (mSuggestionsCaches) {
+            // Without the words of the user dictionary, the file could not be checked.
+            if (null == mUserWords) return;
+            for (final Map.Entry<String, SuggestionsCache> entry
+                    : mSuggestionsCaches.entrySet()) {
+                final String locale = entry.getKey();
+                entry.getValue().writeValidWords(getValidWordsFile(locale),
+                        getValidWordsSignature(locale));
+            }
+        }
+    }
+
+    @Override
+    protected void dump(final FileDescriptor fd, final PrintWriter fout, final String[] args) {
+        super.dump(fd, fout, args);
+
+        final Printer p = new PrintWriterPrinter(fout);
+        p.println("AndroidSpellCheckerService state :");
+        final Map<String, DictionaryPool> pools = mDictionaryPools;
+        synchronized (pools) {
+            for (final DictionaryPool pool : pools.values()) {
+                pool.dump(p);
+            }
+        }
+    }
+
+    public SharedDictAndKeyboard createSharedDictAndKeyboard(final Locale locale) {
         final int script = getScriptFromLocale(locale);
         final String keyboardLayoutName = getKeyboardLayoutNameForScript(script);
         final KeyboardLayoutSet keyboardLayoutSet =
                 KeyboardLayoutSet.createKeyboardSetForSpellChecker(this, locale.toString(),
                         keyboardLayoutName);
-
-        final DictionaryCollection dictionaryCollection =
+        final DictionaryCollection mainDictionary =
                 DictionaryFactory.createMainDictionaryFromManager(this, locale,
                         true /* useFullEditDistance */);
+        return new SharedDictAndKeyboard(mainDictionary, keyboardLayoutSet, POOL_SIZE);
+    }
+
+    public DictAndKeyboard createDictAndKeyboard(final SharedDictAndKeyboard shared,
+            final Locale locale) {
+        final Dictionary sessionDictionary = shared.newSessionDictionary();
+        final DictionaryCollection dictionaryCollection =
+                new DictionaryCollection(Dictionary.TYPE_MAIN, sessionDictionary);
         final String localeStr = locale.toString();
         UserBinaryDictionary userDictionary = mUserDictionaries.get(localeStr);
         if (null == userDictionary) {
@@ -421,14 +639,15 @@ public final class AndroidSpellCheckerService extends SpellCheckerService
                     // TODO: use the right locale. We can't do it right now because the
                     // spell checker is reusing the contacts dictionary across sessions
                     // without regard for their locale, so we need to fix that first.
-                    mContactsDictionary = new SynchronouslyLoadedContactsBinaryDictionary(this,
-                            Locale.getDefault());
+                    mContactsDictionary = createContactsDictionary(Locale.getDefault());
                 }
             }
             dictionaryCollection.addDictionary(mContactsDictionary);
             mDictionaryCollectionsList.add(
                     new WeakReference<DictionaryCollection>(dictionaryCollection));
         }
-        return new DictAndKeyboard(dictionaryCollection, keyboardLayoutSet);
+        // The user and contacts dictionaries are shared, and closed with the service's.
+        return new DictAndKeyboard(dictionaryCollection, sessionDictionary, shared.mKeyboard,
+                shared.mManualShiftedKeyboard);
     }
 }
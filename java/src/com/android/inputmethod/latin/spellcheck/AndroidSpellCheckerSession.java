@@ -25,6 +25,7 @@ import android.view.textservice.TextInfo;
 
 import com.android.inputmethod.latin.CollectionUtils;
 
+import java.text.BreakIterator;
 import java.util.ArrayList;
 
 public final class AndroidSpellCheckerSession extends AndroidWordLevelSpellCheckerSession {
@@ -36,99 +37,110 @@ public final class AndroidSpellCheckerSession extends AndroidWordLevelSpellCheck
         super(service);
     }
 
-    private SentenceSuggestionsInfo fixWronglyInvalidatedWordWithSingleQuote(TextInfo ti,
-            SentenceSuggestionsInfo ssi) {
-        final String typedText = ti.getText();
-        if (!typedText.contains(AndroidSpellCheckerService.SINGLE_QUOTE)) {
+    /**
+     * Splits the text into words, the way the framework does for sentence level spell checking,
+     * and checks them all in one batch, each word with its previous word as context.
+     * In-dictionary words containing a single quote are followed by extra spans with no
+     * attribute over their parts which have been checked before, so that their old spans are
+     * removed.
+     */
+    private SentenceSuggestionsInfo getSentenceSuggestions(final TextInfo ti,
+            final int suggestionsLimit) {
+        final String text = ti.getText();
+        if (TextUtils.isEmpty(text)) {
             return null;
         }
-        final int N = ssi.getSuggestionsCount();
-        final ArrayList<Integer> additionalOffsets = CollectionUtils.newArrayList();
-        final ArrayList<Integer> additionalLengths = CollectionUtils.newArrayList();
-        final ArrayList<SuggestionsInfo> additionalSuggestionsInfos =
-                CollectionUtils.newArrayList();
-        String currentWord = null;
-        for (int i = 0; i < N; ++i) {
-            final SuggestionsInfo si = ssi.getSuggestionsInfoAt(i);
-            final int flags = si.getSuggestionsAttributes();
-            if ((flags & SuggestionsInfo.RESULT_ATTR_IN_THE_DICTIONARY) == 0) {
-                continue;
+        final ArrayList<Integer> offsets = CollectionUtils.newArrayList();
+        final ArrayList<String> words = CollectionUtils.newArrayList();
+        final BreakIterator wordIterator = BreakIterator.getWordInstance(getLocaleObject());
+        wordIterator.setText(text);
+        int start = wordIterator.first();
+        for (int end = wordIterator.next(); end != BreakIterator.DONE;
+                start = end, end = wordIterator.next()) {
+            if (Character.isLetterOrDigit(text.codePointAt(start))) {
+                offsets.add(start);
+                words.add(text.substring(start, end));
             }
-            final int offset = ssi.getOffsetAt(i);
-            final int length = ssi.getLengthAt(i);
-            final String subText = typedText.substring(offset, offset + length);
-            final String prevWord = currentWord;
-            currentWord = subText;
-            if (!subText.contains(AndroidSpellCheckerService.SINGLE_QUOTE)) {
+        }
+        final int wordCount = words.size();
+        if (wordCount == 0) {
+            return null;
+        }
+        final String[] texts = words.toArray(new String[wordCount]);
+        final String[] prevWords = new String[wordCount];
+        System.arraycopy(texts, 0, prevWords, 1, wordCount - 1);
+        final SuggestionsInfo[] suggestionsInfos =
+                onGetSuggestionsBatchInternal(texts, prevWords, suggestionsLimit);
+
+        final ArrayList<Integer> spanOffsets = CollectionUtils.newArrayList(wordCount);
+        final ArrayList<Integer> spanLengths = CollectionUtils.newArrayList(wordCount);
+        final ArrayList<SuggestionsInfo> spanSuggestionsInfos =
+                CollectionUtils.newArrayList(wordCount);
+        for (int i = 0; i < wordCount; ++i) {
+            final SuggestionsInfo si = suggestionsInfos[i];
+            si.setCookieAndSequence(ti.getCookie(), ti.getSequence());
+            spanOffsets.add(offsets.get(i));
+            spanLengths.add(texts[i].length());
+            spanSuggestionsInfos.add(si);
+        }
+        for (int i = 0; i < wordCount; ++i) {
+            final int flags = suggestionsInfos[i].getSuggestionsAttributes();
+            if ((flags & SuggestionsInfo.RESULT_ATTR_IN_THE_DICTIONARY) == 0
+                    || !texts[i].contains(AndroidSpellCheckerService.SINGLE_QUOTE)) {
                 continue;
             }
             final String[] splitTexts =
-                    subText.split(AndroidSpellCheckerService.SINGLE_QUOTE, -1);
-            if (splitTexts == null || splitTexts.length <= 1) {
-                continue;
-            }
-            final int splitNum = splitTexts.length;
-            for (int j = 0; j < splitNum; ++j) {
-                final String splitText = splitTexts[j];
+                    texts[i].split(AndroidSpellCheckerService.SINGLE_QUOTE, -1);
+            int splitOffset = offsets.get(i);
+            for (final String splitText : splitTexts) {
+                final int splitStart = splitOffset;
+                splitOffset +=
+                        splitText.length() + AndroidSpellCheckerService.SINGLE_QUOTE.length();
                 if (TextUtils.isEmpty(splitText)) {
                     continue;
                 }
-                if (mSuggestionsCache.getSuggestionsFromCache(splitText, prevWord) == null) {
+                if (mSuggestionsCache.getSuggestionsFromCache(splitText, prevWords[i]) == null) {
                     continue;
                 }
-                final int newLength = splitText.length();
                 // Neither RESULT_ATTR_IN_THE_DICTIONARY nor RESULT_ATTR_LOOKS_LIKE_TYPO
                 final int newFlags = 0;
-                final SuggestionsInfo newSi =
-                        new SuggestionsInfo(newFlags, EMPTY_STRING_ARRAY);
-                newSi.setCookieAndSequence(si.getCookie(), si.getSequence());
+                final SuggestionsInfo newSi = new SuggestionsInfo(newFlags, EMPTY_STRING_ARRAY);
+                newSi.setCookieAndSequence(ti.getCookie(), ti.getSequence());
                 if (DBG) {
                     Log.d(TAG, "Override and remove old span over: " + splitText + ", "
-                            + offset + "," + newLength);
+                            + splitStart + "," + splitText.length());
                 }
-                additionalOffsets.add(offset);
-                additionalLengths.add(newLength);
-                additionalSuggestionsInfos.add(newSi);
+                spanOffsets.add(splitStart);
+                spanLengths.add(splitText.length());
+                spanSuggestionsInfos.add(newSi);
             }
         }
-        final int additionalSize = additionalOffsets.size();
-        if (additionalSize <= 0) {
-            return null;
-        }
-        final int suggestionsSize = N + additionalSize;
-        final int[] newOffsets = new int[suggestionsSize];
-        final int[] newLengths = new int[suggestionsSize];
-        final SuggestionsInfo[] newSuggestionsInfos = new SuggestionsInfo[suggestionsSize];
-        int i;
-        for (i = 0; i < N; ++i) {
-            newOffsets[i] = ssi.getOffsetAt(i);
-            newLengths[i] = ssi.getLengthAt(i);
-            newSuggestionsInfos[i] = ssi.getSuggestionsInfoAt(i);
-        }
-        for (; i < suggestionsSize; ++i) {
-            newOffsets[i] = additionalOffsets.get(i - N);
-            newLengths[i] = additionalLengths.get(i - N);
-            newSuggestionsInfos[i] = additionalSuggestionsInfos.get(i - N);
+        final int spanCount = spanOffsets.size();
+        final int[] newOffsets = new int[spanCount];
+        final int[] newLengths = new int[spanCount];
+        for (int i = 0; i < spanCount; ++i) {
+            newOffsets[i] = spanOffsets.get(i);
+            newLengths[i] = spanLengths.get(i);
         }
-        return new SentenceSuggestionsInfo(newSuggestionsInfos, newOffsets, newLengths);
+        return new SentenceSuggestionsInfo(
+                spanSuggestionsInfos.toArray(new SuggestionsInfo[spanCount]),
+                newOffsets, newLengths);
     }
 
     @Override
     public SentenceSuggestionsInfo[] onGetSentenceSuggestionsMultiple(TextInfo[] textInfos,
             int suggestionsLimit) {
-        final SentenceSuggestionsInfo[] retval =
-                super.onGetSentenceSuggestionsMultiple(textInfos, suggestionsLimit);
-        if (retval == null || retval.length != textInfos.length) {
-            return retval;
-        }
-        for (int i = 0; i < retval.length; ++i) {
-            final SentenceSuggestionsInfo tempSsi =
-                    fixWronglyInvalidatedWordWithSingleQuote(textInfos[i], retval[i]);
-            if (tempSsi != null) {
-                retval[i] = tempSsi;
+        long ident = Binder.clearCallingIdentity();
+        try {
+            final int length = textInfos.length;
+            final SentenceSuggestionsInfo[] retval = new SentenceSuggestionsInfo[length];
+            for (int i = 0; i < length; ++i) {
+                retval[i] = getSentenceSuggestions(textInfos[i], suggestionsLimit);
             }
+            return retval;
+        } finally {
+            Binder.restoreCallingIdentity(ident);
         }
-        return retval;
     }
 
     @Override
@@ -137,18 +149,20 @@ public final class AndroidSpellCheckerSession extends AndroidWordLevelSpellCheck
         long ident = Binder.clearCallingIdentity();
         try {
             final int length = textInfos.length;
-            final SuggestionsInfo[] retval = new SuggestionsInfo[length];
+            final String[] texts = new String[length];
+            final String[] prevWords = new String[length];
             for (int i = 0; i < length; ++i) {
-                final String prevWord;
+                texts[i] = textInfos[i].getText();
                 if (sequentialWords && i > 0) {
-                final String prevWordCandidate = textInfos[i - 1].getText();
-                // Note that an empty string would be used to indicate the initial word
-                // in the future.
-                prevWord = TextUtils.isEmpty(prevWordCandidate) ? null : prevWordCandidate;
-                } else {
-                    prevWord = null;
+                    final String prevWordCandidate = texts[i - 1];
+                    // Note that an empty string would be used to indicate the initial word
+                    // in the future.
+                    prevWords[i] = TextUtils.isEmpty(prevWordCandidate) ? null : prevWordCandidate;
                 }
-                retval[i] = onGetSuggestionsInternal(textInfos[i], prevWord, suggestionsLimit);
+            }
+            final SuggestionsInfo[] retval =
+                    onGetSuggestionsBatchInternal(texts, prevWords, suggestionsLimit);
+            for (int i = 0; i < length; ++i) {
                 retval[i].setCookieAndSequence(textInfos[i].getCookie(),
                         textInfos[i].getSequence());
             }
@@ -16,14 +16,10 @@
 
 package com.android.inputmethod.latin.spellcheck;
 
-import android.content.ContentResolver;
-import android.database.ContentObserver;
 import android.os.Binder;
-import android.provider.UserDictionary.Words;
 import android.service.textservice.SpellCheckerService.Session;
 import android.text.TextUtils;
 import android.util.Log;
-import android.util.LruCache;
 import android.view.textservice.SuggestionsInfo;
 import android.view.textservice.TextInfo;
 
@@ -35,6 +31,7 @@ import com.android.inputmethod.latin.StringUtils;
 import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
 import com.android.inputmethod.latin.WordComposer;
 import com.android.inputmethod.latin.spellcheck.AndroidSpellCheckerService.SuggestionsGatherer;
+import com.android.inputmethod.latin.spellcheck.SuggestionsCache.SuggestionsParams;
 
 import java.util.ArrayList;
 import java.util.Locale;
@@ -50,77 +47,29 @@ public abstract class AndroidWordLevelSpellCheckerSession extends Session {
     // Cache this for performance
     private int mScript; // One of SCRIPT_LATIN or SCRIPT_CYRILLIC for now.
     private final AndroidSpellCheckerService mService;
-    protected final SuggestionsCache mSuggestionsCache = new SuggestionsCache();
-    private final ContentObserver mObserver;
-
-    private static final class SuggestionsParams {
-        public final String[] mSuggestions;
-        public final int mFlags;
-        public SuggestionsParams(String[] suggestions, int flags) {
-            mSuggestions = suggestions;
-            mFlags = flags;
-        }
-    }
-
-    protected static final class SuggestionsCache {
-        private static final char CHAR_DELIMITER = '\uFFFC';
-        private static final int MAX_CACHE_SIZE = 50;
-        private final LruCache<String, SuggestionsParams> mUnigramSuggestionsInfoCache =
-                new LruCache<String, SuggestionsParams>(MAX_CACHE_SIZE);
-
-        // TODO: Support n-gram input
-        private static String generateKey(String query, String prevWord) {
-            if (TextUtils.isEmpty(query) || TextUtils.isEmpty(prevWord)) {
-                return query;
-            }
-            return query + CHAR_DELIMITER + prevWord;
-        }
-
-        // TODO: Support n-gram input
-        public SuggestionsParams getSuggestionsFromCache(String query, String prevWord) {
-            return mUnigramSuggestionsInfoCache.get(generateKey(query, prevWord));
-        }
-
-        // TODO: Support n-gram input
-        public void putSuggestionsToCache(
-                String query, String prevWord, String[] suggestions, int flags) {
-            if (suggestions == null || TextUtils.isEmpty(query)) {
-                return;
-            }
-            mUnigramSuggestionsInfoCache.put(
-                    generateKey(query, prevWord), new SuggestionsParams(suggestions, flags));
-        }
-
-        public void clearCache() {
-            mUnigramSuggestionsInfoCache.evictAll();
-        }
-    }
+    // Likewise, and shared by all the sessions for the locale
+    protected SuggestionsCache mSuggestionsCache;
 
     AndroidWordLevelSpellCheckerSession(final AndroidSpellCheckerService service) {
         mService = service;
-        final ContentResolver cres = service.getContentResolver();
-
-        mObserver = new ContentObserver(null) {
-            @Override
-            public void onChange(boolean self) {
-                mSuggestionsCache.clearCache();
-            }
-        };
-        cres.registerContentObserver(Words.CONTENT_URI, true, mObserver);
     }
 
     @Override
     public void onCreate() {
-        final String localeString = getLocale();
+        initialize(getLocale());
+    }
+
+    // Does what {@link #onCreate} does with the given locale. Called directly by tests, which
+    // have no framework session to get the locale from.
+    /* package */ void initialize(final String localeString) {
         mDictionaryPool = mService.getDictionaryPool(localeString);
+        mSuggestionsCache = mService.getSuggestionsCache(localeString);
         mLocale = LocaleUtils.constructLocaleFromString(localeString);
         mScript = AndroidSpellCheckerService.getScriptFromLocale(mLocale);
     }
 
-    @Override
-    public void onClose() {
-        final ContentResolver cres = mService.getContentResolver();
-        cres.unregisterContentObserver(mObserver);
+    protected Locale getLocaleObject() {
+        return mLocale;
     }
 
     /*
@@ -244,35 +193,67 @@ public abstract class AndroidWordLevelSpellCheckerSession extends Session {
 
     protected SuggestionsInfo onGetSuggestionsInternal(
             final TextInfo textInfo, final String prevWord, final int suggestionsLimit) {
+        return onGetSuggestionsBatchInternal(new String[] { textInfo.getText() },
+                new String[] { prevWord }, suggestionsLimit)[0];
+    }
+
+    // Note : this must be reentrant
+    /**
+     * Gets the suggestions for several strings, each one with its previous word. The strings
+     * which are not in the cache are all checked with the same dictionary, which is checked out
+     * of the pool only once, and their suggestions are put in the cache.
+     */
+    protected SuggestionsInfo[] onGetSuggestionsBatchInternal(final String[] texts,
+            final String[] prevWords, final int suggestionsLimit) {
+        final int length = texts.length;
+        final SuggestionsInfo[] retval = new SuggestionsInfo[length];
+        final WordComposer composer = new WordComposer();
+        DictAndKeyboard dictInfo = null;
+        boolean isDictCheckedOut = false;
         try {
-            final String inText = textInfo.getText();
-            final SuggestionsParams cachedSuggestionsParams =
-                    mSuggestionsCache.getSuggestionsFromCache(inText, prevWord);
-            if (cachedSuggestionsParams != null) {
-                if (DBG) {
-                    Log.d(TAG, "Cache hit: " + inText + ", " + cachedSuggestionsParams.mFlags);
+            for (int i = 0; i < length; ++i) {
+                final String inText = texts[i];
+                final String prevWord = prevWords[i];
+                final SuggestionsParams cachedSuggestionsParams =
+                        mSuggestionsCache.getSuggestionsFromCache(inText, prevWord);
+                if (cachedSuggestionsParams != null) {
+                    if (DBG) {
+                        Log.d(TAG, "Cache hit: " + inText + ", " + cachedSuggestionsParams.mFlags);
+                    }
+                    retval[i] = new SuggestionsInfo(
+                            cachedSuggestionsParams.mFlags, cachedSuggestionsParams.mSuggestions);
+                    continue;
+                }
+                if (!isDictCheckedOut) {
+                    dictInfo = mDictionaryPool.pollWithDefaultTimeout();
+                    isDictCheckedOut = true;
+                }
+                if (!DictionaryPool.isAValidDictionary(dictInfo)) {
+                    retval[i] = AndroidSpellCheckerService.getNotInDictEmptySuggestions();
+                    continue;
+                }
+                retval[i] = getSuggestions(dictInfo, composer, inText, prevWord,
+                        suggestionsLimit);
+            }
+        } finally {
+            if (null != dictInfo) {
+                if (!mDictionaryPool.offer(dictInfo)) {
+                    Log.e(TAG, "Can't re-insert a dictionary into its pool");
                 }
-                return new SuggestionsInfo(
-                        cachedSuggestionsParams.mFlags, cachedSuggestionsParams.mSuggestions);
             }
+        }
+        return retval;
+    }
 
+    // Checks the string with the dictionary, reusing the word composer, and caches the result.
+    private SuggestionsInfo getSuggestions(final DictAndKeyboard dictInfo,
+            final WordComposer composer, final String inText, final String prevWord,
+            final int suggestionsLimit) {
+        try {
             if (shouldFilterOut(inText, mScript)) {
-                DictAndKeyboard dictInfo = null;
-                try {
-                    dictInfo = mDictionaryPool.pollWithDefaultTimeout();
-                    if (!DictionaryPool.isAValidDictionary(dictInfo)) {
-                        return AndroidSpellCheckerService.getNotInDictEmptySuggestions();
-                    }
-                    return dictInfo.mDictionary.isValidWord(inText)
-                            ? AndroidSpellCheckerService.getInDictEmptySuggestions()
-                            : AndroidSpellCheckerService.getNotInDictEmptySuggestions();
-                } finally {
-                    if (null != dictInfo) {
-                        if (!mDictionaryPool.offer(dictInfo)) {
-                            Log.e(TAG, "Can't re-insert a dictionary into its pool");
-                        }
-                    }
-                }
+                return dictInfo.mDictionary.isValidWord(inText)
+                        ? AndroidSpellCheckerService.getInDictEmptySuggestions()
+                        : AndroidSpellCheckerService.getNotInDictEmptySuggestions();
             }
             final String text = inText.replaceAll(
                     AndroidSpellCheckerService.APOSTROPHE, AndroidSpellCheckerService.SINGLE_QUOTE);
@@ -285,41 +266,27 @@ public abstract class AndroidWordLevelSpellCheckerSession extends Session {
                     text, suggestionsLimit);
 
             final int capitalizeType = StringUtils.getCapitalizationType(text);
-            boolean isInDict = true;
-            DictAndKeyboard dictInfo = null;
-            try {
-                dictInfo = mDictionaryPool.pollWithDefaultTimeout();
-                if (!DictionaryPool.isAValidDictionary(dictInfo)) {
-                    return AndroidSpellCheckerService.getNotInDictEmptySuggestions();
-                }
-                final WordComposer composer = new WordComposer();
-                final int length = text.length();
-                for (int i = 0; i < length; i = text.offsetByCodePoints(i, 1)) {
-                    final int codePoint = text.codePointAt(i);
-                    composer.addKeyInfo(codePoint, dictInfo.getKeyboard(codePoint));
-                }
-                // TODO: make a spell checker option to block offensive words or not
-                final ArrayList<SuggestedWordInfo> suggestions =
-                        dictInfo.mDictionary.getSuggestions(composer, prevWord,
-                                dictInfo.getProximityInfo(),
-                                true /* blockOffensiveWords */);
-                for (final SuggestedWordInfo suggestion : suggestions) {
-                    final String suggestionStr = suggestion.mWord;
-                    suggestionsGatherer.addWord(suggestionStr.toCharArray(), null, 0,
-                            suggestionStr.length(), suggestion.mScore);
-                }
-                isInDict = isInDictForAnyCapitalization(dictInfo.mDictionary, text, capitalizeType);
-            } finally {
-                if (null != dictInfo) {
-                    if (!mDictionaryPool.offer(dictInfo)) {
-                        Log.e(TAG, "Can't re-insert a dictionary into its pool");
-                    }
-                }
+            composer.reset();
+            final int length = text.length();
+            for (int i = 0; i < length; i = text.offsetByCodePoints(i, 1)) {
+                final int codePoint = text.codePointAt(i);
+                composer.addKeyInfo(codePoint, dictInfo.getKeyboard(codePoint));
+            }
+            // TODO: make a spell checker option to block offensive words or not
+            final ArrayList<SuggestedWordInfo> suggestions =
+                    dictInfo.mDictionary.getSuggestions(composer, prevWord,
+                            dictInfo.getProximityInfo(),
+                            true /* blockOffensiveWords */);
+            for (final SuggestedWordInfo suggestion : suggestions) {
+                final String suggestionStr = suggestion.mWord;
+                suggestionsGatherer.addWord(suggestionStr.toCharArray(), null, 0,
+                        suggestionStr.length(), suggestion.mScore);
             }
+            final boolean isInDict =
+                    isInDictForAnyCapitalization(dictInfo.mDictionary, text, capitalizeType);
 
             final SuggestionsGatherer.Result result = suggestionsGatherer.getResults(
                     capitalizeType, mLocale);
-
             if (DBG) {
                 Log.i(TAG, "Spell checking results for " + text + " with suggestion limit "
                         + suggestionsLimit);
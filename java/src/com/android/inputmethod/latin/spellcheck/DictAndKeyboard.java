@@ -27,12 +27,18 @@ import com.android.inputmethod.keyboard.ProximityInfo;
  */
 public final class DictAndKeyboard {
     public final Dictionary mDictionary;
+    // The part of mDictionary which belongs to this only. The rest is shared with other users,
+    // which close it themselves.
+    private final Dictionary mOwnDictionary;
     private final Keyboard mKeyboard;
     private final Keyboard mManualShiftedKeyboard;
+    // The uptime when this was last checked out of or offered back to its pool.
+    /* package */ long mPoolTime;
 
     public DictAndKeyboard(
             final Dictionary dictionary, final KeyboardLayoutSet keyboardLayoutSet) {
         mDictionary = dictionary;
+        mOwnDictionary = dictionary;
         if (keyboardLayoutSet == null) {
             mKeyboard = null;
             mManualShiftedKeyboard = null;
@@ -43,6 +49,23 @@ public final class DictAndKeyboard {
                 keyboardLayoutSet.getKeyboard(KeyboardId.ELEMENT_ALPHABET_MANUAL_SHIFTED);
     }
 
+    public DictAndKeyboard(final Dictionary dictionary, final Dictionary ownDictionary,
+            final Keyboard keyboard, final Keyboard manualShiftedKeyboard) {
+        mDictionary = dictionary;
+        mOwnDictionary = ownDictionary;
+        mKeyboard = keyboard;
+        mManualShiftedKeyboard = manualShiftedKeyboard;
+    }
+
+    /**
+     * Closes the dictionary which belongs to this only, and leaves the shared ones open.
+     */
+    public void release() {
+        if (null != mOwnDictionary) {
+            mOwnDictionary.close();
+        }
+    }
+
     public Keyboard getKeyboard(final int codePoint) {
         if (mKeyboard == null) {
             return null;
@@ -16,91 +16,164 @@
 
 package com.android.inputmethod.latin.spellcheck;
 
+import android.os.Process;
+import android.os.SystemClock;
 import android.util.Log;
+import android.util.Printer;
 
-import com.android.inputmethod.keyboard.ProximityInfo;
 import com.android.inputmethod.latin.CollectionUtils;
-import com.android.inputmethod.latin.Dictionary;
-import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
-import com.android.inputmethod.latin.WordComposer;
+import com.android.inputmethod.latin.LatencyHistogram;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Locale;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
- * A blocking queue that creates dictionaries up to a certain limit as necessary.
- * As a deadlock-detecting device, if waiting for more than TIMEOUT = 3 seconds, we
- * will clear the queue and generate its contents again. This is transparent for
- * the client code, but may help with sloppy clients.
+ * A pool of dictionaries for a locale, which spell checking threads check out and offer back.
+ *
+ * Threads waiting for a dictionary get one in the order they came. When there are more of them
+ * than dictionaries being created, new dictionaries are created in the background, up to a
+ * maximum size; the waiting threads take whichever dictionary is ready first, created or offered
+ * back. Dictionaries which stay idle for a while are closed, down to a minimum size. A thread
+ * which waits for more than TIMEOUT seconds gives up and gets no dictionary, but the pool is not
+ * reset: the dictionaries in use are still offered back to it.
  */
-@SuppressWarnings("serial")
-public final class DictionaryPool extends LinkedBlockingQueue<DictAndKeyboard> {
+public final class DictionaryPool {
     private final static String TAG = DictionaryPool.class.getSimpleName();
-    // How many seconds we wait for a dictionary to become available. Past this delay, we give up in
-    // fear some bug caused a deadlock, and reset the whole pool.
+    // How many seconds we wait for a dictionary to become available. Past this delay, we give up
+    // on this request.
     private final static int TIMEOUT = 3;
+    // How long a dictionary may stay idle before it is closed, and how many are kept anyway.
+    private final static long IDLE_TIMEOUT_MS = 30 * 1000;
+    private final static int MIN_SIZE = 1;
+
+    // Creates the dictionaries of all the pools, and closes the idle ones.
+    private final static ScheduledExecutorService sExecutor =
+            Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(final Runnable r) {
+                    final Thread thread = new Thread(r, TAG) {
+                        @Override
+                        public void run() {
+                            Process.setThreadPriority(Process.THREAD_PRIORITY_BACKGROUND);
+                            super.run();
+                        }
+                    };
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+
     private final AndroidSpellCheckerService mService;
     private final int mMaxSize;
     private final Locale mLocale;
+
+    // All the following are synchronized using this object.
+    // The dictionaries which are not checked out, the least recently offered back first.
+    private final ArrayDeque<DictAndKeyboard> mIdleDicts = new ArrayDeque<DictAndKeyboard>();
+    // The threads waiting for a dictionary, the first come first.
+    private final ArrayDeque<Waiter> mWaiters = new ArrayDeque<Waiter>();
+    // The number of dictionaries created or being created, and of those being created.
     private int mSize;
-    private volatile boolean mClosed;
-    final static ArrayList<SuggestedWordInfo> noSuggestions = CollectionUtils.newArrayList();
-    private final static DictAndKeyboard dummyDict = new DictAndKeyboard(
-            new Dictionary(Dictionary.TYPE_MAIN) {
-                @Override
-                public ArrayList<SuggestedWordInfo> getSuggestions(final WordComposer composer,
-                        final String prevWord, final ProximityInfo proximityInfo,
-                        final boolean blockOffensiveWords) {
-                    return noSuggestions;
-                }
-                @Override
-                public boolean isValidWord(final String word) {
-                    // This is never called. However if for some strange reason it ever gets
-                    // called, returning true is less destructive (it will not underline the
-                    // word in red).
-                    return true;
-                }
-            }, null);
+    private int mPendingSize;
+    private boolean mClosed;
+    private boolean mIsTrimScheduled;
+    // The main dictionary and keyboards shared by the dictionaries. Only used in the executor.
+    private SharedDictAndKeyboard mSharedDictAndKeyboard;
+
+    // How long the threads waited for a dictionary, and how long they kept it.
+    private final LatencyHistogram mWaitLatency = new LatencyHistogram("checkOutWait");
+    private final LatencyHistogram mCheckOutLatency = new LatencyHistogram("checkOutDuration");
+
+    private static final class Waiter {
+        public DictAndKeyboard mDict;
+    }
+
+    private final Runnable mCreateDict = new Runnable() {
+        @Override
+        public void run() {
+            createDict();
+        }
+    };
+
+    private final Runnable mTrimIdleDicts = new Runnable() {
+        @Override
+        public void run() {
+            trimIdleDicts();
+        }
+    };
 
     static public boolean isAValidDictionary(final DictAndKeyboard dictInfo) {
-        return null != dictInfo && dummyDict != dictInfo;
+        return null != dictInfo;
     }
 
     public DictionaryPool(final int maxSize, final AndroidSpellCheckerService service,
             final Locale locale) {
-        super();
         mMaxSize = maxSize;
         mService = service;
         mLocale = locale;
-        mSize = 0;
-        mClosed = false;
+        // Warms up the first dictionary while the session gets its first request.
+        synchronized (this) {
+            startCreatingDictLocked();
+        }
     }
 
-    @Override
+    /**
+     * Checks out a dictionary, waiting for one for at most the given time.
+     * @return the dictionary, which must be offered back, or null if none became available
+     * in time or the pool is closed.
+     */
     public DictAndKeyboard poll(final long timeout, final TimeUnit unit)
             throws InterruptedException {
-        final DictAndKeyboard dict = poll();
-        if (null != dict) return dict;
-        synchronized(this) {
-            if (mSize >= mMaxSize) {
-                // Our pool is already full. Wait until some dictionary is ready, or TIMEOUT
-                // expires to avoid a deadlock.
-                final DictAndKeyboard result = super.poll(timeout, unit);
-                if (null == result) {
-                    Log.e(TAG, "Deadlock detected ! Resetting dictionary pool");
-                    clear();
-                    mSize = 1;
-                    return mService.createDictAndKeyboard(mLocale);
-                } else {
-                    return result;
-                }
+        final long startTime = SystemClock.uptimeMillis();
+        final DictAndKeyboard dict;
+        synchronized (this) {
+            if (mClosed) return null;
+            if (mWaiters.isEmpty() && !mIdleDicts.isEmpty()) {
+                dict = mIdleDicts.pollLast();
             } else {
-                ++mSize;
-                return mService.createDictAndKeyboard(mLocale);
+                dict = waitForDictLocked(startTime + unit.toMillis(timeout));
+                if (null == dict) return null;
+            }
+        }
+        dict.mPoolTime = SystemClock.uptimeMillis();
+        mWaitLatency.add(dict.mPoolTime - startTime);
+        return dict;
+    }
+
+    private DictAndKeyboard waitForDictLocked(final long deadline) throws InterruptedException {
+        final Waiter waiter = new Waiter();
+        mWaiters.addLast(waiter);
+        while (mPendingSize < mWaiters.size() && mSize < mMaxSize) {
+            startCreatingDictLocked();
+        }
+        try {
+            while (null == waiter.mDict && !mClosed) {
+                final long remainingTime = deadline - SystemClock.uptimeMillis();
+                if (remainingTime <= 0) {
+                    Log.w(TAG, "No dictionary available after " + TIMEOUT + " seconds for "
+                            + mLocale + ": " + mSize + " dictionaries, " + mWaiters.size()
+                            + " waiting");
+                    break;
+                }
+                wait(remainingTime);
+            }
+        } catch (InterruptedException e) {
+            if (null != waiter.mDict) {
+                handOffLocked(waiter.mDict);
+                waiter.mDict = null;
+            }
+            throw e;
+        } finally {
+            if (null == waiter.mDict) {
+                mWaiters.remove(waiter);
             }
         }
+        return waiter.mDict;
     }
 
     // Convenience method
@@ -112,23 +185,130 @@ public final class DictionaryPool extends LinkedBlockingQueue<DictAndKeyboard> {
         }
     }
 
+    public boolean offer(final DictAndKeyboard dict) {
+        mCheckOutLatency.add(SystemClock.uptimeMillis() - dict.mPoolTime);
+        synchronized (this) {
+            if (!mClosed) {
+                handOffLocked(dict);
+                return true;
+            }
+            --mSize;
+        }
+        dict.release();
+        return true;
+    }
+
+    // Gives the dictionary to the first waiting thread, or makes it idle if there is none.
+    private void handOffLocked(final DictAndKeyboard dict) {
+        final Waiter waiter = mWaiters.pollFirst();
+        if (null != waiter) {
+            waiter.mDict = dict;
+            notifyAll();
+            return;
+        }
+        dict.mPoolTime = SystemClock.uptimeMillis();
+        mIdleDicts.addLast(dict);
+        scheduleTrimLocked();
+    }
+
+    private void startCreatingDictLocked() {
+        ++mSize;
+        ++mPendingSize;
+        sExecutor.execute(mCreateDict);
+    }
+
+    // Run in the executor.
+    private void createDict() {
+        DictAndKeyboard dict = null;
+        try {
+            if (null == mSharedDictAndKeyboard) {
+                mSharedDictAndKeyboard = mService.createSharedDictAndKeyboard(mLocale);
+            }
+            dict = mService.createDictAndKeyboard(mSharedDictAndKeyboard, mLocale);
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Can't create a dictionary for " + mLocale, e);
+        }
+        synchronized (this) {
+            --mPendingSize;
+            if (null == dict) {
+                --mSize;
+                return;
+            }
+            if (!mClosed) {
+                handOffLocked(dict);
+                return;
+            }
+            --mSize;
+        }
+        dict.release();
+    }
+
+    private void scheduleTrimLocked() {
+        if (mIsTrimScheduled || mSize <= MIN_SIZE) return;
+        mIsTrimScheduled = true;
+        sExecutor.schedule(mTrimIdleDicts, IDLE_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // Run in the executor.
+    private void trimIdleDicts() {
+        synchronized (this) {
+            mIsTrimScheduled = false;
+        }
+        trimIdleDicts(IDLE_TIMEOUT_MS);
+    }
+
+    // Releases the dictionaries idle for at least the given time, down to the minimum size.
+    /* package */ void trimIdleDicts(final long idleTimeoutMs) {
+        final ArrayList<DictAndKeyboard> idleDicts = CollectionUtils.newArrayList();
+        synchronized (this) {
+            if (mClosed) return;
+            final long now = SystemClock.uptimeMillis();
+            while (mSize > MIN_SIZE && !mIdleDicts.isEmpty()
+                    && now - mIdleDicts.peekFirst().mPoolTime >= idleTimeoutMs) {
+                idleDicts.add(mIdleDicts.pollFirst());
+                --mSize;
+            }
+            if (!mIdleDicts.isEmpty()) {
+                scheduleTrimLocked();
+            }
+        }
+        for (final DictAndKeyboard dict : idleDicts) {
+            dict.release();
+        }
+    }
+
     public void close() {
-        synchronized(this) {
+        final ArrayList<DictAndKeyboard> idleDicts;
+        synchronized (this) {
             mClosed = true;
-            for (DictAndKeyboard dict : this) {
-                dict.mDictionary.close();
-            }
-            clear();
+            idleDicts = CollectionUtils.newArrayList(mIdleDicts);
+            mSize -= idleDicts.size();
+            mIdleDicts.clear();
+            // The waiting threads get no dictionary.
+            notifyAll();
+        }
+        for (final DictAndKeyboard dict : idleDicts) {
+            dict.release();
         }
+        // The dictionaries being created are closed as soon as they are, so the executor can
+        // release the shared main dictionary after them.
+        sExecutor.execute(new Runnable() {
+            @Override
+            public void run() {
+                if (null != mSharedDictAndKeyboard) {
+                    mSharedDictAndKeyboard.release();
+                    mSharedDictAndKeyboard = null;
+                }
+            }
+        });
     }
 
-    @Override
-    public boolean offer(final DictAndKeyboard dict) {
-        if (mClosed) {
-            dict.mDictionary.close();
-            return super.offer(dummyDict);
-        } else {
-            return super.offer(dict);
+    public void dump(final Printer p) {
+        synchronized (this) {
+            p.println("  " + mLocale + ": size=" + mSize + " idle=" + mIdleDicts.size()
+                    + " waiting=" + mWaiters.size() + " closed=" + mClosed);
         }
+        p.println("    " + mWaitLatency);
+        p.println("    " + mCheckOutLatency);
     }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin.spellcheck;
+
+import com.android.inputmethod.keyboard.Keyboard;
+import com.android.inputmethod.keyboard.KeyboardId;
+import com.android.inputmethod.keyboard.KeyboardLayoutSet;
+import com.android.inputmethod.keyboard.ProximityInfo;
+import com.android.inputmethod.latin.Dictionary;
+import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
+import com.android.inputmethod.latin.WordComposer;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * The main dictionary and the keyboards of a locale, shared by all the entries of its
+ * {@link DictionaryPool}. Both are only read, so the main dictionary is opened and the proximity
+ * info is built once per locale. Each entry queries the main dictionary through its own
+ * traverse session, so that the entries can check words at the same time. The session ids are
+ * reused, so that the main dictionary keeps one traverse session per entry at most, and frees it
+ * with the entry.
+ *
+ * The main dictionary is closed when the pool and all the entries have released it: the pool
+ * holds one reference, and each dictionary returned by {@link #newSessionDictionary} holds one
+ * until it is closed.
+ */
+public final class SharedDictAndKeyboard {
+    private final Dictionary mMainDictionary;
+    public final Keyboard mKeyboard;
+    public final Keyboard mManualShiftedKeyboard;
+    private final AtomicInteger mRefCount = new AtomicInteger(1);
+    // The session ids of the dictionaries which are not closed. Synchronized using itself.
+    private final BitSet mUsedSessionIds = new BitSet();
+
+    /**
+     * @param maxEntryCount the most entries of the pool, which may all check words at once.
+     */
+    public SharedDictAndKeyboard(final Dictionary mainDictionary,
+            final KeyboardLayoutSet keyboardLayoutSet, final int maxEntryCount) {
+        mMainDictionary = mainDictionary;
+        mMainDictionary.setMaxSessionCount(maxEntryCount);
+        mKeyboard = keyboardLayoutSet.getKeyboard(KeyboardId.ELEMENT_ALPHABET);
+        mManualShiftedKeyboard =
+                keyboardLayoutSet.getKeyboard(KeyboardId.ELEMENT_ALPHABET_MANUAL_SHIFTED);
+    }
+
+    private boolean acquire() {
+        while (true) {
+            final int refCount = mRefCount.get();
+            if (refCount <= 0) return false;
+            if (mRefCount.compareAndSet(refCount, refCount + 1)) return true;
+        }
+    }
+
+    public void release() {
+        if (mRefCount.decrementAndGet() == 0) {
+            mMainDictionary.close();
+        }
+    }
+
+    /**
+     * Returns a view of the main dictionary with a traverse session of its own, or null if the
+     * main dictionary has already been closed.
+     */
+    public Dictionary newSessionDictionary() {
+        if (!acquire()) return null;
+        final int sessionId;
+        synchronized (mUsedSessionIds) {
+            sessionId = mUsedSessionIds.nextClearBit(0);
+            mUsedSessionIds.set(sessionId);
+        }
+        return new SessionDictionary(sessionId);
+    }
+
+    private final class SessionDictionary extends Dictionary {
+        private final int mSessionId;
+        private boolean mClosed; // synchronized using this object.
+
+        public SessionDictionary(final int sessionId) {
+            super(Dictionary.TYPE_MAIN);
+            mSessionId = sessionId;
+        }
+
+        @Override
+        public ArrayList<SuggestedWordInfo> getSuggestions(final WordComposer composer,
+                final String prevWord, final ProximityInfo proximityInfo,
+                final boolean blockOffensiveWords) {
+            return mMainDictionary.getSuggestionsWithSessionId(composer, prevWord, proximityInfo,
+                    blockOffensiveWords, mSessionId);
+        }
+
+        @Override
+        public boolean isValidWord(final String word) {
+            return mMainDictionary.isValidWord(word);
+        }
+
+        @Override
+        public int getFrequency(final String word) {
+            return mMainDictionary.getFrequency(word);
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return mMainDictionary.isInitialized();
+        }
+
+        @Override
+        public void close() {
+            synchronized (this) {
+                if (mClosed) return;
+                mClosed = true;
+            }
+            mMainDictionary.closeSession(mSessionId);
+            synchronized (mUsedSessionIds) {
+                mUsedSessionIds.clear(mSessionId);
+            }
+            release();
+        }
+    }
+}
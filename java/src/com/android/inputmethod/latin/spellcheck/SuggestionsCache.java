@@ -0,0 +1,231 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin.spellcheck;
+
+import android.text.TextUtils;
+import android.util.Log;
+import android.util.LruCache;
+import android.view.textservice.SuggestionsInfo;
+
+import com.android.inputmethod.latin.BinaryDictionary;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * The spell checking results of a locale, shared by all the sessions of the spell checker.
+ *
+ * The words found in the dictionaries are kept apart from the other results: most checked words
+ * are, their result does not depend on the previous word, and only the word needs to be kept.
+ * The other results are kept by word and previous word, with their suggestions. Both are least
+ * recently used caches of a bounded size. The most recently used valid words can be written to
+ * a file, so that a new spell checker process does not check them all again.
+ */
+public final class SuggestionsCache {
+    private static final String TAG = SuggestionsCache.class.getSimpleName();
+    private static final char CHAR_DELIMITER = '\uFFFC';
+    private static final int MAX_VALID_WORDS_SIZE = 5000;
+    private static final int MAX_RESULTS_SIZE = 1000;
+    private static final int MAX_PERSISTED_VALID_WORDS_SIZE = 2000;
+    // The suggestions of a typo are only invalidated by a word added to the dictionaries if they
+    // are at most this edit distance apart.
+    private static final int MAX_EDIT_DISTANCE_TO_CHANGED_WORD = 2;
+    private static final int VALID_WORDS_FILE_VERSION = 1;
+    private static final String[] EMPTY_STRING_ARRAY = new String[0];
+
+    public static final class SuggestionsParams {
+        public final String[] mSuggestions;
+        public final int mFlags;
+        public SuggestionsParams(String[] suggestions, int flags) {
+            mSuggestions = suggestions;
+            mFlags = flags;
+        }
+    }
+
+    private static final SuggestionsParams VALID_WORD_PARAMS = new SuggestionsParams(
+            EMPTY_STRING_ARRAY, SuggestionsInfo.RESULT_ATTR_IN_THE_DICTIONARY);
+
+    private final Locale mLocale;
+    // The values are not used.
+    private final LruCache<String, Boolean> mValidWords =
+            new LruCache<String, Boolean>(MAX_VALID_WORDS_SIZE);
+    private final LruCache<String, SuggestionsParams> mUnigramSuggestionsInfoCache =
+            new LruCache<String, SuggestionsParams>(MAX_RESULTS_SIZE);
+
+    public SuggestionsCache(final Locale locale) {
+        mLocale = locale;
+    }
+
+    // TODO: Support n-gram input
+    private static String generateKey(String query, String prevWord) {
+        if (TextUtils.isEmpty(query) || TextUtils.isEmpty(prevWord)) {
+            return query;
+        }
+        return query + CHAR_DELIMITER + prevWord;
+    }
+
+    private static String getQueryFromKey(final String key) {
+        final int delimiterPos = key.indexOf(CHAR_DELIMITER);
+        return delimiterPos < 0 ? key : key.substring(0, delimiterPos);
+    }
+
+    // TODO: Support n-gram input
+    public SuggestionsParams getSuggestionsFromCache(String query, String prevWord) {
+        if (TextUtils.isEmpty(query)) {
+            return null;
+        }
+        if (null != mValidWords.get(query)) {
+            return VALID_WORD_PARAMS;
+        }
+        return mUnigramSuggestionsInfoCache.get(generateKey(query, prevWord));
+    }
+
+    // TODO: Support n-gram input
+    public void putSuggestionsToCache(
+            String query, String prevWord, String[] suggestions, int flags) {
+        if (TextUtils.isEmpty(query)) {
+            return;
+        }
+        if ((flags & SuggestionsInfo.RESULT_ATTR_IN_THE_DICTIONARY) != 0) {
+            mValidWords.put(query, Boolean.TRUE);
+            return;
+        }
+        mUnigramSuggestionsInfoCache.put(generateKey(query, prevWord), new SuggestionsParams(
+                null == suggestions ? EMPTY_STRING_ARRAY : suggestions, flags));
+    }
+
+    /**
+     * Removes the results which may change because the given word has been added to or removed
+     * from the dictionaries: the word itself in any capitalization, the typos it is a
+     * suggestion for, and the typos it is close enough to to become one.
+     */
+    public void invalidateWord(final String word) {
+        final String lowerCaseWord = word.toLowerCase(mLocale);
+        for (final String validWord : mValidWords.snapshot().keySet()) {
+            if (lowerCaseWord.equals(validWord.toLowerCase(mLocale))) {
+                mValidWords.remove(validWord);
+            }
+        }
+        for (final Map.Entry<String, SuggestionsParams> entry
+                : mUnigramSuggestionsInfoCache.snapshot().entrySet()) {
+            if (isAffectedBy(entry.getKey(), entry.getValue(), lowerCaseWord)) {
+                mUnigramSuggestionsInfoCache.remove(entry.getKey());
+            }
+        }
+    }
+
+    private boolean isAffectedBy(final String key, final SuggestionsParams params,
+            final String lowerCaseWord) {
+        final String lowerCaseQuery = getQueryFromKey(key).toLowerCase(mLocale);
+        if (lowerCaseWord.equals(lowerCaseQuery)) return true;
+        for (final String suggestion : params.mSuggestions) {
+            if (lowerCaseWord.equals(suggestion.toLowerCase(mLocale))) return true;
+        }
+        if (Math.abs(lowerCaseWord.length() - lowerCaseQuery.length())
+                > MAX_EDIT_DISTANCE_TO_CHANGED_WORD) {
+            return false;
+        }
+        return BinaryDictionary.editDistance(lowerCaseQuery, lowerCaseWord)
+                <= MAX_EDIT_DISTANCE_TO_CHANGED_WORD;
+    }
+
+    public void clearCache() {
+        mValidWords.evictAll();
+        mUnigramSuggestionsInfoCache.evictAll();
+    }
+
+    /**
+     * Writes the most recently used valid words to the file, with the signature of the
+     * dictionaries they are valid in.
+     */
+    public void writeValidWords(final File file, final int signature) {
+        final ArrayList<String> validWords =
+                new ArrayList<String>(mValidWords.snapshot().keySet());
+        // The snapshot starts with the least recently used words, which are left out.
+        final int start = Math.max(0, validWords.size() - MAX_PERSISTED_VALID_WORDS_SIZE);
+        final File tempFile = new File(file.getPath() + ".tmp");
+        DataOutputStream out = null;
+        try {
+            out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(tempFile)));
+            out.writeInt(VALID_WORDS_FILE_VERSION);
+            out.writeInt(signature);
+            out.writeInt(validWords.size() - start);
+            for (final String validWord : validWords.subList(start, validWords.size())) {
+                out.writeUTF(validWord);
+            }
+            out.close();
+            out = null;
+            if (!tempFile.renameTo(file)) {
+                Log.w(TAG, "Can't rename " + tempFile + " to " + file);
+                tempFile.delete();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Can't write the valid words to " + file, e);
+            tempFile.delete();
+        } finally {
+            close(out);
+        }
+    }
+
+    /**
+     * Reads the valid words written by {@link #writeValidWords}, unless they were valid in
+     * dictionaries with another signature.
+     */
+    public void readValidWords(final File file, final int signature) {
+        DataInputStream in = null;
+        try {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+            if (in.readInt() != VALID_WORDS_FILE_VERSION || in.readInt() != signature) {
+                Log.i(TAG, "Dropping the outdated valid words in " + file);
+                file.delete();
+                return;
+            }
+            final int count = in.readInt();
+            for (int i = 0; i < count; ++i) {
+                mValidWords.put(in.readUTF(), Boolean.TRUE);
+            }
+        } catch (FileNotFoundException e) {
+            // Nothing has been written yet.
+        } catch (IOException e) {
+            Log.w(TAG, "Can't read the valid words from " + file, e);
+            file.delete();
+        } finally {
+            close(in);
+        }
+    }
+
+    private static void close(final Closeable stream) {
+        try {
+            if (null != stream) {
+                stream.close();
+            }
+        } catch (IOException e) {
+        }
+    }
+}
@@ -47,6 +47,12 @@ static void latinime_releaseDicTraverseSession(JNIEnv *env, jclass clazz, jlong
     DicTraverseWrapper::releaseDicTraverseSession(ts);
 }
 
+static jlong latinime_getDicTraverseSessionMemorySize(JNIEnv *env, jclass clazz,
+        jlong traverseSession) {
+    void *ts = reinterpret_cast<void *>(traverseSession);
+    return static_cast<jlong>(DicTraverseWrapper::getDicTraverseSessionMemorySize(ts));
+}
+
 static JNINativeMethod sMethods[] = {
     {const_cast<char *>("setDicTraverseSessionNative"),
      const_cast<char *>("(Ljava/lang/String;)J"),
@@ -56,7 +62,10 @@ static JNINativeMethod sMethods[] = {
      reinterpret_cast<void *>(latinime_initDicTraverseSession)},
     {const_cast<char *>("releaseDicTraverseSessionNative"),
      const_cast<char *>("(J)V"),
-     reinterpret_cast<void *>(latinime_releaseDicTraverseSession)}
+     reinterpret_cast<void *>(latinime_releaseDicTraverseSession)},
+    {const_cast<char *>("getDicTraverseSessionMemorySizeNative"),
+     const_cast<char *>("(J)J"),
+     reinterpret_cast<void *>(latinime_getDicTraverseSessionMemorySize)}
 };
 
 int register_DicTraverseSession(JNIEnv *env) {
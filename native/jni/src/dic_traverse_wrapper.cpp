@@ -21,6 +21,7 @@
 namespace latinime {
 void *(*DicTraverseWrapper::sDicTraverseSessionFactoryMethod)(JNIEnv *, jstring) = 0;
 void (*DicTraverseWrapper::sDicTraverseSessionReleaseMethod)(void *) = 0;
+size_t (*DicTraverseWrapper::sDicTraverseSessionMemorySizeMethod)(void *) = 0;
 void (*DicTraverseWrapper::sDicTraverseSessionInitMethod)(
         void *, const Dictionary *const, const int *, const int) = 0;
 } // namespace latinime
@@ -17,6 +17,8 @@
 #ifndef LATINIME_DIC_TRAVERSE_WRAPPER_H
 #define LATINIME_DIC_TRAVERSE_WRAPPER_H
 
+#include <cstddef>
+
 #include "defines.h"
 #include "jni.h"
 
@@ -42,6 +44,12 @@ class DicTraverseWrapper {
             sDicTraverseSessionReleaseMethod(traverseSession);
         }
     }
+    static size_t getDicTraverseSessionMemorySize(void *traverseSession) {
+        if (sDicTraverseSessionMemorySizeMethod) {
+            return sDicTraverseSessionMemorySizeMethod(traverseSession);
+        }
+        return 0;
+    }
     static void setTraverseSessionFactoryMethod(void *(*factoryMethod)(JNIEnv *, jstring)) {
         sDicTraverseSessionFactoryMethod = factoryMethod;
     }
@@ -52,6 +60,9 @@ class DicTraverseWrapper {
     static void setTraverseSessionReleaseMethod(void (*releaseMethod)(void *)) {
         sDicTraverseSessionReleaseMethod = releaseMethod;
     }
+    static void setTraverseSessionMemorySizeMethod(size_t (*memorySizeMethod)(void *)) {
+        sDicTraverseSessionMemorySizeMethod = memorySizeMethod;
+    }
 
  private:
     DISALLOW_IMPLICIT_CONSTRUCTORS(DicTraverseWrapper);
@@ -59,6 +70,7 @@ class DicTraverseWrapper {
     static void (*sDicTraverseSessionInitMethod)(
             void *, const Dictionary *const, const int *, const int);
     static void (*sDicTraverseSessionReleaseMethod)(void *);
+    static size_t (*sDicTraverseSessionMemorySizeMethod)(void *);
 };
 } // namespace latinime
 #endif // LATINIME_DIC_TRAVERSE_WRAPPER_H
@@ -56,6 +56,17 @@ class MultiBigramMap {
         mBigramMaps.clear();
     }
 
+    // Returns an estimate of the number of bytes allocated for the cached bigrams.
+    size_t getMemorySize() const {
+        size_t size = 0;
+        for (hash_map_compat<int, BigramMap>::const_iterator it = mBigramMaps.begin();
+                it != mBigramMaps.end(); ++it) {
+            size += sizeof(int) + sizeof(BigramMap) + sizeof(void *)
+                    + it->second.getMemorySize();
+        }
+        return size;
+    }
+
  private:
     DISALLOW_COPY_AND_ASSIGN(MultiBigramMap);
 
@@ -74,6 +85,11 @@ class MultiBigramMap {
                    nextWordPosition, &mBigramMap, unigramProbability);
         }
 
+        // Each entry holds a key, a value and a pointer to the next entry, and has a bucket.
+        size_t getMemorySize() const {
+            return mBigramMap.size() * (sizeof(int) * 2 + sizeof(void *) * 2);
+        }
+
      private:
         // Note: Default copy constructor needed for use in hash_map.
         hash_map_compat<int, int> mBigramMap;
@@ -50,6 +50,13 @@ class DicNodePriorityQueue : public DicNodeReleaseListener {
         return mMaxSize;
     }
 
+    // Returns the number of bytes allocated for the nodes of this queue.
+    size_t getMemorySize() const {
+        return mDicNodesBuf.capacity() * sizeof(DicNode)
+                + mUnusedNodeIndices.capacity() * sizeof(int)
+                + mDicNodesQueue.size() * sizeof(DicNode *);
+    }
+
     AK_FORCE_INLINE void setMaxSize(const int maxSize) {
         mMaxSize = min(maxSize, MAX_CAPACITY);
     }
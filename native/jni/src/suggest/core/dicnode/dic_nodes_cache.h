@@ -75,6 +75,15 @@ class DicNodesCache {
 
     DicNode *setCommitPoint(int commitPoint);
 
+    // Returns the number of bytes allocated for the nodes of all the queues.
+    size_t getMemorySize() const {
+        size_t size = 0;
+        for (int i = 0; i < PRIORITY_QUEUES_SIZE; ++i) {
+            size += mDicNodePriorityQueues[i].getMemorySize();
+        }
+        return size;
+    }
+
     int activeSize() const { return mActiveDicNodes->getSize(); }
     int terminalSize() const { return mTerminalDicNodes->getSize(); }
     bool isLookAheadCorrectionInputIndex(const int inputIndex) const {
@@ -46,6 +46,13 @@ static void releaseSessionInstance(void *traverseSession) {
     delete static_cast<DicTraverseSession *>(traverseSession);
 }
 
+static size_t getSessionInstanceMemorySize(void *traverseSession) {
+    if (traverseSession) {
+        return static_cast<DicTraverseSession *>(traverseSession)->getMemorySize();
+    }
+    return 0;
+}
+
 // An ad-hoc internal class to register the factory method defined above
 class TraverseSessionFactoryRegisterer {
  public:
@@ -53,6 +60,7 @@ class TraverseSessionFactoryRegisterer {
         DicTraverseWrapper::setTraverseSessionFactoryMethod(getSessionInstance);
         DicTraverseWrapper::setTraverseSessionInitMethod(initSessionInstance);
         DicTraverseWrapper::setTraverseSessionReleaseMethod(releaseSessionInstance);
+        DicTraverseWrapper::setTraverseSessionMemorySizeMethod(getSessionInstanceMemorySize);
     }
  private:
     DISALLOW_COPY_AND_ASSIGN(TraverseSessionFactoryRegisterer);
@@ -61,6 +69,12 @@ class TraverseSessionFactoryRegisterer {
 // To invoke the TraverseSessionFactoryRegisterer constructor in the global constructor.
 static TraverseSessionFactoryRegisterer traverseSessionFactoryRegisterer;
 
+size_t DicTraverseSession::getMemorySize() const {
+    // The proximity info states are part of the session object; their vectors are not counted.
+    return sizeof(DicTraverseSession) + mDicNodesCache.getMemorySize()
+            + mMultiBigramMap.getMemorySize();
+}
+
 void DicTraverseSession::init(const Dictionary *const dictionary, const int *prevWord,
         int prevWordLength) {
     mDictionary = dictionary;
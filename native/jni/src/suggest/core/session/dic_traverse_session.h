@@ -52,6 +52,8 @@ class DicTraverseSession {
             const int *const times, const int *const pointerIds, const float maxSpatialDistance,
             const int maxPointerCount);
     void resetCache(const int nextActiveCacheSize, const int maxWords);
+    // Returns an estimate of the number of bytes of native memory this session holds.
+    size_t getMemorySize() const;
 
     // TODO: Remove
     const uint8_t *getOffsetDict() const;
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.keyboard;
+
+import android.test.suitebuilder.annotation.LargeTest;
+import android.util.Log;
+
+import com.android.inputmethod.latin.InputPointers;
+import com.android.inputmethod.latin.InputTestsBase;
+
+@LargeTest
+public class KeyDetectorTests extends InputTestsBase {
+    private static final String TAG = KeyDetectorTests.class.getSimpleName();
+
+    private static final String[] GESTURE_WORDS = {
+        "the", "quick", "brown", "fox", "jumps", "over", "lazy", "dog", "keyboard", "gesture",
+        "typing", "android", "hello", "world", "suggestions", "dictionary",
+    };
+    // The number of touch events between two consecutive letters of a gesture.
+    private static final int POINTS_PER_STROKE = 24;
+    private static final int REPLAY_COUNT = 50;
+
+    // How KeyDetector used to find the hit key: among all the nearest keys of the point.
+    private static Key detectHitKeyByScanningNearestKeys(final Keyboard keyboard, final int x,
+            final int y) {
+        int minDistance = Integer.MAX_VALUE;
+        Key primaryKey = null;
+        for (final Key key: keyboard.getNearestKeys(x, y)) {
+            if (!key.isOnKey(x, y)) {
+                continue;
+            }
+            final int distance = key.squaredDistanceToEdge(x, y);
+            if (distance > minDistance) {
+                continue;
+            }
+            if (primaryKey == null || distance < minDistance || key.mCode > primaryKey.mCode) {
+                minDistance = distance;
+                primaryKey = key;
+            }
+        }
+        return primaryKey;
+    }
+
+    private Key findKey(final int code) {
+        for (final Key key : mKeyboard.mKeys) {
+            if (key.mCode == code) return key;
+        }
+        return null;
+    }
+
+    // A gesture trace going through the centers of the keys of the word, with a little wobble.
+    private InputPointers makeGestureTrace(final String word) {
+        final InputPointers trace = new InputPointers(word.length() * POINTS_PER_STROKE);
+        int time = 0;
+        for (int i = 1; i < word.length(); ++i) {
+            final Key from = findKey(word.charAt(i - 1));
+            final Key to = findKey(word.charAt(i));
+            if (from == null || to == null) continue;
+            final int fromX = from.mX + from.mWidth / 2;
+            final int fromY = from.mY + from.mHeight / 2;
+            final int toX = to.mX + to.mWidth / 2;
+            final int toY = to.mY + to.mHeight / 2;
+            for (int j = 0; j < POINTS_PER_STROKE; ++j) {
+                final int wobble = ((j * 7) % 5 - 2) * from.mHeight / 8;
+                trace.addPointer(trace.getPointerSize(),
+                        fromX + (toX - fromX) * j / POINTS_PER_STROKE,
+                        fromY + (toY - fromY) * j / POINTS_PER_STROKE + wobble, 0, time);
+                time += 10;
+            }
+        }
+        return trace;
+    }
+
+    public void testDetectHitKeyMatchesNearestKeysScan() {
+        final KeyDetector keyDetector = new KeyDetector(0);
+        keyDetector.setKeyboard(mKeyboard, 0, 0);
+        final int margin = mKeyboard.mMostCommonKeyHeight;
+        for (int y = -margin; y < mKeyboard.mOccupiedHeight + margin; ++y) {
+            for (int x = -margin; x < mKeyboard.mOccupiedWidth + margin; ++x) {
+                assertSame("key at " + x + "," + y,
+                        detectHitKeyByScanningNearestKeys(mKeyboard, x, y),
+                        keyDetector.detectHitKey(x, y));
+            }
+        }
+    }
+
+    public void testReplayGestureTraces() {
+        final KeyDetector keyDetector = new KeyDetector(0);
+        keyDetector.setKeyboard(mKeyboard, 0, 0);
+        final InputPointers[] traces = new InputPointers[GESTURE_WORDS.length];
+        int pointCount = 0;
+        for (int i = 0; i < GESTURE_WORDS.length; ++i) {
+            traces[i] = makeGestureTrace(GESTURE_WORDS[i]);
+            pointCount += traces[i].getPointerSize();
+        }
+
+        long scanTime = 0;
+        long detectorTime = 0;
+        for (int replay = 0; replay < REPLAY_COUNT; ++replay) {
+            for (final InputPointers trace : traces) {
+                final int[] xs = trace.getXCoordinates();
+                final int[] ys = trace.getYCoordinates();
+                final int size = trace.getPointerSize();
+                long now = System.nanoTime();
+                for (int i = 0; i < size; ++i) {
+                    detectHitKeyByScanningNearestKeys(mKeyboard, xs[i], ys[i]);
+                }
+                scanTime += System.nanoTime() - now;
+                now = System.nanoTime();
+                for (int i = 0; i < size; ++i) {
+                    keyDetector.detectHitKey(xs[i], ys[i]);
+                }
+                detectorTime += System.nanoTime() - now;
+                for (int i = 0; i < size; ++i) {
+                    assertSame(detectHitKeyByScanningNearestKeys(mKeyboard, xs[i], ys[i]),
+                            keyDetector.detectHitKey(xs[i], ys[i]));
+                }
+            }
+        }
+        final int eventCount = pointCount * REPLAY_COUNT;
+        Log.d(TAG, "PROF: " + eventCount + " touch events: nearest keys scan "
+                + (scanTime / eventCount) + "ns/event, hit table "
+                + (detectorTime / eventCount) + "ns/event");
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.keyboard;
+
+import android.content.res.Configuration;
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.LargeTest;
+import android.util.Log;
+import android.view.inputmethod.InputMethodSubtype;
+
+import com.android.inputmethod.latin.AdditionalSubtype;
+import com.android.inputmethod.latin.SubtypeLocale;
+
+import java.util.Arrays;
+
+@LargeTest
+public class KeyboardLayoutTableTests extends AndroidTestCase {
+    private static final String TAG = KeyboardLayoutTableTests.class.getSimpleName();
+
+    private static final String[][] LOCALES_AND_LAYOUTS = {
+        { "en_US", "qwerty" },
+        { "fr", "azerty" },
+        { "de", "qwertz" },
+        { "ru", "east_slavic" },
+        { "el", "greek" },
+    };
+    private static final int[] ELEMENT_IDS = {
+        KeyboardId.ELEMENT_ALPHABET,
+        KeyboardId.ELEMENT_ALPHABET_AUTOMATIC_SHIFTED,
+        KeyboardId.ELEMENT_SYMBOLS,
+        KeyboardId.ELEMENT_SYMBOLS_SHIFTED,
+    };
+    private static final int LOAD_COUNT = 5;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        SubtypeLocale.init(getContext());
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        KeyboardLayoutSet.setLayoutTablesEnabled(true);
+        KeyboardLayoutSet.clearKeyboardCache();
+        super.tearDown();
+    }
+
+    // Loads a keyboard the way a new process does: without any keyboard built yet.
+    private Keyboard loadColdKeyboard(final InputMethodSubtype subtype, final int elementId) {
+        KeyboardLayoutSet.clearKeyboardCache();
+        final KeyboardLayoutSet layoutSet = KeyboardLayoutSet.createKeyboardSetForTest(
+                getContext(), subtype, Configuration.ORIENTATION_PORTRAIT,
+                false /* testCasesHaveTouchCoordinates */);
+        return layoutSet.getKeyboard(elementId);
+    }
+
+    private static void assertSameKeyboard(final Keyboard expected, final Keyboard actual) {
+        final String id = expected.mId.toString();
+        assertEquals(id, expected.mOccupiedWidth, actual.mOccupiedWidth);
+        assertEquals(id, expected.mOccupiedHeight, actual.mOccupiedHeight);
+        assertEquals(id, expected.mMostCommonKeyWidth, actual.mMostCommonKeyWidth);
+        assertEquals(id, expected.mMostCommonKeyHeight, actual.mMostCommonKeyHeight);
+        assertEquals(id, expected.mShiftKeys.length, actual.mShiftKeys.length);
+        assertEquals(id, expected.mAltCodeKeysWhileTyping.length,
+                actual.mAltCodeKeysWhileTyping.length);
+        assertEquals(id, expected.mKeys.length, actual.mKeys.length);
+        for (int i = 0; i < expected.mKeys.length; ++i) {
+            final Key expectedKey = expected.mKeys[i];
+            final Key actualKey = actual.mKeys[i];
+            final String key = id + " " + expectedKey;
+            assertEquals(key, expectedKey, actualKey);
+            assertEquals(key, expectedKey.isSpacer(), actualKey.isSpacer());
+            assertEquals(key, expectedKey.mHitBox, actualKey.mHitBox);
+            assertTrue(key, Arrays.equals(expectedKey.mMoreKeys, actualKey.mMoreKeys));
+            assertEquals(key, expectedKey.getMoreKeysColumn(), actualKey.getMoreKeysColumn());
+            assertEquals(key, expectedKey.getAltCode(), actualKey.getAltCode());
+            assertEquals(key, expectedKey.getDrawX(), actualKey.getDrawX());
+            assertEquals(key, expectedKey.getDrawWidth(), actualKey.getDrawWidth());
+            assertEquals(key, expectedKey.mKeyVisualAttributes == null,
+                    actualKey.mKeyVisualAttributes == null);
+        }
+    }
+
+    public void testCompiledKeyboardsMatchParsedOnes() {
+        for (final String[] localeAndLayout : LOCALES_AND_LAYOUTS) {
+            final InputMethodSubtype subtype = AdditionalSubtype.createAdditionalSubtype(
+                    localeAndLayout[0], localeAndLayout[1], null);
+            for (final int elementId : ELEMENT_IDS) {
+                KeyboardLayoutSet.setLayoutTablesEnabled(false);
+                final Keyboard parsed = loadColdKeyboard(subtype, elementId);
+                KeyboardLayoutSet.setLayoutTablesEnabled(true);
+                // Makes sure the table is written.
+                loadColdKeyboard(subtype, elementId);
+                final int loadCount = KeyboardLayoutSet.getLayoutTableLoadCount();
+                final Keyboard compiled = loadColdKeyboard(subtype, elementId);
+                assertEquals(parsed.mId.toString(), loadCount + 1,
+                        KeyboardLayoutSet.getLayoutTableLoadCount());
+                assertSameKeyboard(parsed, compiled);
+            }
+        }
+    }
+
+    public void testColdLoadLatency() {
+        final InputMethodSubtype[] subtypes = new InputMethodSubtype[LOCALES_AND_LAYOUTS.length];
+        for (int i = 0; i < subtypes.length; ++i) {
+            subtypes[i] = AdditionalSubtype.createAdditionalSubtype(
+                    LOCALES_AND_LAYOUTS[i][0], LOCALES_AND_LAYOUTS[i][1], null);
+            // Makes sure the tables are written.
+            for (final int elementId : ELEMENT_IDS) {
+                loadColdKeyboard(subtypes[i], elementId);
+            }
+        }
+
+        long parseTime = 0;
+        long tableTime = 0;
+        for (int i = 0; i < LOAD_COUNT; ++i) {
+            for (final InputMethodSubtype subtype : subtypes) {
+                for (final int elementId : ELEMENT_IDS) {
+                    KeyboardLayoutSet.setLayoutTablesEnabled(false);
+                    long now = System.nanoTime();
+                    loadColdKeyboard(subtype, elementId);
+                    parseTime += System.nanoTime() - now;
+                    KeyboardLayoutSet.setLayoutTablesEnabled(true);
+                    now = System.nanoTime();
+                    loadColdKeyboard(subtype, elementId);
+                    tableTime += System.nanoTime() - now;
+                }
+            }
+        }
+        final int keyboardCount = LOAD_COUNT * subtypes.length * ELEMENT_IDS.length;
+        Log.d(TAG, "PROF: " + keyboardCount + " cold keyboard loads: XML "
+                + (parseTime / keyboardCount / 1000) + "us/keyboard, table "
+                + (tableTime / keyboardCount / 1000) + "us/keyboard");
+    }
+}
@@ -50,7 +50,7 @@ public class KeySpecParserTests extends AndroidTestCase {
 
         final String language = Locale.ENGLISH.getLanguage();
         mCodesSet.setLanguage(language);
-        mTextsSet.setLanguage(language);
+        mTextsSet.setLanguage(language, getContext().getResources());
         mTextsSet.loadStringResources(getContext());
 
         mCodeSettings = KeySpecParser.parseCode(
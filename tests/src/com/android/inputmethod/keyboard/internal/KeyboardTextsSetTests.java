@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.keyboard.internal;
+
+import android.content.res.Resources;
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.util.Log;
+
+@SmallTest
+public class KeyboardTextsSetTests extends AndroidTestCase {
+    private static final String TAG = KeyboardTextsSetTests.class.getSimpleName();
+
+    private static final String[] LANGUAGES = {
+        "ar", "cs", "da", "de", "el", "en", "es", "fr", "hi", "it", "ru", "sv", "th", "uk",
+    };
+
+    private KeyboardTextsSet newTextsSet(final String language) {
+        final KeyboardTextsSet textsSet = new KeyboardTextsSet();
+        textsSet.setLanguage(language, getContext().getResources());
+        return textsSet;
+    }
+
+    public void testLanguageTexts() {
+        final KeyboardTextsSet de = newTextsSet("de");
+        assertEquals("ä,â,à,á,æ,ã,å,ā", de.getText("more_keys_for_a"));
+        assertEquals("ß,ś,š", de.getText("more_keys_for_s"));
+        final KeyboardTextsSet ru = newTextsSet("ru");
+        assertEquals("АБВ", ru.getText("label_to_alpha_key"));
+    }
+
+    public void testDefaultTexts() {
+        // German has no text of its own for these.
+        final KeyboardTextsSet de = newTextsSet("de");
+        assertEquals("ABC", de.getText("label_to_alpha_key"));
+        assertEquals("$", de.getText("keylabel_for_currency_generic"));
+        // A language without texts has the default ones.
+        final KeyboardTextsSet unknown = newTextsSet("xx");
+        assertEquals("", unknown.getText("more_keys_for_a"));
+        assertEquals("ABC", unknown.getText("label_to_alpha_key"));
+    }
+
+    public void testLoadLanguages() {
+        final Resources res = getContext().getResources();
+        long loadTime = 0;
+        for (final String language : LANGUAGES) {
+            final KeyboardTextsSet textsSet = new KeyboardTextsSet();
+            final long now = System.nanoTime();
+            textsSet.setLanguage(language, res);
+            loadTime += System.nanoTime() - now;
+            assertNotNull(language, textsSet.getText("more_keys_for_a"));
+        }
+        Log.d(TAG, "PROF: " + LANGUAGES.length + " languages: "
+                + (loadTime / LANGUAGES.length / 1000) + "us/language");
+    }
+}
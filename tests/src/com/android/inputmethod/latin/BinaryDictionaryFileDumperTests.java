@@ -0,0 +1,88 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+@SmallTest
+public class BinaryDictionaryFileDumperTests extends AndroidTestCase {
+    private static final byte[] MAGIC_NUMBER_VERSION_2 =
+            new byte[] { (byte)0x9B, (byte)0xC1, (byte)0x3A, (byte)0xFE };
+    private static final int WORD_LIST_SIZE = 100000;
+
+    private static byte[] newWordList() {
+        final byte[] wordList = new byte[WORD_LIST_SIZE];
+        new Random(1).nextBytes(wordList);
+        System.arraycopy(MAGIC_NUMBER_VERSION_2, 0, wordList, 0, MAGIC_NUMBER_VERSION_2.length);
+        return wordList;
+    }
+
+    private static byte[] compress(final byte[] data) throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final GZIPOutputStream gzipOut = new GZIPOutputStream(out);
+        gzipOut.write(data);
+        gzipOut.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] decode(final byte[] data) throws IOException {
+        final InputStream in =
+                BinaryDictionaryFileDumper.getDecodedStream(new ByteArrayInputStream(data));
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[4096];
+        for (int readBytes = in.read(buffer); readBytes >= 0; readBytes = in.read(buffer)) {
+            out.write(buffer, 0, readBytes);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    public void testUncompressed() throws IOException {
+        final byte[] wordList = newWordList();
+        assertTrue(Arrays.equals(wordList, decode(wordList)));
+    }
+
+    public void testCompressed() throws IOException {
+        final byte[] wordList = newWordList();
+        assertTrue("once", Arrays.equals(wordList, decode(compress(wordList))));
+        assertTrue("twice", Arrays.equals(wordList, decode(compress(compress(wordList)))));
+    }
+
+    public void testNotAWordList() {
+        try {
+            decode(new byte[] { 1, 2, 3, 4, 5, 6, 7, 8 });
+            fail("wrong magic number");
+        } catch (IOException e) {
+            // Expected.
+        }
+        try {
+            decode(new byte[] { (byte)0x9B, (byte)0xC1 });
+            fail("truncated magic number");
+        } catch (IOException e) {
+            // Expected.
+        }
+    }
+}
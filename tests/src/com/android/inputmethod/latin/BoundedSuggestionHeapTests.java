@@ -0,0 +1,160 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.os.Debug;
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.util.Log;
+
+import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Random;
+
+@SmallTest
+public class BoundedSuggestionHeapTests extends AndroidTestCase {
+    private static final String TAG = BoundedSuggestionHeapTests.class.getSimpleName();
+    private static final int CAPACITY = Suggest.MAX_SUGGESTIONS;
+
+    // The same order as the one Suggest uses.
+    private static final Comparator<SuggestedWordInfo> COMPARATOR =
+            new Comparator<SuggestedWordInfo>() {
+                @Override
+                public int compare(final SuggestedWordInfo o1, final SuggestedWordInfo o2) {
+                    if (o1.mScore > o2.mScore) return -1;
+                    if (o1.mScore < o2.mScore) return 1;
+                    if (o1.mCodePointCount < o2.mCodePointCount) return -1;
+                    if (o1.mCodePointCount > o2.mCodePointCount) return 1;
+                    return o1.mWord.compareTo(o2.mWord);
+                }
+            };
+
+    private static SuggestedWordInfo makeInfo(final String word, final int score) {
+        return new SuggestedWordInfo(word, score, SuggestedWordInfo.KIND_CORRECTION,
+                Dictionary.TYPE_MAIN);
+    }
+
+    private static ArrayList<String> toWords(final ArrayList<SuggestedWordInfo> infos) {
+        final ArrayList<String> words = CollectionUtils.newArrayList();
+        for (final SuggestedWordInfo info : infos) {
+            words.add(info.mWord + ":" + info.mScore);
+        }
+        return words;
+    }
+
+    // The best of the suggestions, keeping the best one of each word.
+    private static ArrayList<SuggestedWordInfo> getExpected(
+            final ArrayList<SuggestedWordInfo> infos) {
+        final HashMap<String, SuggestedWordInfo> bestByWord = CollectionUtils.newHashMap();
+        for (final SuggestedWordInfo info : infos) {
+            final SuggestedWordInfo best = bestByWord.get(info.mWord);
+            if (null == best || COMPARATOR.compare(info, best) < 0) {
+                bestByWord.put(info.mWord, info);
+            }
+        }
+        final ArrayList<SuggestedWordInfo> expected =
+                CollectionUtils.newArrayList(bestByWord.values());
+        Collections.sort(expected, COMPARATOR);
+        while (expected.size() > CAPACITY) {
+            expected.remove(expected.size() - 1);
+        }
+        return expected;
+    }
+
+    // Random suggestions from a small vocabulary, so that words come up several times.
+    private static ArrayList<SuggestedWordInfo> makeSuggestions(final Random random,
+            final int count) {
+        final ArrayList<SuggestedWordInfo> infos = CollectionUtils.newArrayList(count);
+        for (int i = 0; i < count; ++i) {
+            final int length = 1 + random.nextInt(4);
+            final StringBuilder sb = new StringBuilder(length);
+            for (int j = 0; j < length; ++j) {
+                sb.append((char)('a' + random.nextInt(4)));
+            }
+            infos.add(makeInfo(sb.toString(), random.nextInt(20)));
+        }
+        return infos;
+    }
+
+    public void testEmpty() {
+        final BoundedSuggestionHeap heap = new BoundedSuggestionHeap(COMPARATOR, CAPACITY);
+        heap.addAll(null);
+        assertTrue(heap.isEmpty());
+        assertNull(heap.first());
+        assertTrue(heap.toSortedList().isEmpty());
+    }
+
+    public void testDuplicateKeepsBetterSuggestion() {
+        final BoundedSuggestionHeap heap = new BoundedSuggestionHeap(COMPARATOR, 2);
+        heap.add(makeInfo("this", 10));
+        heap.add(makeInfo("is", 20));
+        heap.add(makeInfo("this", 30));
+        heap.add(makeInfo("is", 5));
+        heap.add(makeInfo("a", 1));
+        final ArrayList<SuggestedWordInfo> sorted = heap.toSortedList();
+        assertEquals(2, sorted.size());
+        assertEquals("this:30", toWords(sorted).get(0));
+        assertEquals("is:20", toWords(sorted).get(1));
+        assertEquals("this", heap.first().mWord);
+    }
+
+    public void testKeepsBestSuggestions() {
+        final Random random = new Random(123456);
+        for (int i = 0; i < 1000; ++i) {
+            final ArrayList<SuggestedWordInfo> infos = makeSuggestions(random, random.nextInt(60));
+            final BoundedSuggestionHeap heap = new BoundedSuggestionHeap(COMPARATOR, CAPACITY);
+            heap.addAll(infos);
+            final ArrayList<SuggestedWordInfo> expected = getExpected(infos);
+            assertEquals(toWords(expected), toWords(heap.toSortedList()));
+            assertEquals(expected.size(), heap.size());
+            if (!expected.isEmpty()) {
+                assertSame(expected.get(0), heap.first());
+            }
+        }
+    }
+
+    public void testAddingDoesNotAllocate() {
+        final Random random = new Random(654321);
+        // The suggestions of several dictionaries for each keystroke of a typing session.
+        final int keystrokeCount = 200;
+        final ArrayList<ArrayList<SuggestedWordInfo>> session = CollectionUtils.newArrayList();
+        for (int i = 0; i < keystrokeCount * 3; ++i) {
+            session.add(makeSuggestions(random, CAPACITY));
+        }
+        final BoundedSuggestionHeap heap = new BoundedSuggestionHeap(COMPARATOR, CAPACITY);
+
+        Debug.startAllocCounting();
+        final int allocCountBefore = Debug.getThreadAllocCount();
+        final long now = System.nanoTime();
+        for (int i = 0; i < keystrokeCount; ++i) {
+            heap.clear();
+            for (int j = 0; j < 3; ++j) {
+                heap.addAll(session.get(i * 3 + j));
+            }
+        }
+        final long elapsed = System.nanoTime() - now;
+        final int allocCount = Debug.getThreadAllocCount() - allocCountBefore;
+        Debug.stopAllocCounting();
+        Log.d(TAG, "PROF: " + keystrokeCount + " keystrokes in " + (elapsed / 1000) + "us, "
+                + allocCount + " allocations");
+        assertEquals("allocations while adding suggestions", 0, allocCount);
+    }
+}
@@ -0,0 +1,278 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.android.inputmethod.keyboard.ProximityInfo;
+import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@SmallTest
+public class DictionaryScatterGatherTests extends AndroidTestCase {
+    private static final long BUDGET_MILLIS = 100;
+
+    // A dictionary suggesting its own type, after waiting for a latch if it has one.
+    private static final class FakeDictionary extends Dictionary {
+        private final CountDownLatch mLatch;
+        public volatile int mQueryCount = 0;
+        public volatile int mCloseCount = 0;
+
+        public FakeDictionary(final String dictType, final CountDownLatch latch) {
+            super(dictType);
+            mLatch = latch;
+        }
+
+        @Override
+        public ArrayList<SuggestedWordInfo> getSuggestions(final WordComposer composer,
+                final String prevWord, final ProximityInfo proximityInfo,
+                final boolean blockOffensiveWords) {
+            ++mQueryCount;
+            if (null != mLatch) {
+                try {
+                    mLatch.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    return null;
+                }
+            }
+            final ArrayList<SuggestedWordInfo> suggestions = CollectionUtils.newArrayList();
+            suggestions.add(new SuggestedWordInfo(mDictType, 1,
+                    SuggestedWordInfo.KIND_CORRECTION, mDictType));
+            return suggestions;
+        }
+
+        @Override
+        public boolean isValidWord(final String word) {
+            return false;
+        }
+
+        @Override
+        public void close() {
+            ++mCloseCount;
+        }
+    }
+
+    private static final DictionaryScatterGather.Query QUERY =
+            new DictionaryScatterGather.Query() {
+                @Override
+                public ArrayList<SuggestedWordInfo> run(final Dictionary dictionary) {
+                    return dictionary.getSuggestions(null, null, null, false);
+                }
+            };
+
+    private static void waitUntilIdle(final DictionaryScatterGather scatterGather,
+            final Dictionary dictionary) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 1000;
+        while (scatterGather.isBusy(dictionary) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertFalse("still busy", scatterGather.isBusy(dictionary));
+    }
+
+    private static ArrayList<String> gather(final DictionaryScatterGather scatterGather,
+            final LinkedHashMap<String, Dictionary> dictionaries) {
+        final ArrayList<String> words = CollectionUtils.newArrayList();
+        scatterGather.gather(dictionaries, QUERY, BUDGET_MILLIS,
+                new DictionaryScatterGather.OnGatherListener() {
+                    @Override
+                    public void onSuggestions(final String dictType, final Dictionary dictionary,
+                            final ArrayList<SuggestedWordInfo> suggestions) {
+                        for (final SuggestedWordInfo info : suggestions) words.add(info.mWord);
+                    }
+
+                    @Override
+                    public void onDeadlineMissed(final String dictType,
+                            final Dictionary dictionary) {
+                        words.add("missed " + dictType);
+                    }
+                });
+        return words;
+    }
+
+    public void testGatherInDictionaryOrder() {
+        final DictionaryScatterGather scatterGather = new DictionaryScatterGather(3);
+        final LinkedHashMap<String, Dictionary> dictionaries =
+                new LinkedHashMap<String, Dictionary>();
+        dictionaries.put(Dictionary.TYPE_MAIN, new FakeDictionary(Dictionary.TYPE_MAIN, null));
+        dictionaries.put(Dictionary.TYPE_USER, new FakeDictionary(Dictionary.TYPE_USER, null));
+        dictionaries.put(Dictionary.TYPE_CONTACTS,
+                new FakeDictionary(Dictionary.TYPE_CONTACTS, null));
+        for (int i = 0; i < 10; ++i) {
+            final ArrayList<String> words = gather(scatterGather, dictionaries);
+            assertEquals(3, words.size());
+            assertEquals(Dictionary.TYPE_MAIN, words.get(0));
+            assertEquals(Dictionary.TYPE_USER, words.get(1));
+            assertEquals(Dictionary.TYPE_CONTACTS, words.get(2));
+        }
+        assertEquals(10, scatterGather.getQueryCount(Dictionary.TYPE_USER));
+        assertEquals(0, scatterGather.getDeadlineMissCount(Dictionary.TYPE_USER));
+        scatterGather.shutdown();
+    }
+
+    public void testLateDictionaryIsDroppedAndSkippedUntilDone() throws InterruptedException {
+        final DictionaryScatterGather scatterGather = new DictionaryScatterGather(2);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final FakeDictionary slowDictionary = new FakeDictionary(Dictionary.TYPE_CONTACTS, latch);
+        final LinkedHashMap<String, Dictionary> dictionaries =
+                new LinkedHashMap<String, Dictionary>();
+        dictionaries.put(Dictionary.TYPE_MAIN, new FakeDictionary(Dictionary.TYPE_MAIN, null));
+        dictionaries.put(Dictionary.TYPE_CONTACTS, slowDictionary);
+
+        final long startTime = System.currentTimeMillis();
+        ArrayList<String> words = gather(scatterGather, dictionaries);
+        final long elapsed = System.currentTimeMillis() - startTime;
+        assertTrue("waited " + elapsed + "ms", elapsed < BUDGET_MILLIS * 5);
+        assertEquals(2, words.size());
+        assertEquals(Dictionary.TYPE_MAIN, words.get(0));
+        assertEquals("missed " + Dictionary.TYPE_CONTACTS, words.get(1));
+        assertEquals(1, scatterGather.getDeadlineMissCount(Dictionary.TYPE_CONTACTS));
+
+        // The slow dictionary is still busy: it is not queried again.
+        words = gather(scatterGather, dictionaries);
+        assertEquals(2, words.size());
+        assertEquals("missed " + Dictionary.TYPE_CONTACTS, words.get(1));
+        assertEquals(1, slowDictionary.mQueryCount);
+        assertEquals(2, scatterGather.getDeadlineMissCount(Dictionary.TYPE_CONTACTS));
+        assertEquals(0, scatterGather.getDeadlineMissCount(Dictionary.TYPE_MAIN));
+
+        // Once it finishes, it is queried again.
+        latch.countDown();
+        waitUntilIdle(scatterGather, slowDictionary);
+        words = gather(scatterGather, dictionaries);
+        assertEquals(2, words.size());
+        assertEquals(Dictionary.TYPE_CONTACTS, words.get(1));
+        assertEquals(2, slowDictionary.mQueryCount);
+        assertEquals(3, scatterGather.getQueryCount(Dictionary.TYPE_CONTACTS));
+        scatterGather.shutdown();
+    }
+
+    public void testBudgetPerDictionaryType() throws InterruptedException {
+        final DictionaryScatterGather scatterGather = new DictionaryScatterGather(2);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final LinkedHashMap<String, Dictionary> dictionaries =
+                new LinkedHashMap<String, Dictionary>();
+        dictionaries.put(Dictionary.TYPE_MAIN, new FakeDictionary(Dictionary.TYPE_MAIN, latch));
+        scatterGather.setBudget(Dictionary.TYPE_MAIN, BUDGET_MILLIS * 20);
+
+        // Release the dictionary after the default budget, but well within its own.
+        new Thread() {
+            @Override
+            public void run() {
+                try {
+                    Thread.sleep(BUDGET_MILLIS * 2);
+                } catch (InterruptedException e) {
+                    // Release it right away.
+                }
+                latch.countDown();
+            }
+        }.start();
+        final ArrayList<String> words = gather(scatterGather, dictionaries);
+        assertEquals(1, words.size());
+        assertEquals(0, scatterGather.getDeadlineMissCount(Dictionary.TYPE_MAIN));
+        scatterGather.shutdown();
+    }
+
+    public void testQueuedQueryIsAbandoned() throws InterruptedException {
+        // With one thread, the second dictionary can't start before the first one is done.
+        final DictionaryScatterGather scatterGather = new DictionaryScatterGather(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final FakeDictionary slowDictionary = new FakeDictionary(Dictionary.TYPE_MAIN, latch);
+        final FakeDictionary queuedDictionary = new FakeDictionary(Dictionary.TYPE_USER, null);
+        final LinkedHashMap<String, Dictionary> dictionaries =
+                new LinkedHashMap<String, Dictionary>();
+        dictionaries.put(Dictionary.TYPE_MAIN, slowDictionary);
+        dictionaries.put(Dictionary.TYPE_USER, queuedDictionary);
+
+        final ArrayList<String> words = gather(scatterGather, dictionaries);
+        assertEquals(2, words.size());
+        assertEquals("missed " + Dictionary.TYPE_MAIN, words.get(0));
+        assertEquals("missed " + Dictionary.TYPE_USER, words.get(1));
+        latch.countDown();
+        waitUntilIdle(scatterGather, slowDictionary);
+        // The queued query was abandoned, and the dictionary is free for the next keystroke.
+        waitUntilIdle(scatterGather, queuedDictionary);
+        scatterGather.shutdown();
+        assertEquals(0, queuedDictionary.mQueryCount);
+        assertEquals(1, scatterGather.getDeadlineMissCount(Dictionary.TYPE_USER));
+    }
+
+    public void testRetireIdleDictionary() {
+        final DictionaryScatterGather scatterGather = new DictionaryScatterGather(1);
+        final FakeDictionary dictionary = new FakeDictionary(Dictionary.TYPE_USER, null);
+        final LinkedHashMap<String, Dictionary> dictionaries =
+                new LinkedHashMap<String, Dictionary>();
+        dictionaries.put(Dictionary.TYPE_USER, dictionary);
+        gather(scatterGather, dictionaries);
+        scatterGather.retireDictionary(dictionary);
+        assertEquals("closed right away", 1, dictionary.mCloseCount);
+        scatterGather.retireDictionary(dictionary);
+        assertEquals("closed once", 1, dictionary.mCloseCount);
+        scatterGather.shutdown();
+    }
+
+    public void testRetireBusyDictionary() throws InterruptedException {
+        final DictionaryScatterGather scatterGather = new DictionaryScatterGather(1);
+        final CountDownLatch latch = new CountDownLatch(1);
+        final FakeDictionary slowDictionary = new FakeDictionary(Dictionary.TYPE_MAIN, latch);
+        final LinkedHashMap<String, Dictionary> dictionaries =
+                new LinkedHashMap<String, Dictionary>();
+        dictionaries.put(Dictionary.TYPE_MAIN, slowDictionary);
+
+        ArrayList<String> words = gather(scatterGather, dictionaries);
+        assertEquals("missed " + Dictionary.TYPE_MAIN, words.get(0));
+        scatterGather.retireDictionary(slowDictionary);
+        assertEquals("not closed under its query", 0, slowDictionary.mCloseCount);
+        latch.countDown();
+        waitUntilIdle(scatterGather, slowDictionary);
+        assertEquals("closed after its query", 1, slowDictionary.mCloseCount);
+
+        // A retired dictionary is not queried again.
+        words = gather(scatterGather, dictionaries);
+        assertEquals("missed " + Dictionary.TYPE_MAIN, words.get(0));
+        assertEquals(1, slowDictionary.mQueryCount);
+        scatterGather.shutdown();
+    }
+
+    public void testExpandableDictionaryIsQueriedOnCallingThread() {
+        final DictionaryScatterGather scatterGather = new DictionaryScatterGather(1);
+        final Thread callingThread = Thread.currentThread();
+        final ArrayList<Thread> queryThreads = CollectionUtils.newArrayList();
+        final ExpandableDictionary dictionary =
+                new ExpandableDictionary(getContext(), Dictionary.TYPE_USER_HISTORY) {
+                    @Override
+                    public ArrayList<SuggestedWordInfo> getSuggestions(
+                            final WordComposer composer, final String prevWord,
+                            final ProximityInfo proximityInfo,
+                            final boolean blockOffensiveWords) {
+                        queryThreads.add(Thread.currentThread());
+                        return CollectionUtils.newArrayList();
+                    }
+                };
+        final LinkedHashMap<String, Dictionary> dictionaries =
+                new LinkedHashMap<String, Dictionary>();
+        dictionaries.put(Dictionary.TYPE_USER_HISTORY, dictionary);
+        gather(scatterGather, dictionaries);
+        assertEquals(1, queryThreads.size());
+        assertSame(callingThread, queryThreads.get(0));
+        scatterGather.shutdown();
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+
+@SmallTest
+public class LatencyHistogramTests extends AndroidTestCase {
+    public void testEmpty() {
+        final LatencyHistogram histogram = new LatencyHistogram("empty");
+        assertEquals("empty count", 0, histogram.getCount());
+        assertEquals("empty p50", 0, histogram.getPercentileUpperBound(50));
+        assertEquals("empty toString", "empty: count=0", histogram.toString());
+    }
+
+    public void testPercentiles() {
+        final LatencyHistogram histogram = new LatencyHistogram("test");
+        // 90 latencies in [8, 16) and 10 latencies in [64, 128).
+        for (int i = 0; i < 90; i++) {
+            histogram.add(8 + i % 8);
+        }
+        for (int i = 0; i < 10; i++) {
+            histogram.add(100);
+        }
+        assertEquals("count", 100, histogram.getCount());
+        assertEquals("p50", 16, histogram.getPercentileUpperBound(50));
+        assertEquals("p90", 16, histogram.getPercentileUpperBound(90));
+        assertEquals("p91", 128, histogram.getPercentileUpperBound(91));
+        assertEquals("p100", 128, histogram.getPercentileUpperBound(100));
+    }
+
+    public void testBucketBounds() {
+        final LatencyHistogram histogram = new LatencyHistogram("bounds");
+        histogram.add(0);
+        assertEquals("0ms", 1, histogram.getPercentileUpperBound(100));
+        histogram.add(1);
+        assertEquals("1ms", 2, histogram.getPercentileUpperBound(100));
+        histogram.add(1023);
+        assertEquals("1023ms", 1024, histogram.getPercentileUpperBound(100));
+        histogram.add(1024);
+        assertEquals("1024ms", Integer.MAX_VALUE, histogram.getPercentileUpperBound(100));
+    }
+
+    public void testReset() {
+        final LatencyHistogram histogram = new LatencyHistogram("reset");
+        histogram.add(5);
+        histogram.reset();
+        assertEquals("reset count", 0, histogram.getCount());
+        assertEquals("reset p50", 0, histogram.getPercentileUpperBound(50));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+
+import com.android.inputmethod.keyboard.ProximityInfo;
+import com.android.inputmethod.latin.SuggestedWords.SuggestedWordInfo;
+
+import java.util.ArrayList;
+
+@SmallTest
+public class TypingSuggestionCacheTests extends AndroidTestCase {
+    private static final class FakeDictionary extends Dictionary {
+        public int mGeneration = 0;
+
+        public FakeDictionary() {
+            super(Dictionary.TYPE_MAIN);
+        }
+
+        @Override
+        public int getGeneration() {
+            return mGeneration;
+        }
+
+        @Override
+        public ArrayList<SuggestedWordInfo> getSuggestions(final WordComposer composer,
+                final String prevWord, final ProximityInfo proximityInfo,
+                final boolean blockOffensiveWords) {
+            return null;
+        }
+
+        @Override
+        public boolean isValidWord(final String word) {
+            return false;
+        }
+    }
+
+    private static WordComposer makeComposer(final String word) {
+        final WordComposer composer = new WordComposer();
+        for (int i = 0; i < word.length(); ++i) {
+            composer.add(word.charAt(i), i * 10, 5);
+        }
+        return composer;
+    }
+
+    private static ArrayList<SuggestedWordInfo> makeSuggestions(final String... words) {
+        final ArrayList<SuggestedWordInfo> suggestions = CollectionUtils.newArrayList();
+        for (final String word : words) {
+            suggestions.add(new SuggestedWordInfo(word, 1, SuggestedWordInfo.KIND_CORRECTION,
+                    Dictionary.TYPE_MAIN));
+        }
+        return suggestions;
+    }
+
+    public void testSameInputHits() {
+        final TypingSuggestionCache cache = new TypingSuggestionCache();
+        final Dictionary dictionary = new FakeDictionary();
+        final ArrayList<SuggestedWordInfo> suggestions = makeSuggestions("hello", "help");
+        assertFalse(cache.startLookup(makeComposer("hel"), "say", null, false));
+        assertNull(cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */, suggestions);
+
+        assertTrue(cache.startLookup(makeComposer("hel"), "say", null, false));
+        assertSame(suggestions, cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+        // Not for another dictionary of the same type.
+        assertNull(cache.getSuggestions(Dictionary.TYPE_MAIN, new FakeDictionary()));
+        assertEquals(3, cache.getLookupCount());
+        assertEquals(1, cache.getHitCount());
+    }
+
+    public void testDifferentContextMisses() {
+        final TypingSuggestionCache cache = new TypingSuggestionCache();
+        final Dictionary dictionary = new FakeDictionary();
+        cache.startLookup(makeComposer("hel"), "say", null, false);
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+
+        assertFalse(cache.startLookup(makeComposer("hel"), "to", null, false));
+        assertNull(cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+        assertFalse(cache.startLookup(makeComposer("hel"), "to", null, true));
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+        // The same letters, typed at other places.
+        final WordComposer composer = new WordComposer();
+        composer.add('h', 0, 0);
+        composer.add('e', 10, 0);
+        composer.add('l', 20, 0);
+        assertFalse(cache.startLookup(composer, "to", null, true));
+        assertNull(cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+    }
+
+    public void testExtendedInputIsNarrowed() {
+        final TypingSuggestionCache cache = new TypingSuggestionCache();
+        final Dictionary dictionary = new FakeDictionary();
+        cache.startLookup(makeComposer("hel"), null, null, false);
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello", "help", "Hell", "he'll"));
+
+        assertFalse(cache.startLookup(makeComposer("hell"), null, null, false));
+        assertNull(cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+        final ArrayList<SuggestedWordInfo> narrowed =
+                cache.getNarrowedSuggestions(Dictionary.TYPE_MAIN, dictionary);
+        assertEquals(2, narrowed.size());
+        assertEquals("hello", narrowed.get(0).mWord);
+        assertEquals("Hell", narrowed.get(1).mWord);
+        assertNull(cache.getNarrowedSuggestions(Dictionary.TYPE_MAIN, new FakeDictionary()));
+        assertEquals(1, cache.getFallbackCount());
+    }
+
+    public void testBackspaceAndClearForget() {
+        final TypingSuggestionCache cache = new TypingSuggestionCache();
+        final Dictionary dictionary = new FakeDictionary();
+        cache.startLookup(makeComposer("hel"), null, null, false);
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+        cache.startLookup(makeComposer("hell"), null, null, false);
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+
+        assertFalse(cache.startLookup(makeComposer("hel"), null, null, false));
+        assertNull(cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+        assertNull(cache.getNarrowedSuggestions(Dictionary.TYPE_MAIN, dictionary));
+
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+        cache.clear();
+        assertFalse(cache.startLookup(makeComposer("hel"), null, null, false));
+        assertNull(cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+        cache.clear();
+        assertFalse(cache.startLookup(makeComposer("hell"), null, null, false));
+        assertNull(cache.getNarrowedSuggestions(Dictionary.TYPE_MAIN, dictionary));
+    }
+
+    public void testChangedDictionaryMisses() {
+        final TypingSuggestionCache cache = new TypingSuggestionCache();
+        final FakeDictionary dictionary = new FakeDictionary();
+        cache.startLookup(makeComposer("hel"), null, null, false);
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 0 /* generation */,
+                makeSuggestions("hello"));
+        dictionary.mGeneration = 1;
+
+        assertTrue(cache.startLookup(makeComposer("hel"), null, null, false));
+        assertNull("same input", cache.getSuggestions(Dictionary.TYPE_MAIN, dictionary));
+        cache.putSuggestions(Dictionary.TYPE_MAIN, dictionary, 1 /* generation */,
+                makeSuggestions("hello"));
+        dictionary.mGeneration = 2;
+        assertFalse(cache.startLookup(makeComposer("hell"), null, null, false));
+        assertNull("extended input",
+                cache.getNarrowedSuggestions(Dictionary.TYPE_MAIN, dictionary));
+    }
+}
@@ -0,0 +1,209 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+
+/**
+ * Unit tests for UserHistoryDictJournal, including recovery from interrupted writes.
+ */
+@SmallTest
+public class UserHistoryDictJournalTests extends AndroidTestCase {
+    private File mBaseFile;
+    private File mJournalFile;
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        mBaseFile = File.createTempFile("UserHistoryDictJournalTests", ".dict");
+        mJournalFile = new File(mBaseFile.getPath() + ".journal");
+        writeBaseFile(10);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        mBaseFile.delete();
+        mJournalFile.delete();
+        super.tearDown();
+    }
+
+    private void writeBaseFile(final int length) throws IOException {
+        final FileOutputStream out = new FileOutputStream(mBaseFile);
+        out.write(new byte[length]);
+        out.close();
+    }
+
+    // Records the replayed changes as strings, to compare them easily.
+    private static final class Recorder implements UserHistoryDictJournal.OnReplayListener {
+        public final ArrayList<String> mChanges = CollectionUtils.newArrayList();
+
+        @Override
+        public void setBigram(final String word1, final String word2, final int frequency,
+                final long writeTime) {
+            mChanges.add("set " + word1 + " " + word2 + " " + frequency + " @" + writeTime);
+        }
+
+        @Override
+        public void removeBigram(final String word1, final String word2) {
+            mChanges.add("remove " + word1 + " " + word2);
+        }
+    }
+
+    private ArrayList<String> replay(final UserHistoryDictJournal journal) {
+        final Recorder recorder = new Recorder();
+        journal.replay(recorder);
+        return recorder.mChanges;
+    }
+
+    private static UserHistoryDictJournal.Batch makeBatch(final String word1,
+            final String word2, final int frequency) {
+        final UserHistoryDictJournal.Batch batch = new UserHistoryDictJournal.Batch();
+        batch.setBigram(null, word2, frequency);
+        batch.setBigram(word1, word2, frequency);
+        batch.removeBigram(word2, word1);
+        return batch;
+    }
+
+    private static void assertChanges(final ArrayList<String> changes, final int index,
+            final String word1, final String word2, final int frequency, final long writeTime) {
+        assertEquals("set null " + word2 + " " + frequency + " @" + writeTime,
+                changes.get(index * 3));
+        assertEquals("set " + word1 + " " + word2 + " " + frequency + " @" + writeTime,
+                changes.get(index * 3 + 1));
+        assertEquals("remove " + word2 + " " + word1, changes.get(index * 3 + 2));
+    }
+
+    public void testAppendAndReplay() {
+        final UserHistoryDictJournal journal =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        assertTrue(replay(journal).isEmpty());
+        assertTrue(journal.append(makeBatch("this", "is", 10), 1000));
+        assertTrue(journal.append(makeBatch("is", "a", 20), 2000));
+        assertEquals(mJournalFile.length(), journal.length());
+
+        final UserHistoryDictJournal reopened =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        final ArrayList<String> changes = replay(reopened);
+        assertEquals(6, changes.size());
+        assertChanges(changes, 0, "this", "is", 10, 1000);
+        assertChanges(changes, 1, "is", "a", 20, 2000);
+        assertEquals(journal.length(), reopened.length());
+    }
+
+    public void testNoBaseFile() {
+        mBaseFile.delete();
+        final UserHistoryDictJournal journal =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        assertFalse(journal.append(makeBatch("this", "is", 10), 1000));
+        assertFalse(mJournalFile.exists());
+    }
+
+    public void testTornAppendIsIgnoredAndOverwritten() throws IOException {
+        final UserHistoryDictJournal journal =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        assertTrue(journal.append(makeBatch("this", "is", 10), 1000));
+        final long goodLength = journal.length();
+        assertTrue(journal.append(makeBatch("is", "a", 20), 2000));
+
+        // Simulate a crash in the middle of writing the second batch, at every possible point.
+        for (long length = goodLength; length < journal.length(); ++length) {
+            final RandomAccessFile file = new RandomAccessFile(mJournalFile, "rw");
+            file.setLength(length);
+            file.close();
+            final UserHistoryDictJournal recovered =
+                    new UserHistoryDictJournal(mJournalFile, mBaseFile);
+            final ArrayList<String> changes = replay(recovered);
+            assertEquals("truncated at " + length, 3, changes.size());
+            assertChanges(changes, 0, "this", "is", 10, 1000);
+            assertEquals(goodLength, recovered.length());
+            // Restore the full journal for the next iteration.
+            assertTrue(recovered.append(makeBatch("is", "a", 20), 2000));
+        }
+
+        // Appending after a torn batch replaces it.
+        final RandomAccessFile file = new RandomAccessFile(mJournalFile, "rw");
+        file.setLength(goodLength + 5);
+        file.close();
+        final UserHistoryDictJournal recovered =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        replay(recovered);
+        assertTrue(recovered.append(makeBatch("a", "test", 30), 3000));
+        final ArrayList<String> changes =
+                replay(new UserHistoryDictJournal(mJournalFile, mBaseFile));
+        assertEquals(6, changes.size());
+        assertChanges(changes, 0, "this", "is", 10, 1000);
+        assertChanges(changes, 1, "a", "test", 30, 3000);
+    }
+
+    public void testDamagedBatchIsIgnored() throws IOException {
+        final UserHistoryDictJournal journal =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        assertTrue(journal.append(makeBatch("this", "is", 10), 1000));
+        final long goodLength = journal.length();
+        assertTrue(journal.append(makeBatch("is", "a", 20), 2000));
+
+        final RandomAccessFile file = new RandomAccessFile(mJournalFile, "rw");
+        file.seek(journal.length() - 3);
+        final int b = file.read();
+        file.seek(journal.length() - 3);
+        file.write(b ^ 0xFF);
+        file.close();
+        final UserHistoryDictJournal recovered =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        final ArrayList<String> changes = replay(recovered);
+        assertEquals(3, changes.size());
+        assertChanges(changes, 0, "this", "is", 10, 1000);
+        assertEquals(goodLength, recovered.length());
+    }
+
+    public void testJournalForReplacedBaseFileIsIgnored() throws IOException {
+        final UserHistoryDictJournal journal =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        assertTrue(journal.append(makeBatch("this", "is", 10), 1000));
+
+        // Simulate a crash after writing a new dictionary file, before deleting the journal.
+        writeBaseFile(20);
+        final UserHistoryDictJournal recovered =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        assertTrue(replay(recovered).isEmpty());
+        assertEquals(0, recovered.length());
+
+        // The next append starts a journal for the new file.
+        assertTrue(recovered.append(makeBatch("is", "a", 20), 2000));
+        final ArrayList<String> changes =
+                replay(new UserHistoryDictJournal(mJournalFile, mBaseFile));
+        assertEquals(3, changes.size());
+        assertChanges(changes, 0, "is", "a", 20, 2000);
+    }
+
+    public void testReset() {
+        final UserHistoryDictJournal journal =
+                new UserHistoryDictJournal(mJournalFile, mBaseFile);
+        assertTrue(journal.append(makeBatch("this", "is", 10), 1000));
+        journal.reset();
+        assertFalse(mJournalFile.exists());
+        assertEquals(0, journal.length());
+        assertTrue(replay(new UserHistoryDictJournal(mJournalFile, mBaseFile)).isEmpty());
+    }
+}
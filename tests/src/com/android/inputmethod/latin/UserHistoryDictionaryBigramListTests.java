@@ -0,0 +1,251 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin;
+
+import android.os.Debug;
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Random;
+
+/**
+ * Unit tests for UserHistoryDictionaryBigramList
+ */
+@SmallTest
+public class UserHistoryDictionaryBigramListTests extends AndroidTestCase {
+    private static final String TAG = UserHistoryDictionaryBigramListTests.class.getSimpleName();
+
+    private static String[] generateWords(final int count, final Random random) {
+        final String[] words = new String[count];
+        for (int i = 0; i < count; ++i) {
+            final StringBuilder builder = new StringBuilder();
+            builder.append((char)('a' + i % 26));
+            final int length = 2 + random.nextInt(8);
+            for (int j = 0; j < length; ++j) {
+                builder.append((char)('a' + random.nextInt(26)));
+            }
+            builder.append(i);
+            words[i] = builder.toString();
+        }
+        return words;
+    }
+
+    public void testAddUpdateRemove() {
+        final UserHistoryDictionaryBigramList list = new UserHistoryDictionaryBigramList();
+        assertTrue(list.isEmpty());
+        list.addBigram(null, "this", (byte)2);
+        list.addBigram("this", "is");
+        list.addBigram("this", "was", (byte)5);
+        list.addBigram("this", "is", (byte)7);
+        assertEquals(3, list.size());
+        assertEquals("adding again keeps the value", UserHistoryDictionaryBigramList
+                .FORGETTING_CURVE_INITIAL_VALUE, list.getForgettingCurveValue("this", "is"));
+        assertEquals(2, list.getForgettingCurveValue(null, "this"));
+
+        list.updateBigram("this", "is", (byte)9);
+        list.updateBigram("that", "is", (byte)9);
+        assertEquals(9, list.getForgettingCurveValue("this", "is"));
+        assertEquals(3, list.size());
+
+        final HashMap<String, Byte> bigrams = list.getBigrams("This");
+        assertEquals(2, bigrams.size());
+        assertEquals(Byte.valueOf((byte)5), bigrams.get("was"));
+
+        assertFalse(list.removeBigram("this", "were"));
+        assertTrue(list.removeBigram("This", "was"));
+        assertFalse(list.removeBigram("this", "was"));
+        assertEquals(2, list.size());
+        assertEquals(1, list.getBigrams("this").size());
+
+        list.evictAll();
+        assertTrue(list.isEmpty());
+        assertTrue(list.getBigrams(null).isEmpty());
+    }
+
+    public void testManyBigrams() {
+        final Random random = new Random(123456);
+        final String[] words = generateWords(2000, random);
+        final UserHistoryDictionaryBigramList list = new UserHistoryDictionaryBigramList();
+        final HashMap<String, HashMap<String, Byte>> expected = CollectionUtils.newHashMap();
+        for (int i = 0; i < 20000; ++i) {
+            final String word1 = random.nextInt(10) == 0 ? null : words[random.nextInt(1000)];
+            final String word2 = words[random.nextInt(words.length)];
+            HashMap<String, Byte> map = expected.get(word1);
+            if (null == map) {
+                map = CollectionUtils.newHashMap();
+                expected.put(word1, map);
+            }
+            if (random.nextInt(4) == 0) {
+                final boolean wasThere = null != map.remove(word2);
+                assertEquals(wasThere, list.removeBigram(word1, word2));
+            } else if (!map.containsKey(word2)) {
+                final byte fcValue = (byte)random.nextInt(256);
+                map.put(word2, fcValue);
+                list.addBigram(word1, word2, fcValue);
+            }
+        }
+        int size = 0;
+        for (final String word1 : expected.keySet()) {
+            final HashMap<String, Byte> map = expected.get(word1);
+            size += map.size();
+            for (final String word2 : map.keySet()) {
+                assertEquals(map.get(word2).byteValue(),
+                        list.getForgettingCurveValue(word1, word2));
+            }
+        }
+        assertEquals(size, list.size());
+
+        final int[] visitedCount = new int[1];
+        list.visitBigrams(new UserHistoryDictionaryBigramList.BigramVisitor() {
+            @Override
+            public void visitBigram(final String word1, final String word2, final byte fcValue) {
+                assertEquals(expected.get(word1).get(word2).byteValue(), fcValue);
+                ++visitedCount[0];
+            }
+        });
+        assertEquals(size, visitedCount[0]);
+    }
+
+    public void testEvictOldestBigrams() {
+        final String[] words = generateWords(300, new Random(42));
+        final UserHistoryDictionaryBigramList list = new UserHistoryDictionaryBigramList();
+        for (int i = 0; i < 100; ++i) {
+            list.addBigram(null, words[i]);
+        }
+        for (int i = 0; i < 200; ++i) {
+            list.addBigram(words[i % 100], words[100 + i]);
+        }
+        // Touch the oldest bigram again, so that it is not evicted.
+        list.addBigram(words[0], words[100]);
+        final ArrayList<String> evicted = CollectionUtils.newArrayList();
+        final UserHistoryDictionaryBigramList.BigramVisitor evictedVisitor =
+                new UserHistoryDictionaryBigramList.BigramVisitor() {
+                    @Override
+                    public void visitBigram(final String word1, final String word2,
+                            final byte fcValue) {
+                        evicted.add(word1 + " " + word2);
+                    }
+                };
+        list.evictOldestBigrams(50, evictedVisitor);
+        assertEquals(250, list.size());
+        assertEquals(50, evicted.size());
+        assertEquals(100, list.getBigrams(null).size());
+        assertTrue(list.getBigrams(words[0]).containsKey(words[100]));
+        for (int i = 1; i <= 50; ++i) {
+            assertFalse(list.getBigrams(words[i % 100]).containsKey(words[100 + i]));
+            assertTrue(evicted.contains(words[i % 100] + " " + words[100 + i]));
+        }
+        for (int i = 51; i < 200; ++i) {
+            assertTrue(list.getBigrams(words[i % 100]).containsKey(words[100 + i]));
+        }
+        // The table stays usable after being rebuilt.
+        list.addBigram(words[1], words[101]);
+        assertEquals(251, list.size());
+        evicted.clear();
+        list.evictOldestBigrams(1000, evictedVisitor);
+        assertEquals(100, list.size());
+        assertEquals(151, evicted.size());
+    }
+
+    private static ArrayList<String> getChanges(final UserHistoryDictionaryBigramList list) {
+        final ArrayList<String> changes = CollectionUtils.newArrayList();
+        list.visitRemovedBigrams(new UserHistoryDictionaryBigramList.BigramVisitor() {
+            @Override
+            public void visitBigram(final String word1, final String word2, final byte fcValue) {
+                changes.add("remove " + word1 + " " + word2);
+            }
+        });
+        list.visitChangedBigrams(new UserHistoryDictionaryBigramList.BigramVisitor() {
+            @Override
+            public void visitBigram(final String word1, final String word2, final byte fcValue) {
+                changes.add("set " + word1 + " " + word2);
+            }
+        });
+        Collections.sort(changes);
+        return changes;
+    }
+
+    public void testChangeTracking() {
+        final UserHistoryDictionaryBigramList list = new UserHistoryDictionaryBigramList();
+        list.addBigram(null, "this", (byte)2);
+        list.addBigram("this", "is");
+        list.addBigram("this", "was");
+        assertEquals(3, getChanges(list).size());
+        list.markChangesSaved();
+        assertTrue(getChanges(list).isEmpty());
+        assertFalse(list.needsFullWrite());
+
+        list.addBigram("this", "is");
+        list.removeBigram("this", "was");
+        list.updateBigram(null, "this", (byte)3);
+        final ArrayList<String> changes = getChanges(list);
+        assertEquals(2, changes.size());
+        assertEquals("remove this was", changes.get(0));
+        assertEquals("set this is", changes.get(1));
+        list.markChangesSaved();
+
+        list.evictOldestBigrams(1, new UserHistoryDictionaryBigramList.BigramVisitor() {
+            @Override
+            public void visitBigram(final String word1, final String word2, final byte fcValue) {
+                assertEquals("this", word1);
+            }
+        });
+        assertTrue(list.needsFullWrite());
+        list.markChangesSaved();
+        assertFalse(list.needsFullWrite());
+    }
+
+    // Simulates the commits of a user typing known words: once the words are in the list, adding
+    // bigrams must not allocate.
+    public void testAddBigramDoesNotAllocate() {
+        final Random random = new Random(7);
+        final String[] words = generateWords(500, random);
+        final UserHistoryDictionaryBigramList list = new UserHistoryDictionaryBigramList();
+        final int commitCount = 10000;
+        final int[] sequence = new int[commitCount];
+        for (int i = 0; i < commitCount; ++i) {
+            sequence[i] = random.nextInt(words.length);
+        }
+        // Warm up, so that the words and bigrams are known and the tables are large enough.
+        String previousWord = null;
+        for (int i = 0; i < commitCount; ++i) {
+            list.addBigram(null, words[sequence[i]], (byte)2);
+            list.addBigram(previousWord, words[sequence[i]]);
+            previousWord = words[sequence[i]];
+        }
+
+        Debug.startAllocCounting();
+        final int allocCountBefore = Debug.getThreadAllocCount();
+        final long now = System.nanoTime();
+        previousWord = null;
+        for (int i = 0; i < commitCount; ++i) {
+            list.addBigram(null, words[sequence[i]], (byte)2);
+            list.addBigram(previousWord, words[sequence[i]]);
+            previousWord = words[sequence[i]];
+        }
+        final long elapsed = System.nanoTime() - now;
+        final int allocCount = Debug.getThreadAllocCount() - allocCountBefore;
+        Debug.stopAllocCounting();
+        Log.d(TAG, "PROF: " + commitCount + " commits in " + (elapsed / 1000) + "us, "
+                + allocCount + " allocations");
+        assertEquals("allocations while committing known words", 0, allocCount);
+    }
+}
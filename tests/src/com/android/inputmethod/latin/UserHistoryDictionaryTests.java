@@ -116,4 +116,57 @@ public class UserHistoryDictionaryTests extends AndroidTestCase {
             }
         }
     }
+
+    public void testUnigramsDoNotEvictBigrams() {
+        final String locale = "testUnigramsDoNotEvictBigrams";
+        final File dictFile = new File(getContext().getFilesDir(),
+                "UserHistoryDictionary." + locale + ".dict");
+        try {
+            final UserHistoryDictionary dict = UserHistoryDictionary.getInstance(getContext(),
+                    locale, mPrefs);
+            dict.isTest = true;
+            final UserHistoryDictionaryBigramList bigramList = dict.getBigramListForTest();
+            final List<String> words = generateWords(
+                    UserHistoryDictionary.MAX_HISTORY_BIGRAMS + 100, new Random(123456));
+            for (final String word : words) {
+                dict.forceAddWordForTest(null, word, true);
+            }
+            dict.forceAddWordForTest("first", "bigram", true);
+            bigramList.markChangesSaved();
+            dict.forceAddWordForTest("second", "bigram", true);
+
+            assertTrue("unigrams", bigramList.size() > UserHistoryDictionary.MAX_HISTORY_BIGRAMS);
+            assertEquals("bigrams", 2, bigramList.getBigramCount());
+            assertTrue("first bigram", bigramList.getBigrams("first").containsKey("bigram"));
+            assertTrue("second bigram", bigramList.getBigrams("second").containsKey("bigram"));
+            assertFalse("full write", bigramList.needsFullWrite());
+        } finally {
+            dictFile.delete();
+        }
+    }
+
+    public void testEvictedBigramsAreRemovedFromDictionary() {
+        final String locale = "testEvictedBigramsAreRemovedFromDictionary";
+        final File dictFile = new File(getContext().getFilesDir(),
+                "UserHistoryDictionary." + locale + ".dict");
+        try {
+            final UserHistoryDictionary dict = UserHistoryDictionary.getInstance(getContext(),
+                    locale, mPrefs);
+            dict.isTest = true;
+            dict.forceAddWordForTest("first", "bigram", true);
+            assertNotNull("first bigram before eviction", dict.getBigramWord("first", "bigram"));
+            final List<String> words = generateWords(
+                    UserHistoryDictionary.MAX_HISTORY_BIGRAMS + 100, new Random(123456));
+            addToDict(dict, words);
+
+            assertTrue("evicted", dict.getBigramListForTest().getBigramCount()
+                    < UserHistoryDictionary.MAX_HISTORY_BIGRAMS);
+            assertNull("first bigram after eviction", dict.getBigramWord("first", "bigram"));
+            final String lastWord1 = words.get(words.size() - 2);
+            final String lastWord2 = words.get(words.size() - 1);
+            assertNotNull("last bigram", dict.getBigramWord(lastWord1, lastWord2));
+        } finally {
+            dictFile.delete();
+        }
+    }
 }
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin.spellcheck;
+
+import android.provider.UserDictionary.Words;
+import android.test.ServiceTestCase;
+import android.test.suitebuilder.annotation.LargeTest;
+
+import java.util.Locale;
+
+@LargeTest
+public class DictionaryPoolTests extends ServiceTestCase<AndroidSpellCheckerService> {
+    private static final String LOCALE = "en_US";
+    private static final String USER_WORD = "qwxyzzyq";
+    private static final long USER_WORD_TIMEOUT_MS = 5000;
+
+    public DictionaryPoolTests() {
+        super(AndroidSpellCheckerService.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        setupService();
+        getService().onCreate();
+        deleteUserWord();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        deleteUserWord();
+        super.tearDown();
+    }
+
+    private void deleteUserWord() {
+        getContext().getContentResolver().delete(Words.CONTENT_URI, Words.WORD + "=?",
+                new String[] { USER_WORD });
+    }
+
+    private static boolean waitForValidWord(final DictAndKeyboard dict, final String word)
+            throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + USER_WORD_TIMEOUT_MS;
+        while (System.currentTimeMillis() < deadline) {
+            if (dict.mDictionary.isValidWord(word)) return true;
+            Thread.sleep(100);
+        }
+        return false;
+    }
+
+    public void testTrimKeepsUserDictionary() throws InterruptedException {
+        final DictionaryPool pool = getService().getDictionaryPool(LOCALE);
+        // Grows the pool to two dictionaries, and trims the one idle the longest.
+        final DictAndKeyboard dict1 = pool.pollWithDefaultTimeout();
+        final DictAndKeyboard dict2 = pool.pollWithDefaultTimeout();
+        assertNotNull("first dictionary", dict1);
+        assertNotNull("second dictionary", dict2);
+        pool.offer(dict1);
+        pool.offer(dict2);
+        pool.trimIdleDicts(0 /* idleTimeoutMs */);
+
+        final DictAndKeyboard dict = pool.pollWithDefaultTimeout();
+        assertNotNull("dictionary after trimming", dict);
+        try {
+            assertFalse("before adding", dict.mDictionary.isValidWord(USER_WORD));
+            Words.addWord(getContext(), USER_WORD, 250, null, Locale.US);
+            assertTrue("after adding", waitForValidWord(dict, USER_WORD));
+        } finally {
+            pool.offer(dict);
+        }
+    }
+}
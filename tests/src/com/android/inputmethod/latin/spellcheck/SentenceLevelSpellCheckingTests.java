@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin.spellcheck;
+
+import android.test.ServiceTestCase;
+import android.test.suitebuilder.annotation.LargeTest;
+import android.util.Log;
+import android.view.textservice.SentenceSuggestionsInfo;
+import android.view.textservice.SuggestionsInfo;
+import android.view.textservice.TextInfo;
+
+@LargeTest
+public class SentenceLevelSpellCheckingTests extends ServiceTestCase<AndroidSpellCheckerService> {
+    private static final String TAG = SentenceLevelSpellCheckingTests.class.getSimpleName();
+
+    private static final String PARAGRAPH = "The quick brown fox jumps over the lazy dog, "
+            + "and then it runs back into the forest where it lives with its family. "
+            + "Every morning the fox goes out to look for food, and evry evening it comes "
+            + "home to sleep. The dog does not care much about the fox; it would rather "
+            + "sleep in the sun all day long, dreaming of bones and long walks in the park. "
+            + "One day the farmer decided that the dog should learn to gaurd the chickens, "
+            + "but the dog was not interested in chickens at all.";
+    private static final int PARAGRAPH_COUNT = 10;
+    private static final int SUGGESTIONS_LIMIT = 5;
+
+    private AndroidSpellCheckerSession mSession;
+
+    public SentenceLevelSpellCheckingTests() {
+        super(AndroidSpellCheckerService.class);
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        super.setUp();
+        setupService();
+        getService().onCreate();
+        mSession = new AndroidSpellCheckerSession(getService());
+        mSession.initialize("en_US");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        mSession.onClose();
+        super.tearDown();
+    }
+
+    private static boolean isInDictionary(final SuggestionsInfo si) {
+        return (si.getSuggestionsAttributes() & SuggestionsInfo.RESULT_ATTR_IN_THE_DICTIONARY)
+                != 0;
+    }
+
+    public void testSentenceSuggestions() {
+        final String text = "This is a tset of teh spell checker.";
+        final TextInfo textInfo = new TextInfo(text, 12 /* cookie */, 34 /* sequence */);
+        final SentenceSuggestionsInfo ssi = mSession.onGetSentenceSuggestionsMultiple(
+                new TextInfo[] { textInfo }, SUGGESTIONS_LIMIT)[0];
+        final String[] expectedWords = { "This", "is", "a", "tset", "of", "teh", "spell",
+                "checker" };
+        assertEquals("word count", expectedWords.length, ssi.getSuggestionsCount());
+        for (int i = 0; i < expectedWords.length; ++i) {
+            final int offset = ssi.getOffsetAt(i);
+            assertEquals("word " + i, expectedWords[i],
+                    text.substring(offset, offset + ssi.getLengthAt(i)));
+            final SuggestionsInfo si = ssi.getSuggestionsInfoAt(i);
+            assertEquals("cookie " + i, 12, si.getCookie());
+            assertEquals("sequence " + i, 34, si.getSequence());
+        }
+        assertTrue("This", isInDictionary(ssi.getSuggestionsInfoAt(0)));
+        assertFalse("tset", isInDictionary(ssi.getSuggestionsInfoAt(3)));
+        assertFalse("teh", isInDictionary(ssi.getSuggestionsInfoAt(5)));
+        assertTrue("checker", isInDictionary(ssi.getSuggestionsInfoAt(7)));
+    }
+
+    public void testEmptySentence() {
+        final SentenceSuggestionsInfo[] ssis = mSession.onGetSentenceSuggestionsMultiple(
+                new TextInfo[] { new TextInfo(""), new TextInfo(" ... ") }, SUGGESTIONS_LIMIT);
+        assertNull("empty", ssis[0]);
+        assertNull("no word", ssis[1]);
+    }
+
+    public void testSentenceSuggestionsMatchWordSuggestions() {
+        final SentenceSuggestionsInfo ssi = mSession.onGetSentenceSuggestionsMultiple(
+                new TextInfo[] { new TextInfo(PARAGRAPH) }, SUGGESTIONS_LIMIT)[0];
+        String prevWord = null;
+        for (int i = 0; i < ssi.getSuggestionsCount(); ++i) {
+            final int offset = ssi.getOffsetAt(i);
+            final String word = PARAGRAPH.substring(offset, offset + ssi.getLengthAt(i));
+            mSession.mSuggestionsCache.clearCache();
+            final SuggestionsInfo si = mSession.onGetSuggestionsInternal(new TextInfo(word),
+                    prevWord, SUGGESTIONS_LIMIT);
+            assertEquals(word, si.getSuggestionsAttributes(),
+                    ssi.getSuggestionsInfoAt(i).getSuggestionsAttributes());
+            prevWord = word;
+        }
+    }
+
+    public void testSentenceCheckingSpeed() {
+        // Makes sure the dictionary is loaded.
+        mSession.onGetSentenceSuggestionsMultiple(
+                new TextInfo[] { new TextInfo(PARAGRAPH) }, SUGGESTIONS_LIMIT);
+        final SentenceSuggestionsInfo ssi = mSession.onGetSentenceSuggestionsMultiple(
+                new TextInfo[] { new TextInfo(PARAGRAPH) }, SUGGESTIONS_LIMIT)[0];
+        final int wordCount = ssi.getSuggestionsCount();
+        final TextInfo[] words = new TextInfo[wordCount];
+        for (int i = 0; i < wordCount; ++i) {
+            final int offset = ssi.getOffsetAt(i);
+            words[i] = new TextInfo(PARAGRAPH.substring(offset, offset + ssi.getLengthAt(i)));
+        }
+
+        // One word at a time, the way the framework used to split the sentences for us.
+        long wordTime = 0;
+        for (int i = 0; i < PARAGRAPH_COUNT; ++i) {
+            mSession.mSuggestionsCache.clearCache();
+            final long now = System.nanoTime();
+            for (int j = 0; j < wordCount; ++j) {
+                mSession.onGetSuggestionsInternal(words[j],
+                        j > 0 ? words[j - 1].getText() : null, SUGGESTIONS_LIMIT);
+            }
+            wordTime += System.nanoTime() - now;
+        }
+        long sentenceTime = 0;
+        for (int i = 0; i < PARAGRAPH_COUNT; ++i) {
+            mSession.mSuggestionsCache.clearCache();
+            final long now = System.nanoTime();
+            mSession.onGetSentenceSuggestionsMultiple(
+                    new TextInfo[] { new TextInfo(PARAGRAPH) }, SUGGESTIONS_LIMIT);
+            sentenceTime += System.nanoTime() - now;
+        }
+        final long checkedWords = (long)wordCount * PARAGRAPH_COUNT;
+        Log.d(TAG, "PROF: " + checkedWords + " words: one at a time "
+                + (checkedWords * 1000000000L / wordTime) + " words/s, by sentence "
+                + (checkedWords * 1000000000L / sentenceTime) + " words/s");
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin.spellcheck;
+
+import android.test.AndroidTestCase;
+import android.test.suitebuilder.annotation.SmallTest;
+import android.view.textservice.SuggestionsInfo;
+
+import java.io.File;
+import java.util.Locale;
+
+@SmallTest
+public class SuggestionsCacheTests extends AndroidTestCase {
+    private static final int IN_DICT = SuggestionsInfo.RESULT_ATTR_IN_THE_DICTIONARY;
+    private static final int TYPO = SuggestionsInfo.RESULT_ATTR_LOOKS_LIKE_TYPO;
+
+    public void testValidWordsIgnorePrevWord() {
+        final SuggestionsCache cache = new SuggestionsCache(Locale.US);
+        cache.putSuggestionsToCache("fox", "brown", null, IN_DICT);
+        assertNotNull("same previous word", cache.getSuggestionsFromCache("fox", "brown"));
+        assertNotNull("other previous word", cache.getSuggestionsFromCache("fox", "quick"));
+        assertNotNull("no previous word", cache.getSuggestionsFromCache("fox", null));
+        assertEquals("flags", IN_DICT, cache.getSuggestionsFromCache("fox", null).mFlags);
+    }
+
+    public void testTyposWithoutSuggestions() {
+        final SuggestionsCache cache = new SuggestionsCache(Locale.US);
+        cache.putSuggestionsToCache("qzxv", null, null, 0);
+        assertEquals("no suggestions", 0,
+                cache.getSuggestionsFromCache("qzxv", null).mSuggestions.length);
+        assertNull("other previous word", cache.getSuggestionsFromCache("qzxv", "the"));
+    }
+
+    public void testInvalidateWord() {
+        final SuggestionsCache cache = new SuggestionsCache(Locale.US);
+        cache.putSuggestionsToCache("Gaurd", null, null, IN_DICT);
+        cache.putSuggestionsToCache("teh", "of", new String[] { "the", "ten" }, TYPO);
+        cache.putSuggestionsToCache("evry", null, new String[] { "every" }, TYPO);
+        cache.putSuggestionsToCache("chickns", null, new String[] { "chickens" }, TYPO);
+
+        cache.invalidateWord("gaurd");
+        assertNull("the word itself", cache.getSuggestionsFromCache("Gaurd", null));
+        assertNotNull("unrelated typo", cache.getSuggestionsFromCache("teh", "of"));
+
+        cache.invalidateWord("The");
+        assertNull("typo suggesting the word", cache.getSuggestionsFromCache("teh", "of"));
+
+        cache.invalidateWord("evey");
+        assertNull("typo close to the word", cache.getSuggestionsFromCache("evry", null));
+        assertNotNull("typo far from the word", cache.getSuggestionsFromCache("chickns", null));
+    }
+
+    public void testValidWordsFile() {
+        final File file = new File(getContext().getCacheDir(), "test_valid_words");
+        final SuggestionsCache cache = new SuggestionsCache(Locale.US);
+        cache.putSuggestionsToCache("lazy", null, null, IN_DICT);
+        cache.putSuggestionsToCache("dgo", null, new String[] { "dog" }, TYPO);
+        cache.writeValidWords(file, 1 /* signature */);
+
+        final SuggestionsCache readCache = new SuggestionsCache(Locale.US);
+        readCache.readValidWords(file, 1 /* signature */);
+        assertNotNull("valid word", readCache.getSuggestionsFromCache("lazy", null));
+        assertNull("typo", readCache.getSuggestionsFromCache("dgo", null));
+
+        final SuggestionsCache outdatedCache = new SuggestionsCache(Locale.US);
+        outdatedCache.readValidWords(file, 2 /* signature */);
+        assertNull("other signature", outdatedCache.getSuggestionsFromCache("lazy", null));
+        assertFalse("outdated file deleted", file.exists());
+    }
+}
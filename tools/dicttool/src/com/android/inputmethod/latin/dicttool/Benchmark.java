@@ -0,0 +1,342 @@
+/**
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+
+package com.android.inputmethod.latin.dicttool;
+
+import com.android.inputmethod.latin.makedict.BinaryDictIOUtils;
+import com.android.inputmethod.latin.makedict.BinaryDictInputOutput;
+import com.android.inputmethod.latin.makedict.BinaryDictInputOutput.ByteBufferWrapper;
+import com.android.inputmethod.latin.makedict.BinaryDictInputOutput.FusionDictionaryBufferInterface;
+import com.android.inputmethod.latin.makedict.FormatSpec.FormatOptions;
+import com.android.inputmethod.latin.makedict.FusionDictionary;
+import com.android.inputmethod.latin.makedict.UnsupportedFormatException;
+import com.android.inputmethod.latin.makedict.Word;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.RandomAccessFile;
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Random;
+
+/**
+ * Micro-benchmarks for the read, write and lookup paths of makedict.
+ *
+ * Each benchmark runs a number of warm-up rounds, so that the measured rounds run compiled
+ * code, then a number of measured rounds. Throughput and allocated bytes are reported per
+ * operation, averaged over the measured rounds.
+ */
+public class Benchmark extends Dicttool.Command {
+    public static final String COMMAND = "benchmark";
+    // Relative to the top of the LatinIME tree.
+    private static final String DEFAULT_SOURCE = "dictionaries/en_US_wordlist.combined.gz";
+    private static final String OPTION_WARMUP_ROUNDS = "-w";
+    private static final String OPTION_MEASURED_ROUNDS = "-n";
+    private static final int DEFAULT_WARMUP_ROUNDS = 5;
+    private static final int DEFAULT_MEASURED_ROUNDS = 10;
+    private static final int LOOKUP_WORD_COUNT = 1000;
+    private static final int INSERTED_WORD_COUNT = 50;
+    private static final int HEADER_READ_COUNT = 100;
+
+    public Benchmark() {
+    }
+
+    @Override
+    public String getHelp() {
+        return COMMAND + " [-w <warm-up rounds>] [-n <measured rounds>] [<combined source>]: "
+                + "measures the throughput\n"
+                + "  and allocation rate of reading, writing and looking up words in binary\n"
+                + "  dictionaries. The source is a combined file, optionally gzipped, and\n"
+                + "  defaults to " + DEFAULT_SOURCE + ".\n"
+                + "  Note that dicttool builds makedict with debug checks on; compare results\n"
+                + "  with each other, not with on-device figures.";
+    }
+
+    /**
+     * A single benchmark. Each call to runRound is one timed round.
+     */
+    private static abstract class Case {
+        public final String mName;
+
+        public Case(final String name) {
+            mName = name;
+        }
+
+        // Called before each round, outside of the measurement.
+        public void setUp() throws IOException {
+        }
+
+        // Runs one round and returns the number of operations it did.
+        public abstract int runRound() throws IOException, UnsupportedFormatException;
+    }
+
+    private final class Fixture {
+        public final FusionDictionary mDict;
+        public final byte[] mBinary;
+        public final File mBinaryFile;
+        public final byte[] mDynamicBinary;
+        public final File mDynamicBinaryFile;
+        public final ArrayList<String> mLookupWords = new ArrayList<String>();
+        public final ArrayList<String> mNewWords = new ArrayList<String>();
+
+        public Fixture(final String sourceFilename) throws IOException,
+                UnsupportedFormatException {
+            InputStream source = new BufferedInputStream(new FileInputStream(sourceFilename));
+            if (sourceFilename.endsWith(".gz")) source = Compress.getUncompressedStream(source);
+            mDict = CombinedInputOutput.readDictionaryCombined(source);
+            source.close();
+            mBinary = write(mDict, new FormatOptions(2));
+            mBinaryFile = createTempFile(mBinary);
+            mDynamicBinary = write(mDict, new FormatOptions(3, true /* supportsDynamicUpdate */));
+            mDynamicBinaryFile = createTempFile(mDynamicBinary);
+
+            final ArrayList<String> words = new ArrayList<String>();
+            for (final Word w : mDict) words.add(w.mWord);
+            final Random random = new Random(0);
+            for (int i = 0; i < LOOKUP_WORD_COUNT; ++i) {
+                mLookupWords.add(words.get(random.nextInt(words.size())));
+            }
+            while (mNewWords.size() < INSERTED_WORD_COUNT) {
+                // Real words with a suffix, so that insertions share prefixes like real ones do.
+                final String word = words.get(random.nextInt(words.size())) + "zq";
+                if (!mDict.hasWord(word) && !mNewWords.contains(word)) mNewWords.add(word);
+            }
+        }
+    }
+
+    private static byte[] write(final FusionDictionary dict, final FormatOptions formatOptions)
+            throws IOException, UnsupportedFormatException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryDictInputOutput.writeDictionaryBinary(out, dict, formatOptions);
+        return out.toByteArray();
+    }
+
+    private static File createTempFile(final byte[] contents) throws IOException {
+        final File file = File.createTempFile("dicttool-benchmark", ".dict");
+        file.deleteOnExit();
+        copyToFile(contents, file);
+        return file;
+    }
+
+    private static void copyToFile(final byte[] contents, final File file) throws IOException {
+        final OutputStream out = new BufferedOutputStream(new FileOutputStream(file));
+        try {
+            out.write(contents);
+        } finally {
+            out.close();
+        }
+    }
+
+    private ArrayList<Case> makeCases(final Fixture fixture) {
+        final ArrayList<Case> cases = new ArrayList<Case>();
+        cases.add(new Case("read whole dictionary") {
+            @Override
+            public int runRound() throws IOException, UnsupportedFormatException {
+                BinaryDictInputOutput.readDictionaryBinary(
+                        new ByteBufferWrapper(ByteBuffer.wrap(fixture.mBinary)), null);
+                return 1;
+            }
+        });
+        cases.add(new Case("write whole dictionary") {
+            @Override
+            public int runRound() throws IOException, UnsupportedFormatException {
+                BinaryDictInputOutput.writeDictionaryBinary(
+                        new ByteArrayOutputStream(fixture.mBinary.length), fixture.mDict,
+                        new FormatOptions(2));
+                return 1;
+            }
+        });
+        cases.add(new Case("look up word in binary") {
+            private final FusionDictionaryBufferInterface mBuffer =
+                    new ByteBufferWrapper(ByteBuffer.wrap(fixture.mBinary));
+
+            @Override
+            public int runRound() throws IOException, UnsupportedFormatException {
+                for (final String word : fixture.mLookupWords) {
+                    if (BinaryDictIOUtils.getTerminalPosition(mBuffer, word) < 0) {
+                        throw new RuntimeException("Can't find " + word);
+                    }
+                }
+                return fixture.mLookupWords.size();
+            }
+        });
+        cases.add(new Case("look up word in memory") {
+            @Override
+            public int runRound() {
+                for (final String word : fixture.mLookupWords) {
+                    if (null == FusionDictionary.findWordInTree(fixture.mDict.mRoot, word)) {
+                        throw new RuntimeException("Can't find " + word);
+                    }
+                }
+                return fixture.mLookupWords.size();
+            }
+        });
+        cases.add(new Case("insert and delete word") {
+            @Override
+            public void setUp() throws IOException {
+                // Start each round from the original file, as insertions make it grow.
+                copyToFile(fixture.mDynamicBinary, fixture.mDynamicBinaryFile);
+            }
+
+            @Override
+            public int runRound() throws IOException, UnsupportedFormatException {
+                for (final String word : fixture.mNewWords) {
+                    final RandomAccessFile raFile =
+                            new RandomAccessFile(fixture.mDynamicBinaryFile, "rw");
+                    final OutputStream out = new BufferedOutputStream(
+                            new FileOutputStream(fixture.mDynamicBinaryFile, true));
+                    try {
+                        BinaryDictIOUtils.insertWord(new ByteBufferWrapper(
+                                raFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                                        raFile.length())),
+                                out, word, 100, null /* bigrams */, null /* shortcuts */,
+                                false /* isNotAWord */, false /* isBlackListEntry */);
+                    } finally {
+                        out.close();
+                        raFile.close();
+                    }
+                }
+                final RandomAccessFile raFile =
+                        new RandomAccessFile(fixture.mDynamicBinaryFile, "rw");
+                try {
+                    final FusionDictionaryBufferInterface buffer = new ByteBufferWrapper(
+                            raFile.getChannel().map(FileChannel.MapMode.READ_WRITE, 0,
+                                    raFile.length()));
+                    for (final String word : fixture.mNewWords) {
+                        BinaryDictIOUtils.deleteWord(buffer, word);
+                    }
+                } finally {
+                    raFile.close();
+                }
+                return fixture.mNewWords.size();
+            }
+        });
+        cases.add(new Case("read header only") {
+            @Override
+            public int runRound() throws IOException, UnsupportedFormatException {
+                for (int i = 0; i < HEADER_READ_COUNT; ++i) {
+                    BinaryDictIOUtils.getDictionaryFileHeader(fixture.mBinaryFile, 0,
+                            fixture.mBinaryFile.length());
+                }
+                return HEADER_READ_COUNT;
+            }
+        });
+        return cases;
+    }
+
+    // Returns the number of bytes allocated by the current thread so far, or -1 if the VM
+    // can't tell.
+    private static long getAllocatedBytes() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)) return -1;
+        return ((com.sun.management.ThreadMXBean)bean).getThreadAllocatedBytes(
+                Thread.currentThread().getId());
+    }
+
+    private static void runCase(final Case c, final int warmupRounds, final int measuredRounds,
+            final PrintStream out) throws IOException, UnsupportedFormatException {
+        for (int i = 0; i < warmupRounds; ++i) {
+            c.setUp();
+            c.runRound();
+        }
+        final double[] opsPerSecond = new double[measuredRounds];
+        long totalOps = 0;
+        long totalAllocatedBytes = 0;
+        for (int i = 0; i < measuredRounds; ++i) {
+            c.setUp();
+            final long allocatedBefore = getAllocatedBytes();
+            final long start = System.nanoTime();
+            final int ops = c.runRound();
+            final long elapsed = System.nanoTime() - start;
+            totalAllocatedBytes += getAllocatedBytes() - allocatedBefore;
+            totalOps += ops;
+            opsPerSecond[i] = ops * 1e9 / elapsed;
+        }
+        double mean = 0;
+        for (final double value : opsPerSecond) mean += value;
+        mean /= measuredRounds;
+        double variance = 0;
+        for (final double value : opsPerSecond) variance += (value - mean) * (value - mean);
+        final double deviation = Math.sqrt(variance / measuredRounds);
+        out.println(String.format("%-24s %14.1f ops/s +- %5.1f%%  %14s bytes/op", c.mName,
+                mean, 100 * deviation / mean, getAllocatedBytes() < 0 ? "n/a"
+                        : String.valueOf(totalAllocatedBytes / totalOps)));
+    }
+
+    private static int parseRounds(final String option, final String value) {
+        final int rounds;
+        try {
+            rounds = Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Option " + option + " needs a number of rounds");
+        }
+        if (rounds < 0) throw new RuntimeException("Option " + option + " can't be negative");
+        return rounds;
+    }
+
+    @Override
+    public void run() throws IOException, UnsupportedFormatException {
+        int warmupRounds = DEFAULT_WARMUP_ROUNDS;
+        int measuredRounds = DEFAULT_MEASURED_ROUNDS;
+        String source = DEFAULT_SOURCE;
+        for (int i = 0; i < mArgs.length; ++i) {
+            if (OPTION_WARMUP_ROUNDS.equals(mArgs[i]) && i + 1 < mArgs.length) {
+                warmupRounds = parseRounds(mArgs[i], mArgs[++i]);
+            } else if (OPTION_MEASURED_ROUNDS.equals(mArgs[i]) && i + 1 < mArgs.length) {
+                measuredRounds = parseRounds(mArgs[i], mArgs[++i]);
+            } else if (i == mArgs.length - 1) {
+                source = mArgs[i];
+            } else {
+                throw new RuntimeException("Wrong arguments for command " + COMMAND);
+            }
+        }
+        if (measuredRounds < 1) throw new RuntimeException("Need at least one measured round");
+
+        // Makedict logs to the standard output in dicttool: silence it while benchmarking.
+        final PrintStream out = System.out;
+        System.setOut(new PrintStream(new ByteArrayOutputStream() {
+            @Override
+            public synchronized void write(final byte[] b, final int off, final int len) {
+            }
+
+            @Override
+            public synchronized void write(final int b) {
+            }
+        }));
+        try {
+            final Fixture fixture = new Fixture(source);
+            out.println("Source : " + source + " (" + fixture.mBinary.length
+                    + " bytes in binary)");
+            out.println(warmupRounds + " warm-up rounds, " + measuredRounds
+                    + " measured rounds");
+            for (final Case c : makeCases(fixture)) {
+                runCase(c, warmupRounds, measuredRounds, out);
+            }
+        } finally {
+            System.setOut(out);
+        }
+    }
+}
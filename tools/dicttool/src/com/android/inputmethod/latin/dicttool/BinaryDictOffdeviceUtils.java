@@ -16,7 +16,9 @@
 
 package com.android.inputmethod.latin.dicttool;
 
+import com.android.inputmethod.latin.makedict.BinaryDictIOUtils;
 import com.android.inputmethod.latin.makedict.BinaryDictInputOutput;
+import com.android.inputmethod.latin.makedict.BinaryDictInputOutput.FusionDictionaryBufferInterface;
 import com.android.inputmethod.latin.makedict.FusionDictionary;
 import com.android.inputmethod.latin.makedict.UnsupportedFormatException;
 
@@ -30,8 +32,6 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.ByteBuffer;
-import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 
 import javax.xml.parsers.ParserConfigurationException;
@@ -163,12 +163,57 @@ public final class BinaryDictOffdeviceUtils {
         throw new RuntimeException("Can't read file " + filename, e);
     }
 
-    static FusionDictionary getDictionary(final String filename, final boolean report) {
-        final File file = new File(filename);
+    private static void reportFile(final File file) {
+        System.out.println("Dictionary : " + file.getAbsolutePath());
+        System.out.println("Size : " + file.length() + " bytes");
+    }
+
+    /**
+     * Decodes a binary dictionary file as necessary and maps it to memory.
+     *
+     * The dictionary itself is not read : this is only as expensive as the decoding.
+     */
+    private static FusionDictionaryBufferInterface getMappedBinaryDictionary(final File file,
+            final boolean report) throws IOException {
+        final DecoderChainSpec decodedSpec = getRawBinaryDictionaryOrNull(file);
+        if (null == decodedSpec) {
+            crash(file.getPath(), new RuntimeException(
+                    file.getPath() + " does not seem to be a dictionary file"));
+        }
         if (report) {
-            System.out.println("Dictionary : " + file.getAbsolutePath());
-            System.out.println("Size : " + file.length() + " bytes");
+            System.out.println("Format : Binary dictionary format");
+            System.out.println("Packaging : " + decodedSpec.describeChain());
+            System.out.println("Uncompressed size : " + decodedSpec.mFile.length());
         }
+        return BinaryDictIOUtils.openMappedBuffer(decodedSpec.mFile, 0, decodedSpec.mFile.length());
+    }
+
+    /**
+     * Returns a memory-mapped buffer over a binary dictionary, or null if the file is an XML
+     * or a combined source file.
+     *
+     * Use this rather than #getDictionary when there is no need for the whole dictionary in
+     * memory.
+     */
+    static FusionDictionaryBufferInterface getMappedBinaryDictionaryOrNull(final String filename,
+            final boolean report) {
+        if (XmlDictInputOutput.isXmlUnigramDictionary(filename)
+                || CombinedInputOutput.isCombinedDictionary(filename)) {
+            return null;
+        }
+        final File file = new File(filename);
+        if (report) reportFile(file);
+        try {
+            return getMappedBinaryDictionary(file, report);
+        } catch (IOException e) {
+            crash(filename, e);
+        }
+        return null;
+    }
+
+    static FusionDictionary getDictionary(final String filename, final boolean report) {
+        final File file = new File(filename);
+        if (report) reportFile(file);
         try {
             if (XmlDictInputOutput.isXmlUnigramDictionary(filename)) {
                 if (report) System.out.println("Format : XML unigram list");
@@ -180,22 +225,8 @@ public final class BinaryDictOffdeviceUtils {
                 return CombinedInputOutput.readDictionaryCombined(
                         new BufferedInputStream(new FileInputStream(file)));
             } else {
-                final DecoderChainSpec decodedSpec = getRawBinaryDictionaryOrNull(file);
-                if (null == decodedSpec) {
-                    crash(filename, new RuntimeException(
-                            filename + " does not seem to be a dictionary file"));
-                } else {
-                    final FileInputStream inStream = new FileInputStream(decodedSpec.mFile);
-                    final ByteBuffer buffer = inStream.getChannel().map(
-                            FileChannel.MapMode.READ_ONLY, 0, decodedSpec.mFile.length());
-                    if (report) {
-                        System.out.println("Format : Binary dictionary format");
-                        System.out.println("Packaging : " + decodedSpec.describeChain());
-                        System.out.println("Uncompressed size : " + decodedSpec.mFile.length());
-                    }
-                    return BinaryDictInputOutput.readDictionaryBinary(
-                            new BinaryDictInputOutput.ByteBufferWrapper(buffer), null);
-                }
+                return BinaryDictInputOutput.readDictionaryBinary(
+                        getMappedBinaryDictionary(file, report), null);
             }
         } catch (IOException e) {
             crash(filename, e);
@@ -17,10 +17,13 @@
 package com.android.inputmethod.latin.dicttool;
 
 import com.android.inputmethod.latin.makedict.FormatSpec;
+import com.android.inputmethod.latin.makedict.FormatSpec.FormatOptions;
 import com.android.inputmethod.latin.makedict.FusionDictionary;
 import com.android.inputmethod.latin.makedict.FusionDictionary.DictionaryOptions;
 import com.android.inputmethod.latin.makedict.FusionDictionary.Node;
 import com.android.inputmethod.latin.makedict.FusionDictionary.WeightedString;
+import com.android.inputmethod.latin.makedict.SortedBinaryDictWriter;
+import com.android.inputmethod.latin.makedict.UnsupportedFormatException;
 import com.android.inputmethod.latin.makedict.Word;
 
 import java.io.BufferedReader;
@@ -30,6 +33,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -87,17 +91,21 @@ public class CombinedInputOutput {
     }
 
     /**
-     * Reads a dictionary from a combined format file.
-     *
-     * This is the public method that will read a combined file and return the corresponding memory
-     * representation.
+     * Receives the words of a combined file as they are read.
+     */
+    private interface WordSink {
+        public void add(final String word, final int frequency,
+                final ArrayList<WeightedString> shortcuts, final boolean isNotAWord,
+                final ArrayList<WeightedString> bigrams);
+    }
+
+    /**
+     * Reads the header line of a combined file.
      *
-     * @param source the file to read the data from.
-     * @return the in-memory representation of the dictionary.
+     * @param reader the reader to read from, positioned at the start of the file.
+     * @return the options of the dictionary.
      */
-    public static FusionDictionary readDictionaryCombined(final InputStream source)
-            throws IOException {
-        final BufferedReader reader = new BufferedReader(new InputStreamReader(source, "UTF-8"));
+    private static DictionaryOptions readHeader(final BufferedReader reader) throws IOException {
         String headerLine = reader.readLine();
         while (headerLine.startsWith(COMMENT_LINE_STARTER)) {
             headerLine = reader.readLine();
@@ -117,9 +125,17 @@ public class CombinedInputOutput {
         final boolean processLigatures =
                 FRENCH_LIGATURE_PROCESSING_OPTION.equals(attributes.get(OPTIONS_TAG));
         attributes.remove(OPTIONS_TAG);
-        final FusionDictionary dict = new FusionDictionary(new Node(), new DictionaryOptions(
-                attributes, processUmlauts, processLigatures));
+        return new DictionaryOptions(attributes, processUmlauts, processLigatures);
+    }
 
+    /**
+     * Reads the words of a combined file, one at a time.
+     *
+     * @param reader the reader to read from, positioned after the header line.
+     * @param sink the sink to pass each word to.
+     */
+    private static void readWords(final BufferedReader reader, final WordSink sink)
+            throws IOException {
         String line;
         String word = null;
         int freq = 0;
@@ -131,10 +147,7 @@ public class CombinedInputOutput {
             final String args[] = line.trim().split(",");
             if (args[0].matches(WORD_TAG + "=.*")) {
                 if (null != word) {
-                    dict.add(word, freq, shortcuts.isEmpty() ? null : shortcuts, isNotAWord);
-                    for (WeightedString s : bigrams) {
-                        dict.setBigram(word, s.mWord, s.mFrequency);
-                    }
+                    sink.add(word, freq, shortcuts, isNotAWord, bigrams);
                 }
                 if (!shortcuts.isEmpty()) shortcuts = new ArrayList<WeightedString>();
                 if (!bigrams.isEmpty()) bigrams = new ArrayList<WeightedString>();
@@ -189,15 +202,69 @@ public class CombinedInputOutput {
             }
         }
         if (null != word) {
-            dict.add(word, freq, shortcuts.isEmpty() ? null : shortcuts, isNotAWord);
-            for (WeightedString s : bigrams) {
-                dict.setBigram(word, s.mWord, s.mFrequency);
-            }
+            sink.add(word, freq, shortcuts, isNotAWord, bigrams);
         }
+    }
 
+    /**
+     * Reads a dictionary from a combined format file.
+     *
+     * This is the public method that will read a combined file and return the corresponding memory
+     * representation.
+     *
+     * @param source the file to read the data from.
+     * @return the in-memory representation of the dictionary.
+     */
+    public static FusionDictionary readDictionaryCombined(final InputStream source)
+            throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(source, "UTF-8"));
+        final FusionDictionary dict = new FusionDictionary(new Node(), readHeader(reader));
+        readWords(reader, new WordSink() {
+            @Override
+            public void add(final String word, final int frequency,
+                    final ArrayList<WeightedString> shortcuts, final boolean isNotAWord,
+                    final ArrayList<WeightedString> bigrams) {
+                dict.add(word, frequency, shortcuts.isEmpty() ? null : shortcuts, isNotAWord);
+                for (WeightedString s : bigrams) {
+                    dict.setBigram(word, s.mWord, s.mFrequency);
+                }
+            }
+        });
         return dict;
     }
 
+    /**
+     * Converts a combined format file to a binary dictionary, one word at a time.
+     *
+     * Unlike reading the file with readDictionaryCombined and writing the result, this never
+     * holds the whole dictionary in memory. The words in the file must be sorted in code point
+     * order, and the file may not contain bigrams.
+     *
+     * @param source the file to read the data from.
+     * @param destination the stream to write the binary dictionary to.
+     * @param formatOptions the binary format options. Dynamic update is not supported.
+     */
+    public static void convertSortedCombinedToBinary(final InputStream source,
+            final OutputStream destination, final FormatOptions formatOptions)
+            throws IOException, UnsupportedFormatException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(source, "UTF-8"));
+        final SortedBinaryDictWriter writer =
+                new SortedBinaryDictWriter(readHeader(reader), formatOptions);
+        readWords(reader, new WordSink() {
+            @Override
+            public void add(final String word, final int frequency,
+                    final ArrayList<WeightedString> shortcuts, final boolean isNotAWord,
+                    final ArrayList<WeightedString> bigrams) {
+                if (!bigrams.isEmpty()) {
+                    throw new RuntimeException("Bigrams can't be converted one word at a time : "
+                            + word);
+                }
+                writer.add(word, frequency, shortcuts.isEmpty() ? null : shortcuts, isNotAWord);
+            }
+        });
+        writer.writeTo(destination);
+    }
+
     /**
      * Writes a dictionary to a combined file.
      *
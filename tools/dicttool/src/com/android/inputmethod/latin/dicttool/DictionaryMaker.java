@@ -53,6 +53,9 @@ public class DictionaryMaker {
         private static final String OPTION_OUTPUT_BINARY = "-d";
         private static final String OPTION_OUTPUT_XML = "-x";
         private static final String OPTION_OUTPUT_COMBINED = "-o";
+        private static final String OPTION_THREADS = "-j";
+        private static final String OPTION_MERGE_TAILS = "-m";
+        private static final String OPTION_SORTED_INPUT = "-l";
         private static final String OPTION_HELP = "-h";
         public final String mInputBinary;
         public final String mInputCombined;
@@ -63,6 +66,9 @@ public class DictionaryMaker {
         public final String mOutputXml;
         public final String mOutputCombined;
         public final int mOutputBinaryFormatVersion;
+        public final int mThreadCount;
+        public final boolean mMergeTails;
+        public final boolean mSortedInput;
 
         private void checkIntegrity() throws IOException {
             checkHasExactlyOneInput();
@@ -83,6 +89,21 @@ public class DictionaryMaker {
             checkNotSameFile(mOutputBinary, mOutputXml);
             checkNotSameFile(mOutputBinary, mOutputCombined);
             checkNotSameFile(mOutputXml, mOutputCombined);
+            checkSortedInputIsSupported();
+        }
+
+        private void checkSortedInputIsSupported() {
+            if (!mSortedInput) return;
+            if (null == mInputCombined) {
+                throw new RuntimeException(OPTION_SORTED_INPUT
+                        + " is only supported with combined input");
+            } else if (null == mOutputBinary || null != mOutputXml || null != mOutputCombined) {
+                throw new RuntimeException(OPTION_SORTED_INPUT
+                        + " is only supported with a single binary output");
+            } else if (mMergeTails || mThreadCount > 1) {
+                throw new RuntimeException(OPTION_SORTED_INPUT + " can't be used with "
+                        + OPTION_MERGE_TAILS + " or " + OPTION_THREADS);
+            }
         }
 
         private void checkHasExactlyOneInput() {
@@ -127,13 +148,20 @@ public class DictionaryMaker {
                     + "| [-s <combined format input]"
                     + "| [-s <binary input>] [-d <binary output>] [-x <xml output>] "
                     + " [-o <combined output>]"
-                    + "[-1] [-2] [-3]\n"
+                    + "[-1] [-2] [-3] [-j <threads>] [-m] [-l]\n"
                     + "\n"
                     + "  Converts a source dictionary file to one or several outputs.\n"
                     + "  Source can be an XML file, with an optional XML bigrams file, or a\n"
                     + "  binary dictionary file.\n"
                     + "  Binary version 1 (Ice Cream Sandwich), 2 (Jelly Bean), 3, XML and\n"
-                    + "  combined format outputs are supported.";
+                    + "  combined format outputs are supported.\n"
+                    + "  -j writes the binary output with the given number of threads; the\n"
+                    + "  result is the same as with a single thread.\n"
+                    + "  -m merges identical word tails in the binary output, which makes it\n"
+                    + "  smaller. Dictionaries with bigrams are left as they are.\n"
+                    + "  -l converts a combined input sorted in code point order and without\n"
+                    + "  bigrams to a binary output one word at a time, so that the whole\n"
+                    + "  dictionary never needs to fit in memory.";
         }
 
         public Arguments(String[] argsArray) throws IOException {
@@ -150,6 +178,9 @@ public class DictionaryMaker {
             String outputXml = null;
             String outputCombined = null;
             int outputBinaryFormatVersion = 2; // the default version is 2.
+            int threadCount = 1;
+            boolean mergeTails = false;
+            boolean sortedInput = false;
 
             while (!args.isEmpty()) {
                 final String arg = args.get(0);
@@ -161,6 +192,10 @@ public class DictionaryMaker {
                         outputBinaryFormatVersion = 3;
                     } else if (OPTION_VERSION_1.equals(arg)) {
                         outputBinaryFormatVersion = 1;
+                    } else if (OPTION_MERGE_TAILS.equals(arg)) {
+                        mergeTails = true;
+                    } else if (OPTION_SORTED_INPUT.equals(arg)) {
+                        sortedInput = true;
                     } else if (OPTION_HELP.equals(arg)) {
                         displayHelp();
                     } else {
@@ -192,6 +227,17 @@ public class DictionaryMaker {
                             outputXml = filename;
                         } else if (OPTION_OUTPUT_COMBINED.equals(arg)) {
                             outputCombined = filename;
+                        } else if (OPTION_THREADS.equals(arg)) {
+                            try {
+                                threadCount = Integer.parseInt(filename);
+                            } catch (NumberFormatException e) {
+                                throw new IllegalArgumentException(
+                                        "Option " + arg + " requires a number of threads");
+                            }
+                            if (threadCount < 1) {
+                                throw new IllegalArgumentException(
+                                        "Option " + arg + " requires at least one thread");
+                            }
                         } else {
                             throw new IllegalArgumentException("Unknown option : " + arg);
                         }
@@ -222,6 +268,9 @@ public class DictionaryMaker {
             mOutputXml = outputXml;
             mOutputCombined = outputCombined;
             mOutputBinaryFormatVersion = outputBinaryFormatVersion;
+            mThreadCount = threadCount;
+            mMergeTails = mergeTails;
+            mSortedInput = sortedInput;
             checkIntegrity();
         }
     }
@@ -230,6 +279,11 @@ public class DictionaryMaker {
             throws FileNotFoundException, ParserConfigurationException, SAXException, IOException,
             UnsupportedFormatException {
         final Arguments parsedArgs = new Arguments(args);
+        if (parsedArgs.mSortedInput) {
+            convertSortedCombinedFile(parsedArgs.mInputCombined, parsedArgs.mOutputBinary,
+                    parsedArgs.mOutputBinaryFormatVersion);
+            return;
+        }
         FusionDictionary dictionary = readInputFromParsedArgs(parsedArgs);
         writeOutputToParsedArgs(parsedArgs, dictionary);
     }
@@ -311,6 +365,35 @@ public class DictionaryMaker {
         }
     }
 
+    /**
+     * Convert a sorted combined file to a binary file, without reading it all in memory.
+     *
+     * @param combinedFilename the name of the file in the combined format.
+     * @param outputFilename the name of the binary file to write to.
+     * @param version the binary format version to use.
+     * @throws FileNotFoundException if one of the files can't be opened
+     * @throws IOException if the input file can't be read or the output written
+     * @throws UnsupportedFormatException if the version is not supported
+     */
+    private static void convertSortedCombinedFile(final String combinedFilename,
+            final String outputFilename, final int version)
+            throws FileNotFoundException, IOException, UnsupportedFormatException {
+        FileInputStream inStream = null;
+        try {
+            inStream = new FileInputStream(new File(combinedFilename));
+            CombinedInputOutput.convertSortedCombinedToBinary(inStream,
+                    new FileOutputStream(outputFilename), new FormatSpec.FormatOptions(version));
+        } finally {
+            if (null != inStream) {
+                try {
+                    inStream.close();
+                } catch (IOException e) {
+                    // do nothing
+                }
+            }
+        }
+    }
+
     /**
      * Read a dictionary from a unigram XML file, and optionally a bigram XML file.
      *
@@ -347,7 +430,9 @@ public class DictionaryMaker {
             throws FileNotFoundException, IOException, UnsupportedFormatException,
             IllegalArgumentException {
         if (null != args.mOutputBinary) {
-            writeBinaryDictionary(args.mOutputBinary, dict, args.mOutputBinaryFormatVersion);
+            if (args.mMergeTails) dict.mergeTails();
+            writeBinaryDictionary(args.mOutputBinary, dict, args.mOutputBinaryFormatVersion,
+                    args.mThreadCount);
         }
         if (null != args.mOutputXml) {
             writeXmlDictionary(args.mOutputXml, dict);
@@ -363,16 +448,17 @@ public class DictionaryMaker {
      * @param outputFilename the name of the file to write to.
      * @param dict the dictionary to write.
      * @param version the binary format version to use.
+     * @param threadCount the number of threads to write with.
      * @throws FileNotFoundException if the output file can't be created.
      * @throws IOException if the output file can't be written to.
      */
     private static void writeBinaryDictionary(final String outputFilename,
-            final FusionDictionary dict, final int version)
+            final FusionDictionary dict, final int version, final int threadCount)
             throws FileNotFoundException, IOException, UnsupportedFormatException {
         final File outputFile = new File(outputFilename);
         final FormatSpec.FormatOptions formatOptions = new FormatSpec.FormatOptions(version);
         BinaryDictInputOutput.writeDictionaryBinary(new FileOutputStream(outputFilename), dict,
-                formatOptions);
+                formatOptions, threadCount);
     }
 
     /**
@@ -16,14 +16,23 @@
 
 package com.android.inputmethod.latin.dicttool;
 
+import com.android.inputmethod.latin.makedict.BinaryDictIOUtils;
+import com.android.inputmethod.latin.makedict.BinaryDictInputOutput;
+import com.android.inputmethod.latin.makedict.BinaryDictInputOutput.FusionDictionaryBufferInterface;
+import com.android.inputmethod.latin.makedict.CharGroupInfo;
 import com.android.inputmethod.latin.makedict.FormatSpec;
+import com.android.inputmethod.latin.makedict.FormatSpec.FileHeader;
 import com.android.inputmethod.latin.makedict.FusionDictionary;
 import com.android.inputmethod.latin.makedict.FusionDictionary.CharGroup;
 import com.android.inputmethod.latin.makedict.FusionDictionary.WeightedString;
+import com.android.inputmethod.latin.makedict.PendingAttribute;
+import com.android.inputmethod.latin.makedict.UnsupportedFormatException;
 import com.android.inputmethod.latin.makedict.Word;
 
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.ArrayList;
+import java.util.Random;
 
 public class Info extends Dicttool.Command {
     public static final String COMMAND = "info";
@@ -36,31 +45,92 @@ public class Info extends Dicttool.Command {
         return COMMAND + " <filename>: prints various information about a dictionary file";
     }
 
-    private static void showInfo(final FusionDictionary dict, final boolean plumbing) {
-        System.out.println("Header attributes :");
-        System.out.print(dict.mOptions.toString(2, plumbing));
-        int wordCount = 0;
-        int bigramCount = 0;
-        int shortcutCount = 0;
-        int whitelistCount = 0;
-        for (final Word w : dict) {
-            ++wordCount;
-            if (null != w.mBigrams) {
-                bigramCount += w.mBigrams.size();
+    // Number of words looked up to measure the lookup time of a binary dictionary.
+    private static final int LOOKUP_SAMPLE_SIZE = 1000;
+
+    private static final class WordCounter implements BinaryDictIOUtils.WordVisitor {
+        int mWordCount = 0;
+        int mBigramCount = 0;
+        int mShortcutCount = 0;
+        int mWhitelistCount = 0;
+        // A uniform sample of the words, to measure lookup times.
+        final ArrayList<String> mSampleWords = new ArrayList<String>();
+        private final Random mRandom = new Random(0);
+
+        public void count(final ArrayList<?> bigrams,
+                final ArrayList<WeightedString> shortcutTargets) {
+            ++mWordCount;
+            if (null != bigrams) {
+                mBigramCount += bigrams.size();
             }
-            if (null != w.mShortcutTargets) {
-                shortcutCount += w.mShortcutTargets.size();
-                for (WeightedString shortcutTarget : w.mShortcutTargets) {
+            if (null != shortcutTargets) {
+                mShortcutCount += shortcutTargets.size();
+                for (WeightedString shortcutTarget : shortcutTargets) {
                     if (FormatSpec.SHORTCUT_WHITELIST_FREQUENCY == shortcutTarget.mFrequency) {
-                        ++whitelistCount;
+                        ++mWhitelistCount;
                     }
                 }
             }
         }
-        System.out.println("Words in the dictionary : " + wordCount);
-        System.out.println("Bigram count : " + bigramCount);
-        System.out.println("Shortcuts : " + shortcutCount + " (out of which " + whitelistCount
-                + " whitelist entries)");
+
+        @Override
+        public void visitWord(final int[] codePoints, final int codePointCount,
+                final CharGroupInfo info) {
+            count(info.mBigrams, info.mShortcutTargets);
+            // Reservoir sampling: every word ends up in the sample with the same probability.
+            if (mSampleWords.size() < LOOKUP_SAMPLE_SIZE) {
+                mSampleWords.add(new String(codePoints, 0, codePointCount));
+            } else {
+                final int index = mRandom.nextInt(mWordCount);
+                if (index < LOOKUP_SAMPLE_SIZE) {
+                    mSampleWords.set(index, new String(codePoints, 0, codePointCount));
+                }
+            }
+        }
+
+        public void print() {
+            System.out.println("Words in the dictionary : " + mWordCount);
+            System.out.println("Bigram count : " + mBigramCount);
+            System.out.println("Shortcuts : " + mShortcutCount + " (out of which "
+                    + mWhitelistCount + " whitelist entries)");
+        }
+    }
+
+    private static void showInfo(final FusionDictionary dict, final boolean plumbing) {
+        System.out.println("Header attributes :");
+        System.out.print(dict.mOptions.toString(2, plumbing));
+        final WordCounter counter = new WordCounter();
+        for (final Word w : dict) {
+            counter.count(w.mBigrams, w.mShortcutTargets);
+        }
+        counter.print();
+    }
+
+    private static void showInfo(final FusionDictionaryBufferInterface buffer,
+            final boolean plumbing) throws IOException, UnsupportedFormatException {
+        final WordCounter counter = new WordCounter();
+        final FileHeader header = BinaryDictIOUtils.visitWords(buffer, counter);
+        System.out.println("Header attributes :");
+        System.out.print(header.mDictionaryOptions.toString(2, plumbing));
+        counter.print();
+        System.out.println("Format version : " + header.mFormatOptions.mVersion);
+        System.out.println("Merged tails : " + (header.mFormatOptions.mHasSharedNodes
+                ? "yes" : "no"));
+        System.out.println("Size : " + buffer.limit() + " bytes (header "
+                + header.mHeaderSize + " bytes)");
+        if (counter.mSampleWords.isEmpty()) return;
+        // Look up the sample once before measuring, so that the timing does not include
+        // class loading and the first compilation of the lookup code.
+        for (final String word : counter.mSampleWords) {
+            BinaryDictIOUtils.getTerminalPosition(buffer, word);
+        }
+        final long start = System.nanoTime();
+        for (final String word : counter.mSampleWords) {
+            BinaryDictIOUtils.getTerminalPosition(buffer, word);
+        }
+        final long averageNanos = (System.nanoTime() - start) / counter.mSampleWords.size();
+        System.out.println("Average lookup time : " + averageNanos + " ns ("
+                + counter.mSampleWords.size() + " words)");
     }
 
     private static void showWordInfo(final FusionDictionary dict, final String word,
@@ -70,15 +140,46 @@ public class Info extends Dicttool.Command {
             System.out.println(word + " is not in the dictionary");
             return;
         }
+        showWordInfo(word, group.getFrequency(), group.getIsNotAWord(),
+                group.getIsBlacklistEntry(), group.getShortcutTargets(), group.getBigrams());
+    }
+
+    private static void showWordInfo(final FusionDictionaryBufferInterface buffer,
+            final String word) throws IOException, UnsupportedFormatException {
+        final CharGroupInfo info = BinaryDictIOUtils.findWordFromBuffer(buffer, word);
+        if (null == info) {
+            System.out.println(word + " is not in the dictionary");
+            return;
+        }
+        ArrayList<WeightedString> bigrams = null;
+        if (null != info.mBigrams) {
+            buffer.position(0);
+            final FileHeader header = BinaryDictInputOutput.readHeader(buffer);
+            bigrams = new ArrayList<WeightedString>();
+            for (final PendingAttribute bigram : info.mBigrams) {
+                final WeightedString target =
+                        BinaryDictIOUtils.getWordAtPosition(buffer, header, bigram.mAddress);
+                bigrams.add(new WeightedString(target.mWord,
+                        BinaryDictInputOutput.reconstructBigramFrequency(target.mFrequency,
+                                bigram.mFrequency)));
+            }
+        }
+        showWordInfo(word, info.mFrequency, info.isNotAWord(), info.isBlacklistEntry(),
+                info.mShortcutTargets, bigrams);
+    }
+
+    private static void showWordInfo(final String word, final int frequency,
+            final boolean isNotAWord, final boolean isBlacklistEntry,
+            final ArrayList<WeightedString> shortcutTargets,
+            final ArrayList<WeightedString> bigrams) {
         System.out.println("Word: " + word);
-        System.out.println("  Freq: " + group.getFrequency());
-        if (group.getIsNotAWord()) {
+        System.out.println("  Freq: " + frequency);
+        if (isNotAWord) {
             System.out.println("  Is not a word");
         }
-        if (group.getIsBlacklistEntry()) {
+        if (isBlacklistEntry) {
             System.out.println("  Is a blacklist entry");
         }
-        final ArrayList<WeightedString> shortcutTargets = group.getShortcutTargets();
         if (null == shortcutTargets || shortcutTargets.isEmpty()) {
             System.out.println("  No shortcuts");
         } else {
@@ -88,7 +189,6 @@ public class Info extends Dicttool.Command {
                                 ? "whitelist" : shortcutTarget.mFrequency) + ")");
             }
         }
-        final ArrayList<WeightedString> bigrams = group.getBigrams();
         if (null == bigrams || bigrams.isEmpty()) {
             System.out.println("  No bigrams");
         } else {
@@ -99,7 +199,7 @@ public class Info extends Dicttool.Command {
     }
 
     @Override
-    public void run() {
+    public void run() throws IOException, UnsupportedFormatException {
         if (mArgs.length < 1) {
             throw new RuntimeException("Not enough arguments for command " + COMMAND);
         }
@@ -115,6 +215,20 @@ public class Info extends Dicttool.Command {
         }
         final String filename = mArgs[0];
         final boolean hasWordArguments = (1 == mArgs.length);
+        // Binary dictionaries are inspected in place, without reading them into memory.
+        final FusionDictionaryBufferInterface buffer =
+                BinaryDictOffdeviceUtils.getMappedBinaryDictionaryOrNull(filename,
+                        hasWordArguments /* report */);
+        if (null != buffer) {
+            if (hasWordArguments) {
+                showInfo(buffer, plumbing);
+            } else {
+                for (int i = 1; i < mArgs.length; ++i) {
+                    showWordInfo(buffer, mArgs[i]);
+                }
+            }
+            return;
+        }
         final FusionDictionary dict = BinaryDictOffdeviceUtils.getDictionary(filename,
                 hasWordArguments /* report */);
         if (hasWordArguments) {
@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2013 The Android Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.android.inputmethod.latin.makedict;
+
+import com.android.inputmethod.latin.dicttool.CombinedInputOutput;
+import com.android.inputmethod.latin.dicttool.Compress;
+import com.android.inputmethod.latin.makedict.BinaryDictInputOutput.FusionDictionaryBufferInterface;
+import com.android.inputmethod.latin.makedict.FormatSpec.FormatOptions;
+import com.android.inputmethod.latin.makedict.FusionDictionary.DictionaryOptions;
+import com.android.inputmethod.latin.makedict.FusionDictionary.Node;
+
+import junit.framework.TestCase;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Unit tests and measurements for the lazy, memory-mapped read path of BinaryDictIOUtils.
+ */
+public class BinaryDictIOUtilsTest extends TestCase {
+    // The test script runs from the top of the source tree.
+    private static final String BENCHMARK_SOURCE =
+            "packages/inputmethods/LatinIME/dictionaries/en_US_wordlist.combined.gz";
+    private static final int GENERATED_WORD_COUNT = 20000;
+
+    private static FusionDictionary makeGeneratedDictionary(final int wordCount) {
+        final FusionDictionary dict = new FusionDictionary(new Node(),
+                new DictionaryOptions(new HashMap<String, String>(),
+                        false /* germanUmlautProcessing */, false /* frenchLigatureProcessing */));
+        final Random random = new Random(0x5EED);
+        String previousWord = null;
+        for (int i = 0; i < wordCount; ++i) {
+            final StringBuilder word = new StringBuilder();
+            final int length = 2 + random.nextInt(10);
+            for (int j = 0; j < length; ++j) {
+                word.append((char)('a' + random.nextInt(26)));
+            }
+            dict.add(word.toString(), 1 + random.nextInt(255), null, false /* isNotAWord */);
+            if (null != previousWord && 0 == i % 10) {
+                dict.setBigram(previousWord, word.toString(), 255);
+            }
+            previousWord = word.toString();
+        }
+        return dict;
+    }
+
+    private static FusionDictionary getBenchmarkDictionary() throws IOException {
+        final File source = new File(BENCHMARK_SOURCE);
+        if (!source.exists()) return makeGeneratedDictionary(GENERATED_WORD_COUNT);
+        return CombinedInputOutput.readDictionaryCombined(Compress.getUncompressedStream(
+                new BufferedInputStream(new FileInputStream(source))));
+    }
+
+    private static File writeToTempFile(final FusionDictionary dict,
+            final FormatOptions formatOptions) throws IOException, UnsupportedFormatException {
+        final File file = File.createTempFile("BinaryDictIOUtilsTest", ".dict");
+        file.deleteOnExit();
+        BinaryDictInputOutput.writeDictionaryBinary(new FileOutputStream(file), dict,
+                formatOptions);
+        return file;
+    }
+
+    private static long getUsedHeap() {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; ++i) System.gc();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private static HashSet<String> visitAllWords(final FusionDictionaryBufferInterface buffer)
+            throws IOException, UnsupportedFormatException {
+        final HashSet<String> words = new HashSet<String>();
+        BinaryDictIOUtils.visitWords(buffer, new BinaryDictIOUtils.WordVisitor() {
+            @Override
+            public void visitWord(final int[] codePoints, final int codePointCount,
+                    final CharGroupInfo info) {
+                words.add(new String(codePoints, 0, codePointCount));
+            }
+        });
+        return words;
+    }
+
+    private void runVisitWords(final FormatOptions formatOptions)
+            throws IOException, UnsupportedFormatException {
+        final FusionDictionary dict = makeGeneratedDictionary(1000);
+        final File file = writeToTempFile(dict, formatOptions);
+        final HashSet<String> expectedWords = new HashSet<String>();
+        for (final Word w : dict) expectedWords.add(w.mWord);
+        assertEquals("Visited words differ from the source dictionary", expectedWords,
+                visitAllWords(BinaryDictIOUtils.openMappedBuffer(file, 0, file.length())));
+    }
+
+    public void testVisitWords() throws IOException, UnsupportedFormatException {
+        runVisitWords(new FormatOptions(2));
+        runVisitWords(new FormatOptions(3, false /* supportsDynamicUpdate */));
+        runVisitWords(new FormatOptions(3, true /* supportsDynamicUpdate */));
+    }
+
+    public void testGetWordAtPosition() throws IOException, UnsupportedFormatException {
+        final FusionDictionary dict = makeGeneratedDictionary(1000);
+        final File file = writeToTempFile(dict, new FormatOptions(2));
+        final FusionDictionaryBufferInterface buffer =
+                BinaryDictIOUtils.openMappedBuffer(file, 0, file.length());
+        final FormatSpec.FileHeader header = BinaryDictInputOutput.readHeader(buffer);
+        for (final Word w : dict) {
+            final int position = BinaryDictIOUtils.getTerminalPosition(buffer, w.mWord);
+            assertEquals(w.mWord,
+                    BinaryDictIOUtils.getWordAtPosition(buffer, header, position).mWord);
+        }
+    }
+
+    // Compares opening a dictionary and walking its words with the mapped, lazy path against
+    // reading it into a FusionDictionary. This only logs the numbers, it never fails on them.
+    public void testMappedReadFootprint() throws IOException, UnsupportedFormatException {
+        final File file = writeToTempFile(getBenchmarkDictionary(), new FormatOptions(2));
+
+        final long heapBeforeFullRead = getUsedHeap();
+        long now = System.nanoTime();
+        final FusionDictionary readDict = BinaryDictInputOutput.readDictionaryBinary(
+                BinaryDictIOUtils.openMappedBuffer(file, 0, file.length()), null);
+        final long fullReadTime = System.nanoTime() - now;
+        final long fullReadHeap = getUsedHeap() - heapBeforeFullRead;
+        int fullReadWordCount = 0;
+        for (final Word w : readDict) ++fullReadWordCount;
+
+        final long heapBeforeMappedRead = getUsedHeap();
+        now = System.nanoTime();
+        final FusionDictionaryBufferInterface buffer =
+                BinaryDictIOUtils.openMappedBuffer(file, 0, file.length());
+        final int[] mappedWordCount = new int[1];
+        BinaryDictIOUtils.visitWords(buffer, new BinaryDictIOUtils.WordVisitor() {
+            @Override
+            public void visitWord(final int[] codePoints, final int codePointCount,
+                    final CharGroupInfo info) {
+                ++mappedWordCount[0];
+            }
+        });
+        final long mappedReadTime = System.nanoTime() - now;
+        final long mappedReadHeap = getUsedHeap() - heapBeforeMappedRead;
+
+        assertEquals(fullReadWordCount, mappedWordCount[0]);
+        System.out.println("PROF: " + file.length() + " bytes, " + fullReadWordCount + " words");
+        System.out.println("PROF: readDictionaryBinary : " + (fullReadTime / 1000000) + "ms, "
+                + (fullReadHeap / 1024) + "kB retained");
+        System.out.println("PROF: openMappedBuffer + visitWords : "
+                + (mappedReadTime / 1000000) + "ms, " + (mappedReadHeap / 1024) + "kB retained");
+        // Keep the dictionaries reachable until the measurements are done.
+        assertNotNull(readDict.mRoot);
+        assertNotNull(buffer);
+    }
+}
@@ -16,13 +16,21 @@
 
 package com.android.inputmethod.latin.makedict;
 
+import com.android.inputmethod.latin.makedict.FormatSpec.FormatOptions;
 import com.android.inputmethod.latin.makedict.FusionDictionary.DictionaryOptions;
 import com.android.inputmethod.latin.makedict.FusionDictionary.Node;
 
 import junit.framework.TestCase;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.TreeSet;
 
 /**
  * Unit tests for BinaryDictInputOutput.
@@ -46,4 +54,164 @@ public class BinaryDictInputOutputTest extends TestCase {
             assertFalse("Flattened array contained the same node twice", result.contains(n));
         }
     }
+
+    private static byte[] writeToBytes(final FusionDictionary dict,
+            final FormatOptions formatOptions, final int threadCount)
+            throws IOException, UnsupportedFormatException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryDictInputOutput.writeDictionaryBinary(out, dict, formatOptions, threadCount);
+        return out.toByteArray();
+    }
+
+    // Test the multi-threaded writer outputs exactly the same bytes as the single-threaded one.
+    public void testParallelWriteIsIdentical() throws IOException, UnsupportedFormatException {
+        final FusionDictionary dict = new FusionDictionary(new Node(),
+                new DictionaryOptions(new HashMap<String, String>(),
+                        false /* germanUmlautProcessing */, false /* frenchLigatureProcessing */));
+        final Random random = new Random(123456789);
+        final ArrayList<String> words = new ArrayList<String>();
+        for (int i = 0; i < 5000; ++i) {
+            final StringBuilder word = new StringBuilder();
+            final int length = 1 + random.nextInt(12);
+            for (int j = 0; j < length; ++j) word.append((char)('a' + random.nextInt(26)));
+            words.add(word.toString());
+            dict.add(word.toString(), random.nextInt(256), null, false /* isNotAWord */);
+        }
+        for (int i = 0; i < 2000; ++i) {
+            dict.setBigram(words.get(random.nextInt(words.size())),
+                    words.get(random.nextInt(words.size())), random.nextInt(256));
+        }
+        final FormatOptions[] formats = { new FormatOptions(1), new FormatOptions(2),
+                new FormatOptions(3, false /* supportsDynamicUpdate */),
+                new FormatOptions(3, true /* supportsDynamicUpdate */) };
+        for (final FormatOptions formatOptions : formats) {
+            final byte[] expected = writeToBytes(dict, formatOptions, 1);
+            assertTrue("Parallel writer output differs for version " + formatOptions.mVersion,
+                    Arrays.equals(expected, writeToBytes(dict, formatOptions, 4)));
+        }
+    }
+
+    private static FusionDictionary makeTailsDictionary() {
+        final FusionDictionary dict = new FusionDictionary(new Node(),
+                new DictionaryOptions(new HashMap<String, String>(),
+                        false /* germanUmlautProcessing */, false /* frenchLigatureProcessing */));
+        final String[] stems = { "walk", "talk", "stalk", "chalk", "balk" };
+        final String[] endings = { "", "s", "ed", "ing", "ings" };
+        for (final String stem : stems) {
+            for (final String ending : endings) {
+                dict.add(stem + ending, 10, null, false /* isNotAWord */);
+            }
+        }
+        // Same tails as the others, but a different frequency: must not be merged with them.
+        dict.add("hulking", 20, null, false /* isNotAWord */);
+        return dict;
+    }
+
+    private static HashSet<String> getWords(final FusionDictionary dict) {
+        final HashSet<String> words = new HashSet<String>();
+        for (final Word w : dict) words.add(w.mWord + ":" + w.mFrequency);
+        return words;
+    }
+
+    // Test merged tails are written once, after all their parents, and read back unchanged.
+    public void testMergeTails() throws IOException, UnsupportedFormatException {
+        final FusionDictionary dict = makeTailsDictionary();
+        final HashSet<String> expectedWords = getWords(dict);
+        final byte[] unmerged = writeToBytes(dict, new FormatOptions(2), 1);
+        final int unmergedNodeCount = BinaryDictInputOutput.flattenTree(dict.mRoot).size();
+
+        dict.mergeTails();
+        assertEquals(expectedWords, getWords(dict));
+        final ArrayList<Node> flatNodes = BinaryDictInputOutput.flattenTree(dict.mRoot);
+        assertTrue("No tails were merged", flatNodes.size() < unmergedNodeCount);
+        for (int i = 0; i < flatNodes.size(); ++i) {
+            for (final FusionDictionary.CharGroup group : flatNodes.get(i).mData) {
+                if (null == group.mChildren) continue;
+                assertTrue("A child is placed before its parent",
+                        flatNodes.indexOf(group.mChildren) > i);
+            }
+        }
+
+        final byte[] merged = writeToBytes(dict, new FormatOptions(2), 1);
+        assertTrue("Merging tails did not make the dictionary smaller",
+                merged.length < unmerged.length);
+        final BinaryDictInputOutput.ByteBufferWrapper buffer =
+                new BinaryDictInputOutput.ByteBufferWrapper(ByteBuffer.wrap(merged));
+        assertTrue(BinaryDictInputOutput.readHeader(buffer).mFormatOptions.mHasSharedNodes);
+        buffer.position(0);
+        assertEquals(expectedWords,
+                getWords(BinaryDictInputOutput.readDictionaryBinary(buffer, null)));
+    }
+
+    public void testMergeTailsWithBigrams() throws IOException, UnsupportedFormatException {
+        final FusionDictionary dict = makeTailsDictionary();
+        dict.setBigram("walk", "talking", 10);
+        final int nodeCount = BinaryDictInputOutput.flattenTree(dict.mRoot).size();
+        dict.mergeTails();
+        assertEquals(nodeCount, BinaryDictInputOutput.flattenTree(dict.mRoot).size());
+    }
+
+    public void testMergeTailsWithDynamicUpdate() throws IOException {
+        final FusionDictionary dict = makeTailsDictionary();
+        dict.mergeTails();
+        try {
+            writeToBytes(dict, new FormatOptions(3, true /* supportsDynamicUpdate */), 1);
+            fail("Merged tails were written in a format that supports dynamic update");
+        } catch (UnsupportedFormatException e) {
+            // Expected
+        }
+    }
+
+    // Test writing sorted words one at a time gives the same file as writing them all at once.
+    public void testSortedWriterIsIdentical() throws IOException, UnsupportedFormatException {
+        final Random random = new Random(987654321);
+        final TreeSet<String> words = new TreeSet<String>();
+        for (int i = 0; i < 5000; ++i) {
+            final StringBuilder word = new StringBuilder();
+            final int length = 1 + random.nextInt(12);
+            for (int j = 0; j < length; ++j) word.append((char)('a' + random.nextInt(26)));
+            words.add(word.toString());
+        }
+        final FormatOptions[] formats = { new FormatOptions(1), new FormatOptions(2),
+                new FormatOptions(3, false /* supportsDynamicUpdate */) };
+        for (final FormatOptions formatOptions : formats) {
+            final FusionDictionary dict = new FusionDictionary(new Node(),
+                    new DictionaryOptions(new HashMap<String, String>(),
+                            false /* germanUmlautProcessing */,
+                            false /* frenchLigatureProcessing */));
+            final SortedBinaryDictWriter writer = new SortedBinaryDictWriter(
+                    new DictionaryOptions(new HashMap<String, String>(),
+                            false /* germanUmlautProcessing */,
+                            false /* frenchLigatureProcessing */), formatOptions);
+            int frequency = 0;
+            for (final String word : words) {
+                frequency = (frequency + 37) % 256;
+                ArrayList<FusionDictionary.WeightedString> shortcuts = null;
+                if (0 == frequency % 7) {
+                    shortcuts = new ArrayList<FusionDictionary.WeightedString>();
+                    shortcuts.add(new FusionDictionary.WeightedString("shortcut", 14));
+                }
+                dict.add(word, frequency, shortcuts, false /* isNotAWord */);
+                writer.add(word, frequency, shortcuts, false /* isNotAWord */);
+            }
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            writer.writeTo(out);
+            assertTrue("Sorted writer output differs for version " + formatOptions.mVersion,
+                    Arrays.equals(writeToBytes(dict, formatOptions, 1), out.toByteArray()));
+        }
+    }
+
+    public void testSortedWriterRejectsUnsortedWords() throws UnsupportedFormatException {
+        final SortedBinaryDictWriter writer = new SortedBinaryDictWriter(
+                new DictionaryOptions(new HashMap<String, String>(),
+                        false /* germanUmlautProcessing */, false /* frenchLigatureProcessing */),
+                new FormatOptions(2));
+        writer.add("foo", 1, null, false /* isNotAWord */);
+        try {
+            writer.add("bar", 1, null, false /* isNotAWord */);
+            fail("Unsorted words were accepted");
+        } catch (RuntimeException e) {
+            // Expected
+        }
+    }
 }
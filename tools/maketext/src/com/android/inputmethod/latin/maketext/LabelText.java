@@ -24,14 +24,17 @@ import java.util.jar.JarFile;
 public class LabelText {
     static class Options {
         private static final String OPTION_JAVA = "-java";
+        private static final String OPTION_RES = "-res";
 
         public final String mJava;
+        public final String mRes;
 
         public static void usage(String message) {
             if (message != null) {
                 System.err.println(message);
             }
-            System.err.println("usage: makelabel " + OPTION_JAVA + " <java_output_dir>");
+            System.err.println("usage: makelabel " + OPTION_JAVA + " <java_output_dir> "
+                    + OPTION_RES + " <res_output_dir>");
             System.exit(1);
         }
 
@@ -39,11 +42,14 @@ public class LabelText {
             final LinkedList<String> args = new LinkedList<String>(Arrays.asList(argsArray));
             String arg = null;
             String java = null;
+            String res = null;
             try {
                 while (!args.isEmpty()) {
                     arg = args.removeFirst();
                     if (arg.equals(OPTION_JAVA)) {
                         java = args.removeFirst();
+                    } else if (arg.equals(OPTION_RES)) {
+                        res = args.removeFirst();
                     } else {
                         usage("Unknown option: " + arg);
                     }
@@ -52,7 +58,12 @@ public class LabelText {
                 usage("Option " + arg + " needs argument");
             }
 
+            if (res == null) {
+                usage("Option " + OPTION_RES + " is required");
+            }
+
             mJava = java;
+            mRes = res;
         }
     }
 
@@ -61,5 +72,6 @@ public class LabelText {
         final JarFile jar = JarUtils.getJarFile(LabelText.class);
         final MoreKeysResources resources = new MoreKeysResources(jar);
         resources.writeToJava(options.mJava);
+        resources.writeToBlob(options.mRes);
     }
 }
@@ -16,8 +16,11 @@
 
 package com.android.inputmethod.latin.maketext;
 
+import java.io.ByteArrayOutputStream;
 import java.io.Closeable;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -26,7 +29,6 @@ import java.io.PrintStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Locale;
 import java.util.jar.JarFile;
 
 public class MoreKeysResources {
@@ -34,15 +36,13 @@ public class MoreKeysResources {
 
     private static final String JAVA_TEMPLATE = "KeyboardTextsSet.tmpl";
     private static final String MARK_NAMES = "@NAMES@";
-    private static final String MARK_DEFAULT_TEXTS = "@DEFAULT_TEXTS@";
-    private static final String MARK_TEXTS = "@TEXTS@";
-    private static final String MARK_LANGUAGES_AND_TEXTS = "@LANGUAGES_AND_TEXTS@";
     private static final String DEFAUT_LANGUAGE_NAME = "DEFAULT";
-    private static final String ARRAY_NAME_FOR_LANGUAGE = "LANGUAGE_%s";
-    private static final String EMPTY_STRING_VAR = "EMPTY";
 
-    private static final String NO_LANGUAGE_CODE = "zz";
-    private static final String NO_LANGUAGE_DISPLAY_NAME = "No language";
+    // The texts blob, read by KeyboardTextsSet.
+    private static final String BLOB_RESOURCE_DIR = "raw";
+    private static final String BLOB_FILE_NAME = "keyboard_texts.bin";
+    private static final int BLOB_MAGIC_NUMBER = 0x6b747874; // "ktxt"
+    private static final int BLOB_FORMAT_VERSION = 1;
 
     private final JarFile mJar;
     // Language to string resources map.
@@ -118,12 +118,6 @@ public class MoreKeysResources {
         while ((line = in.readLine()) != null) {
             if (line.contains(MARK_NAMES)) {
                 dumpNames(out);
-            } else if (line.contains(MARK_DEFAULT_TEXTS)) {
-                dumpDefaultTexts(out);
-            } else if (line.contains(MARK_TEXTS)) {
-                dumpTexts(out);
-            } else if (line.contains(MARK_LANGUAGES_AND_TEXTS)) {
-                dumpLanguageMap(out);
             } else {
                 out.println(line);
             }
@@ -140,23 +134,21 @@ public class MoreKeysResources {
         }
     }
 
-    private void dumpDefaultTexts(final PrintStream out) {
-        final StringResourceMap defaultResMap = mResourcesMap.get(DEFAUT_LANGUAGE_NAME);
-        dumpTextsInternal(out, defaultResMap, defaultResMap);
-    }
-
-    private void dumpTexts(final PrintStream out) {
+    /**
+     * Writes the texts of all languages to the blob resource in the given resource directory.
+     *
+     * The blob starts with the number of texts and an index of the languages. For each language,
+     * the index gives the offset of its texts in the blob, so that KeyboardTextsSet only reads
+     * the texts of the languages in use. The texts of a language are in the order of the names,
+     * up to its last text, and null where the language falls back to the default text.
+     */
+    public void writeToBlob(final String resDir) {
         final StringResourceMap defaultResMap = mResourcesMap.get(DEFAUT_LANGUAGE_NAME);
         final ArrayList<String> allLanguages = new ArrayList<String>();
         allLanguages.addAll(mResourcesMap.keySet());
         Collections.sort(allLanguages);
+        final ArrayList<byte[]> allTexts = new ArrayList<byte[]>();
         for (final String language : allLanguages) {
-            if (language.equals(DEFAUT_LANGUAGE_NAME)) {
-                continue;
-            }
-            out.format("    /* Language %s: %s */\n", language, getLanguageDisplayName(language));
-            out.format("    private static final String[] " + ARRAY_NAME_FOR_LANGUAGE + " = {\n",
-                    language);
             final StringResourceMap resMap = mResourcesMap.get(language);
             for (final StringResource res : resMap.getResources()) {
                 if (!defaultResMap.contains(res.mName)) {
@@ -164,77 +156,89 @@ public class MoreKeysResources {
                             + " doesn't have default resource");
                 }
             }
-            dumpTextsInternal(out, resMap, defaultResMap);
-            out.format("    };\n\n");
+            allTexts.add(getTextsBlob(resMap, defaultResMap));
         }
-    }
 
-    private void dumpLanguageMap(final PrintStream out) {
-        final ArrayList<String> allLanguages = new ArrayList<String>();
-        allLanguages.addAll(mResourcesMap.keySet());
-        Collections.sort(allLanguages);
-        for (final String language : allLanguages) {
-            out.format("        \"%s\", " + ARRAY_NAME_FOR_LANGUAGE + ", /* %s */\n",
-                    language, language, getLanguageDisplayName(language));
-        }
-    }
-
-    private static String getLanguageDisplayName(final String language) {
-        if (language.equals(NO_LANGUAGE_CODE)) {
-            return NO_LANGUAGE_DISPLAY_NAME;
-        } else {
-            return new Locale(language).getDisplayLanguage();
+        DataOutputStream out = null;
+        try {
+            final File outDir = new File(resDir, BLOB_RESOURCE_DIR);
+            outDir.mkdirs();
+            out = new DataOutputStream(new FileOutputStream(new File(outDir, BLOB_FILE_NAME)));
+            out.writeInt(BLOB_MAGIC_NUMBER);
+            out.writeInt(BLOB_FORMAT_VERSION);
+            out.writeInt(defaultResMap.getResources().size());
+            out.writeInt(allLanguages.size());
+            int indexSize = 0;
+            for (final String language : allLanguages) {
+                indexSize += 2 + language.getBytes("UTF-8").length + 4;
+            }
+            // The offsets are from the start of the blob.
+            int offset = out.size() + indexSize;
+            for (int i = 0; i < allLanguages.size(); i++) {
+                out.writeUTF(allLanguages.get(i));
+                out.writeInt(offset);
+                offset += allTexts.get(i).length;
+            }
+            for (final byte[] texts : allTexts) {
+                out.write(texts);
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        } finally {
+            close(out);
         }
     }
 
-    private static void dumpTextsInternal(final PrintStream out, final StringResourceMap resMap,
+    private static byte[] getTextsBlob(final StringResourceMap resMap,
             final StringResourceMap defaultResMap) {
-        final ArrayInitializerFormatter formatter =
-                new ArrayInitializerFormatter(out, 100, "        ");
-        boolean successiveNull = false;
+        final ArrayList<String> texts = new ArrayList<String>();
+        int textsCount = 0;
         for (final StringResource defaultRes : defaultResMap.getResources()) {
             if (resMap.contains(defaultRes.mName)) {
                 final StringResource res = resMap.get(defaultRes.mName);
-                if (res.mComment != null) {
-                    formatter.outCommentLines(addPrefix("        // ", res. mComment));
-                }
-                final String escaped = escapeNonAscii(res.mValue);
-                if (escaped.length() == 0) {
-                    formatter.outElement(EMPTY_STRING_VAR + ",");
-                } else {
-                    formatter.outElement(String.format("\"%s\",", escaped));
-                }
-                successiveNull = false;
+                texts.add(unescape(replaceIncompatibleEscape(res.mValue)));
+                textsCount = texts.size();
             } else {
-                formatter.outElement("null,");
-                successiveNull = true;
+                texts.add(null);
             }
         }
-        if (!successiveNull) {
-            formatter.flush();
-        }
-    }
-
-    private static String addPrefix(final String prefix, final String lines) {
-        final StringBuilder sb = new StringBuilder();
-        for (final String line : lines.split("\n")) {
-            sb.append(prefix + line.trim() + "\n");
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bytes);
+        try {
+            out.writeInt(textsCount);
+            for (final String text : texts.subList(0, textsCount)) {
+                out.writeBoolean(text != null);
+                if (text != null) {
+                    out.writeUTF(text);
+                }
+            }
+            out.close();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
         }
-        return sb.toString();
+        return bytes.toByteArray();
     }
 
-    private static String escapeNonAscii(final String text) {
+    // Resolves the backslash escapes left in the resource value.
+    private static String unescape(final String text) {
         final StringBuilder sb = new StringBuilder();
         final int length = text.length();
         for (int i = 0; i < length; i++) {
             final char c = text.charAt(i);
-            if (c >= ' ' && c < 0x7f) {
+            if (c != '\\') {
                 sb.append(c);
-            } else {
-                sb.append(String.format("\\u%04X", (int)c));
+                continue;
+            }
+            if (++i >= length) {
+                throw new RuntimeException("Incomplete escape: " + text);
             }
+            final char escaped = text.charAt(i);
+            if (escaped != '\\' && escaped != '"' && escaped != '\'') {
+                throw new RuntimeException("Unknown escape \\" + escaped + ": " + text);
+            }
+            sb.append(escaped);
         }
-        return replaceIncompatibleEscape(sb.toString());
+        return sb.toString();
     }
 
     private static String replaceIncompatibleEscape(final String text) {